@@ -0,0 +1,49 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.TableroGrafico;
+import com.ucab.trivia.simulacion.AnalisisTablero;
+import com.ucab.trivia.simulacion.PrecisionRespuestas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el cálculo completo de {@link AnalisisTablero}: la iteración de valores sobre todos los estados
+ * (casilla × máscara de quesitos) y los problemas de un solo objetivo. Con precisiones bajas hay más
+ * fallos por turno y la iteración necesita más barridos para converger.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalisisTableroBenchmark {
+
+    @Param({"0.3", "0.6", "0.9"})
+    public double precision;
+
+    private TableroGrafico tablero;
+    private PrecisionRespuestas precisionRespuestas;
+
+    @Setup
+    public void preparar() {
+        tablero = new TableroGrafico();
+        precisionRespuestas = new PrecisionRespuestas(precision);
+    }
+
+    @Benchmark
+    public AnalisisTablero calcular() {
+        return AnalisisTablero.calcular(tablero, precisionRespuestas);
+    }
+}
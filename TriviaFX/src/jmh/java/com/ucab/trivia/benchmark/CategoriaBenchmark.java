@@ -0,0 +1,57 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link CategoriaTrivia#fromString} con las variantes de clave que aparecen en los archivos:
+ * nombres mostrados, nombres del enum, mayúsculas distintas, sin acentos y claves desconocidas.
+ * {@code fromStringRecorriendoValores} es la búsqueda anterior, que recorría {@code values()} con un
+ * stream y dos {@code equalsIgnoreCase} por constante. El efecto sobre la carga de archivos de
+ * estadísticas grandes se mide con {@code ServicioDatosBenchmark.estadisticasCargar}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CategoriaBenchmark {
+
+    private final String[] claves = {
+            "Geografía", "Historia", "Deportes", "Ciencia", "Arte y Literatura", "Entretenimiento",
+            "GEOGRAFIA", "ARTE_LITERATURA", "entretenimiento", "HISTORIA", "Geografia", "desconocida"
+    };
+    private int cursor;
+
+    @Benchmark
+    public CategoriaTrivia fromString() {
+        cursor = (cursor + 1) % claves.length;
+        return CategoriaTrivia.fromString(claves[cursor]);
+    }
+
+    @Benchmark
+    public CategoriaTrivia fromStringNombreMostrado() {
+        return CategoriaTrivia.fromString(claves[4]);
+    }
+
+    @Benchmark
+    public CategoriaTrivia fromStringRecorriendoValores() {
+        cursor = (cursor + 1) % claves.length;
+        String nombre = claves[cursor];
+        return Arrays.stream(CategoriaTrivia.values())
+                .filter(cat -> cat.getNombreMostrado().equalsIgnoreCase(nombre) || cat.name().equalsIgnoreCase(nombre))
+                .findFirst().orElse(null);
+    }
+}
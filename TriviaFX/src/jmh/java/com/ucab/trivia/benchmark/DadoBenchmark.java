@@ -0,0 +1,70 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.Dado;
+import com.ucab.trivia.modelo.FuenteAleatoria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide lanzamientos de dado por segundo con cada generador: el {@link SecureRandom} que usaba el dado,
+ * la {@link FuenteAleatoria} que cuenta extracciones y un {@link SplittableRandom} sin envolver como
+ * referencia. {@code lanzarEnParalelo} usa cuatro hilos: con el generador seguro compartido compiten
+ * por el mismo objeto, mientras que cada hilo divide su propia fuente rápida.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DadoBenchmark {
+
+    private static final SecureRandom SEGURO_COMPARTIDO = new SecureRandom();
+    private static final FuenteAleatoria RAIZ = FuenteAleatoria.conSemilla(42);
+
+    @Param({"seguro", "fuente", "splittable"})
+    public String generador;
+
+    private Dado dado;
+
+    @Setup
+    public void preparar() {
+        switch (generador) {
+            case "seguro":
+                dado = new Dado(SEGURO_COMPARTIDO);
+                break;
+            case "fuente":
+                synchronized (RAIZ) {
+                    dado = new Dado(RAIZ.dividir());
+                }
+                break;
+            default:
+                dado = new Dado(new SplittableRandom(42));
+        }
+    }
+
+    @Benchmark
+    public int lanzar() {
+        return dado.lanzar();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int lanzarEnParalelo() {
+        return dado.lanzar();
+    }
+}
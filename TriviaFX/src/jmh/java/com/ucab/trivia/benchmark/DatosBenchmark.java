@@ -0,0 +1,96 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.EstadisticaGlobal;
+import com.ucab.trivia.modelo.EstadoJuegoGuardado;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.PerfilJugador;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.PreguntaOriginal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Genera los conjuntos de datos sintéticos que usan los benchmarks.
+ * Todos los generadores usan semillas fijas para que las corridas sean comparables entre versiones.
+ */
+final class DatosBenchmark {
+
+    private DatosBenchmark() {}
+
+    /**
+     * Crea un banco de preguntas con la cantidad total indicada, repartida entre las categorías
+     * y con las claves de categoría tal como aparecen en preguntasJuegoTrivia.json.
+     */
+    static Map<String, List<PreguntaOriginal>> bancoDePreguntas(int total) {
+        CategoriaTrivia[] categorias = CategoriaTrivia.values();
+        Map<String, List<PreguntaOriginal>> banco = new HashMap<>();
+        for (CategoriaTrivia cat : categorias) banco.put(cat.getNombreMostrado(), new ArrayList<>(total / categorias.length + 1));
+        for (int i = 0; i < total; i++) {
+            CategoriaTrivia cat = categorias[i % categorias.length];
+            banco.get(cat.getNombreMostrado()).add(new PreguntaOriginal(
+                    "¿Pregunta número " + i + " de la categoría " + cat.getNombreMostrado() + "?",
+                    "respuesta " + i));
+        }
+        return banco;
+    }
+
+    /** Crea estadísticas globales para la cantidad de jugadores indicada. */
+    static List<EstadisticaGlobal> estadisticas(int jugadores) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<EstadisticaGlobal> lista = new ArrayList<>(jugadores);
+        for (int i = 0; i < jugadores; i++) {
+            EstadisticaGlobal est = new EstadisticaGlobal("jugador" + i);
+            int partidas = 1 + random.nextInt(50);
+            for (int p = 0; p < partidas; p++) est.registrarPartidaJugada(random.nextInt(4) == 0);
+            Map<CategoriaTrivia, Integer> correctas = new HashMap<>();
+            for (CategoriaTrivia cat : CategoriaTrivia.values()) correctas.put(cat, random.nextInt(100));
+            est.agregarEstadisticasDePartida(correctas, random.nextInt(1_000_000));
+            lista.add(est);
+        }
+        return lista;
+    }
+
+    /** Crea el estado de una partida en curso con la cantidad de jugadores indicada. */
+    static EstadoJuegoGuardado partidaEnCurso(int cantidadJugadores) {
+        SplittableRandom random = new SplittableRandom(11);
+        List<Jugador> jugadores = new ArrayList<>(cantidadJugadores);
+        for (int i = 0; i < cantidadJugadores; i++) {
+            PerfilJugador perfil = new PerfilJugador();
+            perfil.setAlias("Jugador" + i);
+            perfil.setEmail("jugador" + i + "@ucab.com");
+            Jugador jugador = new Jugador(perfil);
+            jugador.setPosicionActual(Posicion.desdeOrdinal(random.nextInt(Posicion.TOTAL_POSICIONES)));
+            for (CategoriaTrivia cat : CategoriaTrivia.values()) {
+                if (random.nextBoolean()) {
+                    jugador.getFicha().marcarCategoriaObtenida(cat);
+                    jugador.registrarRespuestaCorrecta(cat, random.nextInt(20_000));
+                }
+            }
+            jugadores.add(jugador);
+        }
+        return new EstadoJuegoGuardado(jugadores, 0);
+    }
+
+    /** Crea un directorio temporal para los archivos de un benchmark. */
+    static File directorioTemporal() throws IOException {
+        return Files.createTempDirectory("trivia-jmh").toFile();
+    }
+
+    /** Borra un directorio temporal creado con {@link #directorioTemporal()}. */
+    static void borrar(File directorio) throws IOException {
+        try (Stream<Path> rutas = Files.walk(directorio.toPath())) {
+            for (Path ruta : rutas.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(ruta);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Ficha;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las consultas de {@link Ficha} que se hacen en cada turno, sobre fichas
+ * con 0 a 6 quesitos obtenidos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FichaBenchmark {
+
+    private final Ficha[] fichas = new Ficha[CategoriaTrivia.values().length + 1];
+    private int cursor;
+
+    @Setup
+    public void preparar() {
+        CategoriaTrivia[] categorias = CategoriaTrivia.values();
+        for (int obtenidas = 0; obtenidas < fichas.length; obtenidas++) {
+            Ficha ficha = new Ficha();
+            for (int i = 0; i < obtenidas; i++) ficha.marcarCategoriaObtenida(categorias[i]);
+            fichas[obtenidas] = ficha;
+        }
+    }
+
+    private Ficha siguiente() {
+        cursor = (cursor + 1) % fichas.length;
+        return fichas[cursor];
+    }
+
+    @Benchmark
+    public boolean estaCompleta() {
+        return siguiente().estaCompleta();
+    }
+
+    @Benchmark
+    public int getCategoriasObtenidasCount() {
+        return siguiente().getCategoriasObtenidasCount();
+    }
+}
@@ -0,0 +1,119 @@
+package com.ucab.trivia.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ucab.trivia.modelo.EstadisticaGlobal;
+import com.ucab.trivia.modelo.EstadoJuegoGuardado;
+import com.ucab.trivia.modelo.MapeadorDatos;
+import com.ucab.trivia.modelo.PerfilJugador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo por llamada de leer y escribir los tipos persistidos (perfiles, estadísticas de
+ * 100 jugadores y una partida de 4 jugadores) en memoria, sin disco, con cuatro configuraciones:
+ * <ul>
+ *   <li>{@code mapperNuevo}: un {@link ObjectMapper} nuevo con búsqueda de módulos en cada llamada,
+ *       como cuando cada operación creaba su propio {@code ServicioDatos};</li>
+ *   <li>{@code mapperCompartido}: un mapper ya creado, resolviendo un {@link TypeReference} en cada llamada;</li>
+ *   <li>{@code precompilado}: los {@link ObjectReader}/{@link ObjectWriter} de {@link MapeadorDatos};</li>
+ *   <li>{@code blackbird}: lo mismo con el módulo Blackbird registrado.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapeadorBenchmark {
+
+    @Param({"perfiles", "estadisticas", "partida"})
+    public String tipoPersistido;
+
+    @Param({"mapperNuevo", "mapperCompartido", "precompilado", "blackbird"})
+    public String configuracion;
+
+    private Object datos;
+    private byte[] json;
+    private TypeReference<?> tipo;
+    private ObjectMapper compartido;
+    private ObjectReader lector;
+    private ObjectWriter escritor;
+
+    @Setup
+    public void preparar() throws IOException {
+        MapeadorDatos mapeador = new MapeadorDatos("blackbird".equals(configuracion));
+        switch (tipoPersistido) {
+            case "perfiles" -> {
+                List<PerfilJugador> perfiles = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    PerfilJugador perfil = new PerfilJugador();
+                    perfil.setAlias("Jugador" + i);
+                    perfil.setEmail("jugador" + i + "@ucab.com");
+                    perfiles.add(perfil);
+                }
+                datos = perfiles;
+                tipo = new TypeReference<List<PerfilJugador>>() {};
+                lector = mapeador.getLectorPerfiles();
+                escritor = mapeador.getEscritorPerfiles();
+            }
+            case "estadisticas" -> {
+                datos = DatosBenchmark.estadisticas(100);
+                tipo = new TypeReference<List<EstadisticaGlobal>>() {};
+                lector = mapeador.getLectorEstadisticas();
+                escritor = mapeador.getEscritorEstadisticas();
+            }
+            default -> {
+                datos = DatosBenchmark.partidaEnCurso(4);
+                tipo = new TypeReference<EstadoJuegoGuardado>() {};
+                lector = mapeador.getLectorPartida();
+                escritor = mapeador.getEscritorPartida();
+            }
+        }
+        compartido = mapeador.getMapper();
+        json = escritor.writeValueAsBytes(datos);
+    }
+
+    private ObjectMapper mapperNuevo() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.findAndRegisterModules();
+        return mapper;
+    }
+
+    @Benchmark
+    public Object leer() throws IOException {
+        return switch (configuracion) {
+            case "mapperNuevo" -> mapperNuevo().readValue(json, tipo);
+            case "mapperCompartido" -> compartido.readValue(json, tipo);
+            default -> lector.readValue(json);
+        };
+    }
+
+    @Benchmark
+    public byte[] escribir() throws IOException {
+        return switch (configuracion) {
+            case "mapperNuevo" -> mapperNuevo().writerFor(tipo).writeValueAsBytes(datos);
+            case "mapperCompartido" -> compartido.writerFor(tipo).writeValueAsBytes(datos);
+            default -> escritor.writeValueAsBytes(datos);
+        };
+    }
+}
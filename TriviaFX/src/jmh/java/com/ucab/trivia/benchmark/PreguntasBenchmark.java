@@ -0,0 +1,71 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.BancoPreguntas;
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.CorpusPreguntas;
+import com.ucab.trivia.modelo.PreguntaOriginal;
+import com.ucab.trivia.modelo.ServicioPreguntasJuego;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link ServicioPreguntasJuego#seleccionarPreguntaAleatoria} con bancos de distintos tamaños,
+ * en memoria o mapeados desde un {@link CorpusPreguntas}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class PreguntasBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int tamanoBanco;
+
+    @Param({"heap", "corpus"})
+    public String fuente;
+
+    private ServicioPreguntasJuego servicio;
+    private final CategoriaTrivia[] categorias = CategoriaTrivia.values();
+    private int cursor;
+    private File directorio;
+
+    @Setup
+    public void preparar() throws IOException {
+        BancoPreguntas banco = BancoPreguntas.desdeMapa(DatosBenchmark.bancoDePreguntas(tamanoBanco));
+        if ("corpus".equals(fuente)) {
+            directorio = DatosBenchmark.directorioTemporal();
+            File archivo = new File(directorio, "preguntas" + CorpusPreguntas.EXTENSION);
+            CorpusPreguntas.escribir(banco, archivo);
+            servicio = new ServicioPreguntasJuego(CorpusPreguntas.abrir(archivo));
+        } else {
+            servicio = new ServicioPreguntasJuego(banco);
+        }
+    }
+
+    @TearDown
+    public void limpiar() throws IOException {
+        if (directorio != null) DatosBenchmark.borrar(directorio);
+    }
+
+    @Benchmark
+    public PreguntaOriginal seleccionarPreguntaAleatoria() {
+        cursor = (cursor + 1) % categorias.length;
+        return servicio.seleccionarPreguntaAleatoria(categorias[cursor]);
+    }
+}
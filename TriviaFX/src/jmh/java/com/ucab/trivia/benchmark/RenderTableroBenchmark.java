@@ -0,0 +1,129 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.controlador.MetricasRender;
+import com.ucab.trivia.controlador.RenderizadorTablero;
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Dado;
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.PerfilJugador;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TableroGrafico;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los renderizadores del tablero: en cada operación un jugador avanza (y a veces gana un quesito),
+ * se actualiza el tablero y se toma una instantánea del panel, lo que obliga a JavaFX a hacer el CSS,
+ * el layout y el pintado de un cuadro completo. Todo corre en el hilo de JavaFX.
+ * Al terminar cada combinación se imprime la cantidad de nodos del panel.
+ *
+ * Cada fork corre JavaFX sobre Monocle sin pantalla y con el pintado por software (el perfil {@code jmh}
+ * agrega Monocle al classpath), así que no hace falta un servidor gráfico y los resultados no dependen
+ * de la tarjeta de video.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw"})
+@State(Scope.Benchmark)
+public class RenderTableroBenchmark {
+
+    @Param({"nodos", "canvas"})
+    public String renderizador;
+
+    @Param({"6", "36"})
+    public int jugadores;
+
+    private Pane panel;
+    private Juego juego;
+    private RenderizadorTablero tablero;
+    private WritableImage cuadro;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup
+    public void preparar() throws Exception {
+        try {
+            Platform.startup(() -> {});
+        } catch (IllegalStateException yaIniciado) {
+            // El toolkit sigue vivo entre combinaciones de parámetros del mismo fork.
+        }
+        enHiloFx(() -> {
+            List<PerfilJugador> perfiles = new ArrayList<>();
+            for (int i = 0; i < jugadores; i++) {
+                PerfilJugador perfil = new PerfilJugador();
+                perfil.setAlias("Jugador" + i);
+                perfiles.add(perfil);
+            }
+            juego = new Juego(perfiles, new TableroGrafico(), new Dado(new SplittableRandom(3)), null, null);
+            panel = new Pane();
+            panel.setPrefSize(672, 672);
+            new Scene(panel, 672, 672);
+            tablero = RenderizadorTablero.crear(renderizador, panel, new MetricasRender());
+            tablero.construir(juego);
+            tablero.actualizar(juego);
+            cuadro = panel.snapshot(null, null);
+            return null;
+        });
+    }
+
+    @TearDown
+    public void terminar() throws Exception {
+        int nodos = enHiloFx(() -> contarNodos(panel) - 1);
+        System.out.printf("%n%s con %d jugadores: %d nodos en el panel%n", renderizador, jugadores, nodos);
+    }
+
+    @Benchmark
+    public WritableImage turnoYCuadro() throws Exception {
+        return enHiloFx(() -> {
+            Jugador jugador = juego.getJugadores().get(random.nextInt(jugadores));
+            boolean enCentro = jugador.getPosicionActual().getTipo() == Posicion.TipoLugar.CENTRO;
+            // Desde el centro la dirección es el rayo de salida.
+            int direccion = enCentro ? random.nextInt(6) : (random.nextBoolean() ? 1 : -1);
+            juego.moverJugador(jugador, 1 + random.nextInt(6), direccion, random.nextInt(4) == 0);
+            if (random.nextInt(8) == 0) {
+                jugador.getFicha().marcarCategoriaObtenida(CategoriaTrivia.values()[random.nextInt(CategoriaTrivia.values().length)]);
+            }
+            tablero.actualizar(juego);
+            return panel.snapshot(null, cuadro);
+        });
+    }
+
+    private static int contarNodos(Node nodo) {
+        int cantidad = 1;
+        if (nodo instanceof Parent padre) {
+            for (Node hijo : padre.getChildrenUnmodifiable()) cantidad += contarNodos(hijo);
+        }
+        return cantidad;
+    }
+
+    private static <T> T enHiloFx(Callable<T> tarea) throws Exception {
+        FutureTask<T> futuro = new FutureTask<>(tarea);
+        Platform.runLater(futuro);
+        return futuro.get();
+    }
+}
@@ -0,0 +1,81 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.BancoPreguntas;
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.ComparadorRespuestas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la corrección de respuestas registradas, como en una corrección en lote: la comparación
+ * original con {@code trim().equalsIgnoreCase}, normalizar ambos textos con {@link Normalizer} en
+ * cada intento, y el {@link ComparadorRespuestas} contra las formas canónicas precalculadas del banco.
+ * Los intentos mezclan aciertos exactos, con acentos y mayúsculas, con errores de tipeo y fallos.
+ * Con {@code -prof gc} se ve que el comparador no asigna memoria por intento.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RespuestasBenchmark {
+
+    private static final String[] RESPUESTAS = {
+            "116 anos", "santa maria|la santa maria", "adolfo suarez", "1991",
+            "asesinato del archiduque francisco fernando de habsburgo", "mijail gorbachov", "la gran depresion", "soren kierkegaard"
+    };
+
+    private static final String[] INTENTOS = {
+            "116 años", "La Santa María", "Adolfo Suares", "1990",
+            "asesinato del archiduque Francisco Fernando de Habsburgo", "mijail gorvachov", "gran depresión", "kierkegaard"
+    };
+
+    private static final CategoriaTrivia CATEGORIA = CategoriaTrivia.values()[0];
+
+    private BancoPreguntas banco;
+    private final ComparadorRespuestas comparador = new ComparadorRespuestas();
+    private int cursor;
+
+    @Setup
+    public void preparar() {
+        BancoPreguntas.Constructor constructor = new BancoPreguntas.Constructor();
+        for (String respuesta : RESPUESTAS) constructor.agregar(CATEGORIA, "¿Pregunta?", respuesta);
+        banco = constructor.construir();
+    }
+
+    @Benchmark
+    public boolean igualdadSinNormalizar() {
+        cursor = (cursor + 1) % RESPUESTAS.length;
+        return INTENTOS[cursor].trim().equalsIgnoreCase(RESPUESTAS[cursor].trim());
+    }
+
+    @Benchmark
+    public boolean normalizarAlComparar() {
+        cursor = (cursor + 1) % RESPUESTAS.length;
+        return sinAcentos(INTENTOS[cursor]).equals(sinAcentos(RESPUESTAS[cursor]));
+    }
+
+    @Benchmark
+    public boolean comparador() {
+        cursor = (cursor + 1) % RESPUESTAS.length;
+        return banco.esRespuestaCorrecta(CATEGORIA, cursor, INTENTOS[cursor], comparador);
+    }
+
+    private static String sinAcentos(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}+", "")
+                .replaceAll("[^\\p{L}\\p{N}]+", " ").trim().toLowerCase(Locale.ROOT);
+    }
+}
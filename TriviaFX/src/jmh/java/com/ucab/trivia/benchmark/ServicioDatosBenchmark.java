@@ -0,0 +1,132 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.EstadisticaGlobal;
+import com.ucab.trivia.modelo.EstadoJuegoGuardado;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.ServicioDatos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide los ciclos de guardar y cargar de {@link ServicioDatos} para partidas guardadas (en JSON y binario)
+ * y para archivos de estadísticas globales de 10 a 1.000.000 de jugadores, incluido el registro
+ * del resultado de una partida de cuatro jugadores: incremental contra cargar y reescribir todo.
+ * Cada estado trabaja en su propio directorio temporal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServicioDatosBenchmark {
+
+    @State(Scope.Thread)
+    public static class EstadoPartida {
+        @Param({"2", "6"})
+        public int jugadoresPartida;
+
+        /** La extensión decide el formato: JSON o {@link com.ucab.trivia.modelo.FormatoPartidaBinaria}. */
+        @Param({"partida_guardada.json", "partida_guardada.bin"})
+        public String archivoPartida;
+
+        File directorio;
+        ServicioDatos servicio;
+        EstadoJuegoGuardado partida;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            directorio = DatosBenchmark.directorioTemporal();
+            servicio = new ServicioDatos(directorio, false, archivoPartida);
+            partida = DatosBenchmark.partidaEnCurso(jugadoresPartida);
+        }
+
+        @TearDown(Level.Trial)
+        public void limpiar() throws IOException {
+            DatosBenchmark.borrar(directorio);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class EstadoEstadisticas {
+        @Param({"10", "1000", "100000", "1000000"})
+        public int jugadoresEstadisticas;
+
+        File directorio;
+        ServicioDatos servicio;
+        List<EstadisticaGlobal> estadisticas;
+        List<Jugador> participantes;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            directorio = DatosBenchmark.directorioTemporal();
+            servicio = new ServicioDatos(directorio);
+            estadisticas = DatosBenchmark.estadisticas(jugadoresEstadisticas);
+            servicio.guardarEstadisticas(estadisticas);
+            participantes = new ArrayList<>(DatosBenchmark.partidaEnCurso(4).getJugadores());
+            for (int i = 0; i < participantes.size(); i++) {
+                participantes.get(i).setAlias("jugador" + (i * (jugadoresEstadisticas / participantes.size())));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void limpiar() throws IOException {
+            DatosBenchmark.borrar(directorio);
+        }
+    }
+
+    @Benchmark
+    public EstadoJuegoGuardado partidaGuardarYCargar(EstadoPartida estado) {
+        estado.servicio.guardarPartida(estado.partida);
+        return estado.servicio.cargarPartidaGuardada();
+    }
+
+    @Benchmark
+    public List<EstadisticaGlobal> estadisticasCargar(EstadoEstadisticas estado) {
+        return estado.servicio.cargarEstadisticas();
+    }
+
+    @Benchmark
+    public List<EstadisticaGlobal> estadisticasGuardarYCargar(EstadoEstadisticas estado) {
+        estado.servicio.guardarEstadisticas(estado.estadisticas);
+        return estado.servicio.cargarEstadisticas();
+    }
+
+    @Benchmark
+    public void estadisticasRegistrarPartida(EstadoEstadisticas estado) {
+        estado.servicio.registrarResultadoPartida(estado.participantes, estado.participantes.get(0));
+    }
+
+    /** El registro tal como se hacía antes: cargar todo, buscar a cada participante y reescribir el archivo. */
+    @Benchmark
+    public List<EstadisticaGlobal> estadisticasRegistrarPartidaReescribiendo(EstadoEstadisticas estado) {
+        List<EstadisticaGlobal> todas = estado.servicio.cargarEstadisticas();
+        for (Jugador jugador : estado.participantes) {
+            EstadisticaGlobal est = todas.stream().filter(e -> e.getAlias().equals(jugador.getAlias())).findFirst().orElse(null);
+            if (est == null) {
+                est = new EstadisticaGlobal(jugador.getAlias());
+                todas.add(est);
+            }
+            est.registrarPartidaJugada(jugador == estado.participantes.get(0));
+            est.agregarEstadisticasDePartida(jugador.getCorrectasEnPartida(), jugador.getTiempoTotalEnPartidaMs());
+        }
+        estado.servicio.guardarEstadisticas(todas);
+        return todas;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.Dado;
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+import com.ucab.trivia.modelo.PerfilJugador;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TableroGrafico;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el cálculo de movimientos: la lógica original de {@link TableroGrafico#calcularNuevaPosicion},
+ * la tabla de transiciones precalculada, {@link Juego#moverJugador} completo y la enumeración de todos
+ * los destinos de un lanzamiento con {@link Juego#calcularOpciones}, que no debe crear objetos
+ * (comprobable con {@code -prof gc}).
+ * Las entradas se generan al inicio y se recorren en ciclo para que el JIT no pueda plegarlas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableroBenchmark {
+
+    private static final int ENTRADAS = 1024;
+
+    private TableroGrafico tablero;
+    private Juego juego;
+    private Jugador jugador;
+    private final OpcionesMovimiento opciones = new OpcionesMovimiento();
+    private final Posicion[] origenes = new Posicion[ENTRADAS];
+    private final int[] pasos = new int[ENTRADAS];
+    private final int[] direcciones = new int[ENTRADAS];
+    private final boolean[] entraRayo = new boolean[ENTRADAS];
+    private int cursor;
+
+    @Setup
+    public void preparar() {
+        tablero = new TableroGrafico();
+        PerfilJugador perfil = new PerfilJugador();
+        perfil.setAlias("Bench");
+        juego = new Juego(List.of(perfil), tablero, new Dado(new SplittableRandom(3)), null, null);
+        jugador = juego.getJugadores().get(0);
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < ENTRADAS; i++) {
+            // El centro tiene su propia regla de salida en Juego; aquí solo casillas del círculo y los rayos.
+            origenes[i] = Posicion.desdeOrdinal(random.nextInt(Posicion.ORDINAL_CENTRO));
+            pasos[i] = 1 + random.nextInt(6);
+            direcciones[i] = random.nextBoolean() ? 1 : -1;
+            entraRayo[i] = random.nextBoolean();
+        }
+    }
+
+    private int siguiente() {
+        return cursor = (cursor + 1) & (ENTRADAS - 1);
+    }
+
+    @Benchmark
+    public Posicion calcularNuevaPosicion() {
+        int i = siguiente();
+        return tablero.calcularNuevaPosicion(origenes[i], pasos[i], direcciones[i], entraRayo[i]);
+    }
+
+    @Benchmark
+    public Posicion tablaTransiciones() {
+        int i = siguiente();
+        return tablero.getTablaTransiciones().mover(origenes[i], pasos[i], direcciones[i], entraRayo[i]);
+    }
+
+    @Benchmark
+    public Posicion moverJugador() {
+        int i = siguiente();
+        jugador.setPosicionActual(origenes[i]);
+        juego.moverJugador(jugador, pasos[i], direcciones[i], entraRayo[i]);
+        return jugador.getPosicionActual();
+    }
+
+    @Benchmark
+    public Posicion moverJugadorDesdeElCentro() {
+        int i = siguiente();
+        jugador.setPosicionActual(Posicion.enCentro());
+        juego.moverJugador(jugador, pasos[i], i % TableroGrafico.NUMERO_RAYOS, false);
+        return jugador.getPosicionActual();
+    }
+
+    @Benchmark
+    public int calcularOpciones() {
+        int i = siguiente();
+        jugador.setPosicionActual(i % 8 == 0 ? Posicion.enCentro() : origenes[i]);
+        juego.calcularOpciones(jugador, pasos[i], opciones);
+        return opciones.getCantidad();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ucab.trivia.benchmark;
+
+import com.ucab.trivia.modelo.Dado;
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.PerfilJugador;
+import com.ucab.trivia.modelo.TableroGrafico;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mide pasar el turno y comprobar si hay ganador por rendición según el tamaño de la partida,
+ * con la mitad de los jugadores rendidos: con el anillo de {@link Juego} y con la lógica original,
+ * que filtraba una lista de activos en cada llamada y saltaba a los rendidos de uno en uno.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TurnosBenchmark {
+
+    @Param({"6", "60", "600", "6000"})
+    public int jugadores;
+
+    private Juego juego;
+    private List<Jugador> lista;
+    private int indiceOriginal;
+
+    @Setup
+    public void preparar() {
+        List<PerfilJugador> perfiles = new ArrayList<>();
+        for (int i = 0; i < jugadores; i++) {
+            PerfilJugador perfil = new PerfilJugador();
+            perfil.setAlias("Jugador" + i);
+            perfiles.add(perfil);
+        }
+        juego = new Juego(perfiles, new TableroGrafico(), new Dado(new SplittableRandom(3)), null, null);
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < jugadores / 2; i++) {
+            int indice = random.nextInt(jugadores);
+            if (juego.getJugadores().get(indice).isEstaRendido() || juego.getCantidadJugadoresActivos() <= 2) continue;
+            juego.setIndiceJugadorActual(indice);
+            juego.rendirse();
+        }
+        juego.setIndiceJugadorActual(0);
+        lista = juego.getJugadores();
+    }
+
+    @Benchmark
+    public int pasarTurno() {
+        juego.pasarTurno();
+        return juego.getIndiceJugadorActual();
+    }
+
+    @Benchmark
+    public Jugador determinarGanadorPorRendicion() {
+        return juego.determinarGanadorPorRendicion();
+    }
+
+    @Benchmark
+    public int pasarTurnoOriginal() {
+        if (activosOriginal().isEmpty()) return indiceOriginal;
+        do {
+            indiceOriginal = (indiceOriginal + 1) % lista.size();
+        } while (lista.get(indiceOriginal).isEstaRendido());
+        return indiceOriginal;
+    }
+
+    @Benchmark
+    public Jugador determinarGanadorPorRendicionOriginal() {
+        List<Jugador> activos = activosOriginal();
+        return activos.size() == 1 ? activos.get(0) : null;
+    }
+
+    private List<Jugador> activosOriginal() {
+        return lista.stream().filter(j -> !j.isEstaRendido()).collect(Collectors.toList());
+    }
+}
@@ -1,6 +1,8 @@
 package com.ucab.trivia;
 
 import com.ucab.trivia.GestorVistas;
+import com.ucab.trivia.modelo.GuardadoAsincrono;
+import com.ucab.trivia.modelo.RecursosJuego;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import java.io.IOException;
@@ -29,6 +31,20 @@ public class App extends Application {
         primaryStage.setTitle("TRIVIA-UCAB");
         gestorVistas.mostrarMenuPrincipal();
         primaryStage.show();
+
+        // 3. Mientras se muestra el menú, se preparan en segundo plano el tablero, el dado y las preguntas.
+        RecursosJuego.calentar();
+    }
+
+    /**
+     * Se llama al cerrar la aplicación. Espera a que terminen los guardados de partida
+     * que todavía se estén escribiendo en segundo plano.
+     */
+    @Override
+    public void stop() {
+        if (!GuardadoAsincrono.getInstancia().vaciar(10000)) {
+            System.err.println("ADVERTENCIA: La partida guardada pudo quedar sin su último cambio.");
+        }
     }
 
     /**
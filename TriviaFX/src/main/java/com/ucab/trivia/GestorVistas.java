@@ -3,6 +3,7 @@ package com.ucab.trivia;
 import com.ucab.trivia.controlador.*;
 import com.ucab.trivia.modelo.Juego;
 import com.ucab.trivia.modelo.PerfilJugador;
+import com.ucab.trivia.modelo.RecursosJuego;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -97,6 +98,9 @@ public class GestorVistas {
      * @param esPartidaCargada       Indica si se debe iniciar una nueva partida o cargar una guardada.
      */
     public void mostrarVentanaJuego(List<PerfilJugador> jugadoresSeleccionados, boolean esPartidaCargada) {
+        // Se mide el tiempo hasta que la partida está lista para el primer turno, sin contar los diálogos.
+        long inicio = System.nanoTime();
+        boolean precalentado = RecursosJuego.estanListos();
         try {
             FXMLLoader loader = getLoader("VentanaJuego");
             Parent root = loader.load();
@@ -107,7 +111,10 @@ public class GestorVistas {
 
             // Se usa Platform.runLater para asegurarse de que la UI esté completamente cargada
             // antes de ejecutar la lógica de inicio del juego, que puede ser pesada.
-            Platform.runLater(() -> controller.iniciarJuego(jugadoresSeleccionados, esPartidaCargada));
+            Platform.runLater(() -> {
+                controller.iniciarJuego(jugadoresSeleccionados, esPartidaCargada);
+                RecursosJuego.registrarTiempoHastaPrimerTurno(System.nanoTime() - inicio, precalentado);
+            });
         } catch (IOException e) {
             System.err.println("Error al cargar la vista de juego: " + e.getMessage());
             e.printStackTrace();
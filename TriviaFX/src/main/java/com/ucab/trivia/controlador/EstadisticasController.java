@@ -2,24 +2,27 @@ package com.ucab.trivia.controlador;
 
 import com.ucab.trivia.GestorVistas;
 import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.CriterioClasificacion;
 import com.ucab.trivia.modelo.EstadisticaGlobal;
+import com.ucab.trivia.modelo.RecursosJuego;
 import com.ucab.trivia.modelo.ServicioDatos;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador para la vista de estadísticas (Estadisticas.fxml).
- * Se encarga de cargar las estadísticas globales de los jugadores y mostrarlas
- * en una tabla ordenada, con columnas detalladas por categoría.
+ * Se encarga de mostrar las estadísticas globales de los jugadores en una tabla ordenada,
+ * con columnas detalladas por categoría. Las filas se piden por páginas a la clasificación
+ * del almacén a medida que se desplaza la tabla, y ordenar por una columna cambia el
+ * criterio de la clasificación en lugar de ordenar la lista en memoria.
  * @author [Tu Nombre/Equipo]
  * @version 1.1
  */
@@ -30,6 +33,8 @@ public class EstadisticasController {
     @FXML private TableColumn<EstadisticaGlobal, Integer> colGanadas;
     @FXML private TableColumn<EstadisticaGlobal, Integer> colPerdidas;
     @FXML private TableColumn<EstadisticaGlobal, Integer> colJugadas;
+    @FXML private TableColumn<EstadisticaGlobal, String> colPorcentaje;
+    @FXML private TableColumn<EstadisticaGlobal, Integer> colCorrectas;
     @FXML private TableColumn<EstadisticaGlobal, String> colTiempo;
 
     // --- INICIO DE LA MODIFICACIÓN: Se reemplaza la columna única por 6 columnas específicas ---
@@ -41,8 +46,10 @@ public class EstadisticasController {
     @FXML private TableColumn<EstadisticaGlobal, Integer> colEntret;
     // --- FIN DE LA MODIFICACIÓN ---
 
-    private final ServicioDatos servicioDatos = new ServicioDatos();
+    private final ServicioDatos servicioDatos = RecursosJuego.getServicioDatos();
     private GestorVistas gestorVistas;
+    private final Map<TableColumn<EstadisticaGlobal, ?>, CriterioClasificacion> criterioPorColumna = new HashMap<>();
+    private ListaClasificacionPaginada filas;
 
     public void setGestorVistas(GestorVistas gestorVistas) {
         this.gestorVistas = gestorVistas;
@@ -55,6 +62,15 @@ public class EstadisticasController {
         colGanadas.setCellValueFactory(new PropertyValueFactory<>("partidasGanadas"));
         colPerdidas.setCellValueFactory(new PropertyValueFactory<>("partidasPerdidas"));
         colJugadas.setCellValueFactory(new PropertyValueFactory<>("partidasJugadas"));
+        colPorcentaje.setCellValueFactory(cellData -> {
+            EstadisticaGlobal est = cellData.getValue();
+            double porcentaje = est.getPartidasJugadas() == 0 ? 0 : 100.0 * est.getPartidasGanadas() / est.getPartidasJugadas();
+            return new SimpleStringProperty(String.format("%.1f", porcentaje));
+        });
+        colCorrectas.setCellValueFactory(cellData -> {
+            int total = cellData.getValue().getCorrectasPorCategoria().values().stream().mapToInt(Integer::intValue).sum();
+            return new SimpleObjectProperty<>(total);
+        });
 
         // Configuración para la columna de tiempo formateado
         colTiempo.setCellValueFactory(cellData -> {
@@ -71,6 +87,14 @@ public class EstadisticasController {
         configurarColumnaCategoria(colEntret, CategoriaTrivia.ENTRETENIMIENTO);
         // --- FIN DE LA MODIFICACIÓN ---
 
+        // Solo se puede ordenar por las columnas que tienen un criterio de clasificación.
+        criterioPorColumna.put(colGanadas, CriterioClasificacion.PARTIDAS_GANADAS);
+        criterioPorColumna.put(colPorcentaje, CriterioClasificacion.PORCENTAJE_VICTORIAS);
+        criterioPorColumna.put(colCorrectas, CriterioClasificacion.TOTAL_CORRECTAS);
+        for (TableColumn<EstadisticaGlobal, ?> columna : tablaEstadisticas.getColumns()) {
+            columna.setSortable(criterioPorColumna.containsKey(columna));
+        }
+
         cargarYMostrarEstadisticas();
     }
 
@@ -86,15 +110,35 @@ public class EstadisticasController {
             Integer count = cellData.getValue().getCorrectasPorCategoria().getOrDefault(categoria, 0);
             return new SimpleObjectProperty<>(count);
         });
+        criterioPorColumna.put(columna, CriterioClasificacion.deCategoria(categoria));
     }
 
     private void cargarYMostrarEstadisticas() {
-        List<EstadisticaGlobal> estadisticas = servicioDatos.cargarEstadisticas();
-        // Ordenar por partidas ganadas para crear el ranking
-        estadisticas.sort(Comparator.comparingInt(EstadisticaGlobal::getPartidasGanadas).reversed());
+        filas = new ListaClasificacionPaginada(servicioDatos.getAlmacenEstadisticas().getClasificacion(),
+                CriterioClasificacion.PARTIDAS_GANADAS);
+        tablaEstadisticas.setSortPolicy(tabla -> ordenarPorColumna());
+        tablaEstadisticas.setItems(filas);
+        // El ranking se abre ordenado por partidas ganadas, de mayor a menor.
+        colGanadas.setSortType(TableColumn.SortType.DESCENDING);
+        tablaEstadisticas.getSortOrder().setAll(List.of(colGanadas));
+    }
 
-        ObservableList<EstadisticaGlobal> datosObservables = FXCollections.observableArrayList(estadisticas);
-        tablaEstadisticas.setItems(datosObservables);
+    /**
+     * Política de orden de la tabla: en vez de ordenar las filas, cambia el criterio con el que
+     * se piden a la clasificación y refresca las filas visibles.
+     */
+    private boolean ordenarPorColumna() {
+        if (filas == null) return true;
+        CriterioClasificacion criterio = CriterioClasificacion.PARTIDAS_GANADAS;
+        boolean descendente = true;
+        if (!tablaEstadisticas.getSortOrder().isEmpty()) {
+            TableColumn<EstadisticaGlobal, ?> columna = tablaEstadisticas.getSortOrder().get(0);
+            criterio = criterioPorColumna.getOrDefault(columna, criterio);
+            descendente = columna.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+        filas.ordenarPor(criterio, descendente);
+        tablaEstadisticas.refresh();
+        return true;
     }
 
     @FXML
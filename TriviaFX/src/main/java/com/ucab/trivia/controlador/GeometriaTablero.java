@@ -0,0 +1,163 @@
+package com.ucab.trivia.controlador;
+
+import com.ucab.trivia.modelo.Casilla;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OcupacionTablero;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TableroGrafico;
+import javafx.geometry.Point2D;
+import javafx.scene.paint.Color;
+
+/**
+ * Geometría del tablero común a todos los renderizadores: el centro de cada casilla en el panel
+ * de 672x672, sus tamaños y colores, y dónde va la ficha de cada jugador cuando varios comparten casilla.
+ */
+final class GeometriaTablero {
+
+    static final double ANCHO = 672;
+    static final double ALTO = 672;
+    static final double CENTRO_X = 336;
+    static final double CENTRO_Y = 336;
+    static final double TAMANO_CASILLA = 38;
+    static final double RADIO_FICHA = 12.0;
+    /** Borde con el que se resaltan las casillas a las que puede moverse el jugador. */
+    static final Color COLOR_RESALTADO = Color.LIME;
+    static final double ANCHO_RESALTADO = 4.0;
+    /** Borde del destino que sugiere el análisis del tablero cuando las pistas están activas. */
+    static final Color COLOR_SUGERENCIA = Color.DEEPSKYBLUE;
+    private static final double RADIO_CIRCULO = 280;
+    /** Hasta esta cantidad de fichas en una casilla se apilan en diagonal; con más se acomodan en cuadrícula. */
+    private static final int MAXIMO_EN_DIAGONAL = 4;
+    private static final double SEPARACION_FICHAS = 5;
+    private static final Color[] COLORES_BORDE = {Color.GHOSTWHITE, Color.BLACK, Color.DARKRED, Color.DARKBLUE, Color.DARKGREEN, Color.GOLD};
+
+    /** Casilla que se dibuja en el centro, que el tablero no tiene. */
+    static final Casilla CASILLA_CENTRO = new Casilla(null, false, true);
+
+    private static final Point2D[] COORDENADAS = new Point2D[Posicion.TOTAL_POSICIONES];
+
+    static {
+        for (int i = 0; i < TableroGrafico.NUMERO_CASILLAS_CIRCULO; i++) {
+            double angulo = (2 * Math.PI * i / TableroGrafico.NUMERO_CASILLAS_CIRCULO) - (Math.PI / 2);
+            COORDENADAS[Posicion.enCirculo(i).getOrdinal()] =
+                    new Point2D(CENTRO_X + RADIO_CIRCULO * Math.cos(angulo), CENTRO_Y + RADIO_CIRCULO * Math.sin(angulo));
+        }
+        for (int i = 0; i < TableroGrafico.NUMERO_RAYOS; i++) {
+            Point2D coordInicial = COORDENADAS[Posicion.enCirculo(i * 7).getOrdinal()];
+            for (int j = 0; j < TableroGrafico.CASILLAS_POR_RAYO_INTERNO; j++) {
+                double fraccion = (double) (j + 1) / (TableroGrafico.CASILLAS_POR_RAYO_INTERNO + 1);
+                COORDENADAS[Posicion.enRayo(i, j).getOrdinal()] = new Point2D(
+                        (1 - fraccion) * coordInicial.getX() + fraccion * CENTRO_X,
+                        (1 - fraccion) * coordInicial.getY() + fraccion * CENTRO_Y);
+            }
+        }
+        COORDENADAS[Posicion.ORDINAL_CENTRO] = new Point2D(CENTRO_X, CENTRO_Y);
+    }
+
+    /**
+     * Obtiene el centro de una casilla en el panel.
+     * @param ordinal El ordinal de la posición.
+     * @return Las coordenadas del centro de la casilla.
+     */
+    static Point2D getCoordenada(int ordinal) {
+        return COORDENADAS[ordinal];
+    }
+
+    /**
+     * Obtiene el lado de una casilla; la del centro es más grande.
+     * @param ordinal El ordinal de la posición.
+     * @return El lado en píxeles.
+     */
+    static double getTamano(int ordinal) {
+        return ordinal == Posicion.ORDINAL_CENTRO ? TAMANO_CASILLA * 1.5 : TAMANO_CASILLA;
+    }
+
+    /**
+     * Obtiene la casilla que se dibuja en una posición.
+     * @param tablero El tablero de la partida.
+     * @param ordinal El ordinal de la posición.
+     * @return La casilla del tablero, o {@link #CASILLA_CENTRO} para el centro.
+     */
+    static Casilla getCasilla(TableroGrafico tablero, int ordinal) {
+        return ordinal == Posicion.ORDINAL_CENTRO ? CASILLA_CENTRO : tablero.getCasillaEnPosicion(Posicion.desdeOrdinal(ordinal));
+    }
+
+    /**
+     * Busca la casilla que contiene un punto del panel. Donde dos casillas se tocan en diagonal gana
+     * la de ordinal mayor, que es la que se dibuja encima.
+     * @param x La coordenada x en el panel.
+     * @param y La coordenada y en el panel.
+     * @return El ordinal de la casilla, o {@link OcupacionTablero#SIN_CASILLA} si el punto cae fuera de todas.
+     */
+    static int buscarCasilla(double x, double y) {
+        for (int ordinal = Posicion.TOTAL_POSICIONES - 1; ordinal >= 0; ordinal--) {
+            double medio = getTamano(ordinal) / 2;
+            if (Math.abs(x - COORDENADAS[ordinal].getX()) <= medio && Math.abs(y - COORDENADAS[ordinal].getY()) <= medio) return ordinal;
+        }
+        return OcupacionTablero.SIN_CASILLA;
+    }
+
+    /**
+     * Obtiene el relleno de una casilla.
+     * @param casilla La casilla, o {@code null}.
+     * @return El color de su categoría, o blanco si no tiene.
+     */
+    static Color getColorRelleno(Casilla casilla) {
+        return casilla == null || casilla.getCategoria() == null ? Color.WHITE : Color.web(casilla.getCategoria().getColorWeb());
+    }
+
+    /**
+     * Obtiene el color del borde de la ficha de un jugador.
+     * @param indiceJugador El índice del jugador en el orden de turnos.
+     * @return El color del borde.
+     */
+    static Color getColorBorde(int indiceJugador) {
+        return COLORES_BORDE[indiceJugador % COLORES_BORDE.length];
+    }
+
+    /**
+     * Obtiene las iniciales que se muestran en la ficha de un jugador.
+     * @param jugador El jugador.
+     * @return Las dos primeras letras del alias en mayúsculas.
+     */
+    static String getIniciales(Jugador jugador) {
+        return jugador.getAlias().substring(0, Math.min(jugador.getAlias().length(), 2)).toUpperCase();
+    }
+
+    /**
+     * Calcula dónde va la ficha de cada jugador a partir del índice de ocupación de la partida,
+     * en tiempo lineal en la cantidad de jugadores. Cuando varios jugadores comparten casilla se
+     * desplazan en orden de llegada: en diagonal, {@value #SEPARACION_FICHAS} px cada uno, hasta
+     * {@value #MAXIMO_EN_DIAGONAL} fichas, y con más en una cuadrícula centrada en la casilla cuya
+     * separación se reduce a {@code tamaño / (columnas + 1)} cuando hace falta para que no se salgan de ella.
+     * @param ocupacion El índice de ocupación de la partida.
+     * @param jugadores La cantidad de jugadores.
+     * @param x Donde se escribe la coordenada x de cada ficha ({@code NaN} si el jugador no tiene posición).
+     * @param y Donde se escribe la coordenada y de cada ficha.
+     */
+    static void ubicarFichas(OcupacionTablero ocupacion, int jugadores, double[] x, double[] y) {
+        for (int i = 0; i < jugadores; i++) {
+            int ordinal = ocupacion.getCasilla(i);
+            if (ordinal == OcupacionTablero.SIN_CASILLA) {
+                x[i] = Double.NaN;
+                y[i] = Double.NaN;
+                continue;
+            }
+            int cantidad = ocupacion.getCantidad(ordinal);
+            int lugar = ocupacion.getLugarEnCasilla(i);
+            double dx = 0;
+            double dy = 0;
+            if (cantidad > MAXIMO_EN_DIAGONAL) {
+                int columnas = (int) Math.ceil(Math.sqrt(cantidad));
+                int filas = (cantidad + columnas - 1) / columnas;
+                double separacion = Math.min(SEPARACION_FICHAS, getTamano(ordinal) / (columnas + 1));
+                dx = (lugar % columnas - (columnas - 1) / 2.0) * separacion;
+                dy = (lugar / columnas - (filas - 1) / 2.0) * separacion;
+            } else if (cantidad > 1) {
+                dx = dy = -SEPARACION_FICHAS + lugar * SEPARACION_FICHAS;
+            }
+            x[i] = COORDENADAS[ordinal].getX() + dx;
+            y[i] = COORDENADAS[ordinal].getY() + dy;
+        }
+    }
+}
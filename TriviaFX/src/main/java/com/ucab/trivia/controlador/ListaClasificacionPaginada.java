@@ -0,0 +1,69 @@
+package com.ucab.trivia.controlador;
+
+import com.ucab.trivia.modelo.CriterioClasificacion;
+import com.ucab.trivia.modelo.EstadisticaGlobal;
+import com.ucab.trivia.modelo.TablaClasificacion;
+import javafx.collections.ObservableListBase;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lista de solo lectura para la tabla de estadísticas que pide las filas a la
+ * {@link TablaClasificacion} por páginas, a medida que la {@code TableView} las muestra.
+ * Solo se guardan en memoria las últimas páginas usadas, así que abrir la vista no depende
+ * de la cantidad de jugadores.
+ */
+class ListaClasificacionPaginada extends ObservableListBase<EstadisticaGlobal> {
+
+    private static final int FILAS_POR_PAGINA = 100;
+    private static final int PAGINAS_EN_MEMORIA = 8;
+
+    private final TablaClasificacion tabla;
+    private CriterioClasificacion criterio;
+    private boolean descendente = true;
+    private int cantidad;
+
+    private final Map<Integer, List<EstadisticaGlobal>> paginas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<EstadisticaGlobal>> eldest) {
+            return size() > PAGINAS_EN_MEMORIA;
+        }
+    };
+
+    ListaClasificacionPaginada(TablaClasificacion tabla, CriterioClasificacion criterio) {
+        this.tabla = tabla;
+        this.criterio = criterio;
+        this.cantidad = tabla.getCantidad();
+    }
+
+    /**
+     * Cambia el orden de la lista y descarta las páginas en memoria.
+     * La tabla que la muestra debe refrescarse después.
+     * @param criterio El nuevo criterio.
+     * @param descendente {@code true} para mostrar primero al mejor jugador.
+     */
+    void ordenarPor(CriterioClasificacion criterio, boolean descendente) {
+        this.criterio = criterio;
+        this.descendente = descendente;
+        this.cantidad = tabla.getCantidad();
+        paginas.clear();
+    }
+
+    @Override
+    public EstadisticaGlobal get(int indice) {
+        if (indice < 0 || indice >= cantidad) throw new IndexOutOfBoundsException(indice);
+        int posicion = descendente ? indice : cantidad - 1 - indice;
+        int numeroPagina = posicion / FILAS_POR_PAGINA;
+        List<EstadisticaGlobal> pagina = paginas.computeIfAbsent(numeroPagina,
+                n -> tabla.getPagina(criterio, n * FILAS_POR_PAGINA, FILAS_POR_PAGINA));
+        // El almacén solo agrega jugadores, así que la página siempre tiene la fila pedida.
+        return pagina.get(posicion % FILAS_POR_PAGINA);
+    }
+
+    @Override
+    public int size() {
+        return cantidad;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ucab.trivia.controlador;
 
 import com.ucab.trivia.GestorVistas;
+import com.ucab.trivia.modelo.RecursosJuego;
 import com.ucab.trivia.modelo.ServicioDatos;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -35,7 +36,7 @@ public class MenuPrincipalController {
      */
     @FXML
     public void initialize() {
-        this.servicioDatos = new ServicioDatos();
+        this.servicioDatos = RecursosJuego.getServicioDatos();
         btnPartidaGuardada.setDisable(!servicioDatos.existePartidaGuardada());
     }
 
@@ -0,0 +1,100 @@
+package com.ucab.trivia.controlador;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Contadores de la vista de juego: cuántos nodos de JavaFX se crean, cuánto tarda cada
+ * actualización de la vista y el tiempo entre cuadros que ve el hilo de JavaFX.
+ * Se reportan al terminar cada turno solo si se activa con {@code -Dtrivia.metricas.render=true};
+ * sin la propiedad los contadores se siguen llevando pero no se mide el tiempo entre cuadros.
+ * Todos los métodos deben llamarse desde el hilo de JavaFX.
+ */
+public final class MetricasRender {
+
+    /** Propiedad del sistema que activa el reporte por turno. */
+    static final String PROPIEDAD_ACTIVAR = "trivia.metricas.render";
+
+    private final boolean activas = Boolean.getBoolean(PROPIEDAD_ACTIVAR);
+
+    private long nodosCreadosTotal;
+    private long nodosCreadosTurno;
+    private int actualizacionesTurno;
+    private long nanosActualizacionTurno;
+    private long nanosActualizacionMaxTurno;
+    private long ultimoCuadro;
+    private long nanosCuadroMaxTurno;
+    private int cuadrosTurno;
+
+    private final AnimationTimer medidorCuadros = new AnimationTimer() {
+        @Override
+        public void handle(long ahora) {
+            if (ultimoCuadro != 0) nanosCuadroMaxTurno = Math.max(nanosCuadroMaxTurno, ahora - ultimoCuadro);
+            ultimoCuadro = ahora;
+            cuadrosTurno++;
+        }
+    };
+
+    /** Empieza a medir el tiempo entre cuadros si las métricas están activas. */
+    void iniciar() {
+        if (activas) medidorCuadros.start();
+    }
+
+    /** Deja de medir el tiempo entre cuadros. */
+    void detener() {
+        medidorCuadros.stop();
+        ultimoCuadro = 0;
+    }
+
+    /**
+     * Suma nodos creados por la vista.
+     * @param cantidad La cantidad de nodos nuevos.
+     */
+    void registrarNodosCreados(int cantidad) {
+        nodosCreadosTotal += cantidad;
+        nodosCreadosTurno += cantidad;
+    }
+
+    /**
+     * Registra la duración de una actualización de la vista.
+     * @param nanos La duración en nanosegundos.
+     */
+    void registrarActualizacion(long nanos) {
+        actualizacionesTurno++;
+        nanosActualizacionTurno += nanos;
+        nanosActualizacionMaxTurno = Math.max(nanosActualizacionMaxTurno, nanos);
+    }
+
+    /**
+     * Reporta los contadores del turno que termina (si están activos) y los reinicia.
+     * @param descripcion El turno que termina, para el reporte.
+     */
+    void cerrarTurno(String descripcion) {
+        if (activas) {
+            System.out.printf("Render %s: %d nodos creados (%d en total), %d actualizaciones en %.2f ms (máx %.2f ms), %d cuadros (máx %.1f ms entre cuadros)%n",
+                    descripcion, nodosCreadosTurno, nodosCreadosTotal, actualizacionesTurno,
+                    nanosActualizacionTurno / 1e6, nanosActualizacionMaxTurno / 1e6, cuadrosTurno, nanosCuadroMaxTurno / 1e6);
+        }
+        nodosCreadosTurno = 0;
+        actualizacionesTurno = 0;
+        nanosActualizacionTurno = 0;
+        nanosActualizacionMaxTurno = 0;
+        nanosCuadroMaxTurno = 0;
+        cuadrosTurno = 0;
+    }
+
+    /**
+     * Obtiene la cantidad de nodos creados desde que se abrió la vista.
+     * @return Los nodos creados en total.
+     */
+    long getNodosCreadosTotal() {
+        return nodosCreadosTotal;
+    }
+
+    /**
+     * Obtiene la cantidad de nodos creados en el turno en curso.
+     * @return Los nodos creados desde el último {@link #cerrarTurno(String)}.
+     */
+    long getNodosCreadosTurno() {
+        return nodosCreadosTurno;
+    }
+}
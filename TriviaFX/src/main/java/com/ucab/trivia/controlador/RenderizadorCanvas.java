@@ -0,0 +1,214 @@
+package com.ucab.trivia.controlador;
+
+import com.ucab.trivia.modelo.Casilla;
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Ficha;
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OcupacionTablero;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TableroGrafico;
+import javafx.geometry.Point2D;
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Tablero pintado sobre lienzos superpuestos en lugar de un nodo por figura.
+ * La capa de abajo tiene las casillas, que no cambian: se pinta una sola vez por partida y queda
+ * en la textura del {@link Canvas}. La capa de arriba es transparente y tiene las fichas; cuando una
+ * ficha se mueve o gana un quesito solo se borra y se vuelve a pintar el rectángulo que ocupaba y el
+ * que ocupa ahora, recortando a ese rectángulo las fichas vecinas que lo cruzan.
+ * Entre ambas, otra capa transparente tiene el resaltado de los destinos del lanzamiento, y los clics
+ * se traducen a casillas con {@link GeometriaTablero#buscarCasilla(double, double)}.
+ * Sea cual sea la cantidad de jugadores, el panel tiene tres nodos.
+ */
+final class RenderizadorCanvas implements RenderizadorTablero {
+
+    private static final CategoriaTrivia[] CATEGORIAS = CategoriaTrivia.values();
+    /** Medio lado del cuadrado que ocupa una ficha, incluyendo el borde. */
+    private static final double MEDIA_FICHA = GeometriaTablero.RADIO_FICHA + 2;
+    private static final Font FUENTE_INICIALES = Font.font("System", 10);
+
+    private final Pane panel;
+    private final MetricasRender metricas;
+    private final Canvas capaCasillas = new Canvas(GeometriaTablero.ANCHO, GeometriaTablero.ALTO);
+    private final Canvas capaResaltado = new Canvas(GeometriaTablero.ANCHO, GeometriaTablero.ALTO);
+    private final Canvas capaFichas = new Canvas(GeometriaTablero.ANCHO, GeometriaTablero.ALTO);
+    private IntConsumer alPulsarCasilla = ordinal -> { };
+
+    private String[] iniciales = new String[0];
+    private int[] mascaras = new int[0];
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] xNuevo = new double[0];
+    private double[] yNuevo = new double[0];
+    private int rectangulosRepintados;
+
+    /**
+     * Crea el renderizador sobre el panel del tablero.
+     * @param panel El panel donde se agregan los lienzos.
+     * @param metricas Los contadores donde se registran los nodos creados.
+     */
+    RenderizadorCanvas(Pane panel, MetricasRender metricas) {
+        this.panel = panel;
+        this.metricas = metricas;
+        capaFichas.setOnMouseClicked(e -> {
+            int ordinal = GeometriaTablero.buscarCasilla(e.getX(), e.getY());
+            if (ordinal != OcupacionTablero.SIN_CASILLA) alPulsarCasilla.accept(ordinal);
+        });
+    }
+
+    @Override
+    public void construir(Juego juego) {
+        TableroGrafico tablero = juego.getTablero();
+        List<Jugador> jugadores = juego.getJugadores();
+        panel.getChildren().setAll(capaCasillas, capaResaltado, capaFichas);
+        metricas.registrarNodosCreados(3);
+        limpiarResaltado();
+
+        GraphicsContext gc = capaCasillas.getGraphicsContext2D();
+        gc.clearRect(0, 0, GeometriaTablero.ANCHO, GeometriaTablero.ALTO);
+        for (int ordinal = 0; ordinal < Posicion.TOTAL_POSICIONES; ordinal++) {
+            pintarCasilla(gc, GeometriaTablero.getCoordenada(ordinal), GeometriaTablero.getTamano(ordinal),
+                    GeometriaTablero.getCasilla(tablero, ordinal));
+        }
+
+        int n = jugadores.size();
+        iniciales = new String[n];
+        mascaras = new int[n];
+        x = new double[n];
+        y = new double[n];
+        xNuevo = new double[n];
+        yNuevo = new double[n];
+        for (int i = 0; i < n; i++) iniciales[i] = GeometriaTablero.getIniciales(jugadores.get(i));
+        GeometriaTablero.ubicarFichas(juego.getOcupacion(), n, x, y);
+        for (int i = 0; i < n; i++) mascaras[i] = mascaraDe(jugadores.get(i));
+        capaFichas.getGraphicsContext2D().clearRect(0, 0, GeometriaTablero.ANCHO, GeometriaTablero.ALTO);
+        for (int i = 0; i < n; i++) pintarFicha(capaFichas.getGraphicsContext2D(), i);
+    }
+
+    @Override
+    public void actualizar(Juego juego) {
+        List<Jugador> jugadores = juego.getJugadores();
+        GeometriaTablero.ubicarFichas(juego.getOcupacion(), mascaras.length, xNuevo, yNuevo);
+        GraphicsContext gc = capaFichas.getGraphicsContext2D();
+        for (int i = 0; i < mascaras.length; i++) {
+            int mascara = mascaraDe(jugadores.get(i));
+            boolean movida = !mismaCoordenada(x[i], xNuevo[i]) || !mismaCoordenada(y[i], yNuevo[i]);
+            if (!movida && mascara == mascaras[i]) continue;
+            double xAnterior = x[i];
+            double yAnterior = y[i];
+            x[i] = xNuevo[i];
+            y[i] = yNuevo[i];
+            mascaras[i] = mascara;
+            repintar(gc, xAnterior, yAnterior);
+            if (movida) repintar(gc, x[i], y[i]);
+        }
+    }
+
+    @Override
+    public void resaltarDestinos(OpcionesMovimiento opciones, int sugerida) {
+        limpiarResaltado();
+        GraphicsContext gc = capaResaltado.getGraphicsContext2D();
+        gc.setLineWidth(GeometriaTablero.ANCHO_RESALTADO);
+        for (int i = 0; i < opciones.getCantidad(); i++) {
+            int ordinal = opciones.getDestino(i);
+            gc.setStroke(i == sugerida ? GeometriaTablero.COLOR_SUGERENCIA : GeometriaTablero.COLOR_RESALTADO);
+            Point2D centro = GeometriaTablero.getCoordenada(ordinal);
+            double tamano = GeometriaTablero.getTamano(ordinal);
+            gc.strokeRect(centro.getX() - tamano / 2, centro.getY() - tamano / 2, tamano, tamano);
+        }
+        capaFichas.setCursor(Cursor.HAND);
+    }
+
+    @Override
+    public void limpiarResaltado() {
+        capaResaltado.getGraphicsContext2D().clearRect(0, 0, GeometriaTablero.ANCHO, GeometriaTablero.ALTO);
+        capaFichas.setCursor(null);
+    }
+
+    @Override
+    public void setAlPulsarCasilla(IntConsumer accion) {
+        this.alPulsarCasilla = accion;
+    }
+
+    /**
+     * Obtiene cuántos rectángulos sucios se repintaron desde que se creó el renderizador.
+     * @return La cantidad de rectángulos repintados.
+     */
+    int getRectangulosRepintados() {
+        return rectangulosRepintados;
+    }
+
+    /**
+     * Borra el cuadrado de una ficha centrado en (cx, cy) y repinta, recortadas a él, las fichas que lo cruzan.
+     * El cuadrado se ajusta a píxeles enteros: con un recorte que parte píxeles el borrado no siempre se aplica.
+     */
+    private void repintar(GraphicsContext gc, double cx, double cy) {
+        if (Double.isNaN(cx)) return;
+        double izquierda = Math.floor(cx - MEDIA_FICHA);
+        double arriba = Math.floor(cy - MEDIA_FICHA);
+        double ancho = Math.ceil(cx + MEDIA_FICHA) - izquierda;
+        double alto = Math.ceil(cy + MEDIA_FICHA) - arriba;
+        gc.clearRect(izquierda, arriba, ancho, alto);
+        gc.save();
+        gc.beginPath();
+        gc.rect(izquierda, arriba, ancho, alto);
+        gc.clip();
+        for (int i = 0; i < mascaras.length; i++) {
+            if (!Double.isNaN(x[i]) && Math.abs(x[i] - cx) < 2 * MEDIA_FICHA + 1 && Math.abs(y[i] - cy) < 2 * MEDIA_FICHA + 1) pintarFicha(gc, i);
+        }
+        gc.restore();
+        rectangulosRepintados++;
+    }
+
+    private void pintarFicha(GraphicsContext gc, int indice) {
+        if (Double.isNaN(x[indice])) return;
+        double radio = GeometriaTablero.RADIO_FICHA;
+        double izquierda = x[indice] - radio;
+        double arriba = y[indice] - radio;
+        gc.setLineWidth(2.0);
+        gc.setStroke(GeometriaTablero.getColorBorde(indice));
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            gc.setFill((mascaras[indice] & (1 << i)) != 0 ? Color.web(CATEGORIAS[i].getColorWeb()) : Color.LIGHTGRAY);
+            gc.fillArc(izquierda, arriba, 2 * radio, 2 * radio, (i * 60) + 30, 60, ArcType.ROUND);
+            gc.strokeArc(izquierda, arriba, 2 * radio, 2 * radio, (i * 60) + 30, 60, ArcType.ROUND);
+        }
+        gc.setFill(Color.BLACK);
+        gc.setFont(FUENTE_INICIALES);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(iniciales[indice], x[indice], y[indice]);
+    }
+
+    private static void pintarCasilla(GraphicsContext gc, Point2D centro, double tamano, Casilla casilla) {
+        double izquierda = centro.getX() - tamano / 2;
+        double arriba = centro.getY() - tamano / 2;
+        gc.setFill(GeometriaTablero.getColorRelleno(casilla));
+        gc.fillRect(izquierda, arriba, tamano, tamano);
+        boolean especial = casilla != null && casilla.isEsEspecialReRoll();
+        gc.setStroke(especial ? Color.GOLD : Color.BLACK);
+        gc.setLineWidth(especial ? 3.0 : 1.0);
+        gc.strokeRect(izquierda, arriba, tamano, tamano);
+    }
+
+    private static int mascaraDe(Jugador jugador) {
+        Ficha ficha = jugador.getFicha();
+        return ficha == null ? 0 : ficha.getMascara();
+    }
+
+    private static boolean mismaCoordenada(double a, double b) {
+        return a == b || (Double.isNaN(a) && Double.isNaN(b));
+    }
+}
@@ -0,0 +1,173 @@
+package com.ucab.trivia.controlador;
+
+import com.ucab.trivia.modelo.Casilla;
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Ficha;
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TableroGrafico;
+import javafx.geometry.Point2D;
+import javafx.scene.Cursor;
+import javafx.scene.Group;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Arc;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Tablero de la ventana de juego en modo retenido: las 73 casillas y la ficha de cada jugador
+ * se crean una sola vez como nodos de JavaFX, y {@link #actualizar(Juego)} solo mueve las fichas
+ * que cambiaron de lugar y repinta los quesitos que cambiaron, sin agregar ni quitar nodos del panel.
+ * Los destinos de un lanzamiento se resaltan cambiando el borde de sus casillas, y cada casilla avisa
+ * cuando se pulsa.
+ */
+final class RenderizadorNodos implements RenderizadorTablero {
+
+    private static final CategoriaTrivia[] CATEGORIAS = CategoriaTrivia.values();
+
+    private final Pane panel;
+    private final MetricasRender metricas;
+
+    private final Rectangle[] casillas = new Rectangle[Posicion.TOTAL_POSICIONES];
+    private final boolean[] especiales = new boolean[Posicion.TOTAL_POSICIONES];
+    private final int[] resaltadas = new int[OpcionesMovimiento.MAXIMO_OPCIONES];
+    private int cantidadResaltadas;
+    private IntConsumer alPulsarCasilla = ordinal -> { };
+    private Group[] fichas = new Group[0];
+    private int[] mascaras = new int[0];
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+
+    /**
+     * Crea el renderizador sobre el panel del tablero.
+     * @param panel El panel donde se agregan las casillas y las fichas.
+     * @param metricas Los contadores donde se registran los nodos creados.
+     */
+    RenderizadorNodos(Pane panel, MetricasRender metricas) {
+        this.panel = panel;
+        this.metricas = metricas;
+    }
+
+    @Override
+    public void construir(Juego juego) {
+        TableroGrafico tablero = juego.getTablero();
+        List<Jugador> jugadores = juego.getJugadores();
+        panel.getChildren().clear();
+        cantidadResaltadas = 0;
+        for (int ordinal = 0; ordinal < Posicion.TOTAL_POSICIONES; ordinal++) {
+            crearRectanguloCasilla(ordinal, GeometriaTablero.getCasilla(tablero, ordinal));
+        }
+        fichas = new Group[jugadores.size()];
+        mascaras = new int[jugadores.size()];
+        x = new double[jugadores.size()];
+        y = new double[jugadores.size()];
+        Arrays.fill(mascaras, -1);
+        for (int i = 0; i < fichas.length; i++) {
+            fichas[i] = crearFichaGrafica(jugadores.get(i), GeometriaTablero.getColorBorde(i));
+            // Los clics atraviesan las fichas para llegar a la casilla que tienen debajo.
+            fichas[i].setMouseTransparent(true);
+            panel.getChildren().add(fichas[i]);
+        }
+    }
+
+    @Override
+    public void actualizar(Juego juego) {
+        List<Jugador> jugadores = juego.getJugadores();
+        GeometriaTablero.ubicarFichas(juego.getOcupacion(), fichas.length, x, y);
+        for (int i = 0; i < fichas.length; i++) {
+            Group ficha = fichas[i];
+            Ficha modelo = jugadores.get(i).getFicha();
+            int mascara = modelo == null ? 0 : modelo.getMascara();
+            if (mascara != mascaras[i]) {
+                pintarQuesitos(ficha, mascaras[i], mascara);
+                mascaras[i] = mascara;
+            }
+            if (Double.isNaN(x[i])) continue;
+            if (ficha.getTranslateX() != x[i]) ficha.setTranslateX(x[i]);
+            if (ficha.getTranslateY() != y[i]) ficha.setTranslateY(y[i]);
+        }
+    }
+
+    @Override
+    public void resaltarDestinos(OpcionesMovimiento opciones, int sugerida) {
+        limpiarResaltado();
+        for (int i = 0; i < opciones.getCantidad(); i++) {
+            Rectangle rect = casillas[opciones.getDestino(i)];
+            rect.setStroke(i == sugerida ? GeometriaTablero.COLOR_SUGERENCIA : GeometriaTablero.COLOR_RESALTADO);
+            rect.setStrokeWidth(GeometriaTablero.ANCHO_RESALTADO);
+            rect.setCursor(Cursor.HAND);
+            resaltadas[cantidadResaltadas++] = opciones.getDestino(i);
+        }
+    }
+
+    @Override
+    public void limpiarResaltado() {
+        for (int i = 0; i < cantidadResaltadas; i++) {
+            Rectangle rect = casillas[resaltadas[i]];
+            aplicarBorde(rect, especiales[resaltadas[i]]);
+            rect.setCursor(null);
+        }
+        cantidadResaltadas = 0;
+    }
+
+    @Override
+    public void setAlPulsarCasilla(IntConsumer accion) {
+        this.alPulsarCasilla = accion;
+    }
+
+    private void crearRectanguloCasilla(int ordinal, Casilla casilla) {
+        Point2D centro = GeometriaTablero.getCoordenada(ordinal);
+        double tamano = GeometriaTablero.getTamano(ordinal);
+        Rectangle rect = new Rectangle(centro.getX() - tamano / 2, centro.getY() - tamano / 2, tamano, tamano);
+        rect.setFill(GeometriaTablero.getColorRelleno(casilla));
+        especiales[ordinal] = casilla != null && casilla.isEsEspecialReRoll();
+        aplicarBorde(rect, especiales[ordinal]);
+        rect.setOnMouseClicked(e -> alPulsarCasilla.accept(ordinal));
+        casillas[ordinal] = rect;
+        panel.getChildren().add(rect);
+        metricas.registrarNodosCreados(1);
+    }
+
+    private static void aplicarBorde(Rectangle rect, boolean especial) {
+        rect.setStroke(especial ? Color.GOLD : Color.BLACK);
+        rect.setStrokeWidth(especial ? 3.0 : 1.0);
+    }
+
+    private Group crearFichaGrafica(Jugador jugador, Color colorBorde) {
+        Group quesitoGroup = new Group();
+        double radioFicha = GeometriaTablero.RADIO_FICHA;
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            Arc arc = new Arc(0, 0, radioFicha, radioFicha, (i * 60) + 30, 60);
+            arc.setType(ArcType.ROUND);
+            arc.setFill(Color.LIGHTGRAY);
+            arc.setStroke(colorBorde);
+            arc.setStrokeWidth(2.0);
+            quesitoGroup.getChildren().add(arc);
+        }
+        Text inicial = new Text(GeometriaTablero.getIniciales(jugador));
+        inicial.setFont(Font.font("System", 10));
+        inicial.setX(-inicial.getLayoutBounds().getWidth() / 2);
+        inicial.setY(inicial.getLayoutBounds().getHeight() / 4);
+        quesitoGroup.getChildren().add(inicial);
+        metricas.registrarNodosCreados(quesitoGroup.getChildren().size() + 1);
+        return quesitoGroup;
+    }
+
+    private static void pintarQuesitos(Group ficha, int anterior, int actual) {
+        int cambiadas = anterior < 0 ? Ficha.MASCARA_COMPLETA : anterior ^ actual;
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            if ((cambiadas & (1 << i)) == 0) continue;
+            Arc arc = (Arc) ficha.getChildren().get(i);
+            arc.setFill((actual & (1 << i)) != 0 ? Color.web(CATEGORIAS[i].getColorWeb()) : Color.LIGHTGRAY);
+        }
+    }
+}
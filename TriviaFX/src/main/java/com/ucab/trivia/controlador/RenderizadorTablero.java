@@ -0,0 +1,73 @@
+package com.ucab.trivia.controlador;
+
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+import javafx.scene.layout.Pane;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Dibuja el tablero y las fichas de los jugadores en el panel del tablero de la ventana de juego.
+ * Hay dos implementaciones: {@code nodos} (por defecto), con una figura de JavaFX por casilla y por
+ * quesito, y {@code canvas}, que pinta todo sobre unos pocos {@link javafx.scene.canvas.Canvas} y escala mejor
+ * en pantallas grandes o con muchos jugadores. Se elige al arrancar con {@code -Dtrivia.render.tablero=canvas}.
+ * Los métodos deben llamarse desde el hilo de JavaFX.
+ */
+public interface RenderizadorTablero {
+
+    /** Propiedad del sistema que elige el renderizador. */
+    String PROPIEDAD_RENDERIZADOR = "trivia.render.tablero";
+
+    /**
+     * Crea el contenido del panel para una partida. Se llama una vez por partida.
+     * @param juego La partida, con el tablero y los jugadores en el orden de turnos.
+     */
+    void construir(Juego juego);
+
+    /**
+     * Lleva las fichas al estado actual de los jugadores, tocando solo lo que cambió.
+     * Las fichas se ubican con {@link Juego#getOcupacion()}.
+     * @param juego La misma partida que se pasó a {@link #construir}.
+     */
+    void actualizar(Juego juego);
+
+    /**
+     * Resalta las casillas a las que puede moverse el jugador para que elija una con un clic.
+     * Reemplaza cualquier resaltado anterior.
+     * @param opciones Los destinos calculados con {@link Juego#calcularOpciones}.
+     * @param sugerida La opción que se marca como sugerencia con otro color, o
+     *                 {@link OpcionesMovimiento#SIN_OPCION} si no hay pistas.
+     */
+    void resaltarDestinos(OpcionesMovimiento opciones, int sugerida);
+
+    /** Quita el resaltado de {@link #resaltarDestinos}. */
+    void limpiarResaltado();
+
+    /**
+     * Define qué hacer cuando el jugador pulsa una casilla del tablero.
+     * @param accion Recibe el ordinal de {@link com.ucab.trivia.modelo.Posicion} de la casilla pulsada.
+     */
+    void setAlPulsarCasilla(IntConsumer accion);
+
+    /**
+     * Crea el renderizador elegido con {@value #PROPIEDAD_RENDERIZADOR}.
+     * @param panel El panel del tablero.
+     * @param metricas Los contadores donde se registran los nodos creados.
+     * @return El renderizador.
+     */
+    static RenderizadorTablero crear(Pane panel, MetricasRender metricas) {
+        return crear(System.getProperty(PROPIEDAD_RENDERIZADOR, "nodos"), panel, metricas);
+    }
+
+    /**
+     * Crea un renderizador por nombre.
+     * @param tipo {@code canvas} o {@code nodos}; cualquier otro valor usa {@code nodos}.
+     * @param panel El panel del tablero.
+     * @param metricas Los contadores donde se registran los nodos creados.
+     * @return El renderizador.
+     */
+    static RenderizadorTablero crear(String tipo, Pane panel, MetricasRender metricas) {
+        if ("canvas".equalsIgnoreCase(tipo)) return new RenderizadorCanvas(panel, metricas);
+        return new RenderizadorNodos(panel, metricas);
+    }
+}
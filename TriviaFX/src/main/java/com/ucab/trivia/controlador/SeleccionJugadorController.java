@@ -1,13 +1,18 @@
 package com.ucab.trivia.controlador;
 
 import com.ucab.trivia.GestorVistas;
+import com.ucab.trivia.modelo.Juego;
 import com.ucab.trivia.modelo.PerfilJugador;
+import com.ucab.trivia.modelo.RecursosJuego;
 import com.ucab.trivia.modelo.ServicioDatos;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.SelectionMode;
 import javafx.application.Platform;
 
 import java.util.ArrayList;
@@ -17,13 +22,17 @@ import java.util.List;
  * Controlador para la vista de selección de jugadores (SeleccionJugador.fxml).
  * Permite al usuario elegir los participantes para una nueva partida a partir de
  * una lista de perfiles predefinidos en un archivo JSON.
+ * En modo salón (para clases y torneos) se admiten hasta {@link Juego#MAXIMO_JUGADORES_SALON}
+ * jugadores en lugar de {@link Juego#MAXIMO_JUGADORES}, y se pueden pasar varios perfiles a la vez.
  */
 public class SeleccionJugadorController {
 
     @FXML private ListView<PerfilJugador> listaDisponibles;
     @FXML private ListView<PerfilJugador> listaSeleccionados;
+    @FXML private Label labelSeleccionados;
+    @FXML private CheckBox checkModoSalon;
 
-    private final ServicioDatos servicioDatos = new ServicioDatos();
+    private final ServicioDatos servicioDatos = RecursosJuego.getServicioDatos();
     private final ObservableList<PerfilJugador> jugadoresDisponibles = FXCollections.observableArrayList();
     private final ObservableList<PerfilJugador> jugadoresSeleccionados = FXCollections.observableArrayList();
     private GestorVistas gestorVistas;
@@ -46,20 +55,41 @@ public class SeleccionJugadorController {
         jugadoresDisponibles.setAll(perfiles);
         listaDisponibles.setItems(jugadoresDisponibles);
         listaSeleccionados.setItems(jugadoresSeleccionados);
+        listaDisponibles.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        checkModoSalon.setText("Modo salón (hasta " + Juego.MAXIMO_JUGADORES_SALON + ")");
+        onCambiarModo();
+    }
+
+    /**
+     * Maneja el cambio de la casilla "Modo salón".
+     * Actualiza el rango de jugadores que se muestra sobre la lista de seleccionados.
+     */
+    @FXML
+    private void onCambiarModo() {
+        labelSeleccionados.setText("Jugadores Seleccionados (1-" + getMaximoJugadores() + ")");
+    }
+
+    private int getMaximoJugadores() {
+        return checkModoSalon.isSelected() ? Juego.MAXIMO_JUGADORES_SALON : Juego.MAXIMO_JUGADORES;
     }
 
     /**
      * Maneja el evento de clic en el botón ">".
-     * Mueve un jugador de la lista de disponibles a la de seleccionados.
+     * Mueve los jugadores marcados de la lista de disponibles a la de seleccionados, hasta el máximo del modo.
      */
     @FXML
     private void onAgregarJugador() {
-        PerfilJugador seleccionado = listaDisponibles.getSelectionModel().getSelectedItem();
-        if (seleccionado != null && jugadoresSeleccionados.size() < 6) {
-            jugadoresDisponibles.remove(seleccionado);
-            jugadoresSeleccionados.add(seleccionado);
-        } else if (jugadoresSeleccionados.size() >= 6) {
-            mostrarAlerta("Máximo de Jugadores", "No se pueden seleccionar más de 6 jugadores.");
+        List<PerfilJugador> marcados = new ArrayList<>(listaDisponibles.getSelectionModel().getSelectedItems());
+        int maximo = getMaximoJugadores();
+        int lugares = maximo - jugadoresSeleccionados.size();
+        if (!marcados.isEmpty() && lugares > 0) {
+            List<PerfilJugador> agregados = marcados.subList(0, Math.min(lugares, marcados.size()));
+            listaDisponibles.getSelectionModel().clearSelection();
+            jugadoresDisponibles.removeAll(agregados);
+            jugadoresSeleccionados.addAll(agregados);
+        }
+        if (marcados.size() > lugares) {
+            mostrarAlerta("Máximo de Jugadores", "No se pueden seleccionar más de " + maximo + " jugadores.");
         }
     }
 
@@ -82,8 +112,9 @@ public class SeleccionJugadorController {
      */
     @FXML
     private void onJugar() {
-        if (jugadoresSeleccionados.isEmpty() || jugadoresSeleccionados.size() > 6) {
-            mostrarAlerta("Error de Selección", "Debe seleccionar entre 1 y 6 jugadores para comenzar.");
+        int maximo = getMaximoJugadores();
+        if (jugadoresSeleccionados.isEmpty() || jugadoresSeleccionados.size() > maximo) {
+            mostrarAlerta("Error de Selección", "Debe seleccionar entre 1 y " + maximo + " jugadores para comenzar.");
             return;
         }
         gestorVistas.mostrarVentanaJuego(new ArrayList<>(jugadoresSeleccionados), false);
@@ -2,29 +2,26 @@ package com.ucab.trivia.controlador;
 
 import com.ucab.trivia.GestorVistas;
 import com.ucab.trivia.modelo.*;
+import com.ucab.trivia.simulacion.AnalisisTablero;
+import com.ucab.trivia.simulacion.PrecisionRespuestas;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.geometry.Point2D;
-import javafx.scene.Group;
-import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Arc;
-import javafx.scene.shape.ArcType;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class VentanaJuegoController {
 
+    /** Propiedad del sistema que activa las pistas de movimiento calculadas con {@link AnalisisTablero}. */
+    public static final String PROPIEDAD_PISTAS = "trivia.pistas";
+    /** Precisión de respuesta que se supone para el jugador al calcular las pistas. */
+    private static final double PRECISION_PISTAS = 0.6;
+
     @FXML private AnchorPane panelTablero;
     @FXML private Label labelTurno;
     @FXML private VBox panelInfoJugadores;
@@ -35,9 +32,14 @@ public class VentanaJuegoController {
 
     private Juego juego;
     private ServicioDatos servicioDatos;
-    private Map<Posicion, Point2D> mapaPosicionACoordenadas;
-    private Map<Jugador, Group> mapaFichasGraficas;
+    private RenderizadorTablero renderizadorTablero;
+    private List<VistaJugador> vistasJugadores;
+    private final MetricasRender metricas = new MetricasRender();
     private boolean turnoEnProceso = false;
+    private final OpcionesMovimiento opciones = new OpcionesMovimiento();
+    private final ComparadorRespuestas comparador = new ComparadorRespuestas();
+    private boolean esperandoDestino = false;
+    private CompletableFuture<AnalisisTablero> analisisPistas;
     private GestorVistas gestorVistas;
 
     public void setGestorVistas(GestorVistas gestorVistas) {
@@ -45,14 +47,13 @@ public class VentanaJuegoController {
     }
 
     public void iniciarJuego(List<PerfilJugador> perfiles, boolean esPartidaCargada) {
-        this.servicioDatos = new ServicioDatos();
+        this.servicioDatos = RecursosJuego.getServicioDatos();
         if (esPartidaCargada) {
             EstadoJuegoGuardado estado = servicioDatos.cargarPartidaGuardada();
             if (estado != null) {
                 this.juego = new Juego(estado);
                 Platform.runLater(() -> {
-                    dibujarTablero();
-                    dibujarFichasJugadores();
+                    construirVista();
                     actualizarVistaCompleta();
                     labelInfoJuego.setText("Partida cargada. Turno de " + juego.getJugadorActual().getAlias() + ".");
                 });
@@ -72,12 +73,14 @@ public class VentanaJuegoController {
         List<Integer> lanzamientos = new ArrayList<>();
         int maxLanzamiento = -1;
         int indiceGanador = 0;
+        // En modo salón no se muestra un diálogo por jugador, solo el resultado.
+        boolean mostrarCadaLanzamiento = juego.getJugadores().size() <= Juego.MAXIMO_JUGADORES;
 
         for (int i = 0; i < juego.getJugadores().size(); i++) {
             Jugador j = juego.getJugadores().get(i);
             int lanzamiento = juego.lanzarDado();
             lanzamientos.add(lanzamiento);
-            mostrarAlerta("Lanzamiento Inicial", j.getAlias() + " ha sacado un " + lanzamiento);
+            if (mostrarCadaLanzamiento) mostrarAlerta("Lanzamiento Inicial", j.getAlias() + " ha sacado un " + lanzamiento);
             if (lanzamiento > maxLanzamiento) {
                 maxLanzamiento = lanzamiento;
                 indiceGanador = i;
@@ -87,153 +90,49 @@ public class VentanaJuegoController {
         juego.setIndiceJugadorActual(indiceGanador);
         labelInfoJuego.setText("El lanzamiento más alto fue " + maxLanzamiento + ". ¡Empieza " + juego.getJugadorActual().getAlias() + "!");
 
-        dibujarTablero();
-        dibujarFichasJugadores();
+        construirVista();
         actualizarVistaCompleta();
         guardarPartidaActual();
     }
 
-    private void dibujarTablero() {
-        panelTablero.getChildren().clear();
-        mapaPosicionACoordenadas = new HashMap<>();
-        double centroX = 336;
-        double centroY = 336;
-        double radioCirculo = 280;
-        double tamanoCasilla = 38;
-
-        for (int i = 0; i < TableroGrafico.NUMERO_CASILLAS_CIRCULO; i++) {
-            double angulo = (2 * Math.PI * i / TableroGrafico.NUMERO_CASILLAS_CIRCULO) - (Math.PI / 2);
-            double x = centroX + radioCirculo * Math.cos(angulo);
-            double y = centroY + radioCirculo * Math.sin(angulo);
-            Posicion pos = Posicion.enCirculo(i);
-            crearRectanguloCasilla(x, y, tamanoCasilla, juego.getTablero().getCasillaEnPosicion(pos));
-            mapaPosicionACoordenadas.put(pos, new Point2D(x, y));
-        }
-
-        for (int i = 0; i < TableroGrafico.NUMERO_RAYOS; i++) {
-            Posicion posEntradaRayo = Posicion.enCirculo(i * 7);
-            Point2D coordInicial = mapaPosicionACoordenadas.get(posEntradaRayo);
-            for (int j = 0; j < TableroGrafico.CASILLAS_POR_RAYO_INTERNO; j++) {
-                double fraccion = (double)(j + 1) / (TableroGrafico.CASILLAS_POR_RAYO_INTERNO + 1);
-                double x = (1 - fraccion) * coordInicial.getX() + fraccion * centroX;
-                double y = (1 - fraccion) * coordInicial.getY() + fraccion * centroY;
-                Posicion pos = Posicion.enRayo(i, j);
-                crearRectanguloCasilla(x, y, tamanoCasilla, juego.getTablero().getCasillaEnPosicion(pos));
-                mapaPosicionACoordenadas.put(pos, new Point2D(x, y));
-            }
-        }
-        crearRectanguloCasilla(centroX, centroY, tamanoCasilla * 1.5, new Casilla(null, false, true));
-        mapaPosicionACoordenadas.put(Posicion.enCentro(), new Point2D(centroX, centroY));
-    }
-
-    private void crearRectanguloCasilla(double x, double y, double tamano, Casilla casilla) {
-        Rectangle rect = new Rectangle(x - tamano / 2, y - tamano / 2, tamano, tamano);
-        rect.setStroke(Color.BLACK);
-        if (casilla != null) {
-            rect.setFill(getColorParaCategoria(casilla.getCategoria()));
-            if (casilla.isEsEspecialReRoll()) {
-                rect.setStrokeWidth(3.0);
-                rect.setStroke(Color.GOLD);
-            }
-        } else {
-            rect.setFill(Color.WHITE);
+    private void construirVista() {
+        renderizadorTablero = RenderizadorTablero.crear(panelTablero, metricas);
+        renderizadorTablero.construir(juego);
+        renderizadorTablero.setAlPulsarCasilla(this::onCasillaPulsada);
+        if (Boolean.getBoolean(PROPIEDAD_PISTAS) && analisisPistas == null) {
+            // El análisis tarda una fracción de segundo; hasta que termina los lanzamientos no muestran pista.
+            TableroGrafico tablero = juego.getTablero();
+            analisisPistas = CompletableFuture.supplyAsync(() -> AnalisisTablero.calcular(tablero, new PrecisionRespuestas(PRECISION_PISTAS)))
+                    .exceptionally(e -> {
+                        System.err.println("Error calculando el análisis del tablero para las pistas.");
+                        e.printStackTrace();
+                        return null;
+                    });
         }
-        panelTablero.getChildren().add(rect);
-    }
-
-    private Color getColorParaCategoria(CategoriaTrivia cat) {
-        if (cat == null) return Color.WHITE;
-        return Color.web(cat.getColorWeb());
-    }
-
-    private void dibujarFichasJugadores() {
-        mapaFichasGraficas = new HashMap<>();
-        Color[] coloresBorde = {Color.GHOSTWHITE, Color.BLACK, Color.DARKRED, Color.DARKBLUE, Color.DARKGREEN, Color.GOLD};
-        for (int i = 0; i < juego.getJugadores().size(); i++) {
-            Jugador jugador = juego.getJugadores().get(i);
-            Group fichaGrafica = crearFichaGrafica(jugador, coloresBorde[i % coloresBorde.length]);
-            mapaFichasGraficas.put(jugador, fichaGrafica);
-            panelTablero.getChildren().add(fichaGrafica);
-        }
-    }
-
-    private Group crearFichaGrafica(Jugador jugador, Color colorBorde) {
-        Group quesitoGroup = new Group();
-        double radioFicha = 12.0;
-        Map<CategoriaTrivia, Boolean> categoriasObtenidas = jugador.getFicha().getCategoriasObtenidas();
-        CategoriaTrivia[] categorias = CategoriaTrivia.values();
-        for (int i = 0; i < categorias.length; i++) {
-            Arc arc = new Arc(0, 0, radioFicha, radioFicha, (i * 60) + 30, 60);
-            arc.setType(ArcType.ROUND);
-            if (categoriasObtenidas != null && categoriasObtenidas.getOrDefault(categorias[i], false)) {
-                arc.setFill(Color.web(categorias[i].getColorWeb()));
-            } else {
-                arc.setFill(Color.LIGHTGRAY);
-            }
-            arc.setStroke(colorBorde);
-            arc.setStrokeWidth(2.0);
-            quesitoGroup.getChildren().add(arc);
+        panelInfoJugadores.getChildren().clear();
+        vistasJugadores = new ArrayList<>(juego.getJugadores().size());
+        for (Jugador j : juego.getJugadores()) {
+            VistaJugador vista = new VistaJugador(j, metricas);
+            vistasJugadores.add(vista);
+            panelInfoJugadores.getChildren().add(vista.getPanel());
         }
-        Text inicial = new Text(jugador.getAlias().substring(0, Math.min(jugador.getAlias().length(), 2)).toUpperCase());
-        inicial.setFont(Font.font("System", 10));
-        inicial.setX(-inicial.getLayoutBounds().getWidth() / 2);
-        inicial.setY(inicial.getLayoutBounds().getHeight() / 4);
-        quesitoGroup.getChildren().add(inicial);
-        return quesitoGroup;
+        metricas.iniciar();
     }
 
     private void actualizarVistaCompleta() {
         Jugador jugadorActual = juego.getJugadorActual();
-        if (jugadorActual == null) return;
-        labelTurno.setText("Turno de: " + jugadorActual.getAlias());
-        panelInfoJugadores.getChildren().clear();
-        for (Jugador j : juego.getJugadores()) {
-            VBox infoBox = new VBox(3);
-            infoBox.setStyle("-fx-border-color: lightgray; -fx-border-width: 0 0 1 0; -fx-padding: 5 0 5 0;");
-            String estado = j.isEstaRendido() ? " (Rendido)" : (j.equals(jugadorActual) ? " (En Turno)" : "");
-            Label labelNombre = new Label(j.getAlias() + estado);
-            labelNombre.setStyle("-fx-font-weight: bold;");
-            Posicion pos = j.getPosicionActual();
-            Casilla casilla = juego.getTablero().getCasillaEnPosicion(pos);
-            String infoPosicion = (pos != null) ? pos.toString() : "N/A";
-            if (casilla != null && casilla.getCategoria() != null) infoPosicion += " (" + casilla.getCategoria().getNombreMostrado() + ")";
-            Label labelPosicion = new Label("Ubicación: " + infoPosicion);
-            labelPosicion.setFont(Font.font(11));
-            infoBox.getChildren().addAll(labelNombre, labelPosicion);
-            for(CategoriaTrivia cat : CategoriaTrivia.values()) {
-                boolean obtenida = j.getFicha().haObtenidoCategoria(cat);
-                Label labelCategoria = new Label((obtenida ? "✓ " : "✗ ") + cat.getNombreMostrado());
-                labelCategoria.setTextFill(obtenida ? Color.GREEN : Color.FIREBRICK);
-                infoBox.getChildren().add(labelCategoria);
-            }
-            if(j.equals(jugadorActual)) {
-                double segundos = j.getTiempoTotalEnPartidaMs() / 1000.0;
-                Label infoTiempo = new Label("Tu tiempo: " + String.format("%.2f", segundos) + "s");
-                infoTiempo.setStyle("-fx-font-style: italic;");
-                infoBox.getChildren().add(infoTiempo);
-            }
-            panelInfoJugadores.getChildren().add(infoBox);
+        if (jugadorActual == null || renderizadorTablero == null) return;
+        long inicio = System.nanoTime();
+        String textoTurno = "Turno de: " + jugadorActual.getAlias();
+        if (!textoTurno.equals(labelTurno.getText())) labelTurno.setText(textoTurno);
+        for (VistaJugador vista : vistasJugadores) {
+            vista.sincronizar(vista.getJugador() == jugadorActual, juego.getTablero());
         }
-        actualizarPosicionesFichas();
+        renderizadorTablero.actualizar(juego);
         btnLanzarDado.setDisable(turnoEnProceso);
         btnRendirse.setDisable(turnoEnProceso);
-    }
-
-    private void actualizarPosicionesFichas() {
-        for (Jugador j : juego.getJugadores()) {
-            Node fichaGrafica = mapaFichasGraficas.get(j);
-            Posicion posLogica = j.getPosicionActual();
-            if (posLogica != null) {
-                Point2D coordGrafica = mapaPosicionACoordenadas.get(posLogica);
-                if(fichaGrafica != null && coordGrafica != null) {
-                    List<Jugador> jugadoresEnCasilla = juego.getJugadores().stream().filter(p -> posLogica.equals(p.getPosicionActual())).toList();
-                    int indiceJugadorEnCasilla = jugadoresEnCasilla.indexOf(j);
-                    double offset = (jugadoresEnCasilla.size() > 1) ? (-5 + indiceJugadorEnCasilla * 5) : 0;
-                    fichaGrafica.setTranslateX(coordGrafica.getX() + offset);
-                    fichaGrafica.setTranslateY(coordGrafica.getY() + offset);
-                }
-            }
-        }
+        metricas.registrarActualizacion(System.nanoTime() - inicio);
+        if (!turnoEnProceso) metricas.cerrarTurno("hasta el turno de " + jugadorActual.getAlias());
     }
 
     @FXML
@@ -245,29 +144,40 @@ public class VentanaJuegoController {
         labelResultadoDado.setText("Resultado del Dado: " + resultado);
 
         Jugador jugadorActual = juego.getJugadorActual();
-        Posicion posActual = jugadorActual.getPosicionActual();
-
-        int direccion = 1;
-        boolean eligeEntrarRayo = false;
-
-        if(posActual.getTipo() == Posicion.TipoLugar.CENTRO) {
-            direccion = mostrarDialogoElegirRayoSalida();
-            if(direccion == -1) {
-                turnoEnProceso = false;
-                actualizarVistaCompleta();
-                return;
-            }
-        } else if (posActual.getTipo() == Posicion.TipoLugar.CIRCULO) {
-            direccion = mostrarDialogoElegirDireccionEnCirculo();
-            Casilla casillaActual = juego.getTablero().getCasillaEnPosicion(posActual);
-            if(casillaActual.isEsEntradaRayo()){
-                eligeEntrarRayo = mostrarDialogoEleccionEntrarRayo();
+        juego.calcularOpciones(jugadorActual, resultado, opciones);
+        if (opciones.getCantidad() == 1) {
+            moverAOpcion(0);
+            return;
+        }
+        // El jugador elige el destino pulsando una de las casillas resaltadas.
+        esperandoDestino = true;
+        String texto = jugadorActual.getAlias() + ", elige una de las " + opciones.getCantidad() + " casillas resaltadas.";
+        AnalisisTablero analisis = analisisPistas == null ? null : analisisPistas.getNow(null);
+        int sugerida = OpcionesMovimiento.SIN_OPCION;
+        if (analisis != null) {
+            int mascara = jugadorActual.getFicha().getMascara();
+            sugerida = opciones.buscar(analisis.getMejorDestino(jugadorActual.getPosicionActual().getOrdinal(), mascara, resultado));
+            if (sugerida != OpcionesMovimiento.SIN_OPCION) {
+                int destino = opciones.getDestino(sugerida);
+                texto += String.format("%nPista: %s (%.1f turnos para ganar)", Posicion.desdeOrdinal(destino), analisis.getTurnosSiLlega(destino, mascara));
             }
-        } else if (posActual.getTipo() == Posicion.TipoLugar.RAYO) {
-            direccion = mostrarDialogoElegirDireccionEnRayo();
         }
+        renderizadorTablero.resaltarDestinos(opciones, sugerida);
+        labelInfoJuego.setText(texto);
+    }
+
+    private void onCasillaPulsada(int ordinal) {
+        if (!esperandoDestino) return;
+        int opcion = opciones.buscar(ordinal);
+        if (opcion == OpcionesMovimiento.SIN_OPCION) return;
+        esperandoDestino = false;
+        renderizadorTablero.limpiarResaltado();
+        moverAOpcion(opcion);
+    }
 
-        juego.moverJugador(jugadorActual, resultado, direccion, eligeEntrarRayo);
+    private void moverAOpcion(int opcion) {
+        Jugador jugadorActual = juego.getJugadorActual();
+        juego.moverJugador(jugadorActual, opciones, opcion);
         labelInfoJuego.setText(jugadorActual.getAlias() + " se mueve a " + jugadorActual.getPosicionActual());
         procesarLlegadaACasilla();
     }
@@ -298,6 +208,14 @@ public class VentanaJuegoController {
                 return;
             }
 
+            // Si el banco todavía se está cargando, la pregunta se hace cuando llegue su categoría, sin bloquear la interfaz.
+            CompletableFuture<Integer> disponibles = juego.getPreguntasDisponibles(posLlegada);
+            if (!disponibles.isDone()) {
+                labelInfoJuego.setText("Cargando preguntas de " + casillaLlegada.getCategoria() + "...");
+                disponibles.whenComplete((cantidad, error) -> procesarLlegadaACasilla());
+                return;
+            }
+
             PreguntaOriginal pregunta = juego.getPreguntaParaPosicion(posLlegada);
             if (pregunta == null) {
                 labelInfoJuego.setText("No hay pregunta para esta categoría. Turno del siguiente.");
@@ -313,22 +231,19 @@ public class VentanaJuegoController {
             long tiempoFin = System.currentTimeMillis();
 
             if (acerto) {
-                jugadorActual.registrarRespuestaCorrecta(casillaLlegada.getCategoria(), tiempoFin - tiempoInicio);
+                juego.registrarRespuesta(jugadorActual, casillaLlegada.getCategoria(), true, tiempoFin - tiempoInicio);
 
-                if (!jugadorActual.getFicha().haObtenidoCategoria(casillaLlegada.getCategoria())) {
-                    jugadorActual.getFicha().marcarCategoriaObtenida(casillaLlegada.getCategoria());
+                if (juego.otorgarQuesito(jugadorActual, casillaLlegada.getCategoria())) {
                     labelInfoJuego.setText("¡Correcto! Quesito de " + casillaLlegada.getCategoria() + " obtenido.");
                 } else {
                     labelInfoJuego.setText("¡Correcto!");
                 }
 
-                Group fichaGrafica = mapaFichasGraficas.get(jugadorActual);
-                if (fichaGrafica != null) actualizarGraficoDeFicha(fichaGrafica, jugadorActual.getFicha());
-
                 if (jugadorActual.getFicha().estaCompleta()) labelInfoJuego.setText(labelInfoJuego.getText() + "\n¡FICHA COMPLETA! Ahora al centro.");
                 else labelInfoJuego.setText(labelInfoJuego.getText() + "\nVuelves a lanzar.");
                 turnoEnProceso = false;
             } else {
+                juego.registrarRespuesta(jugadorActual, casillaLlegada.getCategoria(), false, tiempoFin - tiempoInicio);
                 labelInfoJuego.setText("Incorrecto. Turno del siguiente jugador.");
                 juego.pasarTurno();
                 turnoEnProceso = false;
@@ -338,19 +253,6 @@ public class VentanaJuegoController {
         });
     }
 
-    private void actualizarGraficoDeFicha(Group fichaGrafica, Ficha ficha) {
-        Map<CategoriaTrivia, Boolean> cats = ficha.getCategoriasObtenidas();
-        CategoriaTrivia[] todasLasCategorias = CategoriaTrivia.values();
-        for(int i=0; i < todasLasCategorias.length; i++){
-            if(cats.get(todasLasCategorias[i])){
-                if(i < fichaGrafica.getChildren().size() && fichaGrafica.getChildren().get(i) instanceof Arc){
-                    Arc arc = (Arc) fichaGrafica.getChildren().get(i);
-                    arc.setFill(Color.web(todasLasCategorias[i].getColorWeb()));
-                }
-            }
-        }
-    }
-
     private void manejarIntentoDeVictoria() {
         Jugador jugadorActual = juego.getJugadorActual();
         List<CategoriaTrivia> opciones = new ArrayList<>(List.of(CategoriaTrivia.values()));
@@ -361,6 +263,12 @@ public class VentanaJuegoController {
 
         if(result.isPresent()){
             CategoriaTrivia categoriaElegida = result.get();
+            CompletableFuture<Integer> disponibles = juego.getPreguntasDisponibles(Posicion.enCirculo(0));
+            if (!disponibles.isDone()) {
+                labelInfoJuego.setText("Cargando preguntas de " + categoriaElegida + "...");
+                disponibles.whenComplete((cantidad, error) -> Platform.runLater(this::manejarIntentoDeVictoria));
+                return;
+            }
             PreguntaOriginal preguntaFinal = juego.getPreguntaParaPosicion(Posicion.enCirculo(0));
 
             if (preguntaFinal == null) {
@@ -372,8 +280,8 @@ public class VentanaJuegoController {
             long t1 = System.currentTimeMillis();
             boolean acerto = mostrarDialogoPregunta(preguntaFinal);
             long t2 = System.currentTimeMillis();
+            juego.registrarRespuesta(jugadorActual, categoriaElegida, acerto, t2 - t1);
             if(acerto) {
-                jugadorActual.registrarRespuestaCorrecta(categoriaElegida, t2 - t1);
                 mostrarAlerta("¡FELICIDADES!", "¡" + jugadorActual.getAlias() + " HAS GANADO TRIVIA-UCAB!");
                 finalizarYGuardarEstadisticas(jugadorActual);
             } else {
@@ -413,6 +321,7 @@ public class VentanaJuegoController {
     }
 
     @FXML private void onFinalizarPartida() {
+        metricas.detener();
         finalizarYGuardarEstadisticas(null);
         gestorVistas.mostrarMenuPrincipal();
     }
@@ -420,25 +329,12 @@ public class VentanaJuegoController {
     private void finalizarYGuardarEstadisticas(Jugador ganador) {
         btnLanzarDado.setDisable(true);
         btnRendirse.setDisable(true);
-        List<EstadisticaGlobal> estadisticasGlobales = servicioDatos.cargarEstadisticas();
-        for(Jugador jugadorDePartida : juego.getJugadores()) {
-            EstadisticaGlobal estGlobal = estadisticasGlobales.stream()
-                    .filter(e -> e.getAlias().equals(jugadorDePartida.getAlias()))
-                    .findFirst().orElse(null);
-            if (estGlobal == null) {
-                estGlobal = new EstadisticaGlobal(jugadorDePartida.getAlias());
-                estadisticasGlobales.add(estGlobal);
-            }
-            estGlobal.registrarPartidaJugada(ganador != null && ganador.equals(jugadorDePartida));
-            estGlobal.agregarEstadisticasDePartida(jugadorDePartida.getCorrectasEnPartida(), jugadorDePartida.getTiempoTotalEnPartidaMs());
-        }
-        servicioDatos.guardarEstadisticas(estadisticasGlobales);
+        servicioDatos.registrarResultadoPartida(juego.getJugadores(), ganador);
     }
 
     private void guardarPartidaActual() {
         if(juego != null && juego.getJugadorActual() != null) {
-            EstadoJuegoGuardado estado = new EstadoJuegoGuardado(juego.getJugadores(), juego.getJugadores().indexOf(juego.getJugadorActual()));
-            servicioDatos.guardarPartida(estado);
+            juego.guardarEstadoActualDelJuego();
         }
     }
 
@@ -448,48 +344,7 @@ public class VentanaJuegoController {
         dialog.setHeaderText(pregunta.getPregunta());
         dialog.setContentText("Tu respuesta:");
         Optional<String> result = dialog.showAndWait();
-        return result.map(s -> s.trim().equalsIgnoreCase(pregunta.getRespuesta().trim())).orElse(false);
-    }
-
-    private boolean mostrarDialogoEleccionEntrarRayo() {
-        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, "¿Deseas moverte hacia el centro por el rayo?", ButtonType.YES, ButtonType.NO);
-        alert.setTitle("Decisión de Movimiento");
-        alert.setHeaderText("Estás en una entrada de rayo.");
-        return alert.showAndWait().filter(b -> b == ButtonType.YES).isPresent();
-    }
-
-    private int mostrarDialogoElegirDireccionEnCirculo() {
-        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-        alert.setTitle("Elegir Dirección");
-        alert.setHeaderText("¿Hacia dónde quieres moverte en el círculo?");
-        ButtonType btnAdelante = new ButtonType("Adelante (Sentido Horario)");
-        ButtonType btnAtras = new ButtonType("Atrás (Sentido Anti-horario)");
-        alert.getButtonTypes().setAll(btnAdelante, btnAtras);
-        Optional<ButtonType> result = alert.showAndWait();
-        return result.map(bt -> bt == btnAdelante ? 1 : -1).orElse(1);
-    }
-
-    private int mostrarDialogoElegirDireccionEnRayo() {
-        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-        alert.setTitle("Elegir Dirección");
-        alert.setHeaderText("Estás en un rayo. ¿Hacia dónde quieres moverte?");
-        ButtonType btnHaciaCentro = new ButtonType("Hacia el Centro");
-        ButtonType btnHaciaCirculo = new ButtonType("Hacia el Círculo");
-        alert.getButtonTypes().setAll(btnHaciaCentro, btnHaciaCirculo);
-        Optional<ButtonType> result = alert.showAndWait();
-        return result.map(bt -> bt == btnHaciaCentro ? 1 : -1).orElse(1);
-    }
-
-    private int mostrarDialogoElegirRayoSalida() {
-        List<String> opcionesRayo = new ArrayList<>();
-        for (int i = 0; i < TableroGrafico.NUMERO_RAYOS; i++) {
-            opcionesRayo.add("Rayo " + (i + 1));
-        }
-        ChoiceDialog<String> dialog = new ChoiceDialog<>(opcionesRayo.get(0), opcionesRayo);
-        dialog.setTitle("Salida del Centro");
-        dialog.setHeaderText("Elige un rayo para salir del centro.");
-        Optional<String> result = dialog.showAndWait();
-        return result.map(opcionesRayo::indexOf).orElse(-1);
+        return result.map(s -> comparador.coincide(s, pregunta)).orElse(false);
     }
 
     private void mostrarAlerta(String titulo, String mensaje) {
@@ -0,0 +1,135 @@
+package com.ucab.trivia.controlador;
+
+import com.ucab.trivia.modelo.Casilla;
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TableroGrafico;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Modelo de vista del panel de un jugador. Expone como propiedades observables lo que el panel
+ * muestra de su {@link Jugador} y de su {@link com.ucab.trivia.modelo.Ficha}; el panel se construye
+ * una sola vez con sus etiquetas enlazadas a esas propiedades, y {@link #sincronizar} solo cambia
+ * las propiedades cuyo valor cambió, así que un turno no crea nodos ni toca etiquetas que no cambian.
+ * El modelo no depende de JavaFX: esta clase es la que adapta sus valores.
+ */
+final class VistaJugador {
+
+    private static final CategoriaTrivia[] CATEGORIAS = CategoriaTrivia.values();
+
+    private final Jugador jugador;
+    private final StringProperty titulo = new SimpleStringProperty("");
+    private final StringProperty ubicacion = new SimpleStringProperty("");
+    private final IntegerProperty mascara = new SimpleIntegerProperty(-1);
+    private final StringProperty tiempo = new SimpleStringProperty("");
+    private final BooleanProperty enTurno = new SimpleBooleanProperty(false);
+
+    private final VBox panel;
+    private final Label[] etiquetasCategoria = new Label[CATEGORIAS.length];
+
+    private Posicion ultimaPosicion;
+    private long ultimoTiempoMs = -1;
+
+    /**
+     * Crea el modelo de vista y su panel.
+     * @param jugador El jugador que se muestra.
+     * @param metricas Los contadores donde se registran los nodos creados.
+     */
+    VistaJugador(Jugador jugador, MetricasRender metricas) {
+        this.jugador = jugador;
+        panel = new VBox(3);
+        panel.setStyle("-fx-border-color: lightgray; -fx-border-width: 0 0 1 0; -fx-padding: 5 0 5 0;");
+
+        Label labelNombre = new Label();
+        labelNombre.setStyle("-fx-font-weight: bold;");
+        labelNombre.textProperty().bind(titulo);
+        Label labelPosicion = new Label();
+        labelPosicion.setFont(Font.font(11));
+        labelPosicion.textProperty().bind(ubicacion);
+        panel.getChildren().addAll(labelNombre, labelPosicion);
+
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            etiquetasCategoria[i] = new Label();
+            panel.getChildren().add(etiquetasCategoria[i]);
+        }
+        mascara.addListener((obs, anterior, actual) -> pintarCategorias(anterior.intValue(), actual.intValue()));
+
+        Label infoTiempo = new Label();
+        infoTiempo.setStyle("-fx-font-style: italic;");
+        infoTiempo.textProperty().bind(tiempo);
+        infoTiempo.visibleProperty().bind(enTurno);
+        infoTiempo.managedProperty().bind(enTurno);
+        panel.getChildren().add(infoTiempo);
+
+        metricas.registrarNodosCreados(panel.getChildren().size() + 1);
+    }
+
+    /**
+     * Copia a las propiedades el estado actual del jugador.
+     * @param esJugadorActual Si el jugador tiene el turno.
+     * @param tablero El tablero, para mostrar la categoría de la casilla.
+     */
+    void sincronizar(boolean esJugadorActual, TableroGrafico tablero) {
+        String estado = jugador.isEstaRendido() ? " (Rendido)" : (esJugadorActual ? " (En Turno)" : "");
+        cambiar(titulo, jugador.getAlias() + estado);
+        enTurno.set(esJugadorActual);
+
+        Posicion pos = jugador.getPosicionActual();
+        if (pos != ultimaPosicion || ubicacion.get().isEmpty()) {
+            ultimaPosicion = pos;
+            Casilla casilla = tablero.getCasillaEnPosicion(pos);
+            String infoPosicion = (pos != null) ? pos.toString() : "N/A";
+            if (casilla != null && casilla.getCategoria() != null) infoPosicion += " (" + casilla.getCategoria().getNombreMostrado() + ")";
+            ubicacion.set("Ubicación: " + infoPosicion);
+        }
+
+        mascara.set(jugador.getFicha() == null ? 0 : jugador.getFicha().getMascara());
+
+        if (esJugadorActual && jugador.getTiempoTotalEnPartidaMs() != ultimoTiempoMs) {
+            ultimoTiempoMs = jugador.getTiempoTotalEnPartidaMs();
+            tiempo.set("Tu tiempo: " + String.format("%.2f", ultimoTiempoMs / 1000.0) + "s");
+        }
+    }
+
+    private void pintarCategorias(int anterior, int actual) {
+        int cambiadas = anterior < 0 ? -1 : anterior ^ actual;
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            if ((cambiadas & (1 << i)) == 0) continue;
+            boolean obtenida = (actual & (1 << i)) != 0;
+            etiquetasCategoria[i].setText((obtenida ? "✓ " : "✗ ") + CATEGORIAS[i].getNombreMostrado());
+            etiquetasCategoria[i].setTextFill(obtenida ? Color.GREEN : Color.FIREBRICK);
+        }
+    }
+
+    private static void cambiar(StringProperty propiedad, String valor) {
+        if (!valor.equals(propiedad.get())) propiedad.set(valor);
+    }
+
+    /** @return El panel del jugador, para agregarlo una vez a la lista de jugadores. */
+    VBox getPanel() { return panel; }
+
+    /** @return El jugador que se muestra. */
+    Jugador getJugador() { return jugador; }
+
+    /** @return El texto con el alias y el estado del jugador. */
+    StringProperty tituloProperty() { return titulo; }
+
+    /** @return El texto con la ubicación del jugador. */
+    StringProperty ubicacionProperty() { return ubicacion; }
+
+    /** @return La máscara de quesitos de la ficha del jugador. */
+    IntegerProperty mascaraProperty() { return mascara; }
+
+    /** @return Si el jugador tiene el turno. */
+    BooleanProperty enTurnoProperty() { return enTurno; }
+}
@@ -0,0 +1,404 @@
+package com.ucab.trivia.modelo;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Almacén de las estadísticas globales indexado por alias.
+ * El archivo base {@code estadisticas_globales.json} guarda la lista de {@link EstadisticaGlobal}
+ * junto con la generación de la última compactación que incluye; los resultados de cada partida
+ * terminada se agregan como una línea JSON al final de {@code estadisticas_globales.deltas}, de modo
+ * que terminar una partida solo escribe las filas de sus participantes. Cuando se acumulan suficientes
+ * partidas, el diario se aparta como {@code estadisticas_globales.deltas.compactando.<generación>} y el
+ * base se reescribe en segundo plano con todo aplicado y esa generación (compactación).
+ *
+ * Al cargar se ignoran y se borran los diarios apartados que el base ya cubre, así que un corte entre
+ * la escritura del base y el borrado del diario, o una escritura fallida, no cuenta dos veces ninguna
+ * partida. Un base con solo la lista, como el de versiones anteriores, se lee como generación 0.
+ *
+ * Hay un solo almacén por directorio, compartido por todas las instancias de {@link ServicioDatos}.
+ */
+public class AlmacenEstadisticas {
+
+    /** Partidas mínimas en el diario de deltas antes de compactar. */
+    public static final int PARTIDAS_MINIMAS_PARA_COMPACTAR = 256;
+
+    /** Fracción de la cantidad de jugadores registrados que dispara la compactación (1/8). */
+    private static final int DIVISOR_COMPACTACION = 8;
+
+    private static final String ARCHIVO_BASE = "estadisticas_globales.json";
+    private static final String ARCHIVO_DELTAS = "estadisticas_globales.deltas";
+    /** Prefijo de los diarios apartados por una compactación; les sigue el número de generación. */
+    private static final String PREFIJO_DELTAS_COMPACTANDO = "estadisticas_globales.deltas.compactando.";
+
+    /** Tiempo máximo que se espera a una compactación pendiente antes de leer o reemplazar el base. */
+    private static final long ESPERA_COMPACTACION_MS = 5000;
+
+    private static final Map<Path, AlmacenEstadisticas> ALMACENES = new ConcurrentHashMap<>();
+
+    /** Una partida terminada tal como se guarda en el diario de deltas: una línea por partida. */
+    static class DeltaPartida {
+        public List<DeltaJugador> jugadores = new ArrayList<>();
+    }
+
+    /** El archivo base: las estadísticas y la última generación de deltas que ya tienen aplicada. */
+    @JsonPropertyOrder({"generacion", "estadisticas"})
+    static class ArchivoBase {
+        public long generacion;
+        public List<EstadisticaGlobal> estadisticas;
+
+        ArchivoBase() {}
+
+        ArchivoBase(long generacion, List<EstadisticaGlobal> estadisticas) {
+            this.generacion = generacion;
+            this.estadisticas = estadisticas;
+        }
+    }
+
+    /** El resultado de un participante; {@code correctas} va indexado por ordinal de categoría. */
+    static class DeltaJugador {
+        public String alias;
+        public boolean gano;
+        public int[] correctas;
+        public long tiempoMs;
+    }
+
+    private final File directorio;
+    private final ObjectReader lectorLista;
+    private final ObjectReader lectorBase;
+    private final ObjectWriter escritorBase;
+    private final ObjectReader lectorDelta;
+    private final ObjectWriter escritorDelta;
+
+    private final List<EstadisticaGlobal> registros = new ArrayList<>();
+    private final Map<String, Integer> indicePorAlias = new HashMap<>();
+    private int partidasEnDeltas;
+    /** La mayor generación en disco: la del base o la del último diario apartado. */
+    private long generacion;
+    /** La clasificación sobre estos registros; se crea al primer pedido. */
+    private TablaClasificacion clasificacion;
+
+    private AlmacenEstadisticas(File directorio, MapeadorDatos mapeador) {
+        this.directorio = directorio;
+        this.lectorLista = mapeador.getLectorEstadisticas();
+        this.lectorBase = mapeador.getLectorBaseEstadisticas();
+        this.escritorBase = mapeador.getEscritorBaseEstadisticas();
+        this.lectorDelta = mapeador.getLectorDeltaEstadisticas();
+        this.escritorDelta = mapeador.getEscritorDeltaEstadisticas();
+    }
+
+    /**
+     * Obtiene el almacén de un directorio, cargándolo la primera vez.
+     * @param directorio El directorio de datos.
+     * @param mapeador La configuración de Jackson con la que se leen y escriben los archivos.
+     * @return El almacén compartido de ese directorio.
+     */
+    static AlmacenEstadisticas abrir(File directorio, MapeadorDatos mapeador) {
+        return ALMACENES.computeIfAbsent(clave(directorio), k -> {
+            AlmacenEstadisticas almacen = new AlmacenEstadisticas(directorio, mapeador);
+            almacen.cargar();
+            return almacen;
+        });
+    }
+
+    /**
+     * Lee desde disco el base con los deltas aplicados, sin usar ni modificar el almacén compartido.
+     * @return Una lista nueva de estadísticas, independiente del almacén.
+     */
+    static List<EstadisticaGlobal> leerDesdeDisco(File directorio, MapeadorDatos mapeador) {
+        // Con una compactación en curso se lee el base ya escrito, no el diario apartado que se borra al terminar.
+        esperarBase(directorio);
+        AlmacenEstadisticas lectura = new AlmacenEstadisticas(directorio, mapeador);
+        lectura.cargar();
+        return lectura.registros;
+    }
+
+    /**
+     * Reemplaza todas las estadísticas del directorio por las indicadas, con una escritura completa.
+     * Descarta los deltas pendientes y el almacén en memoria, que se vuelve a cargar al próximo uso.
+     */
+    static void reemplazarTodo(File directorio, MapeadorDatos mapeador, List<EstadisticaGlobal> estadisticas) throws IOException {
+        ALMACENES.remove(clave(directorio));
+        // Una compactación pendiente no debe pisar el archivo que se escribe ahora.
+        esperarBase(directorio);
+        // Los deltas se apartan con una generación que el base nuevo cubre, como en una compactación.
+        AlmacenEstadisticas lectura = new AlmacenEstadisticas(directorio, mapeador);
+        long generacion = Math.max(lectura.leerGeneracionBase(), generacionMaximaApartada(directorio)) + 1;
+        Path deltas = new File(directorio, ARCHIVO_DELTAS).toPath();
+        if (Files.exists(deltas)) Files.move(deltas, archivoCompactando(directorio, generacion), StandardCopyOption.ATOMIC_MOVE);
+        GuardadoAsincrono.escribirAtomicamente(new File(directorio, ARCHIVO_BASE).toPath(),
+                lectura.escritorBase.writeValueAsBytes(new ArchivoBase(generacion, estadisticas)));
+        borrarApartados(directorio, generacion);
+    }
+
+    /**
+     * Registra el resultado de una partida terminada. Solo se tocan las filas de los participantes:
+     * se buscan por alias en el índice, se actualizan en memoria y se agrega una línea al diario de deltas.
+     *
+     * @param jugadores Los participantes de la partida.
+     * @param ganador El ganador, o {@code null} si la partida terminó sin ganador.
+     */
+    public synchronized void registrarPartida(List<Jugador> jugadores, Jugador ganador) {
+        DeltaPartida delta = new DeltaPartida();
+        for (Jugador jugador : jugadores) {
+            DeltaJugador dj = new DeltaJugador();
+            dj.alias = jugador.getAlias();
+            dj.gano = ganador != null && ganador.equals(jugador);
+            dj.correctas = new int[CategoriaTrivia.values().length];
+            if (jugador.getCorrectasEnPartida() != null) {
+                jugador.getCorrectasEnPartida().forEach((cat, n) -> {
+                    if (cat != null && n != null) dj.correctas[cat.ordinal()] += n;
+                });
+            }
+            dj.tiempoMs = jugador.getTiempoTotalEnPartidaMs();
+            delta.jugadores.add(dj);
+            aplicar(dj);
+        }
+        try {
+            byte[] linea = (escritorDelta.writeValueAsString(delta) + "\n").getBytes(StandardCharsets.UTF_8);
+            Files.write(new File(directorio, ARCHIVO_DELTAS).toPath(), linea, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Error escribiendo en el archivo " + ARCHIVO_DELTAS);
+            e.printStackTrace();
+        }
+        partidasEnDeltas++;
+        if (partidasEnDeltas >= Math.max(PARTIDAS_MINIMAS_PARA_COMPACTAR, registros.size() / DIVISOR_COMPACTACION)) {
+            compactar();
+        }
+    }
+
+    /**
+     * Reescribe el archivo base con todos los deltas aplicados y descarta el diario de deltas.
+     * El diario se aparta con una generación nueva antes de programar la escritura, así que las
+     * partidas que terminen mientras se escribe el base van a un diario nuevo. La escritura ocurre en
+     * segundo plano; si falla, el diario apartado queda y lo cubre la compactación siguiente.
+     */
+    public synchronized void compactar() {
+        long siguiente = generacion + 1;
+        Path deltas = new File(directorio, ARCHIVO_DELTAS).toPath();
+        try {
+            if (Files.exists(deltas)) Files.move(deltas, archivoCompactando(directorio, siguiente), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error preparando la compactación de " + ARCHIVO_DELTAS);
+            e.printStackTrace();
+            return;
+        }
+        generacion = siguiente;
+        List<EstadisticaGlobal> copia = new ArrayList<>(registros.size());
+        for (EstadisticaGlobal est : registros) copia.add(new EstadisticaGlobal(est));
+        partidasEnDeltas = 0;
+        // Borrar los diarios cubiertos al terminar solo ahorra espacio: al cargar se ignoran igual.
+        GuardadoAsincrono.getInstancia().programar(new File(directorio, ARCHIVO_BASE).toPath(),
+                new ArchivoBase(siguiente, copia), escritorBase, () -> borrarApartados(directorio, siguiente));
+    }
+
+    /**
+     * Busca las estadísticas de un jugador.
+     * @param alias El alias del jugador.
+     * @return Sus estadísticas, o {@code null} si nunca terminó una partida.
+     */
+    public synchronized EstadisticaGlobal buscar(String alias) {
+        Integer indice = indicePorAlias.get(alias);
+        return indice == null ? null : registros.get(indice);
+    }
+
+    /**
+     * Obtiene todas las estadísticas. La lista es de solo lectura y los registros son los del almacén.
+     * @return Una vista de solo lectura de una copia de la lista de registros.
+     */
+    public synchronized List<EstadisticaGlobal> getEstadisticas() {
+        return Collections.unmodifiableList(new ArrayList<>(registros));
+    }
+
+    /**
+     * Obtiene la cantidad de jugadores con estadísticas.
+     * @return La cantidad de registros.
+     */
+    public synchronized int getCantidad() {
+        return registros.size();
+    }
+
+    /**
+     * Obtiene la tabla de clasificación de este almacén, que se mantiene al día con cada partida registrada.
+     * @return La tabla de clasificación compartida.
+     */
+    public synchronized TablaClasificacion getClasificacion() {
+        if (clasificacion == null) clasificacion = new TablaClasificacion(registros, indicePorAlias, this);
+        return clasificacion;
+    }
+
+    private void cargar() {
+        File base = new File(directorio, ARCHIVO_BASE);
+        long generacionBase = 0;
+        try {
+            if (base.exists() && base.length() > 0) {
+                List<EstadisticaGlobal> leidas;
+                try (JsonParser parser = lectorBase.createParser(base)) {
+                    if (parser.nextToken() == JsonToken.START_ARRAY) {
+                        leidas = lectorLista.readValue(parser);
+                    } else {
+                        ArchivoBase archivo = lectorBase.readValue(parser);
+                        generacionBase = archivo.generacion;
+                        leidas = archivo.estadisticas;
+                    }
+                }
+                if (leidas != null) {
+                    for (EstadisticaGlobal est : leidas) {
+                        if (est == null || est.getAlias() == null) continue;
+                        Integer existente = indicePorAlias.putIfAbsent(est.getAlias(), registros.size());
+                        if (existente == null) registros.add(est);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error leyendo el archivo " + ARCHIVO_BASE);
+            e.printStackTrace();
+        }
+        // Los diarios apartados que el base ya cubre se borran; los demás se aplican en orden de generación.
+        borrarApartados(directorio, generacionBase);
+        generacion = generacionBase;
+        partidasEnDeltas = 0;
+        for (long apartado : generacionesApartadas(directorio)) {
+            partidasEnDeltas += aplicarDeltas(archivoCompactando(directorio, apartado).toFile());
+            generacion = Math.max(generacion, apartado);
+        }
+        partidasEnDeltas += aplicarDeltas(new File(directorio, ARCHIVO_DELTAS));
+    }
+
+    /** Lee solo la generación del archivo base, sin deserializar las estadísticas. */
+    private long leerGeneracionBase() throws IOException {
+        File base = new File(directorio, ARCHIVO_BASE);
+        if (!base.exists() || base.length() == 0) return 0;
+        try (JsonParser parser = lectorBase.createParser(base)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                parser.nextToken();
+                if ("generacion".equals(campo)) return parser.getLongValue();
+                parser.skipChildren();
+            }
+            return 0;
+        }
+    }
+
+    /** Espera solo a la escritura pendiente del base de este directorio, si la hay. */
+    private static void esperarBase(File directorio) {
+        GuardadoAsincrono.getInstancia().esperar(new File(directorio, ARCHIVO_BASE).toPath(), ESPERA_COMPACTACION_MS);
+    }
+
+    private static Path archivoCompactando(File directorio, long generacion) {
+        return new File(directorio, PREFIJO_DELTAS_COMPACTANDO + generacion).toPath();
+    }
+
+    /** Las generaciones de los diarios apartados que hay en el directorio, de menor a mayor. */
+    private static long[] generacionesApartadas(File directorio) {
+        String[] nombres = directorio.list((dir, nombre) -> nombre.startsWith(PREFIJO_DELTAS_COMPACTANDO));
+        if (nombres == null) return new long[0];
+        long[] generaciones = new long[nombres.length];
+        int cantidad = 0;
+        for (String nombre : nombres) {
+            try {
+                generaciones[cantidad] = Long.parseLong(nombre.substring(PREFIJO_DELTAS_COMPACTANDO.length()));
+                cantidad++;
+            } catch (NumberFormatException e) {
+                // No es un diario apartado por el almacén.
+            }
+        }
+        long[] resultado = Arrays.copyOf(generaciones, cantidad);
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    private static long generacionMaximaApartada(File directorio) {
+        long[] generaciones = generacionesApartadas(directorio);
+        return generaciones.length == 0 ? 0 : generaciones[generaciones.length - 1];
+    }
+
+    /** Borra los diarios apartados hasta la generación indicada, que el base ya tiene aplicados. */
+    private static void borrarApartados(File directorio, long hasta) {
+        for (long apartado : generacionesApartadas(directorio)) {
+            if (apartado > hasta) break;
+            try {
+                Files.deleteIfExists(archivoCompactando(directorio, apartado));
+            } catch (IOException e) {
+                System.err.println("Error borrando el archivo " + PREFIJO_DELTAS_COMPACTANDO + apartado);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private int aplicarDeltas(File archivo) {
+        if (!archivo.exists()) return 0;
+        int partidas = 0;
+        try (BufferedReader lector = Files.newBufferedReader(archivo.toPath(), StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.isBlank()) continue;
+                try {
+                    DeltaPartida delta = lectorDelta.readValue(linea);
+                    for (DeltaJugador dj : delta.jugadores) aplicar(dj);
+                    partidas++;
+                } catch (JsonProcessingException e) {
+                    // Una línea incompleta (por ejemplo al final tras un corte) se descarta entera.
+                    System.err.println("ADVERTENCIA: Línea de estadísticas inválida en " + archivo.getName() + ", se ignora.");
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error leyendo el archivo " + archivo.getName());
+            e.printStackTrace();
+        }
+        return partidas;
+    }
+
+    private void aplicar(DeltaJugador dj) {
+        if (dj.alias == null) return;
+        Integer indice = indicePorAlias.get(dj.alias);
+        EstadisticaGlobal est;
+        if (indice == null) {
+            indice = registros.size();
+            est = new EstadisticaGlobal(dj.alias);
+            indicePorAlias.put(dj.alias, indice);
+            registros.add(est);
+            if (clasificacion != null) clasificacion.alAgregar(indice);
+        } else {
+            est = registros.get(indice);
+        }
+        // La fila sale de la clasificación con sus valores viejos y vuelve a entrar con los nuevos.
+        if (clasificacion != null) clasificacion.antesDeModificar(indice);
+        est.registrarPartidaJugada(dj.gano);
+        Map<CategoriaTrivia, Integer> correctas = new EnumMap<>(CategoriaTrivia.class);
+        if (dj.correctas != null) {
+            CategoriaTrivia[] categorias = CategoriaTrivia.values();
+            for (int i = 0; i < categorias.length && i < dj.correctas.length; i++) {
+                if (dj.correctas[i] != 0) correctas.put(categorias[i], dj.correctas[i]);
+            }
+        }
+        est.agregarEstadisticasDePartida(correctas, dj.tiempoMs);
+        if (clasificacion != null) clasificacion.despuesDeModificar(indice);
+    }
+
+    private static Path clave(File directorio) {
+        return directorio.toPath().toAbsolutePath().normalize();
+    }
+}
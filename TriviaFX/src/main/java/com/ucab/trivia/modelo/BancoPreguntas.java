@@ -0,0 +1,362 @@
+package com.ucab.trivia.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Banco de preguntas compacto e indexado por el ordinal de {@link CategoriaTrivia}.
+ * En lugar de guardar un objeto {@link PreguntaOriginal} y dos {@code String} por pregunta,
+ * cada categoría guarda todos sus textos en un único arreglo de bytes UTF-8 y una tabla de
+ * desplazamientos; la {@link PreguntaOriginal} se construye solo cuando se sirve.
+ * Una vez construido el banco es inmutable y puede compartirse entre partidas e hilos.
+ * Para bancos que no deben ocupar el heap, {@link CorpusPreguntas} sirve el mismo contenido
+ * mapeado desde un archivo.
+ * Un banco también puede estar "en carga": el {@link CargadorPreguntasStreaming} publica cada
+ * categoría a medida que la termina de leer, de modo que una partida puede empezar antes de que
+ * se haya leído todo el archivo.
+ * Junto a los textos, cada categoría guarda la forma canónica de sus respuestas, calculada una sola
+ * vez al agregarlas, para que {@link ComparadorRespuestas} no tenga que normalizarlas en cada intento.
+ */
+public final class BancoPreguntas implements FuentePreguntas {
+
+    /**
+     * Textos de una categoría. La pregunta {@code i} ocupa los bytes
+     * {@code [inicios[2i], inicios[2i+1])} y su respuesta {@code [inicios[2i+1], inicios[2i+2])}.
+     * La forma canónica de la respuesta {@code i} ocupa {@code [iniciosNormalizadas[i], iniciosNormalizadas[i+1])}
+     * de {@code normalizadas}.
+     */
+    static final class Seccion {
+        static final Seccion VACIA = new Seccion(new byte[0], new int[] {0}, new char[0], new int[] {0}, 0);
+
+        final byte[] texto;
+        final int[] inicios;
+        final char[] normalizadas;
+        final int[] iniciosNormalizadas;
+        final int cantidad;
+
+        Seccion(byte[] texto, int[] inicios, char[] normalizadas, int[] iniciosNormalizadas, int cantidad) {
+            this.texto = texto;
+            this.inicios = inicios;
+            this.normalizadas = normalizadas;
+            this.iniciosNormalizadas = iniciosNormalizadas;
+            this.cantidad = cantidad;
+        }
+
+        String pregunta(int indice) {
+            return decodificar(inicios[2 * indice], inicios[2 * indice + 1]);
+        }
+
+        String respuesta(int indice) {
+            return decodificar(inicios[2 * indice + 1], inicios[2 * indice + 2]);
+        }
+
+        String respuestaNormalizada(int indice) {
+            int desde = iniciosNormalizadas[indice];
+            return new String(normalizadas, desde, iniciosNormalizadas[indice + 1] - desde);
+        }
+
+        private String decodificar(int desde, int hasta) {
+            return new String(texto, desde, hasta - desde, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Acumula las preguntas de una categoría en crecimiento y produce su {@link Seccion}.
+     */
+    static final class ConstructorSeccion {
+        private byte[] texto = new byte[1024];
+        private int[] inicios = new int[33];
+        private char[] normalizadas = new char[256];
+        private int[] iniciosNormalizadas = new int[17];
+        private int longitud;
+        private int longitudNormalizadas;
+        private int cantidad;
+
+        void agregar(String pregunta, String respuesta) {
+            asegurarInicios(2 * cantidad + 3);
+            escribir(pregunta);
+            inicios[2 * cantidad + 1] = longitud;
+            escribir(respuesta);
+            inicios[2 * cantidad + 2] = longitud;
+            normalizar(respuesta);
+            iniciosNormalizadas[cantidad + 1] = longitudNormalizadas;
+            cantidad++;
+        }
+
+        /**
+         * Vista de lo agregado hasta ahora que comparte los arreglos del constructor.
+         * Es segura de publicar porque las agregaciones posteriores solo escriben más allá
+         * de las posiciones visibles en la vista.
+         */
+        Seccion vista() {
+            return cantidad == 0 ? Seccion.VACIA : new Seccion(texto, inicios, normalizadas, iniciosNormalizadas, cantidad);
+        }
+
+        Seccion construir() {
+            if (cantidad == 0) return Seccion.VACIA;
+            return new Seccion(Arrays.copyOf(texto, longitud), Arrays.copyOf(inicios, 2 * cantidad + 1),
+                    Arrays.copyOf(normalizadas, longitudNormalizadas), Arrays.copyOf(iniciosNormalizadas, cantidad + 1), cantidad);
+        }
+
+        private void normalizar(String respuesta) {
+            String valor = respuesta == null ? "" : respuesta;
+            if (longitudNormalizadas + valor.length() > normalizadas.length) {
+                normalizadas = Arrays.copyOf(normalizadas, Math.max(normalizadas.length * 2, longitudNormalizadas + valor.length()));
+            }
+            longitudNormalizadas = ComparadorRespuestas.normalizar(valor, normalizadas, longitudNormalizadas);
+        }
+
+        private void escribir(String valor) {
+            byte[] bytes = (valor == null ? "" : valor).getBytes(StandardCharsets.UTF_8);
+            if (longitud + bytes.length > texto.length) {
+                texto = Arrays.copyOf(texto, Math.max(texto.length * 2, longitud + bytes.length));
+            }
+            System.arraycopy(bytes, 0, texto, longitud, bytes.length);
+            longitud += bytes.length;
+        }
+
+        private void asegurarInicios(int necesario) {
+            if (necesario > inicios.length) inicios = Arrays.copyOf(inicios, Math.max(inicios.length * 2, necesario));
+            if (cantidad + 2 > iniciosNormalizadas.length) {
+                iniciosNormalizadas = Arrays.copyOf(iniciosNormalizadas, Math.max(iniciosNormalizadas.length * 2, cantidad + 2));
+            }
+        }
+    }
+
+    /**
+     * Construye un banco agregando preguntas una por una.
+     */
+    public static final class Constructor {
+        private final ConstructorSeccion[] secciones = new ConstructorSeccion[CategoriaTrivia.values().length];
+
+        /**
+         * Agrega una pregunta al banco.
+         * @param categoria La categoría de la pregunta.
+         * @param pregunta El enunciado.
+         * @param respuesta La respuesta correcta.
+         */
+        public void agregar(CategoriaTrivia categoria, String pregunta, String respuesta) {
+            int ordinal = categoria.ordinal();
+            if (secciones[ordinal] == null) secciones[ordinal] = new ConstructorSeccion();
+            secciones[ordinal].agregar(pregunta, respuesta);
+        }
+
+        /**
+         * Produce el banco inmutable con todas las preguntas agregadas.
+         * @return El {@link BancoPreguntas} construido.
+         */
+        public BancoPreguntas construir() {
+            Seccion[] resultado = new Seccion[secciones.length];
+            for (int i = 0; i < secciones.length; i++) {
+                resultado[i] = secciones[i] == null ? Seccion.VACIA : secciones[i].construir();
+            }
+            return new BancoPreguntas(resultado);
+        }
+    }
+
+    /** Secciones por ordinal de categoría; se reemplaza completo (copia al escribir) al publicar. */
+    private volatile Seccion[] secciones;
+    private volatile boolean cargaCompleta;
+    private final CompletableFuture<CategoriaTrivia> primeraCategoria = new CompletableFuture<>();
+    private final CompletableFuture<BancoPreguntas> finDeCarga = new CompletableFuture<>();
+    /** Por ordinal de categoría, se completa cuando la categoría tiene preguntas o termina la carga. */
+    private final List<CompletableFuture<Integer>> disponibles = new ArrayList<>();
+
+    private BancoPreguntas(Seccion[] secciones) {
+        this.secciones = secciones;
+        this.cargaCompleta = true;
+        this.primeraCategoria.complete(null);
+        this.finDeCarga.complete(this);
+        for (Seccion seccion : secciones) disponibles.add(CompletableFuture.completedFuture(seccion.cantidad));
+    }
+
+    /**
+     * Crea un banco vacío en carga, que se irá llenando con {@link #publicar(CategoriaTrivia, Seccion)}.
+     */
+    BancoPreguntas() {
+        Seccion[] vacias = new Seccion[CategoriaTrivia.values().length];
+        Arrays.fill(vacias, Seccion.VACIA);
+        this.secciones = vacias;
+        for (int i = 0; i < vacias.length; i++) disponibles.add(new CompletableFuture<>());
+    }
+
+    /**
+     * Publica el contenido de una categoría durante la carga y despierta a quienes la esperan.
+     */
+    synchronized void publicar(CategoriaTrivia categoria, Seccion seccion) {
+        Seccion[] nuevas = secciones.clone();
+        nuevas[categoria.ordinal()] = seccion;
+        secciones = nuevas;
+        if (seccion.cantidad > 0) {
+            primeraCategoria.complete(categoria);
+            disponibles.get(categoria.ordinal()).complete(seccion.cantidad);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Marca el fin de la carga, con o sin error.
+     */
+    synchronized void finalizarCarga(Throwable error) {
+        cargaCompleta = true;
+        primeraCategoria.complete(null);
+        for (CategoriaTrivia categoria : CategoriaTrivia.values()) disponibles.get(categoria.ordinal()).complete(getCantidad(categoria));
+        if (error == null) finDeCarga.complete(this);
+        else finDeCarga.completeExceptionally(error);
+        notifyAll();
+    }
+
+    /**
+     * Indica si ya se terminó de leer el banco.
+     * @return {@code true} si la carga terminó (con o sin error).
+     */
+    public boolean isCargaCompleta() {
+        return cargaCompleta;
+    }
+
+    /**
+     * Futuro que se completa con la primera categoría que tiene preguntas disponibles
+     * (o con {@code null} si la carga termina sin ninguna).
+     * @return El futuro de la primera categoría disponible.
+     */
+    public CompletableFuture<CategoriaTrivia> getPrimeraCategoriaDisponible() {
+        return primeraCategoria;
+    }
+
+    /**
+     * Futuro que se completa cuando termina la carga del banco.
+     * @return El futuro del banco completo.
+     */
+    public CompletableFuture<BancoPreguntas> getFinDeCarga() {
+        return finDeCarga;
+    }
+
+    /**
+     * Futuro que se completa cuando la categoría tiene preguntas, o cuando la carga termina sin ninguna.
+     * Sirve para esperar una categoría desde el hilo de la interfaz sin bloquearlo.
+     * @param categoria La categoría consultada.
+     * @return El futuro de la cantidad de preguntas disponibles en ese momento.
+     */
+    @Override
+    public CompletableFuture<Integer> getDisponibles(CategoriaTrivia categoria) {
+        return disponibles.get(categoria.ordinal());
+    }
+
+    /**
+     * Obtiene la cantidad de preguntas de una categoría, esperando si el banco aún se está
+     * cargando y esa categoría todavía no tiene preguntas. Bloquea el hilo que llama, así que
+     * la interfaz usa {@link #getDisponibles(CategoriaTrivia)} en su lugar.
+     * @param categoria La categoría consultada.
+     * @return La cantidad de preguntas disponibles al terminar la espera.
+     */
+    @Override
+    public int esperarCantidad(CategoriaTrivia categoria) {
+        int cantidad = getCantidad(categoria);
+        if (cantidad > 0 || cargaCompleta) return cantidad;
+        synchronized (this) {
+            try {
+                while ((cantidad = getCantidad(categoria)) == 0 && !cargaCompleta) wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Construye el banco a partir del formato que lee {@link ServicioDatos#cargarPreguntasOriginales()}.
+     * Las claves de categoría se resuelven una sola vez con {@link CategoriaTrivia#fromString(String)};
+     * las claves desconocidas se informan y se descartan.
+     *
+     * @param preguntasPorCategoria Las preguntas organizadas por el nombre de su categoría.
+     * @return El banco compacto.
+     */
+    public static BancoPreguntas desdeMapa(Map<String, List<PreguntaOriginal>> preguntasPorCategoria) {
+        Constructor constructor = new Constructor();
+        if (preguntasPorCategoria != null) {
+            for (Map.Entry<String, List<PreguntaOriginal>> entrada : preguntasPorCategoria.entrySet()) {
+                CategoriaTrivia categoria = CategoriaTrivia.fromString(entrada.getKey());
+                if (categoria == null) {
+                    System.err.println("ADVERTENCIA: Categoría desconocida en el banco de preguntas: " + entrada.getKey());
+                    continue;
+                }
+                if (entrada.getValue() == null) continue;
+                for (PreguntaOriginal p : entrada.getValue()) {
+                    if (p != null) constructor.agregar(categoria, p.getPregunta(), p.getRespuesta());
+                }
+            }
+        }
+        return constructor.construir();
+    }
+
+    /**
+     * Obtiene la cantidad de preguntas de una categoría.
+     * @param categoria La categoría consultada.
+     * @return La cantidad de preguntas disponibles.
+     */
+    @Override
+    public int getCantidad(CategoriaTrivia categoria) {
+        return secciones[categoria.ordinal()].cantidad;
+    }
+
+    /**
+     * Obtiene la cantidad total de preguntas del banco.
+     * @return La suma de las preguntas de todas las categorías.
+     */
+    @Override
+    public int getTotalPreguntas() {
+        int total = 0;
+        for (Seccion seccion : secciones) total += seccion.cantidad;
+        return total;
+    }
+
+    /**
+     * Obtiene los textos de una categoría, para escribirlos en otro formato.
+     */
+    Seccion getSeccion(CategoriaTrivia categoria) {
+        return secciones[categoria.ordinal()];
+    }
+
+    /**
+     * Obtiene la cantidad de bytes que ocupan los textos del banco.
+     * @return El tamaño en bytes de todos los textos UTF-8.
+     */
+    public long getBytesTexto() {
+        long total = 0;
+        for (Seccion seccion : secciones) total += seccion.texto.length;
+        return total;
+    }
+
+    /**
+     * Construye la pregunta indicada de una categoría.
+     * @param categoria La categoría de la pregunta.
+     * @param indice El índice dentro de la categoría.
+     * @return Una {@link PreguntaOriginal} nueva con el enunciado, la respuesta y su forma canónica.
+     */
+    @Override
+    public PreguntaOriginal getPregunta(CategoriaTrivia categoria, int indice) {
+        Seccion seccion = secciones[categoria.ordinal()];
+        Objects.checkIndex(indice, seccion.cantidad);
+        return new PreguntaOriginal(seccion.pregunta(indice), seccion.respuesta(indice), seccion.respuestaNormalizada(indice));
+    }
+
+    /**
+     * Corrige un intento contra la respuesta de una pregunta sin construir la {@link PreguntaOriginal},
+     * comparando directamente con la forma canónica guardada. Pensado para corregir en lote respuestas registradas.
+     * @param categoria La categoría de la pregunta.
+     * @param indice El índice dentro de la categoría.
+     * @param intento Lo que respondió el jugador.
+     * @param comparador El comparador del hilo que corrige.
+     * @return {@code true} si el intento acierta.
+     */
+    public boolean esRespuestaCorrecta(CategoriaTrivia categoria, int indice, CharSequence intento, ComparadorRespuestas comparador) {
+        Seccion seccion = secciones[categoria.ordinal()];
+        Objects.checkIndex(indice, seccion.cantidad);
+        return comparador.coincide(intento, seccion.normalizadas, seccion.iniciosNormalizadas[indice], seccion.iniciosNormalizadas[indice + 1]);
+    }
+}
@@ -0,0 +1,255 @@
+package com.ucab.trivia.modelo;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+
+/**
+ * Carga el banco de preguntas leyendo el JSON token por token con el {@link JsonParser} de Jackson.
+ * A diferencia de {@link ServicioDatos#cargarPreguntasOriginales()}, no construye el mapa intermedio
+ * de listas: cada pregunta se agrega directamente al {@link BancoPreguntas}, y las categorías se
+ * publican en el banco a medida que se leen, de modo que una partida puede empezar antes de que
+ * termine la lectura de un archivo grande.
+ *
+ * El formato esperado es el de {@code preguntasJuegoTrivia.json}: un objeto cuyas claves son
+ * nombres de categoría y cuyos valores son arreglos de objetos con {@code pregunta} y {@code respuesta}.
+ * Si una categoría aparece más de una vez, sus preguntas se acumulan.
+ */
+public class CargadorPreguntasStreaming {
+
+    /** Cada cuántas preguntas se informa el progreso y se publica lo leído de la categoría en curso. */
+    public static final int INTERVALO_PROGRESO = 8192;
+
+    /**
+     * Recibe los avisos de una carga. Todos los métodos se llaman desde el hilo que carga.
+     */
+    public interface OyenteCarga {
+        /**
+         * Se llama periódicamente durante la lectura.
+         * @param bytesLeidos Bytes del archivo procesados hasta ahora.
+         * @param bytesTotales Tamaño del archivo en bytes.
+         * @param preguntasLeidas Preguntas agregadas al banco hasta ahora.
+         */
+        default void alAvanzar(long bytesLeidos, long bytesTotales, int preguntasLeidas) {}
+
+        /**
+         * Se llama al terminar de leer el arreglo de una categoría.
+         * @param categoria La categoría leída.
+         * @param cantidad Las preguntas que tiene ahora esa categoría en el banco.
+         */
+        default void alCompletarCategoria(CategoriaTrivia categoria, int cantidad) {}
+
+        /**
+         * Se llama una vez al terminar la carga, con o sin error.
+         * @param estadisticas El resumen de la carga.
+         */
+        default void alTerminar(EstadisticasCarga estadisticas) {}
+    }
+
+    /**
+     * Resumen de una carga terminada.
+     */
+    public static final class EstadisticasCarga {
+        private final int preguntas;
+        private final int preguntasDescartadas;
+        private final long bytesLeidos;
+        private final long milisegundos;
+        private final long milisegundosPrimeraCategoria;
+        private final long memoriaPicoBytes;
+        private final boolean exitosa;
+
+        EstadisticasCarga(int preguntas, int preguntasDescartadas, long bytesLeidos, long milisegundos,
+                          long milisegundosPrimeraCategoria, long memoriaPicoBytes, boolean exitosa) {
+            this.preguntas = preguntas;
+            this.preguntasDescartadas = preguntasDescartadas;
+            this.bytesLeidos = bytesLeidos;
+            this.milisegundos = milisegundos;
+            this.milisegundosPrimeraCategoria = milisegundosPrimeraCategoria;
+            this.memoriaPicoBytes = memoriaPicoBytes;
+            this.exitosa = exitosa;
+        }
+
+        /** @return Las preguntas agregadas al banco. */
+        public int getPreguntas() { return preguntas; }
+        /** @return Las preguntas descartadas por pertenecer a una categoría desconocida. */
+        public int getPreguntasDescartadas() { return preguntasDescartadas; }
+        /** @return Los bytes del archivo procesados. */
+        public long getBytesLeidos() { return bytesLeidos; }
+        /** @return La duración total de la carga en milisegundos. */
+        public long getMilisegundos() { return milisegundos; }
+        /** @return Los milisegundos hasta que hubo preguntas disponibles, o -1 si nunca las hubo. */
+        public long getMilisegundosPrimeraCategoria() { return milisegundosPrimeraCategoria; }
+        /** @return El mayor uso de heap observado durante la carga (muestreado en cada aviso de progreso). */
+        public long getMemoriaPicoBytes() { return memoriaPicoBytes; }
+        /** @return {@code true} si el archivo se leyó completo sin errores. */
+        public boolean isExitosa() { return exitosa; }
+
+        @Override
+        public String toString() {
+            return String.format("%d preguntas (%d descartadas), %.1f MB leídos en %d ms, primera categoría a los %d ms, pico de heap %.1f MB",
+                    preguntas, preguntasDescartadas, bytesLeidos / 1048576.0, milisegundos,
+                    milisegundosPrimeraCategoria, memoriaPicoBytes / 1048576.0);
+        }
+    }
+
+    private static final OyenteCarga SIN_OYENTE = new OyenteCarga() {};
+
+    private final JsonFactory fabrica;
+    private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * Constructor del cargador con una fábrica de Jackson por defecto.
+     */
+    public CargadorPreguntasStreaming() {
+        this(new JsonFactory());
+    }
+
+    /**
+     * Constructor del cargador con una fábrica de Jackson específica.
+     * @param fabrica La fábrica con la que se crean los {@link JsonParser}.
+     */
+    public CargadorPreguntasStreaming(JsonFactory fabrica) {
+        this.fabrica = fabrica;
+    }
+
+    /**
+     * Carga el archivo completo en el hilo actual.
+     * Si el archivo no existe o está vacío se devuelve un banco vacío, igual que con la carga por databind.
+     *
+     * @param archivo El archivo JSON de preguntas.
+     * @param oyente Quien recibe los avisos de progreso; puede ser {@code null}.
+     * @return El banco ya cargado.
+     */
+    public BancoPreguntas cargar(File archivo, OyenteCarga oyente) {
+        BancoPreguntas banco = new BancoPreguntas();
+        leer(archivo, banco, oyente == null ? SIN_OYENTE : oyente);
+        return banco;
+    }
+
+    /**
+     * Empieza a cargar el archivo en un hilo de fondo y devuelve el banco en carga de inmediato.
+     * Con {@link BancoPreguntas#getPrimeraCategoriaDisponible()} se sabe cuándo se puede empezar a
+     * jugar y con {@link BancoPreguntas#getFinDeCarga()} cuándo terminó la lectura.
+     *
+     * @param archivo El archivo JSON de preguntas.
+     * @param oyente Quien recibe los avisos de progreso; puede ser {@code null}.
+     * @return El banco que se irá llenando.
+     */
+    public BancoPreguntas cargarEnSegundoPlano(File archivo, OyenteCarga oyente) {
+        BancoPreguntas banco = new BancoPreguntas();
+        OyenteCarga destino = oyente == null ? SIN_OYENTE : oyente;
+        Thread hilo = new Thread(() -> leer(archivo, banco, destino), "carga-preguntas");
+        hilo.setDaemon(true);
+        hilo.start();
+        return banco;
+    }
+
+    private void leer(File archivo, BancoPreguntas banco, OyenteCarga oyente) {
+        long inicio = System.nanoTime();
+        long bytesTotales = archivo.length();
+        BancoPreguntas.ConstructorSeccion[] secciones = new BancoPreguntas.ConstructorSeccion[CategoriaTrivia.values().length];
+        int preguntas = 0;
+        int descartadas = 0;
+        long bytesLeidos = 0;
+        long primeraCategoria = -1;
+        long memoriaPico = memoria.getHeapMemoryUsage().getUsed();
+        Throwable error = null;
+
+        if (archivo.exists() && bytesTotales > 0) {
+            try (InputStream entrada = Files.newInputStream(archivo.toPath());
+                 JsonParser parser = fabrica.createParser(entrada)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Se esperaba un objeto de categorías");
+                }
+                String clave;
+                while ((clave = parser.nextFieldName()) != null) {
+                    CategoriaTrivia categoria = CategoriaTrivia.fromString(clave);
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        throw new JsonParseException(parser, "Se esperaba el arreglo de preguntas de " + clave);
+                    }
+                    if (categoria == null) {
+                        System.err.println("ADVERTENCIA: Categoría desconocida en el banco de preguntas: " + clave);
+                        descartadas += contarYSaltar(parser);
+                        continue;
+                    }
+                    int ordinal = categoria.ordinal();
+                    if (secciones[ordinal] == null) secciones[ordinal] = new BancoPreguntas.ConstructorSeccion();
+                    BancoPreguntas.ConstructorSeccion seccion = secciones[ordinal];
+
+                    JsonToken token;
+                    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        if (token != JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        String pregunta = null;
+                        String respuesta = null;
+                        String campo;
+                        while ((campo = parser.nextFieldName()) != null) {
+                            if ("pregunta".equals(campo)) pregunta = parser.nextTextValue();
+                            else if ("respuesta".equals(campo)) respuesta = parser.nextTextValue();
+                            else {
+                                parser.nextToken();
+                                parser.skipChildren();
+                            }
+                        }
+                        seccion.agregar(pregunta, respuesta);
+                        preguntas++;
+                        if (preguntas % INTERVALO_PROGRESO == 0) {
+                            banco.publicar(categoria, seccion.vista());
+                            if (primeraCategoria < 0) primeraCategoria = System.nanoTime() - inicio;
+                            bytesLeidos = parser.currentLocation().getByteOffset();
+                            memoriaPico = Math.max(memoriaPico, memoria.getHeapMemoryUsage().getUsed());
+                            oyente.alAvanzar(bytesLeidos, bytesTotales, preguntas);
+                        }
+                    }
+                    BancoPreguntas.Seccion vista = seccion.vista();
+                    banco.publicar(categoria, vista);
+                    if (primeraCategoria < 0 && vista.cantidad > 0) primeraCategoria = System.nanoTime() - inicio;
+                    memoriaPico = Math.max(memoriaPico, memoria.getHeapMemoryUsage().getUsed());
+                    oyente.alCompletarCategoria(categoria, vista.cantidad);
+                }
+                bytesLeidos = bytesTotales;
+                oyente.alAvanzar(bytesLeidos, bytesTotales, preguntas);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error leyendo el archivo " + archivo.getName());
+                e.printStackTrace();
+                error = e;
+            }
+
+            // Se recortan los arreglos de cada categoría, una por una, para no retener la holgura del crecimiento.
+            for (int i = 0; i < secciones.length; i++) {
+                if (secciones[i] != null) {
+                    banco.publicar(CategoriaTrivia.values()[i], secciones[i].construir());
+                    secciones[i] = null;
+                }
+            }
+        }
+
+        oyente.alTerminar(new EstadisticasCarga(preguntas, descartadas, bytesLeidos,
+                (System.nanoTime() - inicio) / 1_000_000,
+                primeraCategoria < 0 ? -1 : primeraCategoria / 1_000_000,
+                memoriaPico, error == null));
+        banco.finalizarCarga(error);
+    }
+
+    /**
+     * Salta el arreglo en curso contando sus elementos.
+     */
+    private static int contarYSaltar(JsonParser parser) throws IOException {
+        int cantidad = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            cantidad++;
+        }
+        return cantidad;
+    }
+}
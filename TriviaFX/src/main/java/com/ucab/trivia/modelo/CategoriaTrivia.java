@@ -2,7 +2,7 @@ package com.ucab.trivia.modelo;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
-import java.util.Arrays;
+import java.text.Normalizer;
 
 /**
  * Enumeración que representa las categorías de preguntas en el juego TRIVIA-UCAB.
@@ -20,6 +20,27 @@ public enum CategoriaTrivia {
     ARTE_LITERATURA("Arte y Literatura", "#CC79A7"),
     ENTRETENIMIENTO("Entretenimiento", "#9C27B0");
 
+    /** Tamaño de la tabla de búsqueda de {@link #fromString(String)}: potencia de dos, más del doble de los alias. */
+    private static final int TAMANO_TABLA = 32;
+
+    /** Cada carácter Latin-1 en minúscula y sin acento; el guion bajo de los nombres del enum cuenta como espacio. */
+    private static final char[] PLEGADO = new char[256];
+
+    /** Alias ya plegados y la categoría de cada uno, con direccionamiento abierto por {@link #hashPlegado(String)}. */
+    private static final String[] ALIAS = new String[TAMANO_TABLA];
+    private static final CategoriaTrivia[] CATEGORIAS_POR_ALIAS = new CategoriaTrivia[TAMANO_TABLA];
+
+    static {
+        for (int c = 0; c < PLEGADO.length; c++) {
+            char base = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD).charAt(0);
+            PLEGADO[c] = c == '_' ? ' ' : Character.toLowerCase(base);
+        }
+        for (CategoriaTrivia categoria : values()) {
+            registrarAlias(categoria.nombreMostrado, categoria);
+            registrarAlias(categoria.name(), categoria);
+        }
+    }
+
     private final String nombreMostrado;
     private final String colorWeb;
 
@@ -52,16 +73,49 @@ public enum CategoriaTrivia {
     }
 
     /**
-     * Permite crear una instancia del enum a partir de un String, ignorando mayúsculas/minúsculas.
-     * La anotación @JsonCreator indica a Jackson que use este método para deserializar desde JSON.
+     * Permite crear una instancia del enum a partir de un String, ignorando mayúsculas/minúsculas y acentos.
+     * Acepta el nombre mostrado y el nombre del enum ("Geografía", "GEOGRAFIA", "geografia", "ARTE_LITERATURA").
+     * La anotación @JsonCreator indica a Jackson que use este método para deserializar desde JSON, también
+     * las claves de los mapas por categoría de las partidas y estadísticas, así que se llama una vez por
+     * entrada: busca en una tabla precalculada plegando el texto carácter por carácter, sin crear objetos.
      * @param nombre El nombre de la categoría a buscar.
      * @return La constante del enum correspondiente, o null si no se encuentra.
      */
     @JsonCreator
     public static CategoriaTrivia fromString(String nombre) {
-        return Arrays.stream(values())
-                .filter(cat -> cat.nombreMostrado.equalsIgnoreCase(nombre) || cat.name().equalsIgnoreCase(nombre))
-                .findFirst().orElse(null);
+        if (nombre == null) return null;
+        for (int i = hashPlegado(nombre) & (TAMANO_TABLA - 1); ALIAS[i] != null; i = (i + 1) & (TAMANO_TABLA - 1)) {
+            if (coincidePlegado(ALIAS[i], nombre)) return CATEGORIAS_POR_ALIAS[i];
+        }
+        return null;
+    }
+
+    private static void registrarAlias(String alias, CategoriaTrivia categoria) {
+        StringBuilder plegado = new StringBuilder(alias.length());
+        for (int k = 0; k < alias.length(); k++) plegado.append(plegar(alias.charAt(k)));
+        String clave = plegado.toString();
+        int i = hashPlegado(clave) & (TAMANO_TABLA - 1);
+        while (ALIAS[i] != null && !ALIAS[i].equals(clave)) i = (i + 1) & (TAMANO_TABLA - 1);
+        ALIAS[i] = clave;
+        CATEGORIAS_POR_ALIAS[i] = categoria;
+    }
+
+    private static char plegar(char c) {
+        return c < 256 ? PLEGADO[c] : Character.toLowerCase(c);
+    }
+
+    private static int hashPlegado(String texto) {
+        int h = 0;
+        for (int k = 0; k < texto.length(); k++) h = 31 * h + plegar(texto.charAt(k));
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean coincidePlegado(String alias, String nombre) {
+        if (alias.length() != nombre.length()) return false;
+        for (int k = 0; k < alias.length(); k++) {
+            if (alias.charAt(k) != plegar(nombre.charAt(k))) return false;
+        }
+        return true;
     }
 
     /**
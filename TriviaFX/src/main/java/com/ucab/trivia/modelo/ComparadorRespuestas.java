@@ -0,0 +1,260 @@
+package com.ucab.trivia.modelo;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Decide si lo que escribió un jugador es la respuesta correcta de una pregunta.
+ *
+ * Ambos textos se llevan a una forma canónica: se quitan los acentos (descomposición NFD sin marcas
+ * combinantes), se pasa a minúsculas y cualquier secuencia de espacios o signos de puntuación queda
+ * como un solo espacio, de modo que "116 Años" y "  116 anos." son iguales. Una respuesta puede traer
+ * alternativas separadas por {@value #SEPARADOR_ALTERNATIVAS} ("santa maria|la santa maria") y basta
+ * con acertar una.
+ *
+ * La forma canónica de las respuestas se calcula una sola vez, al cargar el banco de preguntas
+ * (ver {@link #normalizar(String)} y {@link PreguntaOriginal#getRespuestaNormalizada()}); en cada
+ * intento solo se pliega el texto del jugador, carácter por carácter con una tabla precalculada.
+ * Se toleran errores de tipeo según la longitud de la alternativa (uno cada {@value #LETRAS_POR_ERROR}
+ * caracteres, hasta la distancia máxima configurada), medidos con una distancia de Levenshtein en banda
+ * que se abandona en cuanto ninguna fila puede quedar dentro del límite. Los dígitos no admiten errores:
+ * "1991" nunca acepta "1990".
+ *
+ * Una instancia reutiliza sus búferes entre intentos, así que comparar no crea objetos; no es segura
+ * entre hilos (para corregir en paralelo, una instancia por hilo).
+ */
+public final class ComparadorRespuestas {
+
+    /** Separa las respuestas alternativas dentro de una respuesta y de su forma canónica. */
+    public static final char SEPARADOR_ALTERNATIVAS = '|';
+
+    /** Distancia de edición máxima que se tolera por defecto. */
+    public static final int DISTANCIA_MAXIMA_POR_DEFECTO = 2;
+
+    /** Cada cuántos caracteres de la respuesta se tolera un error de tipeo. */
+    public static final int LETRAS_POR_ERROR = 5;
+
+    /** Resultado del plegado para los caracteres que separan palabras. */
+    private static final char ESPACIO = ' ';
+
+    /** Resultado del plegado para las marcas combinantes, que se descartan. */
+    private static final char OMITIR = '\0';
+
+    /** Caracteres con plegado precalculado: latín, griego, cirílico y el latín extendido adicional. */
+    private static final int LIMITE_TABLA = 0x2000;
+
+    private static final char[] PLEGADO = new char[LIMITE_TABLA];
+
+    static {
+        for (int c = 0; c < LIMITE_TABLA; c++) {
+            char base = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD).charAt(0);
+            PLEGADO[c] = Character.getType(c) == Character.NON_SPACING_MARK ? OMITIR : plegarFueraDeTabla(base);
+        }
+    }
+
+    private final int distanciaMaxima;
+    private char[] intento = new char[64];
+    private int longitudIntento;
+    private char[] canonica = new char[64];
+    private int[] filaAnterior = new int[65];
+    private int[] filaActual = new int[65];
+
+    /**
+     * Crea un comparador con la tolerancia por defecto.
+     */
+    public ComparadorRespuestas() {
+        this(DISTANCIA_MAXIMA_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un comparador.
+     * @param distanciaMaxima Los errores de tipeo que se toleran como máximo en respuestas largas;
+     *                        0 exige que las formas canónicas sean iguales.
+     */
+    public ComparadorRespuestas(int distanciaMaxima) {
+        if (distanciaMaxima < 0) throw new IllegalArgumentException("La distancia máxima no puede ser negativa: " + distanciaMaxima);
+        this.distanciaMaxima = distanciaMaxima;
+    }
+
+    /**
+     * Calcula la forma canónica de una respuesta, con sus alternativas separadas por
+     * {@value #SEPARADOR_ALTERNATIVAS}. Las alternativas que quedan vacías se descartan.
+     * @param respuesta La respuesta tal como está en el banco de preguntas.
+     * @return La forma canónica, o una cadena vacía si la respuesta es {@code null}.
+     */
+    public static String normalizar(String respuesta) {
+        if (respuesta == null) return "";
+        char[] destino = new char[respuesta.length()];
+        return new String(destino, 0, normalizar(respuesta, destino, 0));
+    }
+
+    /**
+     * Escribe la forma canónica de una respuesta en un arreglo, para los bancos que guardan todas
+     * las respuestas canónicas de una categoría juntas.
+     * @param respuesta La respuesta original.
+     * @param destino El arreglo; debe tener lugar para {@code respuesta.length()} caracteres desde la posición.
+     * @param posicion Dónde empezar a escribir.
+     * @return La posición siguiente al último carácter escrito.
+     */
+    static int normalizar(CharSequence respuesta, char[] destino, int posicion) {
+        int escrito = posicion;
+        int inicio = 0;
+        int longitud = respuesta.length();
+        for (int i = 0; i <= longitud; i++) {
+            if (i < longitud && respuesta.charAt(i) != SEPARADOR_ALTERNATIVAS) continue;
+            int desde = escrito == posicion ? escrito : escrito + 1;
+            int hasta = plegar(respuesta, inicio, i, destino, desde);
+            if (hasta > desde) {
+                if (desde > posicion) destino[escrito] = SEPARADOR_ALTERNATIVAS;
+                escrito = hasta;
+            }
+            inicio = i + 1;
+        }
+        return escrito;
+    }
+
+    /**
+     * Indica si el intento de un jugador acierta la respuesta de una pregunta.
+     * @param intento Lo que escribió el jugador.
+     * @param pregunta La pregunta.
+     * @return {@code true} si el intento coincide con alguna alternativa.
+     */
+    public boolean coincide(CharSequence intento, PreguntaOriginal pregunta) {
+        return coincide(intento, pregunta.getRespuestaNormalizada());
+    }
+
+    /**
+     * Indica si el intento de un jugador coincide con una respuesta ya normalizada.
+     * @param intento Lo que escribió el jugador.
+     * @param respuestaNormalizada La forma canónica que devuelve {@link #normalizar(String)}.
+     * @return {@code true} si el intento coincide con alguna alternativa.
+     */
+    public boolean coincide(CharSequence intento, String respuestaNormalizada) {
+        int longitud = respuestaNormalizada.length();
+        if (longitud > canonica.length) canonica = new char[Math.max(longitud, canonica.length * 2)];
+        respuestaNormalizada.getChars(0, longitud, canonica, 0);
+        return coincide(intento, canonica, 0, longitud);
+    }
+
+    /**
+     * Indica si el intento de un jugador coincide con una respuesta normalizada guardada dentro de un arreglo.
+     * @param intento Lo que escribió el jugador.
+     * @param respuestas El arreglo con la forma canónica.
+     * @param desde La posición del primer carácter de la respuesta.
+     * @param hasta La posición siguiente al último.
+     * @return {@code true} si el intento coincide con alguna alternativa.
+     */
+    public boolean coincide(CharSequence intento, char[] respuestas, int desde, int hasta) {
+        if (intento == null || !cargarIntento(intento)) return false;
+        int inicio = desde;
+        for (int i = desde; i <= hasta; i++) {
+            if (i < hasta && respuestas[i] != SEPARADOR_ALTERNATIVAS) continue;
+            if (coincideAlternativa(respuestas, inicio, i)) return true;
+            inicio = i + 1;
+        }
+        return false;
+    }
+
+    /** Pliega el intento en el búfer; devuelve {@code false} si no queda nada que comparar. */
+    private boolean cargarIntento(CharSequence texto) {
+        int longitud = texto.length();
+        if (longitud > intento.length) intento = new char[Math.max(longitud, intento.length * 2)];
+        longitudIntento = plegar(texto, 0, longitud, intento, 0);
+        return longitudIntento > 0;
+    }
+
+    private boolean coincideAlternativa(char[] respuestas, int desde, int hasta) {
+        int longitud = hasta - desde;
+        if (longitud == 0) return false;
+        int tolerancia = Math.min(distanciaMaxima, longitud / LETRAS_POR_ERROR);
+        if (Math.abs(longitud - longitudIntento) > tolerancia) return false;
+        if (longitud == longitudIntento && Arrays.equals(respuestas, desde, hasta, intento, 0, longitudIntento)) return true;
+        return tolerancia > 0 && dentroDeDistancia(respuestas, desde, longitud, tolerancia);
+    }
+
+    /**
+     * Distancia de Levenshtein acotada entre la alternativa y el intento. Solo se calculan las celdas a
+     * menos de {@code tolerancia} de la diagonal (las demás ya la superan) y se termina en cuanto una
+     * fila entera la supera. Cualquier edición que involucre un dígito cuesta más que la tolerancia.
+     */
+    private boolean dentroDeDistancia(char[] respuestas, int desde, int longitud, int tolerancia) {
+        int columnas = longitudIntento;
+        if (filaAnterior.length <= columnas) {
+            filaAnterior = new int[columnas + 1];
+            filaActual = new int[columnas + 1];
+        }
+        int excedido = tolerancia + 1;
+        int[] anterior = filaAnterior;
+        int[] actual = filaActual;
+        anterior[0] = 0;
+        for (int j = 1; j <= columnas; j++) {
+            anterior[j] = j <= tolerancia ? Math.min(excedido, anterior[j - 1] + costo(intento[j - 1], excedido)) : excedido;
+        }
+        for (int i = 1; i <= longitud; i++) {
+            char letra = respuestas[desde + i - 1];
+            int costoLetra = costo(letra, excedido);
+            int primera = Math.max(1, i - tolerancia);
+            int ultima = Math.min(columnas, i + tolerancia);
+            int minimo;
+            if (primera == 1) {
+                actual[0] = Math.min(excedido, anterior[0] + costoLetra);
+                minimo = actual[0];
+            } else {
+                actual[primera - 1] = excedido;
+                minimo = excedido;
+            }
+            for (int j = primera; j <= ultima; j++) {
+                char otra = intento[j - 1];
+                int valor = anterior[j - 1] + (letra == otra ? 0 : Math.max(costoLetra, costo(otra, excedido)));
+                valor = Math.min(valor, anterior[j] + costoLetra);
+                valor = Math.min(valor, actual[j - 1] + costo(otra, excedido));
+                actual[j] = Math.min(valor, excedido);
+                if (actual[j] < minimo) minimo = actual[j];
+            }
+            if (ultima < columnas) actual[ultima + 1] = excedido;
+            if (minimo > tolerancia) return false;
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return anterior[columnas] <= tolerancia;
+    }
+
+    private static int costo(char c, int excedido) {
+        return Character.isDigit(c) ? excedido : 1;
+    }
+
+    /**
+     * Pliega {@code texto[desde, hasta)} sobre {@code destino} desde {@code posicion}: sin acentos, en
+     * minúsculas y con los separadores colapsados a un espacio, sin espacios al principio ni al final.
+     * Escribe como mucho {@code hasta - desde} caracteres.
+     */
+    static int plegar(CharSequence texto, int desde, int hasta, char[] destino, int posicion) {
+        int escrito = posicion;
+        boolean espacioPendiente = false;
+        for (int i = desde; i < hasta; i++) {
+            char c = texto.charAt(i);
+            char plegado = c < LIMITE_TABLA ? PLEGADO[c] : plegarFueraDeTabla(c);
+            if (plegado == OMITIR) continue;
+            if (plegado == ESPACIO) {
+                espacioPendiente = escrito > posicion;
+                continue;
+            }
+            if (espacioPendiente) {
+                destino[escrito++] = ESPACIO;
+                espacioPendiente = false;
+            }
+            destino[escrito++] = plegado;
+        }
+        return escrito;
+    }
+
+    /**
+     * Pliega un carácter que ya no tiene descomposición; fuera de la tabla se usa sin descomponer,
+     * porque allí casi no hay letras con acento y así el intento no crea objetos.
+     */
+    private static char plegarFueraDeTabla(char c) {
+        if (Character.getType(c) == Character.NON_SPACING_MARK) return OMITIR;
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ESPACIO;
+    }
+}
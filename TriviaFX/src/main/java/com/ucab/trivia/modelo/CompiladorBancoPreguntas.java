@@ -0,0 +1,644 @@
+package com.ucab.trivia.modelo;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Compila los bancos de preguntas de varios colaboradores, en el formato de {@code preguntasJuegoTrivia.json},
+ * en un único {@link CorpusPreguntas} sin duplicados, listo para mapearse al iniciar el juego.
+ *
+ * Una pregunta es duplicado exacto de otra si su enunciado y su respuesta normalizados (como en
+ * {@link ComparadorRespuestas}) son iguales, y casi duplicado si tiene la misma respuesta normalizada y al
+ * menos {@value #BANDAS_PARA_DUPLICADO} de las {@value #BANDAS} bandas (LSH) de {@value #FILAS_POR_BANDA}
+ * valores de la firma MinHash de su enunciado ya se vieron. Con s la similitud de Jaccard entre los fragmentos
+ * de {@value #LONGITUD_FRAGMENTO} caracteres, una banda coincide con probabilidad s⁴, y un par se detecta
+ * alrededor del 98,5 % de las veces con s = 0,8, del 78 % con s = 0,7 y del 7 % con s = 0,5 (que además
+ * tendría que compartir la respuesta para descartarse). Siempre se conserva la primera aparición,
+ * en el orden de los archivos, así que el resultado no depende de la cantidad de hilos.
+ *
+ * Como los dos criterios exigen la misma respuesta, el banco se reparte por la huella de la respuesta
+ * y cada partición se depura por separado:
+ * <ol>
+ *     <li>Un hilo lee los archivos en orden con el {@link JsonParser} de Jackson y arma lotes de
+ *     {@value #TAMANO_LOTE} preguntas. Cada clave de categoría ("Arte y Literatura", "ARTE_LITERATURA")
+ *     se resuelve una sola vez con {@link CategoriaTrivia#fromString(String)}.</li>
+ *     <li>Los hilos del {@link ForkJoinPool} validan cada lote y calculan sus huellas y bandas.</li>
+ *     <li>El hilo que llama recibe los lotes en orden y vuelca cada pregunta válida en los archivos
+ *     temporales de su partición.</li>
+ *     <li>Las particiones se depuran en paralelo y, en orden, sus preguntas conservadas se escriben con
+ *     {@link CorpusPreguntas.Escritor}.</li>
+ * </ol>
+ * Las colas entre etapas son acotadas y los textos nunca se juntan en memoria; los conjuntos de huellas
+ * solo cubren una partición, así que el heap depende del tamaño de las particiones y no del total.
+ * Al terminar, el corpus se vuelve a abrir y se comprueba que tenga lo que se escribió; solo entonces
+ * reemplaza al destino.
+ */
+public final class CompiladorBancoPreguntas {
+
+    /** Preguntas por lote entre la lectura y el cálculo de huellas. */
+    public static final int TAMANO_LOTE = 4096;
+
+    /** Longitud máxima, en caracteres, de un enunciado válido. */
+    public static final int LONGITUD_MAXIMA_PREGUNTA = 1000;
+
+    /** Longitud máxima, en caracteres, de una respuesta válida. */
+    public static final int LONGITUD_MAXIMA_RESPUESTA = 200;
+
+    /** Caracteres de cada fragmento con que se compara el texto de los enunciados. */
+    public static final int LONGITUD_FRAGMENTO = 4;
+
+    /** Bandas de la firma MinHash. */
+    public static final int BANDAS = 16;
+
+    /** Valores de la firma por banda. */
+    public static final int FILAS_POR_BANDA = 4;
+
+    /** Bandas ya vistas a partir de las cuales un enunciado se considera casi duplicado. */
+    public static final int BANDAS_PARA_DUPLICADO = 3;
+
+    /** Bytes de los archivos de origen por partición; unas 150.000 preguntas de tamaño típico. */
+    public static final long BYTES_POR_PARTICION = 16L << 20;
+
+    /** Límite de particiones, que tienen dos archivos abiertos cada una mientras se reparte. */
+    public static final int PARTICIONES_MAXIMAS = 256;
+
+    private static final int FUNCIONES = BANDAS * FILAS_POR_BANDA;
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int TAMANO_BUFFER = 1 << 15;
+
+    /** Coeficientes de las funciones de la firma; la semilla es fija para que las compilaciones sean repetibles. */
+    private static final long[] MULTIPLICADORES = new long[FUNCIONES];
+    private static final long[] SUMANDOS = new long[FUNCIONES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5452564L);
+        for (int f = 0; f < FUNCIONES; f++) {
+            MULTIPLICADORES[f] = random.nextLong() | 1;
+            SUMANDOS[f] = random.nextLong();
+        }
+    }
+
+    /**
+     * Resumen de una compilación terminada.
+     */
+    public static final class ResumenCompilacion {
+        private long leidas;
+        private long escritas;
+        private long duplicadas;
+        private long casiDuplicadas;
+        private long invalidas;
+        private long categoriaDesconocida;
+        private final int[] porCategoria = new int[CategoriaTrivia.values().length];
+        private int particiones;
+        private long milisegundos;
+        private long memoriaPicoBytes;
+
+        /** @return Las preguntas leídas de todos los archivos. */
+        public long getLeidas() { return leidas; }
+        /** @return Las preguntas escritas en el corpus. */
+        public long getEscritas() { return escritas; }
+        /** @return Las preguntas descartadas por repetir enunciado y respuesta de otra. */
+        public long getDuplicadas() { return duplicadas; }
+        /** @return Las preguntas descartadas por parecerse a otra con la misma respuesta. */
+        public long getCasiDuplicadas() { return casiDuplicadas; }
+        /** @return Las preguntas descartadas por no tener enunciado o respuesta, o por ser demasiado largas. */
+        public long getInvalidas() { return invalidas; }
+        /** @return Las preguntas descartadas por pertenecer a una categoría desconocida. */
+        public long getCategoriaDesconocida() { return categoriaDesconocida; }
+        /**
+         * @param categoria La categoría consultada.
+         * @return Las preguntas escritas de esa categoría.
+         */
+        public int getEscritas(CategoriaTrivia categoria) { return porCategoria[categoria.ordinal()]; }
+        /** @return La cantidad de particiones en que se repartió el banco. */
+        public int getParticiones() { return particiones; }
+        /** @return La duración total de la compilación en milisegundos. */
+        public long getMilisegundos() { return milisegundos; }
+        /** @return El mayor uso de heap observado (muestreado después de cada lote y de cada partición). */
+        public long getMemoriaPicoBytes() { return memoriaPicoBytes; }
+
+        @Override
+        public String toString() {
+            return String.format("%d preguntas leídas, %d escritas (%d duplicadas, %d casi duplicadas, %d inválidas, "
+                            + "%d de categorías desconocidas) en %d ms con %d particiones, pico de heap %.1f MB",
+                    leidas, escritas, duplicadas, casiDuplicadas, invalidas, categoriaDesconocida,
+                    milisegundos, particiones, memoriaPicoBytes / 1048576.0);
+        }
+    }
+
+    /**
+     * Preguntas leídas juntas y, una vez calculadas, su validez y sus huellas.
+     */
+    private static final class Lote {
+        static final Lote FIN = new Lote(0);
+
+        final CategoriaTrivia[] categorias;
+        final String[] preguntas;
+        final String[] respuestas;
+        int cantidad;
+        boolean[] validas;
+        long[] huellasRespuesta;
+        long[] huellas;
+        long[] bandas;
+
+        Lote(int capacidad) {
+            categorias = new CategoriaTrivia[capacidad];
+            preguntas = new String[capacidad];
+            respuestas = new String[capacidad];
+        }
+
+        boolean agregar(CategoriaTrivia categoria, String pregunta, String respuesta) {
+            categorias[cantidad] = categoria;
+            preguntas[cantidad] = pregunta;
+            respuestas[cantidad] = respuesta;
+            return ++cantidad == categorias.length;
+        }
+
+        Lote calcularHuellas() {
+            validas = new boolean[cantidad];
+            huellasRespuesta = new long[cantidad];
+            huellas = new long[cantidad];
+            bandas = new long[cantidad * BANDAS];
+            char[] buffer = new char[Math.max(LONGITUD_MAXIMA_PREGUNTA, LONGITUD_MAXIMA_RESPUESTA)];
+            long[] firma = new long[FUNCIONES];
+            for (int i = 0; i < cantidad; i++) {
+                String pregunta = preguntas[i];
+                String respuesta = respuestas[i];
+                if (pregunta == null || respuesta == null
+                        || pregunta.length() > LONGITUD_MAXIMA_PREGUNTA || respuesta.length() > LONGITUD_MAXIMA_RESPUESTA) {
+                    continue;
+                }
+                int longitudRespuesta = ComparadorRespuestas.normalizar(respuesta, buffer, 0);
+                if (longitudRespuesta == 0) continue;
+                long huellaRespuesta = huella(buffer, longitudRespuesta);
+                int longitud = ComparadorRespuestas.plegar(pregunta, 0, pregunta.length(), buffer, 0);
+                if (longitud == 0) continue;
+                validas[i] = true;
+                huellasRespuesta[i] = huellaRespuesta;
+                huellas[i] = mezclar(huella(buffer, longitud) ^ huellaRespuesta * GAMMA);
+                firmar(buffer, longitud, firma);
+                for (int b = 0; b < BANDAS; b++) {
+                    long h = huellaRespuesta ^ (b + 1) * GAMMA;
+                    for (int f = 0; f < FILAS_POR_BANDA; f++) h = mezclar(h ^ firma[b * FILAS_POR_BANDA + f]);
+                    bandas[i * BANDAS + b] = h;
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Preguntas válidas de una partición, en el orden en que se leyeron: sus huellas en un archivo y sus
+     * textos en otro, para depurar leyendo solo las huellas.
+     */
+    private static final class Particion {
+        final Path archivoHuellas;
+        final Path archivoTextos;
+        DataOutputStream huellas;
+        DataOutputStream textos;
+        int cantidad;
+
+        Particion(Path directorio, int numero) {
+            archivoHuellas = directorio.resolve(numero + ".huellas");
+            archivoTextos = directorio.resolve(numero + ".textos");
+        }
+
+        void agregar(Lote lote, int i) throws IOException {
+            if (huellas == null) {
+                huellas = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivoHuellas), TAMANO_BUFFER));
+                textos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivoTextos), TAMANO_BUFFER));
+            }
+            huellas.writeLong(lote.huellas[i]);
+            for (int b = 0; b < BANDAS; b++) huellas.writeLong(lote.bandas[i * BANDAS + b]);
+            textos.writeByte(lote.categorias[i].ordinal());
+            textos.writeUTF(lote.preguntas[i]);
+            textos.writeUTF(lote.respuestas[i]);
+            cantidad++;
+        }
+
+        void cerrar() throws IOException {
+            if (huellas != null) huellas.close();
+            if (textos != null) textos.close();
+        }
+
+        /** Decide qué preguntas de la partición se conservan. Corre en el pool. */
+        Depuracion depurar() {
+            Depuracion resultado = new Depuracion(cantidad);
+            if (cantidad == 0) return resultado;
+            ConjuntoHuellas exactas = new ConjuntoHuellas(cantidad);
+            ConjuntoHuellas bandasVistas = new ConjuntoHuellas(cantidad * BANDAS);
+            long[] bandas = new long[BANDAS];
+            try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivoHuellas), TAMANO_BUFFER))) {
+                for (int i = 0; i < cantidad; i++) {
+                    long huella = entrada.readLong();
+                    int vistas = 0;
+                    for (int b = 0; b < BANDAS; b++) {
+                        bandas[b] = entrada.readLong();
+                        if (bandasVistas.contiene(bandas[b])) vistas++;
+                    }
+                    if (!exactas.agregar(huella)) {
+                        resultado.duplicadas++;
+                    } else if (vistas >= BANDAS_PARA_DUPLICADO) {
+                        resultado.casiDuplicadas++;
+                    } else {
+                        for (long banda : bandas) bandasVistas.agregar(banda);
+                        resultado.conservadas.set(i);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return resultado;
+        }
+    }
+
+    /** Resultado de depurar una partición. */
+    private static final class Depuracion {
+        final BitSet conservadas;
+        long duplicadas;
+        long casiDuplicadas;
+
+        Depuracion(int cantidad) {
+            conservadas = new BitSet(cantidad);
+        }
+    }
+
+    /**
+     * Conjunto de huellas de 64 bits con direccionamiento abierto, sin un objeto por elemento.
+     * Se dimensiona de entrada para la cantidad esperada. El 0 marca las posiciones libres, así que
+     * la huella 0 se guarda como otra constante.
+     */
+    private static final class ConjuntoHuellas {
+        private final long[] tabla;
+
+        ConjuntoHuellas(int esperadas) {
+            long capacidad = Long.highestOneBit(Math.max(8, esperadas * 3L / 2)) << 1;
+            tabla = new long[(int) Math.min(capacidad, 1 << 30)];
+        }
+
+        boolean contiene(long huella) {
+            long clave = huella == 0 ? GAMMA : huella;
+            int mascara = tabla.length - 1;
+            for (int i = (int) mezclar(clave) & mascara; tabla[i] != 0; i = (i + 1) & mascara) {
+                if (tabla[i] == clave) return true;
+            }
+            return false;
+        }
+
+        /** Agrega la huella; devuelve {@code false} si ya estaba. */
+        boolean agregar(long huella) {
+            long clave = huella == 0 ? GAMMA : huella;
+            int mascara = tabla.length - 1;
+            int i = (int) mezclar(clave) & mascara;
+            for (; tabla[i] != 0; i = (i + 1) & mascara) {
+                if (tabla[i] == clave) return false;
+            }
+            tabla[i] = clave;
+            return true;
+        }
+    }
+
+    private final JsonFactory fabrica;
+    private final ForkJoinPool pool;
+    private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * Constructor del compilador con una fábrica de Jackson por defecto y el pool común.
+     */
+    public CompiladorBancoPreguntas() {
+        this(new JsonFactory(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor del compilador.
+     * @param fabrica La fábrica con la que se crean los {@link JsonParser}.
+     * @param pool El pool donde se calculan las huellas y se depuran las particiones.
+     */
+    public CompiladorBancoPreguntas(JsonFactory fabrica, ForkJoinPool pool) {
+        this.fabrica = fabrica;
+        this.pool = pool;
+    }
+
+    /**
+     * Compila los archivos indicados en un corpus. Si la compilación falla, el destino queda como estaba.
+     *
+     * @param origenes Los archivos JSON de preguntas, en orden de prioridad: ante un duplicado se conserva
+     *                 la pregunta del archivo anterior.
+     * @param destino El archivo {@code .tqc} a crear o reemplazar.
+     * @return El resumen de la compilación.
+     * @throws IOException Si no se puede leer algún origen, escribir el destino o el corpus escrito no es válido.
+     */
+    public ResumenCompilacion compilar(List<File> origenes, File destino) throws IOException {
+        long inicio = System.nanoTime();
+        long bytesOrigen = 0;
+        for (File origen : origenes) {
+            if (!origen.isFile()) throw new IOException("No existe el archivo " + origen.getName());
+            bytesOrigen += origen.length();
+        }
+        ResumenCompilacion resumen = new ResumenCompilacion();
+        resumen.particiones = (int) Math.min(PARTICIONES_MAXIMAS, bytesOrigen / BYTES_POR_PARTICION + 1);
+        resumen.memoriaPicoBytes = memoria.getHeapMemoryUsage().getUsed();
+
+        Path directorio = destino.getAbsoluteFile().toPath().getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempDirectory(directorio, destino.getName() + ".particiones");
+        try {
+            Particion[] particiones = new Particion[resumen.particiones];
+            for (int p = 0; p < particiones.length; p++) particiones[p] = new Particion(temporal, p);
+            try {
+                repartir(origenes, particiones, resumen);
+            } finally {
+                for (Particion particion : particiones) particion.cerrar();
+            }
+            // Se compila junto a las particiones y se verifica antes de tocar el destino.
+            File compilado = temporal.resolve(destino.getName()).toFile();
+            try (CorpusPreguntas.Escritor escritor = new CorpusPreguntas.Escritor(compilado)) {
+                depurarYEscribir(particiones, escritor, resumen);
+                escritor.terminar();
+            }
+            verificar(compilado, resumen);
+            CorpusPreguntas.reemplazar(compilado.toPath(), destino);
+        } finally {
+            try (Stream<Path> archivos = Files.walk(temporal)) {
+                for (Path archivo : (Iterable<Path>) archivos.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        }
+        resumen.milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        return resumen;
+    }
+
+    /**
+     * Lee los orígenes en un hilo aparte, calcula las huellas en el pool y reparte las preguntas válidas,
+     * en el orden en que se leyeron, entre las particiones.
+     */
+    private void repartir(List<File> origenes, Particion[] particiones, ResumenCompilacion resumen) throws IOException {
+        BlockingQueue<CompletableFuture<Lote>> pendientes = new ArrayBlockingQueue<>(2 * pool.getParallelism() + 2);
+        long[] contadores = new long[2];
+        Thread lector = new Thread(() -> leer(origenes, pendientes, contadores), "compilador-lectura");
+        lector.setDaemon(true);
+        lector.start();
+        try {
+            Lote lote;
+            while ((lote = esperar(pendientes.take())) != Lote.FIN) {
+                for (int i = 0; i < lote.cantidad; i++) {
+                    if (!lote.validas[i]) {
+                        resumen.invalidas++;
+                        continue;
+                    }
+                    particiones[(int) Long.remainderUnsigned(lote.huellasRespuesta[i], particiones.length)].agregar(lote, i);
+                }
+                resumen.memoriaPicoBytes = Math.max(resumen.memoriaPicoBytes, memoria.getHeapMemoryUsage().getUsed());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Compilación interrumpida", e);
+        } finally {
+            lector.interrupt();
+        }
+        resumen.leidas = contadores[0];
+        resumen.categoriaDesconocida = contadores[1];
+    }
+
+    /**
+     * Etapa de lectura: arma los lotes de todos los orígenes y los encola ya enviados al pool.
+     * Deja en {@code contadores} las preguntas leídas y las de categorías desconocidas; la cola publica
+     * esos valores al hilo que compila cuando este recibe {@link Lote#FIN}.
+     */
+    private void leer(List<File> origenes, BlockingQueue<CompletableFuture<Lote>> pendientes, long[] contadores) {
+        Map<String, CategoriaTrivia> categoriasResueltas = new HashMap<>();
+        try {
+            Lote lote = new Lote(TAMANO_LOTE);
+            for (File origen : origenes) {
+                try (InputStream entrada = Files.newInputStream(origen.toPath());
+                     JsonParser parser = fabrica.createParser(entrada)) {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        throw new JsonParseException(parser, "Se esperaba un objeto de categorías en " + origen.getName());
+                    }
+                    String clave;
+                    while ((clave = parser.nextFieldName()) != null) {
+                        if (!categoriasResueltas.containsKey(clave)) {
+                            CategoriaTrivia resuelta = CategoriaTrivia.fromString(clave);
+                            if (resuelta == null) System.err.println("ADVERTENCIA: Categoría desconocida en " + origen.getName() + ": " + clave);
+                            categoriasResueltas.put(clave, resuelta);
+                        }
+                        CategoriaTrivia categoria = categoriasResueltas.get(clave);
+                        if (parser.nextToken() != JsonToken.START_ARRAY) {
+                            throw new JsonParseException(parser, "Se esperaba el arreglo de preguntas de " + clave);
+                        }
+                        JsonToken token;
+                        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                            if (token != JsonToken.START_OBJECT) {
+                                parser.skipChildren();
+                                continue;
+                            }
+                            contadores[0]++;
+                            if (categoria == null) {
+                                parser.skipChildren();
+                                contadores[1]++;
+                                continue;
+                            }
+                            String pregunta = null;
+                            String respuesta = null;
+                            String campo;
+                            while ((campo = parser.nextFieldName()) != null) {
+                                if ("pregunta".equals(campo)) pregunta = parser.nextTextValue();
+                                else if ("respuesta".equals(campo)) respuesta = parser.nextTextValue();
+                                else {
+                                    parser.nextToken();
+                                    parser.skipChildren();
+                                }
+                            }
+                            if (lote.agregar(categoria, pregunta, respuesta)) {
+                                pendientes.put(CompletableFuture.supplyAsync(lote::calcularHuellas, pool));
+                                lote = new Lote(TAMANO_LOTE);
+                            }
+                        }
+                    }
+                }
+            }
+            if (lote.cantidad > 0) pendientes.put(CompletableFuture.supplyAsync(lote::calcularHuellas, pool));
+            pendientes.put(CompletableFuture.completedFuture(Lote.FIN));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            try {
+                pendientes.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException interrupcion) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Depura las particiones en el pool, con a lo sumo una más que hilos en curso para acotar la memoria,
+     * y copia al corpus las preguntas conservadas de cada una, en orden.
+     */
+    private void depurarYEscribir(Particion[] particiones, CorpusPreguntas.Escritor escritor, ResumenCompilacion resumen) throws IOException {
+        Deque<CompletableFuture<Depuracion>> enCurso = new ArrayDeque<>();
+        int siguiente = 0;
+        for (Particion particion : particiones) {
+            while (siguiente < particiones.length && enCurso.size() <= pool.getParallelism()) {
+                enCurso.add(CompletableFuture.supplyAsync(particiones[siguiente++]::depurar, pool));
+            }
+            Depuracion depuracion = esperar(enCurso.poll());
+            resumen.duplicadas += depuracion.duplicadas;
+            resumen.casiDuplicadas += depuracion.casiDuplicadas;
+            if (particion.cantidad == 0) continue;
+            try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(particion.archivoTextos), TAMANO_BUFFER))) {
+                for (int i = 0; i < particion.cantidad; i++) {
+                    CategoriaTrivia categoria = CategoriaTrivia.values()[entrada.readByte()];
+                    String pregunta = entrada.readUTF();
+                    String respuesta = entrada.readUTF();
+                    if (!depuracion.conservadas.get(i)) continue;
+                    escritor.agregar(categoria, pregunta, respuesta);
+                    resumen.porCategoria[categoria.ordinal()]++;
+                    resumen.escritas++;
+                }
+            }
+            Files.deleteIfExists(particion.archivoHuellas);
+            Files.deleteIfExists(particion.archivoTextos);
+            resumen.memoriaPicoBytes = Math.max(resumen.memoriaPicoBytes, memoria.getHeapMemoryUsage().getUsed());
+        }
+    }
+
+    private static <T> T esperar(CompletableFuture<T> futuro) throws IOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Compilación interrumpida", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof UncheckedIOException) causa = causa.getCause();
+            if (causa instanceof IOException) throw (IOException) causa;
+            throw new IOException("Error compilando el banco de preguntas", causa);
+        }
+    }
+
+    /**
+     * Abre el corpus escrito, antes de moverlo al destino, y comprueba la cantidad de preguntas de cada categoría y que la primera y la
+     * última se puedan leer.
+     */
+    private static void verificar(File destino, ResumenCompilacion resumen) throws IOException {
+        CorpusPreguntas corpus = CorpusPreguntas.abrir(destino);
+        for (CategoriaTrivia categoria : CategoriaTrivia.values()) {
+            int cantidad = corpus.getCantidad(categoria);
+            if (cantidad != resumen.getEscritas(categoria)) {
+                throw new IOException("El corpus " + destino.getName() + " tiene " + cantidad + " preguntas de "
+                        + categoria + " en lugar de " + resumen.getEscritas(categoria));
+            }
+            if (cantidad == 0) continue;
+            for (int indice : new int[] {0, cantidad - 1}) {
+                PreguntaOriginal pregunta;
+                try {
+                    pregunta = corpus.getPregunta(categoria, indice);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (pregunta.getPregunta().isEmpty() || pregunta.getRespuesta().isEmpty()) {
+                    throw new IOException("Pregunta vacía en el corpus " + destino.getName() + ": " + categoria + " #" + indice);
+                }
+            }
+        }
+    }
+
+    /** FNV-1a de 64 bits de los primeros {@code longitud} caracteres, con una mezcla final. */
+    private static long huella(char[] texto, int longitud) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < longitud; i++) h = (h ^ texto[i]) * 0x100000001B3L;
+        return mezclar(h);
+    }
+
+    /**
+     * Calcula la firma MinHash del texto: para cada función, el menor valor sobre todos los fragmentos.
+     * Un fragmento de cuatro caracteres de 16 bits cabe exacto en un {@code long}.
+     */
+    private static void firmar(char[] texto, int longitud, long[] firma) {
+        Arrays.fill(firma, Long.MAX_VALUE);
+        int fragmentos = Math.max(1, longitud - LONGITUD_FRAGMENTO + 1);
+        for (int inicio = 0; inicio < fragmentos; inicio++) {
+            long fragmento = 0;
+            int fin = Math.min(longitud, inicio + LONGITUD_FRAGMENTO);
+            for (int k = inicio; k < fin; k++) fragmento = fragmento << 16 | texto[k];
+            long base = mezclar(fragmento);
+            for (int f = 0; f < FUNCIONES; f++) {
+                long valor = base * MULTIPLICADORES[f] + SUMANDOS[f];
+                if (valor < firma[f]) firma[f] = valor;
+            }
+        }
+    }
+
+    /** Función de mezcla de MurmurHash3. */
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Compila bancos desde la línea de comandos.
+     * Argumentos: los archivos de origen (por defecto {@code preguntasJuegoTrivia.json}) y, opcionalmente,
+     * {@code -o destino} (por defecto el nombre del primer origen con extensión {@value CorpusPreguntas#EXTENSION}).
+     * @param args Los argumentos de la línea de comandos.
+     */
+    public static void main(String[] args) {
+        List<File> origenes = new ArrayList<>();
+        File destino = null;
+        for (int i = 0; i < args.length; i++) {
+            if ("-o".equals(args[i]) && i + 1 < args.length) destino = new File(args[++i]);
+            else origenes.add(new File(args[i]));
+        }
+        if (origenes.isEmpty()) origenes.add(new File("preguntasJuegoTrivia.json"));
+        if (destino == null) {
+            File primero = origenes.get(0).getAbsoluteFile();
+            String nombre = primero.getName();
+            String base = nombre.contains(".") ? nombre.substring(0, nombre.lastIndexOf('.')) : nombre;
+            destino = new File(primero.getParentFile(), base + CorpusPreguntas.EXTENSION);
+        }
+        try {
+            ResumenCompilacion resumen = new CompiladorBancoPreguntas().compilar(origenes, destino);
+            System.out.println(resumen);
+            for (CategoriaTrivia categoria : CategoriaTrivia.values()) {
+                System.out.printf("  %-20s %d%n", categoria, resumen.getEscritas(categoria));
+            }
+            System.out.printf("Corpus escrito en %s (%.1f MB)%n", destino.getName(), destino.length() / 1048576.0);
+        } catch (IOException e) {
+            System.err.println("Error compilando el banco de preguntas en " + destino.getName());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
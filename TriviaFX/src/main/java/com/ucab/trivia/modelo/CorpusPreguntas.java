@@ -0,0 +1,435 @@
+package com.ucab.trivia.modelo;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Banco de preguntas precompilado que se lee mapeando el archivo en memoria, sin copiar los textos al heap.
+ * Abrir el corpus solo lee la cabecera y mapea las secciones, así que cuesta lo mismo sin importar el
+ * tamaño del banco; las páginas se cargan a medida que se sirven preguntas, y varios procesos del mismo
+ * equipo que abren el mismo archivo comparten la caché de páginas del sistema operativo.
+ *
+ * Formato (versión 1, enteros big-endian): la marca {@code TRVC}, la versión y la cantidad de categorías;
+ * por cada categoría su nombre (longitud en 2 bytes más UTF-8), la cantidad de preguntas, la posición de
+ * su tabla de desplazamientos, la posición de sus textos y la longitud de sus textos. La tabla tiene
+ * {@code 2 * cantidad + 1} enteros con el mismo significado que en {@link BancoPreguntas}: la pregunta
+ * {@code i} ocupa {@code [t[2i], t[2i+1])} de los textos y su respuesta {@code [t[2i+1], t[2i+2])}.
+ * Los bancos que no caben en memoria se escriben con {@link Escritor}, que guarda cada categoría en
+ * archivos temporales y arma el corpus al final.
+ */
+public final class CorpusPreguntas implements FuentePreguntas {
+
+    /** Extensión de los archivos de corpus. */
+    public static final String EXTENSION = ".tqc";
+
+    private static final int MARCA = 0x54525643; // "TRVC"
+    private static final int VERSION = 1;
+
+    /** Tabla de desplazamientos y textos mapeados de una categoría. */
+    private static final class Seccion {
+        static final Seccion VACIA = new Seccion(IntBuffer.allocate(1), ByteBuffer.allocate(0), 0);
+
+        final IntBuffer inicios;
+        final ByteBuffer texto;
+        final int cantidad;
+
+        Seccion(IntBuffer inicios, ByteBuffer texto, int cantidad) {
+            this.inicios = inicios;
+            this.texto = texto;
+            this.cantidad = cantidad;
+        }
+
+        String decodificar(int desde, int hasta) {
+            byte[] bytes = new byte[hasta - desde];
+            texto.get(desde, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private final Seccion[] secciones;
+    private final File archivo;
+
+    private CorpusPreguntas(File archivo, Seccion[] secciones) {
+        this.archivo = archivo;
+        this.secciones = secciones;
+    }
+
+    /**
+     * Abre un corpus mapeando sus secciones. El archivo puede cerrarse y reemplazarse después:
+     * los mapeos siguen viendo el contenido que tenía al abrirse.
+     *
+     * @param archivo El archivo {@code .tqc}.
+     * @return El corpus listo para servir preguntas.
+     * @throws IOException Si el archivo no existe, no es un corpus o está truncado. Las tablas de
+     * desplazamientos no se recorren al abrir: cada pregunta se comprueba al servirla.
+     */
+    public static CorpusPreguntas abrir(File archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            ByteBuffer fija = leer(canal, 0, 12);
+            if (fija.getInt() != MARCA) throw new IOException(archivo.getName() + " no es un corpus de preguntas");
+            int version = fija.getInt();
+            if (version != VERSION) throw new IOException("Versión de corpus no soportada: " + version);
+            int categorias = fija.getInt();
+
+            Seccion[] secciones = new Seccion[CategoriaTrivia.values().length];
+            Arrays.fill(secciones, Seccion.VACIA);
+            long posicion = 12;
+            for (int c = 0; c < categorias; c++) {
+                int longitudNombre = leer(canal, posicion, 2).getShort() & 0xFFFF;
+                ByteBuffer entrada = leer(canal, posicion + 2, longitudNombre + 28);
+                posicion += 2 + longitudNombre + 28;
+                byte[] nombre = new byte[longitudNombre];
+                entrada.get(nombre);
+                int cantidad = entrada.getInt();
+                long posicionInicios = entrada.getLong();
+                long posicionTexto = entrada.getLong();
+                long longitudTexto = entrada.getLong();
+
+                long bytesInicios = 4L * (2L * cantidad + 1);
+                if (cantidad < 0 || longitudTexto < 0 || longitudTexto > Integer.MAX_VALUE
+                        || posicionInicios < 0 || posicionInicios + bytesInicios > tamano
+                        || posicionTexto < 0 || posicionTexto + longitudTexto > tamano) {
+                    throw new IOException("Sección inválida en el corpus " + archivo.getName());
+                }
+                String clave = new String(nombre, StandardCharsets.UTF_8);
+                CategoriaTrivia categoria = CategoriaTrivia.fromString(clave);
+                if (categoria == null) {
+                    System.err.println("ADVERTENCIA: Categoría desconocida en el corpus de preguntas: " + clave);
+                    continue;
+                }
+                if (cantidad == 0) continue;
+                MappedByteBuffer inicios;
+                MappedByteBuffer texto;
+                try {
+                    inicios = canal.map(FileChannel.MapMode.READ_ONLY, posicionInicios, bytesInicios);
+                    texto = canal.map(FileChannel.MapMode.READ_ONLY, posicionTexto, longitudTexto);
+                } catch (IllegalArgumentException e) {
+                    // Una región de más de 2 GB no se puede mapear.
+                    throw new IOException("Sección inválida en el corpus " + archivo.getName(), e);
+                }
+                secciones[categoria.ordinal()] = new Seccion(inicios.asIntBuffer(), texto, cantidad);
+            }
+            return new CorpusPreguntas(archivo, secciones);
+        }
+    }
+
+    /**
+     * Escribe un banco en el formato de corpus. Se escribe un temporal que luego se renombra sobre el
+     * destino, de modo que los procesos que tienen el corpus anterior mapeado no lo ven cambiar.
+     *
+     * @param banco El banco a escribir; debe estar completamente cargado.
+     * @param destino El archivo {@code .tqc} a crear o reemplazar.
+     * @throws IOException Si no se puede escribir.
+     */
+    public static void escribir(BancoPreguntas banco, File destino) throws IOException {
+        CategoriaTrivia[] categorias = CategoriaTrivia.values();
+        int[] cantidades = new int[categorias.length];
+        long[] longitudesTexto = new long[categorias.length];
+        for (int c = 0; c < categorias.length; c++) {
+            BancoPreguntas.Seccion seccion = banco.getSeccion(categorias[c]);
+            cantidades[c] = seccion.cantidad;
+            longitudesTexto[c] = seccion.inicios[2 * seccion.cantidad];
+        }
+
+        Path temporal = crearTemporal(destino);
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                escribirTodo(canal, cabecera(cantidades, longitudesTexto));
+                for (CategoriaTrivia categoria : categorias) {
+                    BancoPreguntas.Seccion seccion = banco.getSeccion(categoria);
+                    ByteBuffer inicios = ByteBuffer.allocate(4 * (2 * seccion.cantidad + 1));
+                    inicios.asIntBuffer().put(seccion.inicios, 0, 2 * seccion.cantidad + 1);
+                    escribirTodo(canal, inicios);
+                    escribirTodo(canal, ByteBuffer.wrap(seccion.texto, 0, seccion.inicios[2 * seccion.cantidad]));
+                }
+                canal.force(true);
+            }
+            reemplazar(temporal, destino);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Escribe un corpus pregunta por pregunta sin tenerlo en memoria: los textos y la tabla de
+     * desplazamientos de cada categoría van a archivos temporales junto al destino, y
+     * {@link #terminar()} los copia detrás de la cabecera. El heap usado no depende del tamaño del banco.
+     * Cerrar el escritor sin terminar descarta lo escrito. No es seguro entre hilos.
+     */
+    public static final class Escritor implements Closeable {
+        private final File destino;
+        private final Path directorioTemporal;
+        private final Path[] archivosInicios = new Path[CategoriaTrivia.values().length];
+        private final Path[] archivosTexto = new Path[CategoriaTrivia.values().length];
+        private final DataOutputStream[] inicios = new DataOutputStream[CategoriaTrivia.values().length];
+        private final BufferedOutputStream[] textos = new BufferedOutputStream[CategoriaTrivia.values().length];
+        private final int[] cantidades = new int[CategoriaTrivia.values().length];
+        private final long[] longitudesTexto = new long[CategoriaTrivia.values().length];
+        private boolean cerrado;
+
+        /**
+         * Prepara la escritura de un corpus.
+         * @param destino El archivo {@code .tqc} que se creará o reemplazará al terminar.
+         * @throws IOException Si no se puede crear el directorio temporal.
+         */
+        public Escritor(File destino) throws IOException {
+            this.destino = destino;
+            Path directorio = destino.getAbsoluteFile().toPath().getParent();
+            Files.createDirectories(directorio);
+            this.directorioTemporal = Files.createTempDirectory(directorio, destino.getName());
+        }
+
+        /**
+         * Agrega una pregunta al final de su categoría.
+         * @param categoria La categoría de la pregunta.
+         * @param pregunta El enunciado.
+         * @param respuesta La respuesta correcta.
+         * @throws IOException Si no se puede escribir o la categoría supera los 2 GB de texto del formato.
+         */
+        public void agregar(CategoriaTrivia categoria, String pregunta, String respuesta) throws IOException {
+            if (cerrado) throw new IOException("El escritor del corpus ya está cerrado");
+            int c = categoria.ordinal();
+            if (inicios[c] == null) abrir(c);
+            escribirTexto(c, pregunta);
+            escribirTexto(c, respuesta);
+            cantidades[c]++;
+        }
+
+        /**
+         * Obtiene la cantidad de preguntas agregadas a una categoría.
+         * @param categoria La categoría consultada.
+         * @return Las preguntas agregadas hasta ahora.
+         */
+        public int getCantidad(CategoriaTrivia categoria) {
+            return cantidades[categoria.ordinal()];
+        }
+
+        /**
+         * Arma el corpus y lo mueve sobre el destino, que los lectores ven cambiar de una sola vez.
+         * Después de terminar, el escritor queda cerrado.
+         * @throws IOException Si no se puede escribir.
+         */
+        public void terminar() throws IOException {
+            if (cerrado) throw new IOException("El escritor del corpus ya está cerrado");
+            try {
+                cerrarFlujos();
+                Path temporal = crearTemporal(destino);
+                try {
+                    try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        escribirTodo(canal, cabecera(cantidades, longitudesTexto));
+                        for (int c = 0; c < inicios.length; c++) {
+                            if (archivosInicios[c] == null) {
+                                escribirTodo(canal, ByteBuffer.allocate(4));
+                                continue;
+                            }
+                            copiar(archivosInicios[c], canal);
+                            copiar(archivosTexto[c], canal);
+                        }
+                        canal.force(true);
+                    }
+                    reemplazar(temporal, destino);
+                } finally {
+                    Files.deleteIfExists(temporal);
+                }
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Borra los archivos temporales. Si el corpus no se terminó, el destino queda como estaba.
+         */
+        @Override
+        public void close() throws IOException {
+            if (cerrado) return;
+            cerrado = true;
+            try {
+                cerrarFlujos();
+            } finally {
+                try (Stream<Path> archivos = Files.walk(directorioTemporal)) {
+                    for (Path archivo : (Iterable<Path>) archivos.sorted(Comparator.reverseOrder())::iterator) {
+                        Files.deleteIfExists(archivo);
+                    }
+                }
+            }
+        }
+
+        private void abrir(int c) throws IOException {
+            archivosInicios[c] = directorioTemporal.resolve(c + ".inicios");
+            archivosTexto[c] = directorioTemporal.resolve(c + ".texto");
+            inicios[c] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivosInicios[c]), 1 << 16));
+            textos[c] = new BufferedOutputStream(Files.newOutputStream(archivosTexto[c]), 1 << 16);
+            inicios[c].writeInt(0);
+        }
+
+        private void escribirTexto(int c, String valor) throws IOException {
+            byte[] bytes = (valor == null ? "" : valor).getBytes(StandardCharsets.UTF_8);
+            if (longitudesTexto[c] + bytes.length > Integer.MAX_VALUE) {
+                throw new IOException("La categoría " + CategoriaTrivia.values()[c] + " supera el tamaño máximo de texto del corpus");
+            }
+            textos[c].write(bytes);
+            longitudesTexto[c] += bytes.length;
+            inicios[c].writeInt((int) longitudesTexto[c]);
+        }
+
+        private void cerrarFlujos() throws IOException {
+            for (int c = 0; c < inicios.length; c++) {
+                if (inicios[c] != null) inicios[c].close();
+                if (textos[c] != null) textos[c].close();
+            }
+        }
+
+        private static void copiar(Path origen, FileChannel destino) throws IOException {
+            try (FileChannel canal = FileChannel.open(origen, StandardOpenOption.READ)) {
+                long tamano = canal.size();
+                long copiado = 0;
+                while (copiado < tamano) copiado += canal.transferTo(copiado, tamano - copiado, destino);
+            }
+        }
+    }
+
+    /**
+     * Convierte un banco en el formato JSON de {@code preguntasJuegoTrivia.json} a un corpus.
+     * El banco se lee completo en memoria con {@link CargadorPreguntasStreaming} antes de escribirse.
+     *
+     * @param origen El archivo JSON de preguntas.
+     * @param destino El archivo {@code .tqc} a crear o reemplazar.
+     * @return La cantidad de preguntas escritas.
+     * @throws IOException Si no se puede leer el origen o escribir el destino.
+     */
+    public static int convertir(File origen, File destino) throws IOException {
+        if (!origen.exists()) throw new IOException("No existe el archivo " + origen.getName());
+        BancoPreguntas banco = new CargadorPreguntasStreaming().cargar(origen, null);
+        if (banco.getFinDeCarga().isCompletedExceptionally()) {
+            throw new IOException("No se pudo leer el banco de preguntas " + origen.getName());
+        }
+        escribir(banco, destino);
+        return banco.getTotalPreguntas();
+    }
+
+    /**
+     * Convierte el banco JSON a corpus desde la línea de comandos.
+     * Argumentos opcionales: archivo de origen (por defecto {@code preguntasJuegoTrivia.json}) y de destino
+     * (por defecto el mismo nombre con extensión {@value #EXTENSION}).
+     * @param args Los argumentos de la línea de comandos.
+     */
+    public static void main(String[] args) {
+        File origen = new File(args.length > 0 ? args[0] : "preguntasJuegoTrivia.json");
+        String nombre = origen.getName();
+        String base = nombre.contains(".") ? nombre.substring(0, nombre.lastIndexOf('.')) : nombre;
+        File destino = args.length > 1 ? new File(args[1]) : new File(origen.getAbsoluteFile().getParentFile(), base + EXTENSION);
+        try {
+            long inicio = System.nanoTime();
+            int preguntas = convertir(origen, destino);
+            System.out.printf("%d preguntas escritas en %s (%.1f MB) en %d ms%n", preguntas, destino.getName(),
+                    destino.length() / 1048576.0, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            System.err.println("Error convirtiendo el banco de preguntas " + origen.getName());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    @Override
+    public int getCantidad(CategoriaTrivia categoria) {
+        return secciones[categoria.ordinal()].cantidad;
+    }
+
+    /**
+     * Construye la pregunta indicada de una categoría. Solo se leen y comprueban sus tres desplazamientos.
+     * @throws java.io.UncheckedIOException Si los desplazamientos se salen de los textos de la categoría.
+     */
+    @Override
+    public PreguntaOriginal getPregunta(CategoriaTrivia categoria, int indice) {
+        Seccion seccion = secciones[categoria.ordinal()];
+        Objects.checkIndex(indice, seccion.cantidad);
+        int inicioPregunta = seccion.inicios.get(2 * indice);
+        int inicioRespuesta = seccion.inicios.get(2 * indice + 1);
+        int fin = seccion.inicios.get(2 * indice + 2);
+        if (inicioPregunta < 0 || inicioPregunta > inicioRespuesta || inicioRespuesta > fin || fin > seccion.texto.limit()) {
+            throw new UncheckedIOException(new IOException("Sección inválida en el corpus " + archivo.getName()
+                    + ": " + categoria + " #" + indice));
+        }
+        return new PreguntaOriginal(seccion.decodificar(inicioPregunta, inicioRespuesta), seccion.decodificar(inicioRespuesta, fin));
+    }
+
+    /**
+     * Obtiene el archivo del que se mapeó el corpus.
+     * @return El archivo {@code .tqc}.
+     */
+    public File getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Arma la cabecera de un corpus cuyas secciones se escriben a continuación, en el orden de las categorías.
+     */
+    private static ByteBuffer cabecera(int[] cantidades, long[] longitudesTexto) {
+        CategoriaTrivia[] categorias = CategoriaTrivia.values();
+        byte[][] nombres = new byte[categorias.length][];
+        long tamanoCabecera = 12;
+        for (int c = 0; c < categorias.length; c++) {
+            nombres[c] = categorias[c].getNombreMostrado().getBytes(StandardCharsets.UTF_8);
+            tamanoCabecera += 2 + nombres[c].length + 28;
+        }
+
+        ByteBuffer cabecera = ByteBuffer.allocate((int) tamanoCabecera);
+        cabecera.putInt(MARCA).putInt(VERSION).putInt(categorias.length);
+        long posicion = tamanoCabecera;
+        for (int c = 0; c < categorias.length; c++) {
+            long bytesInicios = 4L * (2L * cantidades[c] + 1);
+            cabecera.putShort((short) nombres[c].length).put(nombres[c])
+                    .putInt(cantidades[c]).putLong(posicion).putLong(posicion + bytesInicios).putLong(longitudesTexto[c]);
+            posicion += bytesInicios + longitudesTexto[c];
+        }
+        return cabecera.flip();
+    }
+
+    private static Path crearTemporal(File destino) throws IOException {
+        Path directorio = destino.getAbsoluteFile().toPath().getParent();
+        Files.createDirectories(directorio);
+        return Files.createTempFile(directorio, destino.getName(), ".tmp");
+    }
+
+    /**
+     * Mueve el temporal sobre el destino; los procesos que tienen el corpus anterior mapeado no lo ven cambiar.
+     */
+    static void reemplazar(Path temporal, File destino) throws IOException {
+        try {
+            Files.move(temporal, destino.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, destino.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static ByteBuffer leer(FileChannel canal, long posicion, int cantidad) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(cantidad);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicion + buffer.position()) < 0) throw new IOException("Corpus de preguntas truncado");
+        }
+        return buffer.flip();
+    }
+
+    private static void escribirTodo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) canal.write(buffer);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ucab.trivia.modelo;
+
+/**
+ * Criterios por los que se puede ordenar la tabla de clasificación.
+ * Todos ordenan de mayor a menor; los empates se resuelven por alias en orden alfabético.
+ */
+public enum CriterioClasificacion {
+    PARTIDAS_GANADAS("Partidas ganadas", null),
+    PORCENTAJE_VICTORIAS("Porcentaje de victorias", null),
+    TOTAL_CORRECTAS("Respuestas correctas", null),
+    CORRECTAS_GEOGRAFIA("Correctas en Geografía", CategoriaTrivia.GEOGRAFIA),
+    CORRECTAS_HISTORIA("Correctas en Historia", CategoriaTrivia.HISTORIA),
+    CORRECTAS_DEPORTES("Correctas en Deportes", CategoriaTrivia.DEPORTES),
+    CORRECTAS_CIENCIA("Correctas en Ciencia", CategoriaTrivia.CIENCIA),
+    CORRECTAS_ARTE_LITERATURA("Correctas en Arte y Literatura", CategoriaTrivia.ARTE_LITERATURA),
+    CORRECTAS_ENTRETENIMIENTO("Correctas en Entretenimiento", CategoriaTrivia.ENTRETENIMIENTO);
+
+    /** Escala del porcentaje de victorias, que se compara como entero en millonésimas. */
+    private static final long ESCALA_PORCENTAJE = 1_000_000L;
+
+    private final String nombre;
+    private final CategoriaTrivia categoria;
+
+    CriterioClasificacion(String nombre, CategoriaTrivia categoria) {
+        this.nombre = nombre;
+        this.categoria = categoria;
+    }
+
+    /**
+     * Obtiene el nombre legible del criterio.
+     * @return El nombre para mostrar.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene la categoría de un criterio por categoría.
+     * @return La categoría, o {@code null} si el criterio no es de una categoría.
+     */
+    public CategoriaTrivia getCategoria() {
+        return categoria;
+    }
+
+    /**
+     * Obtiene el criterio de respuestas correctas de una categoría.
+     * @param categoria La categoría.
+     * @return El criterio correspondiente.
+     */
+    public static CriterioClasificacion deCategoria(CategoriaTrivia categoria) {
+        for (CriterioClasificacion criterio : values()) {
+            if (criterio.categoria == categoria) return criterio;
+        }
+        throw new IllegalArgumentException("Categoría sin criterio: " + categoria);
+    }
+
+    /**
+     * Calcula el valor por el que se ordena un jugador según este criterio (mayor es mejor).
+     * @param est Las estadísticas del jugador.
+     * @return La clave de orden.
+     */
+    long clave(EstadisticaGlobal est) {
+        switch (this) {
+            case PARTIDAS_GANADAS:
+                return est.getPartidasGanadas();
+            case PORCENTAJE_VICTORIAS:
+                return est.getPartidasJugadas() == 0 ? 0 : est.getPartidasGanadas() * ESCALA_PORCENTAJE / est.getPartidasJugadas();
+            case TOTAL_CORRECTAS:
+                long total = 0;
+                if (est.getCorrectasPorCategoria() != null) {
+                    for (Integer n : est.getCorrectasPorCategoria().values()) {
+                        if (n != null) total += n;
+                    }
+                }
+                return total;
+            default:
+                if (est.getCorrectasPorCategoria() == null) return 0;
+                Integer n = est.getCorrectasPorCategoria().get(categoria);
+                return n == null ? 0 : n;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.ucab.trivia.modelo;
 
-import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Representa un dado de 6 caras utilizado en el juego.
@@ -8,14 +8,23 @@ import java.security.SecureRandom;
  */
 public class Dado {
 
-    private final SecureRandom random;
+    private final RandomGenerator random;
 
     /**
-     * Constructor que inicializa el generador de números aleatorios de forma segura.
-     * SecureRandom es una implementación más fuerte que Random, recomendada para este tipo de usos.
+     * Constructor que usa una {@link FuenteAleatoria} nueva, según la configuración de
+     * {@link FuenteAleatoria#nueva()}.
      */
     public Dado() {
-        this.random = new SecureRandom();
+        this(FuenteAleatoria.nueva());
+    }
+
+    /**
+     * Constructor que permite indicar el generador de números aleatorios a utilizar,
+     * por ejemplo uno más rápido para simulaciones sin interfaz.
+     * @param random El generador a utilizar en cada lanzamiento.
+     */
+    public Dado(RandomGenerator random) {
+        this.random = random;
     }
 
     /**
@@ -25,4 +34,12 @@ public class Dado {
     public int lanzar() {
         return random.nextInt(6) + 1;
     }
+
+    /**
+     * Obtiene el generador del dado, por ejemplo para guardar su semilla si es una {@link FuenteAleatoria}.
+     * @return El generador usado en cada lanzamiento.
+     */
+    public RandomGenerator getGenerador() {
+        return random;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.ucab.trivia.modelo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diario de solo-agregar de los eventos de una partida.
+ * Cada evento del turno (tirada, pregunta sacada, movimiento, respuesta, quesito, rendición y cambio de turno) se
+ * agrega como un registro de pocos bytes al segmento activo, en lugar de reescribir toda la partida.
+ * Cada cierto número de eventos la partida escribe una instantánea completa de
+ * {@link EstadoJuegoGuardado} con la secuencia del último evento que incluye; en ese momento se
+ * abre un segmento nuevo y, cuando la instantánea ya está en disco, los segmentos anteriores se
+ * compactan: su contenido se agrega al historial de la partida y se borran.
+ *
+ * Formato de un registro: longitud (varint), tipo (1 byte), secuencia (varint), jugador (varint)
+ * y los datos propios del tipo, todos como varint. Un registro incompleto al final de un segmento
+ * (por ejemplo tras un corte de luz) se ignora.
+ */
+public class DiarioPartida {
+
+    /** Cada cuántos eventos se escribe una instantánea completa y se compacta el diario. */
+    public static final int EVENTOS_POR_INSTANTANEA = 64;
+
+    /** Tipos de registro del diario; el código es el byte que se escribe. */
+    public enum TipoEvento {
+        TIRADA(1), MOVIMIENTO(2), RESPUESTA(3), QUESITO(4), RENDICION(5), TURNO(6), PREGUNTA(7);
+
+        private final byte codigo;
+
+        TipoEvento(int codigo) {
+            this.codigo = (byte) codigo;
+        }
+
+        static TipoEvento desdeCodigo(int codigo) {
+            for (TipoEvento tipo : values()) {
+                if (tipo.codigo == codigo) return tipo;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Recibe los eventos al reproducir el diario.
+     */
+    public interface Receptor {
+        /** Un jugador lanzó el dado. */
+        void alLanzarDado(int jugador, int valor);
+        /** Un jugador se movió a la casilla de ordinal {@code ordinalDestino} (ver {@link Posicion#desdeOrdinal(int)}). */
+        void alMover(int jugador, int ordinalDestino);
+        /** Un jugador respondió una pregunta. */
+        void alResponder(int jugador, CategoriaTrivia categoria, boolean correcta, long tiempoMs);
+        /** Un jugador obtuvo un quesito nuevo. */
+        void alGanarQuesito(int jugador, CategoriaTrivia categoria);
+        /** Un jugador se rindió. */
+        void alRendirse(int jugador);
+        /** El turno pasó al jugador de índice {@code nuevoIndice}. */
+        void alPasarTurno(int nuevoIndice);
+        /** Se sacó una pregunta de una categoría para el jugador. */
+        void alSacarPregunta(int jugador, CategoriaTrivia categoria);
+    }
+
+    private static final String EXTENSION_SEGMENTO = ".diario";
+    private static final String EXTENSION_HISTORIAL = ".historial";
+
+    private final File directorio;
+    private final String base;
+    private final File historial;
+    private final byte[] buffer = new byte[64];
+
+    private FileChannel segmentoActivo;
+    private int numeroSegmento;
+    private long secuencia;
+    private int eventosDesdeInstantanea;
+    private boolean hayInstantanea;
+
+    /**
+     * Crea el diario para los archivos {@code <base>.<n>.diario} y {@code <base>.historial} de un directorio.
+     * @param directorio El directorio de datos.
+     * @param base El nombre base de los archivos (el de la partida guardada sin extensión).
+     */
+    public DiarioPartida(File directorio, String base) {
+        this.directorio = directorio;
+        this.base = base;
+        this.historial = new File(directorio, base + EXTENSION_HISTORIAL);
+    }
+
+    /**
+     * Indica si quedan segmentos del diario en disco.
+     * @return {@code true} si hay al menos un segmento.
+     */
+    public boolean existe() {
+        return !segmentos().isEmpty();
+    }
+
+    /**
+     * Empieza un diario nuevo para una partida nueva, borrando los segmentos y el historial anteriores.
+     */
+    public void reiniciar() {
+        cerrar();
+        for (File segmento : segmentos()) borrar(segmento.toPath());
+        borrar(historial.toPath());
+        secuencia = 0;
+        eventosDesdeInstantanea = 0;
+        hayInstantanea = false;
+        abrirSegmento(1);
+    }
+
+    /**
+     * Reproduce los eventos posteriores a una instantánea y deja el diario listo para seguir agregando.
+     * @param secuenciaInstantanea La secuencia del último evento incluido en la instantánea.
+     * @param receptor Quien aplica los eventos al estado.
+     * @return La cantidad de eventos reproducidos.
+     */
+    public int reproducir(long secuenciaInstantanea, Receptor receptor) {
+        cerrar();
+        secuencia = secuenciaInstantanea;
+        int reproducidos = 0;
+        int ultimoSegmento = 0;
+        for (File segmento : segmentos()) {
+            ultimoSegmento = Math.max(ultimoSegmento, numeroDe(segmento));
+            try {
+                ByteBuffer datos = ByteBuffer.wrap(Files.readAllBytes(segmento.toPath()));
+                while (datos.hasRemaining()) {
+                    int inicio = datos.position();
+                    long longitud = leerVarint(datos);
+                    if (longitud < 0 || longitud > datos.remaining()) {
+                        System.err.println("ADVERTENCIA: Registro incompleto en " + segmento.getName() + " (byte " + inicio + "), se ignora el resto.");
+                        break;
+                    }
+                    ByteBuffer registro = datos.slice(datos.position(), (int) longitud);
+                    datos.position(datos.position() + (int) longitud);
+                    long secuenciaRegistro = aplicar(registro, secuenciaInstantanea, receptor);
+                    if (secuenciaRegistro > secuenciaInstantanea) reproducidos++;
+                    secuencia = Math.max(secuencia, secuenciaRegistro);
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error leyendo el diario " + segmento.getName());
+                e.printStackTrace();
+            }
+        }
+        hayInstantanea = true;
+        eventosDesdeInstantanea = reproducidos;
+        // Se sigue en un segmento nuevo para no agregar detrás de un posible registro incompleto.
+        abrirSegmento(ultimoSegmento + 1);
+        return reproducidos;
+    }
+
+    /**
+     * Agrega un evento al segmento activo.
+     * @param tipo El tipo de evento.
+     * @param jugador El índice del jugador (o el nuevo índice en turno para {@link TipoEvento#TURNO}).
+     * @param datos Los datos propios del tipo de evento.
+     */
+    public void registrar(TipoEvento tipo, int jugador, long... datos) {
+        secuencia++;
+        eventosDesdeInstantanea++;
+        int fin = 1; // se reserva un byte para la longitud, que en la práctica siempre cabe en uno
+        buffer[fin++] = tipo.codigo;
+        fin = escribirVarint(secuencia, fin);
+        fin = escribirVarint(jugador, fin);
+        for (long dato : datos) fin = escribirVarint(dato, fin);
+        buffer[0] = (byte) (fin - 1);
+        if (segmentoActivo == null) return;
+        try {
+            ByteBuffer salida = ByteBuffer.wrap(buffer, 0, fin);
+            while (salida.hasRemaining()) segmentoActivo.write(salida);
+        } catch (IOException e) {
+            System.err.println("Error escribiendo en el diario de la partida");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Indica si toca escribir una instantánea completa.
+     * @return {@code true} si nunca se escribió una o si ya pasaron suficientes eventos desde la última.
+     */
+    public boolean necesitaInstantanea() {
+        return !hayInstantanea || eventosDesdeInstantanea >= EVENTOS_POR_INSTANTANEA;
+    }
+
+    /**
+     * Cierra el segmento activo para una instantánea que refleja todos los eventos hasta ahora.
+     * Marca el estado con la secuencia actual, abre un segmento nuevo y devuelve la compactación
+     * que debe ejecutarse cuando la instantánea esté en disco.
+     *
+     * @param estado La instantánea que se va a escribir.
+     * @return La acción que compacta los segmentos cubiertos por la instantánea.
+     */
+    public Runnable prepararInstantanea(EstadoJuegoGuardado estado) {
+        estado.setSecuenciaDiario(secuencia);
+        int ultimoCubierto = numeroSegmento;
+        abrirSegmento(numeroSegmento + 1);
+        hayInstantanea = true;
+        eventosDesdeInstantanea = 0;
+        return () -> compactar(ultimoCubierto);
+    }
+
+    /**
+     * Obtiene la secuencia del último evento registrado.
+     * @return La secuencia actual.
+     */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    /**
+     * Cierra el segmento activo.
+     */
+    public void cerrar() {
+        if (segmentoActivo == null) return;
+        try {
+            segmentoActivo.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        segmentoActivo = null;
+    }
+
+    /**
+     * Cierra el diario y borra sus segmentos y su historial, por ejemplo al volver al guardado completo.
+     */
+    public void descartar() {
+        cerrar();
+        for (File segmento : segmentos()) borrar(segmento.toPath());
+        borrar(historial.toPath());
+    }
+
+    /**
+     * Mueve al historial los segmentos hasta {@code ultimoCubierto} y los borra.
+     * Se ejecuta en el hilo de guardado, después de escribir la instantánea.
+     */
+    private void compactar(int ultimoCubierto) {
+        for (File segmento : segmentos()) {
+            if (numeroDe(segmento) > ultimoCubierto) break;
+            try {
+                Files.write(historial.toPath(), Files.readAllBytes(segmento.toPath()),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                Files.delete(segmento.toPath());
+            } catch (IOException e) {
+                System.err.println("Error compactando el diario " + segmento.getName());
+                e.printStackTrace();
+                return;
+            }
+        }
+    }
+
+    private long aplicar(ByteBuffer registro, long secuenciaInstantanea, Receptor receptor) {
+        TipoEvento tipo = TipoEvento.desdeCodigo(registro.get());
+        long secuenciaRegistro = leerVarint(registro);
+        int jugador = (int) leerVarint(registro);
+        if (tipo == null || secuenciaRegistro <= secuenciaInstantanea) return secuenciaRegistro;
+        switch (tipo) {
+            case TIRADA -> receptor.alLanzarDado(jugador, (int) leerVarint(registro));
+            case MOVIMIENTO -> receptor.alMover(jugador, (int) leerVarint(registro));
+            case RESPUESTA -> receptor.alResponder(jugador, CategoriaTrivia.values()[(int) leerVarint(registro)],
+                    leerVarint(registro) == 1, leerVarint(registro));
+            case QUESITO -> receptor.alGanarQuesito(jugador, CategoriaTrivia.values()[(int) leerVarint(registro)]);
+            case RENDICION -> receptor.alRendirse(jugador);
+            case TURNO -> receptor.alPasarTurno(jugador);
+            case PREGUNTA -> receptor.alSacarPregunta(jugador, CategoriaTrivia.values()[(int) leerVarint(registro)]);
+        }
+        return secuenciaRegistro;
+    }
+
+    private void abrirSegmento(int numero) {
+        cerrar();
+        numeroSegmento = numero;
+        try {
+            Files.createDirectories(directorio.toPath());
+            segmentoActivo = FileChannel.open(archivoSegmento(numero).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Error abriendo el diario de la partida");
+            e.printStackTrace();
+        }
+    }
+
+    private File archivoSegmento(int numero) {
+        return new File(directorio, String.format("%s.%06d%s", base, numero, EXTENSION_SEGMENTO));
+    }
+
+    /** Los segmentos existentes, ordenados por número. */
+    private List<File> segmentos() {
+        List<File> lista = new ArrayList<>();
+        File[] archivos = directorio.listFiles((dir, nombre) -> nombre.startsWith(base + ".") && nombre.endsWith(EXTENSION_SEGMENTO));
+        if (archivos == null) return lista;
+        for (File archivo : archivos) {
+            if (numeroDe(archivo) > 0) lista.add(archivo);
+        }
+        lista.sort((a, b) -> Integer.compare(numeroDe(a), numeroDe(b)));
+        return lista;
+    }
+
+    private int numeroDe(File segmento) {
+        String nombre = segmento.getName();
+        try {
+            return Integer.parseInt(nombre.substring(base.length() + 1, nombre.length() - EXTENSION_SEGMENTO.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    private int escribirVarint(long valor, int posicion) {
+        while ((valor & ~0x7FL) != 0) {
+            buffer[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        buffer[posicion++] = (byte) valor;
+        return posicion;
+    }
+
+    /** Lee un varint; devuelve -1 si el búfer se acaba antes de terminarlo. */
+    private static long leerVarint(ByteBuffer datos) {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            if (!datos.hasRemaining()) return -1;
+            byte b = datos.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) return valor;
+        }
+        return -1;
+    }
+
+    private static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
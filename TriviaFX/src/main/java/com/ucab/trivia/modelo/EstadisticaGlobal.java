@@ -32,6 +32,20 @@ public class EstadisticaGlobal {
         this.alias = alias;
     }
 
+    /**
+     * Constructor de copia, usado para escribir instantáneas de las estadísticas en segundo plano.
+     * @param otra Las estadísticas a copiar.
+     */
+    public EstadisticaGlobal(EstadisticaGlobal otra) {
+        this();
+        this.alias = otra.alias;
+        this.partidasJugadas = otra.partidasJugadas;
+        this.partidasGanadas = otra.partidasGanadas;
+        this.partidasPerdidas = otra.partidasPerdidas;
+        if (otra.correctasPorCategoria != null) this.correctasPorCategoria.putAll(otra.correctasPorCategoria);
+        this.tiempoTotalRespuestasCorrectasMs = otra.tiempoTotalRespuestasCorrectasMs;
+    }
+
     /**
      * Registra el resultado de una partida finalizada, incrementando los contadores
      * de partidas jugadas y ganadas/perdidas.
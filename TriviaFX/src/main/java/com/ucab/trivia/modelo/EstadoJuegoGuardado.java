@@ -1,6 +1,7 @@
 package com.ucab.trivia.modelo;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -12,6 +13,14 @@ import java.util.List;
 public class EstadoJuegoGuardado {
     private List<Jugador> jugadores;
     private int indiceJugadorActual;
+    /** Secuencia del último evento del diario incluido en este estado (0 si no se usa el diario). */
+    private long secuenciaDiario;
+    /** Semilla de la {@link FuenteAleatoria} de la partida, o {@code null} si no se puede reproducir. */
+    private Long semilla;
+    /** Valores que ya había entregado la fuente del dado. */
+    private long extracciones;
+    /** Preguntas sacadas de cada categoría, por ordinal, para volver a dejar las bolsas como estaban. */
+    private int[] preguntasExtraidas;
 
     /**
      * Constructor por defecto, requerido por la librería Jackson para la deserialización.
@@ -28,6 +37,25 @@ public class EstadoJuegoGuardado {
         this.indiceJugadorActual = indiceJugadorActual;
     }
 
+    /**
+     * Crea una copia profunda de este estado, que puede serializarse en otro hilo
+     * mientras la partida sigue modificando a los jugadores originales.
+     * @return Un nuevo estado con copias de los jugadores.
+     */
+    public EstadoJuegoGuardado instantanea() {
+        List<Jugador> copias = null;
+        if (jugadores != null) {
+            copias = new ArrayList<>(jugadores.size());
+            for (Jugador j : jugadores) copias.add(j == null ? null : new Jugador(j));
+        }
+        EstadoJuegoGuardado copia = new EstadoJuegoGuardado(copias, indiceJugadorActual);
+        copia.secuenciaDiario = secuenciaDiario;
+        copia.semilla = semilla;
+        copia.extracciones = extracciones;
+        copia.preguntasExtraidas = preguntasExtraidas == null ? null : preguntasExtraidas.clone();
+        return copia;
+    }
+
     /**
      * Obtiene la lista de jugadores de la partida guardada.
      * @return una lista de objetos Jugador.
@@ -59,4 +87,68 @@ public class EstadoJuegoGuardado {
     public void setIndiceJugadorActual(int indiceJugadorActual) {
         this.indiceJugadorActual = indiceJugadorActual;
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene la secuencia del último evento del diario que ya está reflejado en este estado.
+     * @return La secuencia, o 0 si la partida no se guardó en modo diario.
+     */
+    public long getSecuenciaDiario() {
+        return secuenciaDiario;
+    }
+
+    /**
+     * Establece la secuencia del último evento del diario reflejado en este estado.
+     * @param secuenciaDiario La secuencia del evento.
+     */
+    public void setSecuenciaDiario(long secuenciaDiario) {
+        this.secuenciaDiario = secuenciaDiario;
+    }
+
+    /**
+     * Obtiene la semilla con la que se puede recrear la aleatoriedad de la partida.
+     * @return La semilla, o {@code null} si la partida usaba el generador seguro o es de una versión anterior.
+     */
+    public Long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Establece la semilla de la partida.
+     * @param semilla La semilla, o {@code null}.
+     */
+    public void setSemilla(Long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Obtiene cuántos valores había entregado la fuente del dado al guardar.
+     * @return La cantidad de extracciones.
+     */
+    public long getExtracciones() {
+        return extracciones;
+    }
+
+    /**
+     * Establece cuántos valores había entregado la fuente del dado.
+     * @param extracciones La cantidad de extracciones.
+     */
+    public void setExtracciones(long extracciones) {
+        this.extracciones = extracciones;
+    }
+
+    /**
+     * Obtiene cuántas preguntas se habían sacado de cada categoría al guardar.
+     * @return Los contadores por ordinal de categoría, o {@code null} si no se guardaron.
+     */
+    public int[] getPreguntasExtraidas() {
+        return preguntasExtraidas;
+    }
+
+    /**
+     * Establece cuántas preguntas se habían sacado de cada categoría.
+     * @param preguntasExtraidas Los contadores por ordinal de categoría.
+     */
+    public void setPreguntasExtraidas(int[] preguntasExtraidas) {
+        this.preguntasExtraidas = preguntasExtraidas;
+    }
+}
@@ -1,28 +1,46 @@
 package com.ucab.trivia.modelo;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.Collection;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 
 /**
  * Representa la ficha de un jugador, que almacena los "quesitos" o categorías que ha ganado.
  * El objetivo del juego es rellenar todos los espacios de la ficha.
- * Esta clase es serializable a JSON.
+ * Internamente los quesitos se guardan como una máscara de bits (un bit por ordinal de
+ * {@link CategoriaTrivia}), de modo que comprobar si la ficha está completa es una comparación
+ * y contar los quesitos es un {@link Integer#bitCount(int)}.
+ * Esta clase es serializable a JSON; el JSON mantiene el mapa {@code categoriasObtenidas}
+ * de siempre para seguir leyendo las partidas guardadas existentes.
 
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({"categoriasObtenidas", "categoriasObtenidasCount"})
 public class Ficha {
-    private Map<CategoriaTrivia, Boolean> categoriasObtenidas;
+
+    /** Máscara con todos los quesitos obtenidos. */
+    public static final int MASCARA_COMPLETA = (1 << CategoriaTrivia.values().length) - 1;
+
+    private int mascara;
 
     /**
      * Constructor que inicializa una nueva ficha.
-     * Todas las categorías se marcan inicialmente como no obtenidas (false).
+     * Todas las categorías se marcan inicialmente como no obtenidas.
      */
     public Ficha() {
-        this.categoriasObtenidas = new EnumMap<>(CategoriaTrivia.class);
-        for (CategoriaTrivia cat : CategoriaTrivia.values()) {
-            this.categoriasObtenidas.put(cat, false);
-        }
+        this.mascara = 0;
+    }
+
+    /**
+     * Constructor de copia.
+     * @param otra La ficha cuyos quesitos se copian.
+     */
+    public Ficha(Ficha otra) {
+        this.mascara = otra.mascara;
     }
 
     /**
@@ -31,15 +49,15 @@ public class Ficha {
      * @return true si la categoría ha sido obtenida, false en caso contrario.
      */
     public boolean haObtenidoCategoria(CategoriaTrivia categoria) {
-        return categoria != null && this.categoriasObtenidas.getOrDefault(categoria, false);
+        return categoria != null && (mascara & bit(categoria)) != 0;
     }
 
     /**
-     * Marca una categoría como obtenida (true).
+     * Marca una categoría como obtenida.
      * @param categoria La categoría a marcar como ganada.
      */
     public void marcarCategoriaObtenida(CategoriaTrivia categoria) {
-        if (categoria != null) this.categoriasObtenidas.put(categoria, true);
+        if (categoria != null) this.mascara |= bit(categoria);
     }
 
     /**
@@ -47,9 +65,7 @@ public class Ficha {
      * @return true si la ficha está completa, false en caso contrario.
      */
     public boolean estaCompleta() {
-        if (categoriasObtenidas == null || categoriasObtenidas.isEmpty()) return false;
-        if (categoriasObtenidas.size() < CategoriaTrivia.values().length) return false;
-        return this.categoriasObtenidas.values().stream().allMatch(obtenida -> obtenida);
+        return mascara == MASCARA_COMPLETA;
     }
 
     /**
@@ -57,21 +73,82 @@ public class Ficha {
      * @return El número de categorías ganadas.
      */
     public int getCategoriasObtenidasCount() {
-        if (categoriasObtenidas == null) return 0;
-        return (int) categoriasObtenidas.values().stream().filter(b -> b).count();
+        return Integer.bitCount(mascara);
+    }
+
+    /**
+     * Obtiene la máscara de bits de los quesitos obtenidos (bit {@code i} = categoría de ordinal {@code i}).
+     * @return La máscara de quesitos.
+     */
+    @JsonIgnore
+    public int getMascara() { return mascara; }
+
+    /**
+     * Establece directamente la máscara de bits de los quesitos obtenidos.
+     * @param mascara La nueva máscara; los bits fuera de las categorías existentes se descartan.
+     */
+    @JsonIgnore
+    public void setMascara(int mascara) { this.mascara = mascara & MASCARA_COMPLETA; }
+
+    /**
+     * Obtiene las categorías que aún faltan por obtener.
+     * @return Un {@link EnumSet} nuevo con las categorías faltantes.
+     */
+    @JsonIgnore
+    public EnumSet<CategoriaTrivia> getCategoriasFaltantes() {
+        return aConjunto(~mascara & MASCARA_COMPLETA);
     }
 
     /**
-     * Obtiene el mapa que almacena el estado de las categorías.
-     * Requerido para la serialización JSON con Jackson.
-     * @return Un mapa de CategoriaTrivia a Boolean.
+     * Calcula la unión de los quesitos de varias fichas, por ejemplo de todos los jugadores de una partida.
+     * @param fichas Las fichas a combinar; se ignoran las nulas.
+     * @return Un {@link EnumSet} con las categorías que al menos una ficha ha obtenido.
      */
-    public Map<CategoriaTrivia, Boolean> getCategoriasObtenidas() { return categoriasObtenidas; }
+    public static EnumSet<CategoriaTrivia> union(Collection<Ficha> fichas) {
+        int union = 0;
+        for (Ficha ficha : fichas) {
+            if (ficha != null) union |= ficha.mascara;
+        }
+        return aConjunto(union);
+    }
+
+    /**
+     * Obtiene el estado de las categorías como mapa.
+     * Requerido para la serialización JSON con Jackson; se construye a partir de la máscara.
+     * @return Un mapa nuevo de CategoriaTrivia a Boolean con todas las categorías.
+     */
+    public Map<CategoriaTrivia, Boolean> getCategoriasObtenidas() {
+        Map<CategoriaTrivia, Boolean> mapa = new EnumMap<>(CategoriaTrivia.class);
+        for (CategoriaTrivia cat : CategoriaTrivia.values()) {
+            mapa.put(cat, (mascara & bit(cat)) != 0);
+        }
+        return mapa;
+    }
 
     /**
-     * Establece el mapa que almacena el estado de las categorías.
+     * Establece el estado de las categorías a partir de un mapa.
      * Requerido para la deserialización JSON con Jackson.
-     * @param c El nuevo mapa de categorías obtenidas.
+     * @param c El mapa de categorías obtenidas; las entradas nulas o en false se consideran no obtenidas.
      */
-    public void setCategoriasObtenidas(Map<CategoriaTrivia, Boolean> c) { this.categoriasObtenidas = c; }
-}
\ No newline at end of file
+    public void setCategoriasObtenidas(Map<CategoriaTrivia, Boolean> c) {
+        int nueva = 0;
+        if (c != null) {
+            for (Map.Entry<CategoriaTrivia, Boolean> entrada : c.entrySet()) {
+                if (entrada.getKey() != null && Boolean.TRUE.equals(entrada.getValue())) nueva |= bit(entrada.getKey());
+            }
+        }
+        this.mascara = nueva;
+    }
+
+    private static int bit(CategoriaTrivia categoria) {
+        return 1 << categoria.ordinal();
+    }
+
+    private static EnumSet<CategoriaTrivia> aConjunto(int mascara) {
+        EnumSet<CategoriaTrivia> conjunto = EnumSet.noneOf(CategoriaTrivia.class);
+        for (CategoriaTrivia cat : CategoriaTrivia.values()) {
+            if ((mascara & bit(cat)) != 0) conjunto.add(cat);
+        }
+        return conjunto;
+    }
+}
@@ -0,0 +1,251 @@
+package com.ucab.trivia.modelo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificación binaria compacta de {@link EstadoJuegoGuardado}, alternativa al JSON de siempre.
+ *
+ * Formato (versión 3): la marca {@code TRVP}, un byte de versión, y luego todo como varint sin signo:
+ * índice del jugador actual, secuencia del diario, un 1 si hay semilla (seguido de la semilla como 64 bits
+ * sin signo, de las extracciones del dado y de las preguntas sacadas de cada categoría como cantidad de
+ * categorías más uno, 0 si no hay, y un contador por categoría) o un 0 si no, y la cantidad de jugadores
+ * más uno (0 si la lista es nula). La versión 2 guarda en lugar de los contadores un único número de
+ * extracciones de preguntas, que se descarta al leer; la versión 1 no tiene los datos de la semilla.
+ * Por cada jugador: un byte de banderas (ver {@code TIENE_*}), alias y email como longitud más UTF-8,
+ * la máscara de quesitos de la {@link Ficha}, el ordinal de la {@link Posicion}, las respuestas correctas
+ * como cantidad de entradas seguida de pares (ordinal de categoría, cantidad) y el tiempo total en ms.
+ * Los campos ausentes según las banderas no se escriben.
+ * Al leer, cada cantidad y longitud se compara con los bytes que quedan y con un máximo razonable antes
+ * de reservar nada, para que un archivo dañado se rechace con una {@link IOException}.
+ *
+ * Una versión futura debe conservar la marca y el byte de versión para que los lectores viejos la rechacen.
+ */
+public final class FormatoPartidaBinaria {
+
+    /** Versión del formato que se escribe. */
+    public static final int VERSION = 3;
+
+    private static final int VERSION_SIN_SEMILLA = 1;
+
+    private static final int VERSION_CON_SEMILLA = 2;
+
+    private static final byte[] MARCA = {'T', 'R', 'V', 'P'};
+
+    private static final int RENDIDO = 1;
+    private static final int TIENE_ALIAS = 1 << 1;
+    private static final int TIENE_EMAIL = 1 << 2;
+    private static final int TIENE_FICHA = 1 << 3;
+    private static final int TIENE_POSICION = 1 << 4;
+    private static final int TIENE_CORRECTAS = 1 << 5;
+
+    /** Más jugadores de los que admite cualquier modo de juego delata un archivo dañado. */
+    private static final int MAXIMO_JUGADORES = Math.max(Juego.MAXIMO_JUGADORES, Juego.MAXIMO_JUGADORES_SALON);
+
+    /** Un jugador ocupa al menos el byte de banderas y el varint del tiempo. */
+    private static final int BYTES_MINIMOS_JUGADOR = 2;
+
+    private FormatoPartidaBinaria() {}
+
+    /**
+     * Indica si unos bytes empiezan con la marca del formato binario.
+     * @param datos El contenido de un archivo de partida.
+     * @return {@code true} si es una partida binaria; {@code false} si hay que leerla como JSON.
+     */
+    public static boolean esBinario(byte[] datos) {
+        if (datos.length < MARCA.length) return false;
+        for (int i = 0; i < MARCA.length; i++) {
+            if (datos[i] != MARCA[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Codifica una partida.
+     * @param estado El estado a codificar.
+     * @return Los bytes de la partida, empezando por la marca y la versión.
+     */
+    public static byte[] codificar(EstadoJuegoGuardado estado) {
+        Salida salida = new Salida();
+        salida.write(MARCA, 0, MARCA.length);
+        salida.write(VERSION);
+        salida.varint(estado.getIndiceJugadorActual());
+        salida.varint(estado.getSecuenciaDiario());
+        salida.varint(estado.getSemilla() == null ? 0 : 1);
+        if (estado.getSemilla() != null) {
+            salida.varint(estado.getSemilla());
+            salida.varint(estado.getExtracciones());
+            int[] extraidas = estado.getPreguntasExtraidas();
+            salida.varint(extraidas == null ? 0 : extraidas.length + 1);
+            if (extraidas != null) {
+                for (int extraida : extraidas) salida.varint(extraida);
+            }
+        }
+        List<Jugador> jugadores = estado.getJugadores();
+        salida.varint(jugadores == null ? 0 : jugadores.size() + 1);
+        if (jugadores != null) {
+            for (Jugador jugador : jugadores) codificarJugador(jugador, salida);
+        }
+        return salida.toByteArray();
+    }
+
+    /**
+     * Decodifica una partida escrita con {@link #codificar(EstadoJuegoGuardado)}.
+     * @param datos Los bytes de la partida.
+     * @return El estado leído.
+     * @throws IOException Si falta la marca, la versión no se conoce, los datos están truncados o alguna
+     * cantidad no cabe en lo que queda del archivo.
+     */
+    public static EstadoJuegoGuardado decodificar(byte[] datos) throws IOException {
+        if (!esBinario(datos)) throw new IOException("El archivo no es una partida binaria");
+        ByteBuffer entrada = ByteBuffer.wrap(datos, MARCA.length, datos.length - MARCA.length);
+        try {
+            int version = entrada.get() & 0xFF;
+            if (version < VERSION_SIN_SEMILLA || version > VERSION) throw new IOException("Versión de partida binaria no soportada: " + version);
+            EstadoJuegoGuardado estado = new EstadoJuegoGuardado();
+            estado.setIndiceJugadorActual((int) leerVarint(entrada));
+            estado.setSecuenciaDiario(leerVarint(entrada));
+            if (version >= VERSION_CON_SEMILLA && leerVarint(entrada) != 0) {
+                estado.setSemilla(leerVarint(entrada));
+                estado.setExtracciones(leerVarint(entrada));
+                if (version == VERSION_CON_SEMILLA) {
+                    // Un contador global no alcanza para recrear las bolsas de preguntas.
+                    leerVarint(entrada);
+                } else {
+                    long categoriasMasUno = leerVarint(entrada);
+                    if (categoriasMasUno != 0) {
+                        int categorias = leerCantidad(entrada, categoriasMasUno - 1, CategoriaTrivia.values().length, 1, "contadores de preguntas");
+                        int[] extraidas = new int[categorias];
+                        for (int c = 0; c < categorias; c++) extraidas[c] = (int) leerVarint(entrada);
+                        estado.setPreguntasExtraidas(extraidas);
+                    }
+                }
+            }
+            long cantidadMasUno = leerVarint(entrada);
+            if (cantidadMasUno != 0) {
+                int cantidad = leerCantidad(entrada, cantidadMasUno - 1, MAXIMO_JUGADORES, BYTES_MINIMOS_JUGADOR, "jugadores");
+                List<Jugador> jugadores = new ArrayList<>(cantidad);
+                for (int i = 0; i < cantidad; i++) jugadores.add(decodificarJugador(entrada));
+                estado.setJugadores(jugadores);
+            }
+            return estado;
+        } catch (RuntimeException e) {
+            throw new IOException("Partida binaria inválida o truncada", e);
+        }
+    }
+
+    private static void codificarJugador(Jugador jugador, Salida salida) {
+        Map<CategoriaTrivia, Integer> correctas = jugador.getCorrectasEnPartida();
+        int banderas = (jugador.isEstaRendido() ? RENDIDO : 0)
+                | (jugador.getAlias() != null ? TIENE_ALIAS : 0)
+                | (jugador.getEmail() != null ? TIENE_EMAIL : 0)
+                | (jugador.getFicha() != null ? TIENE_FICHA : 0)
+                | (jugador.getPosicionActual() != null ? TIENE_POSICION : 0)
+                | (correctas != null ? TIENE_CORRECTAS : 0);
+        salida.write(banderas);
+        if (jugador.getAlias() != null) salida.texto(jugador.getAlias());
+        if (jugador.getEmail() != null) salida.texto(jugador.getEmail());
+        if (jugador.getFicha() != null) salida.varint(jugador.getFicha().getMascara());
+        if (jugador.getPosicionActual() != null) salida.varint(jugador.getPosicionActual().getOrdinal());
+        if (correctas != null) {
+            int entradas = 0;
+            for (Map.Entry<CategoriaTrivia, Integer> e : correctas.entrySet()) {
+                if (e.getKey() != null && e.getValue() != null) entradas++;
+            }
+            salida.varint(entradas);
+            for (Map.Entry<CategoriaTrivia, Integer> e : correctas.entrySet()) {
+                if (e.getKey() == null || e.getValue() == null) continue;
+                salida.varint(e.getKey().ordinal());
+                salida.varint(e.getValue());
+            }
+        }
+        salida.varint(jugador.getTiempoTotalEnPartidaMs());
+    }
+
+    private static Jugador decodificarJugador(ByteBuffer entrada) throws IOException {
+        Jugador jugador = new Jugador();
+        int banderas = entrada.get() & 0xFF;
+        jugador.setEstaRendido((banderas & RENDIDO) != 0);
+        if ((banderas & TIENE_ALIAS) != 0) jugador.setAlias(leerTexto(entrada));
+        if ((banderas & TIENE_EMAIL) != 0) jugador.setEmail(leerTexto(entrada));
+        if ((banderas & TIENE_FICHA) != 0) {
+            Ficha ficha = new Ficha();
+            long mascara = leerVarint(entrada);
+            // setMascara descartaría los bits de más; aquí delatan un archivo dañado.
+            if ((mascara & ~(long) Ficha.MASCARA_COMPLETA) != 0) throw new IOException("Máscara de quesitos inválida en la partida: " + mascara);
+            ficha.setMascara((int) mascara);
+            jugador.setFicha(ficha);
+        }
+        if ((banderas & TIENE_POSICION) != 0) jugador.setPosicionActual(Posicion.desdeOrdinal((int) leerVarint(entrada)));
+        if ((banderas & TIENE_CORRECTAS) != 0) {
+            Map<CategoriaTrivia, Integer> correctas = new EnumMap<>(CategoriaTrivia.class);
+            CategoriaTrivia[] categorias = CategoriaTrivia.values();
+            int entradas = leerCantidad(entrada, leerVarint(entrada), categorias.length, 2, "respuestas correctas");
+            for (int i = 0; i < entradas; i++) {
+                int ordinal = (int) leerVarint(entrada);
+                int cantidad = (int) leerVarint(entrada);
+                if (ordinal >= categorias.length) throw new IOException("Categoría desconocida en la partida: " + ordinal);
+                correctas.put(categorias[ordinal], cantidad);
+            }
+            jugador.setCorrectasEnPartida(correctas);
+        }
+        jugador.setTiempoTotalEnPartidaMs(leerVarint(entrada));
+        return jugador;
+    }
+
+    private static long leerVarint(ByteBuffer entrada) throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int b = entrada.get() & 0xFF;
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) return valor;
+        }
+        throw new IOException("Varint demasiado largo en la partida binaria");
+    }
+
+    /**
+     * Comprueba una cantidad leída antes de reservar espacio para ella: no puede pasar del máximo
+     * ni de lo que cabe en los bytes que quedan, si cada elemento ocupa al menos {@code bytesPorElemento}.
+     */
+    private static int leerCantidad(ByteBuffer entrada, long cantidad, int maximo, int bytesPorElemento, String que) throws IOException {
+        if (cantidad < 0 || cantidad > maximo) throw new IOException("Cantidad de " + que + " inválida en la partida binaria: " + cantidad);
+        if (cantidad * bytesPorElemento > entrada.remaining()) throw new IOException("Lista de " + que + " truncada en la partida binaria");
+        return (int) cantidad;
+    }
+
+    private static String leerTexto(ByteBuffer entrada) throws IOException {
+        long longitud = leerVarint(entrada);
+        if (longitud < 0 || longitud > entrada.remaining()) throw new IOException("Texto truncado en la partida binaria");
+        int bytes = (int) longitud;
+        String texto = new String(entrada.array(), entrada.arrayOffset() + entrada.position(), bytes, StandardCharsets.UTF_8);
+        entrada.position(entrada.position() + bytes);
+        return texto;
+    }
+
+    /** Búfer de salida con escritura de varint y de texto. */
+    private static final class Salida extends ByteArrayOutputStream {
+        Salida() {
+            super(64);
+        }
+
+        void varint(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                write((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            write((int) valor);
+        }
+
+        void texto(String texto) {
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ucab.trivia.modelo;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Proveedor de aleatoriedad de una partida, compartido por el {@link Dado} y el {@link ServicioPreguntasJuego}.
+ * Por defecto usa un {@link SplittableRandom} con una semilla propia: es rápido, no bloquea esperando entropía
+ * al arrancar y, como cuenta cuántos valores entregó, la semilla y la cuenta bastan para dejar el generador
+ * exactamente donde estaba (ver {@link #restaurar(long, long)}). Esos dos datos se guardan en
+ * {@link EstadoJuegoGuardado}, así que una partida cargada sigue con las mismas tiradas que habría tenido.
+ * Las preguntas usan fuentes derivadas, una por categoría; para ellas se guarda cuántas preguntas se
+ * sacaron de cada categoría (ver {@link ServicioPreguntasJuego#restaurarExtraidas(int[])}).
+ *
+ * Modos, elegidos con propiedades del sistema:
+ * <ul>
+ *     <li>{@code -Dtrivia.aleatorio.semilla=N}: todas las partidas empiezan con la semilla N (modo determinista).</li>
+ *     <li>{@code -Dtrivia.aleatorio=seguro}: usa {@link SecureRandom} como antes; las partidas no se pueden reproducir.</li>
+ * </ul>
+ * Para simulaciones en paralelo, {@link #dividir()} entrega un generador independiente para otro hilo.
+ * Una instancia no es segura entre hilos.
+ */
+public final class FuenteAleatoria implements RandomGenerator {
+
+    /** Propiedad del sistema con una semilla fija para todas las partidas. */
+    public static final String PROPIEDAD_SEMILLA = "trivia.aleatorio.semilla";
+
+    /** Propiedad del sistema que elige el generador: {@code rapido} (por defecto) o {@code seguro}. */
+    public static final String PROPIEDAD_MODO = "trivia.aleatorio";
+
+    /** Incremento de la secuencia de Weyl de SplittableRandom, usado para derivar semillas. */
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** Generador de semillas para las partidas sin semilla fija; se siembra una vez con la hora. */
+    private static final SplittableRandom SEMILLERO = new SplittableRandom(mezclar(System.nanoTime() ^ System.currentTimeMillis()));
+
+    /** El {@link SecureRandom} del modo seguro, compartido y creado solo si se usa ese modo. */
+    private static final class Seguro {
+        static final SecureRandom INSTANCIA = new SecureRandom();
+    }
+
+    private final RandomGenerator generador;
+    private final long semilla;
+    private final boolean reproducible;
+    private long extracciones;
+
+    private FuenteAleatoria(RandomGenerator generador, long semilla, boolean reproducible) {
+        this.generador = generador;
+        this.semilla = semilla;
+        this.reproducible = reproducible;
+    }
+
+    /**
+     * Crea la fuente de una partida nueva según {@value #PROPIEDAD_MODO} y {@value #PROPIEDAD_SEMILLA}.
+     * @return Una fuente con semilla nueva, la semilla fija configurada o el generador seguro.
+     */
+    public static FuenteAleatoria nueva() {
+        if ("seguro".equalsIgnoreCase(System.getProperty(PROPIEDAD_MODO))) return segura();
+        Long fija = Long.getLong(PROPIEDAD_SEMILLA);
+        if (fija != null) return conSemilla(fija);
+        long semilla;
+        synchronized (SEMILLERO) {
+            semilla = SEMILLERO.nextLong();
+        }
+        return conSemilla(semilla);
+    }
+
+    /**
+     * Crea una fuente determinista.
+     * @param semilla La semilla; la misma semilla produce siempre la misma secuencia.
+     * @return La fuente al inicio de su secuencia.
+     */
+    public static FuenteAleatoria conSemilla(long semilla) {
+        return new FuenteAleatoria(new SplittableRandom(semilla), semilla, true);
+    }
+
+    /**
+     * Crea una fuente sobre el {@link SecureRandom} compartido. No se puede reproducir.
+     * @return La fuente segura.
+     */
+    public static FuenteAleatoria segura() {
+        return new FuenteAleatoria(Seguro.INSTANCIA, 0, false);
+    }
+
+    /**
+     * Recrea una fuente en el punto en que se guardó.
+     * @param semilla La semilla guardada.
+     * @param extracciones La cantidad de valores que ya había entregado.
+     * @return La fuente lista para entregar el valor siguiente.
+     */
+    public static FuenteAleatoria restaurar(long semilla, long extracciones) {
+        FuenteAleatoria fuente = conSemilla(semilla);
+        fuente.avanzar(extracciones);
+        return fuente;
+    }
+
+    /**
+     * Descarta valores de la secuencia, como si se hubieran pedido.
+     * @param cantidad La cantidad de valores a descartar.
+     */
+    public void avanzar(long cantidad) {
+        for (long i = 0; i < cantidad; i++) nextLong();
+    }
+
+    /**
+     * Crea otra fuente determinista cuya semilla se deriva de la de esta, sin consumir valores de ella.
+     * Sirve para dar a cada uso de la partida (el dado, las preguntas) su propia secuencia, de modo que
+     * pedir más preguntas no cambia las tiradas siguientes. Siempre devuelve una fuente con la misma semilla.
+     * @return La fuente derivada al inicio de su secuencia, o una segura si esta no es reproducible.
+     */
+    public FuenteAleatoria derivar() {
+        return derivar(0);
+    }
+
+    /**
+     * Crea una de varias fuentes derivadas independientes, por ejemplo una por categoría de preguntas.
+     * {@code derivar(0)} es la misma que {@link #derivar()}.
+     * @param flujo El número de la fuente derivada; cada número da siempre la misma semilla.
+     * @return La fuente derivada al inicio de su secuencia, o una segura si esta no es reproducible.
+     */
+    public FuenteAleatoria derivar(int flujo) {
+        return reproducible ? conSemilla(mezclar(semilla + GAMMA * (flujo + 1L))) : segura();
+    }
+
+    /**
+     * Crea una fuente independiente para otro hilo, sembrada con el siguiente valor de esta.
+     * Dividir una fuente determinista en el mismo orden produce siempre las mismas fuentes hijas.
+     * @return La nueva fuente.
+     */
+    public FuenteAleatoria dividir() {
+        return reproducible ? conSemilla(mezclar(nextLong())) : segura();
+    }
+
+    /**
+     * Todos los métodos de {@link RandomGenerator} se apoyan en este, así que cada valor pedido se cuenta.
+     */
+    @Override
+    public long nextLong() {
+        extracciones++;
+        return generador.nextLong();
+    }
+
+    /**
+     * Indica si la fuente se puede recrear con {@link #restaurar(long, long)}.
+     * @return {@code false} en el modo seguro.
+     */
+    public boolean isReproducible() {
+        return reproducible;
+    }
+
+    /**
+     * Obtiene la semilla de la fuente.
+     * @return La semilla, o 0 si la fuente no es reproducible.
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Obtiene cuántos valores de 64 bits entregó la fuente desde su creación.
+     * @return La cantidad de extracciones.
+     */
+    public long getExtracciones() {
+        return extracciones;
+    }
+
+    /** Función de mezcla de MurmurHash3, para que semillas cercanas den secuencias sin relación. */
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ucab.trivia.modelo;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Origen de las preguntas que sirve {@link ServicioPreguntasJuego}, indexado por categoría.
+ * Lo implementan el {@link BancoPreguntas} en memoria y el {@link CorpusPreguntas} mapeado desde disco.
+ */
+public interface FuentePreguntas {
+
+    /**
+     * Obtiene la cantidad de preguntas de una categoría.
+     * @param categoria La categoría consultada.
+     * @return La cantidad de preguntas disponibles.
+     */
+    int getCantidad(CategoriaTrivia categoria);
+
+    /**
+     * Obtiene la cantidad de preguntas de una categoría, esperando si la fuente todavía se está cargando.
+     * Las fuentes que no se cargan en segundo plano responden de inmediato.
+     * @param categoria La categoría consultada.
+     * @return La cantidad de preguntas disponibles al terminar la espera.
+     */
+    default int esperarCantidad(CategoriaTrivia categoria) {
+        return getCantidad(categoria);
+    }
+
+    /**
+     * Futuro que se completa cuando la categoría tiene preguntas o cuando la fuente ya no va a recibir más.
+     * A diferencia de {@link #esperarCantidad(CategoriaTrivia)} no bloquea, así que se puede usar desde la interfaz.
+     * Las fuentes que no se cargan en segundo plano lo devuelven ya completo.
+     * @param categoria La categoría consultada.
+     * @return El futuro de la cantidad de preguntas disponibles.
+     */
+    default CompletableFuture<Integer> getDisponibles(CategoriaTrivia categoria) {
+        return CompletableFuture.completedFuture(getCantidad(categoria));
+    }
+
+    /**
+     * Construye la pregunta indicada de una categoría.
+     * @param categoria La categoría de la pregunta.
+     * @param indice El índice dentro de la categoría.
+     * @return Una {@link PreguntaOriginal} nueva con el enunciado y la respuesta.
+     */
+    PreguntaOriginal getPregunta(CategoriaTrivia categoria, int indice);
+
+    /**
+     * Obtiene la cantidad total de preguntas.
+     * @return La suma de las preguntas de todas las categorías.
+     */
+    default int getTotalPreguntas() {
+        int total = 0;
+        for (CategoriaTrivia categoria : CategoriaTrivia.values()) total += getCantidad(categoria);
+        return total;
+    }
+}
@@ -0,0 +1,274 @@
+package com.ucab.trivia.modelo;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escribe archivos en un hilo de fondo para no bloquear el hilo de JavaFX.
+ * Quien guarda entrega una instantánea ya copiada del estado; la serialización y la escritura
+ * ocurren en un único hilo de fondo. Si llegan varias solicitudes para el mismo archivo antes de
+ * que se escriba, solo se escribe la última (las anteriores se cuentan como coalescidas).
+ *
+ * Cada escritura es atómica: se escribe un archivo temporal en el mismo directorio, se fuerza a
+ * disco y se renombra sobre el destino, de modo que nunca queda un archivo a medio escribir.
+ */
+public final class GuardadoAsincrono {
+
+    /**
+     * Métricas acumuladas del guardado en segundo plano.
+     */
+    public static final class MetricasGuardado {
+        private final long escritos;
+        private final long coalescidos;
+        private final long fallidos;
+        private final double latenciaPromedioMs;
+        private final double latenciaMaximaMs;
+        private final double latenciaUltimaMs;
+
+        MetricasGuardado(long escritos, long coalescidos, long fallidos,
+                         double latenciaPromedioMs, double latenciaMaximaMs, double latenciaUltimaMs) {
+            this.escritos = escritos;
+            this.coalescidos = coalescidos;
+            this.fallidos = fallidos;
+            this.latenciaPromedioMs = latenciaPromedioMs;
+            this.latenciaMaximaMs = latenciaMaximaMs;
+            this.latenciaUltimaMs = latenciaUltimaMs;
+        }
+
+        /** @return Las escrituras completadas. */
+        public long getEscritos() { return escritos; }
+        /** @return Las solicitudes que no se escribieron porque llegó otra más nueva para el mismo archivo. */
+        public long getCoalescidos() { return coalescidos; }
+        /** @return Las escrituras que fallaron. */
+        public long getFallidos() { return fallidos; }
+        /** @return La latencia promedio entre la solicitud y el archivo en disco, en milisegundos. */
+        public double getLatenciaPromedioMs() { return latenciaPromedioMs; }
+        /** @return La mayor latencia observada, en milisegundos. */
+        public double getLatenciaMaximaMs() { return latenciaMaximaMs; }
+        /** @return La latencia de la última escritura, en milisegundos. */
+        public double getLatenciaUltimaMs() { return latenciaUltimaMs; }
+
+        @Override
+        public String toString() {
+            return String.format("%d escritos, %d coalescidos, %d fallidos, latencia prom %.2f ms / máx %.2f ms / última %.2f ms",
+                    escritos, coalescidos, fallidos, latenciaPromedioMs, latenciaMaximaMs, latenciaUltimaMs);
+        }
+    }
+
+    /**
+     * Convierte una instantánea en los bytes del archivo; se llama en el hilo de guardado.
+     */
+    @FunctionalInterface
+    public interface Serializador {
+        /**
+         * @param datos La instantánea entregada al programar la escritura.
+         * @return El contenido completo del archivo.
+         * @throws IOException Si no se puede serializar.
+         */
+        byte[] serializar(Object datos) throws IOException;
+    }
+
+    /** Una instantánea pendiente de escribir y el momento en que se pidió. */
+    private static final class Solicitud {
+        final Object datos;
+        final Serializador serializador;
+        final Runnable despues;
+        final long pedidaNanos;
+
+        Solicitud(Object datos, Serializador serializador, Runnable despues) {
+            this.datos = datos;
+            this.serializador = serializador;
+            this.despues = despues;
+            this.pedidaNanos = System.nanoTime();
+        }
+    }
+
+    private static final GuardadoAsincrono INSTANCIA = new GuardadoAsincrono();
+
+    private final ExecutorService hilo = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "guardado-partida");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ConcurrentHashMap<Path, Solicitud> pendientes = new ConcurrentHashMap<>();
+    /** La última tarea programada de cada archivo; como el hilo es uno solo, al terminar ya terminaron las anteriores. */
+    private final ConcurrentHashMap<Path, CompletableFuture<Void>> ultimas = new ConcurrentHashMap<>();
+    /** Tareas de escritura programadas que aún no terminan. */
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private final AtomicLong escritos = new AtomicLong();
+    private final AtomicLong coalescidos = new AtomicLong();
+    private final AtomicLong fallidos = new AtomicLong();
+    private final AtomicLong latenciaTotalNanos = new AtomicLong();
+    private final AtomicLong latenciaMaximaNanos = new AtomicLong();
+    private volatile long latenciaUltimaNanos;
+
+    private GuardadoAsincrono() {}
+
+    /**
+     * Obtiene el servicio de guardado compartido por toda la aplicación.
+     * @return La instancia única.
+     */
+    public static GuardadoAsincrono getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Programa la escritura de una instantánea. Los datos no deben modificarse después de entregarlos.
+     *
+     * @param destino El archivo a escribir.
+     * @param datos La instantánea a serializar.
+     * @param writer El writer de Jackson con el que se serializa.
+     */
+    public void programar(Path destino, Object datos, ObjectWriter writer) {
+        programar(destino, datos, writer, null);
+    }
+
+    /**
+     * Programa la escritura de una instantánea y una acción a ejecutar, en el hilo de guardado,
+     * cuando esa instantánea quede en disco. Si la solicitud se coalesce con una más nueva,
+     * solo se ejecuta la acción de la más nueva.
+     *
+     * @param destino El archivo a escribir.
+     * @param datos La instantánea a serializar.
+     * @param writer El writer de Jackson con el que se serializa.
+     * @param despues La acción posterior a una escritura exitosa; puede ser {@code null}.
+     */
+    public void programar(Path destino, Object datos, ObjectWriter writer, Runnable despues) {
+        programar(destino, datos, (Serializador) writer::writeValueAsBytes, despues);
+    }
+
+    /**
+     * Programa la escritura de una instantánea con un formato propio en lugar de JSON.
+     *
+     * @param destino El archivo a escribir.
+     * @param datos La instantánea a serializar.
+     * @param serializador Quien convierte la instantánea en bytes, en el hilo de guardado.
+     * @param despues La acción posterior a una escritura exitosa; puede ser {@code null}.
+     */
+    public void programar(Path destino, Object datos, Serializador serializador, Runnable despues) {
+        Path clave = destino.toAbsolutePath().normalize();
+        if (pendientes.put(clave, new Solicitud(datos, serializador, despues)) != null) {
+            coalescidos.incrementAndGet();
+        } else {
+            CompletableFuture<Void> terminada = new CompletableFuture<>();
+            ultimas.put(clave, terminada);
+            enCurso.incrementAndGet();
+            hilo.execute(() -> escribirPendiente(clave, terminada));
+        }
+    }
+
+    /**
+     * Espera a que se escriban las solicitudes programadas hasta ahora para un archivo, sin esperar
+     * a las de otros archivos. Si no hay ninguna, vuelve enseguida.
+     * @param destino El archivo que se va a leer.
+     * @param timeoutMs El tiempo máximo de espera en milisegundos.
+     * @return {@code true} si no queda nada pendiente para ese archivo dentro del plazo.
+     */
+    public boolean esperar(Path destino, long timeoutMs) {
+        CompletableFuture<Void> ultima = ultimas.get(destino.toAbsolutePath().normalize());
+        if (ultima == null) return true;
+        try {
+            ultima.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("No se pudo completar el guardado pendiente de " + destino.getFileName());
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Espera a que se escriban todas las solicitudes programadas hasta ahora.
+     * @param timeoutMs El tiempo máximo de espera en milisegundos.
+     * @return {@code true} si todo se escribió dentro del plazo.
+     */
+    public boolean vaciar(long timeoutMs) {
+        if (enCurso.get() == 0) return true;
+        try {
+            hilo.submit(() -> {}).get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("No se pudieron completar los guardados pendientes.");
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene las métricas acumuladas desde que arrancó la aplicación.
+     * @return Una copia de las métricas actuales.
+     */
+    public MetricasGuardado getMetricas() {
+        long n = escritos.get();
+        return new MetricasGuardado(n, coalescidos.get(), fallidos.get(),
+                n == 0 ? 0 : latenciaTotalNanos.get() / 1e6 / n,
+                latenciaMaximaNanos.get() / 1e6,
+                latenciaUltimaNanos / 1e6);
+    }
+
+    private void escribirPendiente(Path destino, CompletableFuture<Void> terminada) {
+        Solicitud solicitud = pendientes.remove(destino);
+        try {
+            escribirAtomicamente(destino, solicitud.serializador.serializar(solicitud.datos));
+            long latencia = System.nanoTime() - solicitud.pedidaNanos;
+            latenciaUltimaNanos = latencia;
+            latenciaTotalNanos.addAndGet(latencia);
+            latenciaMaximaNanos.accumulateAndGet(latencia, Math::max);
+            escritos.incrementAndGet();
+            if (solicitud.despues != null) solicitud.despues.run();
+        } catch (IOException | RuntimeException e) {
+            fallidos.incrementAndGet();
+            System.err.println("Error escribiendo en el archivo " + destino.getFileName());
+            e.printStackTrace();
+        } finally {
+            enCurso.decrementAndGet();
+            terminada.complete(null);
+            ultimas.remove(destino, terminada);
+        }
+    }
+
+    /**
+     * Escribe los bytes en un temporal del mismo directorio, lo fuerza a disco y lo renombra sobre el destino.
+     */
+    static void escribirAtomicamente(Path destino, byte[] contenido) throws IOException {
+        Path directorio = destino.getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, destino.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(contenido);
+                while (buffer.hasRemaining()) canal.write(buffer);
+                canal.force(true);
+            }
+            try {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+}
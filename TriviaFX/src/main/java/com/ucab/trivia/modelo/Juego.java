@@ -3,78 +3,246 @@ package com.ucab.trivia.modelo;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class Juego {
+    /** Máximo de jugadores de una partida normal. */
+    public static final int MAXIMO_JUGADORES = 6;
+    /** Propiedad del sistema con el máximo de jugadores del modo salón. */
+    public static final String PROPIEDAD_MAXIMO_SALON = "trivia.salon.maximo";
+    /** Máximo de jugadores en modo salón (clases y torneos); por defecto 500. */
+    public static final int MAXIMO_JUGADORES_SALON = Integer.getInteger(PROPIEDAD_MAXIMO_SALON, 500);
+
     private List<Jugador> jugadores;
     private int indiceJugadorActual;
     private final TableroGrafico tablero;
     private final Dado dado;
     private final ServicioPreguntasJuego servicioPreguntas;
     private final ServicioDatos servicioDatos;
+    /** Diario de eventos de la partida; {@code null} si no se usa el modo diario. */
+    private DiarioPartida diario;
+    /** Jugadores en cada casilla, actualizado en cada movimiento. */
+    private final OcupacionTablero ocupacion;
+    /** Jugadores que no se han rendido, en el orden de turnos. */
+    private final RondaTurnos ronda;
+    /**
+     * Secuencia del último evento del diario ya aplicado al estado cuando se juega sin modo diario.
+     * Va en cada guardado para que, si los segmentos no se llegan a borrar, no se vuelvan a reproducir.
+     */
+    private long secuenciaReproducida;
+    /** Diario que quedó de jugar en modo diario y se borra tras el próximo guardado que llegue a disco. */
+    private volatile DiarioPartida diarioAbandonado;
 
+    /**
+     * Crea una partida nueva con los recursos compartidos de {@link RecursosJuego}.
+     * Si ya se precalentaron, solo se crean los jugadores y las bolsas de preguntas de la partida.
+     * La partida tiene su propia {@link FuenteAleatoria}, cuya semilla se guarda con ella.
+     */
     public Juego(List<PerfilJugador> perfiles) {
-        this.tablero = new TableroGrafico();
-        this.dado = new Dado();
-        this.servicioPreguntas = new ServicioPreguntasJuego();
-        this.servicioDatos = new ServicioDatos();
+        this(perfiles, FuenteAleatoria.nueva());
+    }
+
+    private Juego(List<PerfilJugador> perfiles, FuenteAleatoria fuente) {
+        this(perfiles, RecursosJuego.getTablero(), new Dado(fuente),
+                new ServicioPreguntasJuego(RecursosJuego.getFuentePreguntas(), fuente.derivar()), RecursosJuego.getServicioDatos());
+    }
+
+    /**
+     * Crea una partida nueva con colaboradores provistos por el llamador.
+     * Permite compartir un mismo tablero entre muchas partidas y jugar sin interfaz gráfica:
+     * en ese caso el servicio de preguntas y el de datos pueden ser {@code null} siempre que
+     * no se pidan preguntas ni se guarde la partida.
+     */
+    public Juego(List<PerfilJugador> perfiles, TableroGrafico tablero, Dado dado, ServicioPreguntasJuego servicioPreguntas, ServicioDatos servicioDatos) {
+        this.tablero = tablero;
+        this.dado = dado;
+        this.servicioPreguntas = servicioPreguntas;
+        this.servicioDatos = servicioDatos;
         this.jugadores = perfiles.stream().map(Jugador::new).collect(Collectors.toList());
         this.indiceJugadorActual = 0;
+        this.ocupacion = new OcupacionTablero(jugadores);
+        this.ronda = new RondaTurnos(jugadores);
+        if (servicioDatos != null && servicioDatos.isModoDiario()) {
+            this.diario = servicioDatos.abrirDiario();
+            this.diario.reiniciar();
+        } else if (servicioDatos != null) {
+            // Un diario de una partida anterior no debe reproducirse sobre el guardado de esta.
+            servicioDatos.abrirDiario().descartar();
+        }
     }
 
+    /**
+     * Carga una partida guardada. Si el estado trae semilla, el dado sigue la misma secuencia aleatoria
+     * desde el punto en que se guardó, y las bolsas de preguntas se recrean con lo que se había sacado de
+     * cada categoría, así que con el mismo banco salen las mismas preguntas.
+     */
     public Juego(EstadoJuegoGuardado estado) {
-        this.tablero = new TableroGrafico();
-        this.dado = new Dado();
-        this.servicioPreguntas = new ServicioPreguntasJuego();
-        this.servicioDatos = new ServicioDatos();
+        this(estado, RecursosJuego.getTablero(), RecursosJuego.getFuentePreguntas(), RecursosJuego.getServicioDatos());
+    }
+
+    /**
+     * Carga una partida guardada con colaboradores provistos por el llamador, por ejemplo un servicio
+     * de datos sobre otro directorio.
+     */
+    public Juego(EstadoJuegoGuardado estado, TableroGrafico tablero, FuentePreguntas preguntas, ServicioDatos servicioDatos) {
+        this.tablero = tablero;
+        FuenteAleatoria fuente = estado.getSemilla() != null
+                ? FuenteAleatoria.restaurar(estado.getSemilla(), estado.getExtracciones())
+                : FuenteAleatoria.nueva();
+        this.dado = new Dado(fuente);
+        this.servicioPreguntas = new ServicioPreguntasJuego(preguntas, fuente.derivar());
+        if (estado.getSemilla() != null) servicioPreguntas.restaurarExtraidas(estado.getPreguntasExtraidas());
+        this.servicioDatos = servicioDatos;
         this.jugadores = estado.getJugadores();
         this.indiceJugadorActual = estado.getIndiceJugadorActual();
+        List<Jugador> guardados = jugadores != null ? jugadores : List.of();
+        this.ocupacion = new OcupacionTablero(guardados);
+        this.ronda = new RondaTurnos(guardados);
+        // La instantánea puede ir atrasada respecto del diario: se reproducen los eventos posteriores.
+        DiarioPartida existente = servicioDatos.abrirDiario();
+        if (servicioDatos.isModoDiario()) {
+            existente.reproducir(estado.getSecuenciaDiario(), new ReproductorDiario());
+            this.diario = existente;
+        } else if (existente.existe()) {
+            existente.reproducir(estado.getSecuenciaDiario(), new ReproductorDiario());
+            existente.cerrar();
+            // Sin modo diario se vuelve al guardado completo; el diario se borra cuando el estado ya está en disco.
+            // Si ese guardado se reemplaza por otro o falla, el borrado pasa al siguiente, y mientras tanto
+            // cada guardado lleva la secuencia reproducida para que el diario no se vuelva a aplicar.
+            secuenciaReproducida = existente.getSecuencia();
+            diarioAbandonado = existente;
+            servicioDatos.guardarPartida(estadoActual(), this::descartarDiarioAbandonado);
+        } else {
+            // Sin segmentos pendientes solo puede quedar el historial de cuando se jugaba en modo diario.
+            existente.descartar();
+        }
     }
 
+    /**
+     * Guarda la partida. En modo diario los eventos ya quedaron registrados al ocurrir,
+     * así que solo se escribe una instantánea completa cada {@link DiarioPartida#EVENTOS_POR_INSTANTANEA} eventos.
+     */
     public void guardarEstadoActualDelJuego() {
-        if (jugadores != null && !jugadores.isEmpty()) {
-            EstadoJuegoGuardado estadoActual = new EstadoJuegoGuardado(new ArrayList<>(jugadores), this.indiceJugadorActual);
-            servicioDatos.guardarPartida(estadoActual);
+        if (servicioDatos == null || jugadores == null || jugadores.isEmpty()) return;
+        if (diario == null) {
+            servicioDatos.guardarPartida(estadoActual(), diarioAbandonado == null ? null : this::descartarDiarioAbandonado);
+        } else if (diario.necesitaInstantanea()) {
+            EstadoJuegoGuardado estadoActual = estadoActual();
+            servicioDatos.guardarPartida(estadoActual, diario.prepararInstantanea(estadoActual));
         }
     }
 
+    /** Se ejecuta en el hilo de guardado, con el estado ya en disco. */
+    private void descartarDiarioAbandonado() {
+        DiarioPartida abandonado = diarioAbandonado;
+        if (abandonado == null) return;
+        abandonado.descartar();
+        diarioAbandonado = null;
+    }
+
+    /** Arma el estado a guardar, con la semilla y lo extraído si la aleatoriedad es reproducible. */
+    private EstadoJuegoGuardado estadoActual() {
+        EstadoJuegoGuardado estado = new EstadoJuegoGuardado(new ArrayList<>(jugadores), this.indiceJugadorActual);
+        estado.setSecuenciaDiario(secuenciaReproducida);
+        if (dado.getGenerador() instanceof FuenteAleatoria fuente && fuente.isReproducible()) {
+            estado.setSemilla(fuente.getSemilla());
+            estado.setExtracciones(fuente.getExtracciones());
+            if (servicioPreguntas != null) estado.setPreguntasExtraidas(servicioPreguntas.getExtraidas());
+        }
+        return estado;
+    }
+
     public void setIndiceJugadorActual(int indice) {
         if (indice >= 0 && indice < jugadores.size()) {
             this.indiceJugadorActual = indice;
+            if (diario != null) diario.registrar(DiarioPartida.TipoEvento.TURNO, indice);
         }
     }
 
     public int lanzarDado() {
-        return dado.lanzar();
+        int valor = dado.lanzar();
+        if (diario != null) diario.registrar(DiarioPartida.TipoEvento.TIRADA, indiceJugadorActual, valor);
+        return valor;
     }
 
     public void moverJugador(Jugador jugador, int pasos, int direccion, boolean eligeEntrarRayo) {
-        if(jugador.getPosicionActual().getTipo() == Posicion.TipoLugar.CENTRO) {
-            // **CORRECCIÓN:** La lógica de salida del centro es moverse HACIA AFUERA por un rayo.
-            // Un lanzamiento de 1 te deja en la casilla del rayo más cercana al centro (índice 4).
-            // Un lanzamiento de 5 te deja en la casilla del rayo más lejana al centro (índice 0).
-            int rayoElegido = direccion; // El controlador pasa el índice del rayo (0-5)
-            if (pasos <= TableroGrafico.CASILLAS_POR_RAYO_INTERNO) {
-                // Se resta de la última casilla para que el movimiento sea "hacia afuera".
-                int indiceEnRayo = TableroGrafico.CASILLAS_POR_RAYO_INTERNO - pasos;
-                jugador.setPosicionActual(Posicion.enRayo(rayoElegido, indiceEnRayo));
-            } else {
-                // Si saca más pasos que el largo del rayo, llega a la casilla del círculo.
-                int indiceCasillaCircular = rayoElegido * (TableroGrafico.NUMERO_CASILLAS_CIRCULO / TableroGrafico.NUMERO_RAYOS);
-                jugador.setPosicionActual(Posicion.enCirculo(indiceCasillaCircular));
-            }
-        } else {
-            jugador.setPosicionActual(tablero.calcularNuevaPosicion(jugador.getPosicionActual(), pasos, direccion, eligeEntrarRayo));
-        }
+        // Desde el centro, el controlador pasa en 'direccion' el índice del rayo de salida (0-5).
+        jugador.setPosicionActual(tablero.getTablaTransiciones().mover(jugador.getPosicionActual(), pasos, direccion, eligeEntrarRayo));
+        int indice = ocupacion.getIndice(jugador);
+        if (indice >= 0) ocupacion.mover(indice, jugador.getPosicionActual().getOrdinal());
+        if (diario != null) diario.registrar(DiarioPartida.TipoEvento.MOVIMIENTO, indice, jugador.getPosicionActual().getOrdinal());
+    }
+
+    /**
+     * Calcula todos los destinos a los que puede llegar un jugador con un resultado del dado, sin moverlo.
+     * No crea objetos: reutiliza los arreglos de {@code opciones}, así que se puede llamar en cada lanzamiento.
+     * @param jugador El jugador que se va a mover.
+     * @param pasos El resultado del dado.
+     * @param opciones Donde se guardan los destinos; se sobrescribe.
+     */
+    public void calcularOpciones(Jugador jugador, int pasos, OpcionesMovimiento opciones) {
+        opciones.calcular(tablero, jugador.getPosicionActual(), pasos);
+    }
+
+    /**
+     * Mueve a un jugador al destino de una de las opciones calculadas con {@link #calcularOpciones}.
+     * @param jugador El jugador para el que se calcularon las opciones.
+     * @param opciones Las opciones del lanzamiento.
+     * @param opcion El índice de la opción elegida.
+     */
+    public void moverJugador(Jugador jugador, OpcionesMovimiento opciones, int opcion) {
+        moverJugador(jugador, opciones.getPasos(), opciones.getDireccion(opcion), opciones.isEntrarRayo(opcion));
+    }
+
+    /**
+     * Registra la respuesta de un jugador; si es correcta se suma a sus estadísticas de la partida.
+     */
+    public void registrarRespuesta(Jugador jugador, CategoriaTrivia categoria, boolean correcta, long tiempoMs) {
+        if (correcta) jugador.registrarRespuestaCorrecta(categoria, tiempoMs);
+        if (diario != null) diario.registrar(DiarioPartida.TipoEvento.RESPUESTA, ocupacion.getIndice(jugador), categoria.ordinal(), correcta ? 1 : 0, tiempoMs);
+    }
+
+    /**
+     * Otorga a un jugador el quesito de una categoría.
+     * @return {@code true} si el quesito es nuevo, {@code false} si ya lo tenía.
+     */
+    public boolean otorgarQuesito(Jugador jugador, CategoriaTrivia categoria) {
+        if (jugador.getFicha().haObtenidoCategoria(categoria)) return false;
+        jugador.getFicha().marcarCategoriaObtenida(categoria);
+        if (diario != null) diario.registrar(DiarioPartida.TipoEvento.QUESITO, ocupacion.getIndice(jugador), categoria.ordinal());
+        return true;
     }
 
     // ... (El resto de los métodos como rendirse, pasarTurno, getters, etc. se mantienen igual) ...
-    public void rendirse() { getJugadorActual().setEstaRendido(true); }
-    public Jugador determinarGanadorPorRendicion() { List<Jugador> activos = getJugadoresActivos(); if (activos.size() == 1) return activos.get(0); if (activos.isEmpty()) return jugadores.stream().max(Comparator.comparingInt((Jugador j) -> j.getFicha().getCategoriasObtenidasCount()).thenComparingLong(j -> -j.getTiempoTotalEnPartidaMs())).orElse(null); return null; }
-    public void pasarTurno() { if(getJugadoresActivos().isEmpty()) return; do { indiceJugadorActual = (indiceJugadorActual + 1) % jugadores.size(); } while (getJugadorActual().isEstaRendido()); }
+    public void rendirse() { getJugadorActual().setEstaRendido(true); ronda.retirar(indiceJugadorActual); if (diario != null) diario.registrar(DiarioPartida.TipoEvento.RENDICION, indiceJugadorActual); }
+    public Jugador determinarGanadorPorRendicion() { if (ronda.getActivos() == 1) return jugadores.get(ronda.getCualquiera()); if (ronda.getActivos() == 0) return jugadores.stream().max(Comparator.comparingInt((Jugador j) -> j.getFicha().getCategoriasObtenidasCount()).thenComparingLong(j -> -j.getTiempoTotalEnPartidaMs())).orElse(null); return null; }
+    /** Pasa el turno al siguiente jugador que no se ha rendido, en O(1) sin importar cuántos jugadores haya. */
+    public void pasarTurno() { int siguiente = ronda.siguienteActivo(indiceJugadorActual); if (siguiente < 0) return; indiceJugadorActual = siguiente; if (diario != null) diario.registrar(DiarioPartida.TipoEvento.TURNO, indiceJugadorActual); }
+    public int getIndiceJugadorActual() { return indiceJugadorActual; }
     public Jugador getJugadorActual() { if (jugadores == null || jugadores.isEmpty()) return null; return jugadores.get(indiceJugadorActual); }
     public List<Jugador> getJugadores() { return jugadores; }
-    public List<Jugador> getJugadoresActivos() { return jugadores.stream().filter(j -> !j.isEstaRendido()).collect(Collectors.toList()); }
+    /** Crea una lista con los jugadores que no se han rendido; para contarlos, {@link #getCantidadJugadoresActivos()} no crea nada. */
+    public List<Jugador> getJugadoresActivos() { List<Jugador> activos = new ArrayList<>(ronda.getActivos()); for (int i = 0; i < jugadores.size(); i++) if (ronda.estaActivo(i)) activos.add(jugadores.get(i)); return activos; }
+    public int getCantidadJugadoresActivos() { return ronda.getActivos(); }
     public TableroGrafico getTablero() { return tablero; }
-    public PreguntaOriginal getPreguntaParaPosicion(Posicion pos) { if(pos == null || pos.getTipo() == Posicion.TipoLugar.CENTRO) return null; Casilla c = tablero.getCasillaEnPosicion(pos); if (c == null || c.getCategoria() == null) return null; return servicioPreguntas.seleccionarPreguntaAleatoria(c.getCategoria()); }
+    /** Obtiene qué jugadores hay en cada casilla; la vista lo usa para ubicar las fichas que comparten casilla. */
+    public OcupacionTablero getOcupacion() { return ocupacion; }
+    /** Futuro que se completa cuando la categoría de la casilla tiene preguntas; ya completo si la casilla no tiene categoría o la fuente está cargada. */
+    public CompletableFuture<Integer> getPreguntasDisponibles(Posicion pos) { if (pos == null || pos.getTipo() == Posicion.TipoLugar.CENTRO) return CompletableFuture.completedFuture(0); Casilla c = tablero.getCasillaEnPosicion(pos); if (c == null || c.getCategoria() == null) return CompletableFuture.completedFuture(0); return servicioPreguntas.getBanco().getDisponibles(c.getCategoria()); }
+    public PreguntaOriginal getPreguntaParaPosicion(Posicion pos) { if(pos == null || pos.getTipo() == Posicion.TipoLugar.CENTRO) return null; Casilla c = tablero.getCasillaEnPosicion(pos); if (c == null || c.getCategoria() == null) return null; if (diario != null) diario.registrar(DiarioPartida.TipoEvento.PREGUNTA, indiceJugadorActual, c.getCategoria().ordinal()); return servicioPreguntas.seleccionarPreguntaAleatoria(c.getCategoria()); }
+
+    /** Aplica a esta partida los eventos del diario posteriores a la instantánea cargada. */
+    private class ReproductorDiario implements DiarioPartida.Receptor {
+        // Con semilla, cada tirada posterior a la instantánea se vuelve a sacar para dejar el dado donde quedó.
+        @Override public void alLanzarDado(int jugador, int valor) { if (dado.getGenerador() instanceof FuenteAleatoria fuente && fuente.isReproducible()) dado.lanzar(); }
+        @Override public void alMover(int jugador, int ordinalDestino) { if (valido(jugador)) { jugadores.get(jugador).setPosicionActual(Posicion.desdeOrdinal(ordinalDestino)); ocupacion.mover(jugador, ordinalDestino); } }
+        @Override public void alResponder(int jugador, CategoriaTrivia categoria, boolean correcta, long tiempoMs) { if (correcta && valido(jugador)) jugadores.get(jugador).registrarRespuestaCorrecta(categoria, tiempoMs); }
+        @Override public void alGanarQuesito(int jugador, CategoriaTrivia categoria) { if (valido(jugador)) jugadores.get(jugador).getFicha().marcarCategoriaObtenida(categoria); }
+        @Override public void alRendirse(int jugador) { if (valido(jugador)) { jugadores.get(jugador).setEstaRendido(true); ronda.retirar(jugador); } }
+        @Override public void alPasarTurno(int nuevoIndice) { if (valido(nuevoIndice)) indiceJugadorActual = nuevoIndice; }
+        // Las preguntas posteriores a la instantánea se vuelven a sacar para dejar las bolsas donde quedaron.
+        @Override public void alSacarPregunta(int jugador, CategoriaTrivia categoria) { servicioPreguntas.omitirPregunta(categoria); }
+        private boolean valido(int jugador) { return jugador >= 0 && jugador < jugadores.size(); }
+    }
 }
\ No newline at end of file
@@ -55,6 +55,25 @@ public class Jugador {
         this.correctasEnPartida = new EnumMap<>(CategoriaTrivia.class);
     }
 
+    /**
+     * Constructor de copia profunda, usado para tomar instantáneas del estado al guardar.
+     * La posición se comparte porque es inmutable; la ficha y el mapa de correctas se copian.
+     *
+     * @param otro El jugador a copiar.
+     */
+    public Jugador(Jugador otro) {
+        this.alias = otro.alias;
+        this.email = otro.email;
+        this.ficha = otro.ficha == null ? null : new Ficha(otro.ficha);
+        this.posicionActual = otro.posicionActual;
+        this.estaRendido = otro.estaRendido;
+        if (otro.correctasEnPartida != null) {
+            this.correctasEnPartida = new EnumMap<>(CategoriaTrivia.class);
+            this.correctasEnPartida.putAll(otro.correctasEnPartida);
+        }
+        this.tiempoTotalEnPartidaMs = otro.tiempoTotalEnPartidaMs;
+    }
+
     /**
      * Registra una respuesta correcta para una categoría específica y actualiza el tiempo total.
      *
@@ -0,0 +1,134 @@
+package com.ucab.trivia.modelo;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración de Jackson compartida por toda la capa de datos.
+ * El {@link ObjectMapper} se crea y se configura una sola vez (incluida la búsqueda de módulos en
+ * el classpath), y para cada tipo que se persiste se construyen de antemano su {@link ObjectReader}
+ * y su {@link ObjectWriter}, que son inmutables y seguros de usar desde varios hilos.
+ *
+ * Con {@code -Dtrivia.jackson.blackbird=true} se registra el módulo Blackbird, que reemplaza la
+ * reflexión de los (de)serializadores por accesos generados en tiempo de ejecución.
+ */
+public final class MapeadorDatos {
+
+    /** Propiedad del sistema que activa el módulo Blackbird. */
+    public static final String PROPIEDAD_BLACKBIRD = "trivia.jackson.blackbird";
+
+    private static final class Compartido {
+        static final MapeadorDatos INSTANCIA = new MapeadorDatos(Boolean.getBoolean(PROPIEDAD_BLACKBIRD));
+    }
+
+    private final ObjectMapper mapper;
+    private final boolean blackbird;
+
+    private final ObjectReader lectorPerfiles;
+    private final ObjectWriter escritorPerfiles;
+    private final ObjectReader lectorEstadisticas;
+    private final ObjectWriter escritorEstadisticas;
+    private final ObjectReader lectorBaseEstadisticas;
+    private final ObjectWriter escritorBaseEstadisticas;
+    private final ObjectReader lectorDeltaEstadisticas;
+    private final ObjectWriter escritorDeltaEstadisticas;
+    private final ObjectReader lectorPartida;
+    private final ObjectWriter escritorPartida;
+    private final ObjectReader lectorPreguntas;
+
+    /**
+     * Crea una configuración propia, independiente de la compartida.
+     * @param blackbird {@code true} para registrar el módulo Blackbird.
+     */
+    public MapeadorDatos(boolean blackbird) {
+        this.blackbird = blackbird;
+        this.mapper = new ObjectMapper();
+        this.mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        // Se registran los módulos del classpath (por ejemplo, tipos de Java 8 como LocalDate),
+        // salvo Blackbird, que solo se usa si se pidió.
+        for (Module modulo : ObjectMapper.findModules()) {
+            if (!(modulo instanceof BlackbirdModule)) mapper.registerModule(modulo);
+        }
+        if (blackbird) mapper.registerModule(new BlackbirdModule());
+
+        TypeReference<List<PerfilJugador>> tipoPerfiles = new TypeReference<>() {};
+        TypeReference<List<EstadisticaGlobal>> tipoEstadisticas = new TypeReference<>() {};
+        this.lectorPerfiles = mapper.readerFor(tipoPerfiles);
+        this.escritorPerfiles = mapper.writerFor(tipoPerfiles);
+        this.lectorEstadisticas = mapper.readerFor(tipoEstadisticas);
+        this.escritorEstadisticas = mapper.writerFor(tipoEstadisticas);
+        this.lectorBaseEstadisticas = mapper.readerFor(AlmacenEstadisticas.ArchivoBase.class);
+        this.escritorBaseEstadisticas = mapper.writerFor(AlmacenEstadisticas.ArchivoBase.class);
+        this.lectorDeltaEstadisticas = mapper.readerFor(AlmacenEstadisticas.DeltaPartida.class);
+        this.escritorDeltaEstadisticas = mapper.writerFor(AlmacenEstadisticas.DeltaPartida.class)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        this.lectorPartida = mapper.readerFor(EstadoJuegoGuardado.class);
+        this.escritorPartida = mapper.writerFor(EstadoJuegoGuardado.class);
+        this.lectorPreguntas = mapper.readerFor(new TypeReference<Map<String, List<PreguntaOriginal>>>() {});
+    }
+
+    /**
+     * Obtiene la configuración compartida por toda la aplicación, creándola la primera vez.
+     * @return La instancia compartida.
+     */
+    public static MapeadorDatos getCompartido() {
+        return Compartido.INSTANCIA;
+    }
+
+    /**
+     * Obtiene el {@link ObjectMapper} configurado, para los tipos que no tienen lector o escritor propio.
+     * @return El mapper; no debe reconfigurarse.
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Indica si está registrado el módulo Blackbird.
+     * @return {@code true} si se usa Blackbird.
+     */
+    public boolean isBlackbird() {
+        return blackbird;
+    }
+
+    /** @return El lector de la lista de {@link PerfilJugador}. */
+    public ObjectReader getLectorPerfiles() { return lectorPerfiles; }
+
+    /** @return El escritor de la lista de {@link PerfilJugador}. */
+    public ObjectWriter getEscritorPerfiles() { return escritorPerfiles; }
+
+    /** @return El lector de la lista de {@link EstadisticaGlobal}. */
+    public ObjectReader getLectorEstadisticas() { return lectorEstadisticas; }
+
+    /** @return El escritor de la lista de {@link EstadisticaGlobal}. */
+    public ObjectWriter getEscritorEstadisticas() { return escritorEstadisticas; }
+
+    /** @return El lector de {@link EstadoJuegoGuardado}. */
+    public ObjectReader getLectorPartida() { return lectorPartida; }
+
+    /** @return El escritor de {@link EstadoJuegoGuardado}. */
+    public ObjectWriter getEscritorPartida() { return escritorPartida; }
+
+    /** @return El lector del banco de preguntas por nombre de categoría. */
+    public ObjectReader getLectorPreguntas() { return lectorPreguntas; }
+
+    /** Lector del archivo base de estadísticas, con su generación de compactación. */
+    ObjectReader getLectorBaseEstadisticas() { return lectorBaseEstadisticas; }
+
+    /** Escritor del archivo base de estadísticas, con su generación de compactación. */
+    ObjectWriter getEscritorBaseEstadisticas() { return escritorBaseEstadisticas; }
+
+    /** Lector de una línea del diario de deltas de estadísticas. */
+    ObjectReader getLectorDeltaEstadisticas() { return lectorDeltaEstadisticas; }
+
+    /** Escritor de una línea del diario de deltas de estadísticas, sin indentación. */
+    ObjectWriter getEscritorDeltaEstadisticas() { return escritorDeltaEstadisticas; }
+}
@@ -0,0 +1,126 @@
+package com.ucab.trivia.modelo;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de qué jugadores hay en cada casilla, en orden de llegada. Lo mantiene {@link Juego}
+ * al mover a cada jugador, así que la vista puede saber cuántas fichas comparten una casilla y
+ * en qué lugar va cada una sin recorrer a todos los jugadores por cada ficha.
+ * Mover a un jugador cuesta O(1) más la cantidad de fichas que quedaban detrás de él en la casilla
+ * que deja; consultar cualquier dato cuesta O(1).
+ * Los jugadores se identifican por su índice en la lista de la partida.
+ */
+public final class OcupacionTablero {
+
+    /** Valor de {@link #getCasilla(int)} para un jugador sin posición. */
+    public static final int SIN_CASILLA = -1;
+
+    private final int[][] ocupantes = new int[Posicion.TOTAL_POSICIONES][];
+    private final int[] cantidad = new int[Posicion.TOTAL_POSICIONES];
+    private final int[] casillaDe;
+    private final int[] lugarDe;
+    private final Map<Jugador, Integer> indicePorJugador;
+
+    /**
+     * Crea el índice con las posiciones actuales de los jugadores, en el orden de la lista.
+     * @param jugadores Los jugadores de la partida.
+     */
+    OcupacionTablero(List<Jugador> jugadores) {
+        int n = jugadores.size();
+        casillaDe = new int[n];
+        lugarDe = new int[n];
+        indicePorJugador = new IdentityHashMap<>(n * 2);
+        Arrays.fill(casillaDe, SIN_CASILLA);
+        for (int i = 0; i < n; i++) {
+            Jugador jugador = jugadores.get(i);
+            indicePorJugador.putIfAbsent(jugador, i);
+            if (jugador.getPosicionActual() != null) agregar(i, jugador.getPosicionActual().getOrdinal());
+        }
+    }
+
+    /**
+     * Mueve a un jugador a otra casilla; queda último entre los que ya estaban ahí.
+     * @param jugador El índice del jugador.
+     * @param ordinalDestino El ordinal de la casilla de destino.
+     */
+    void mover(int jugador, int ordinalDestino) {
+        if (casillaDe[jugador] == ordinalDestino) return;
+        quitar(jugador);
+        agregar(jugador, ordinalDestino);
+    }
+
+    private void agregar(int jugador, int ordinal) {
+        int[] lista = ocupantes[ordinal];
+        if (lista == null) {
+            lista = ocupantes[ordinal] = new int[4];
+        } else if (cantidad[ordinal] == lista.length) {
+            lista = ocupantes[ordinal] = Arrays.copyOf(lista, lista.length * 2);
+        }
+        lugarDe[jugador] = cantidad[ordinal];
+        lista[cantidad[ordinal]++] = jugador;
+        casillaDe[jugador] = ordinal;
+    }
+
+    private void quitar(int jugador) {
+        int ordinal = casillaDe[jugador];
+        if (ordinal == SIN_CASILLA) return;
+        int[] lista = ocupantes[ordinal];
+        int total = --cantidad[ordinal];
+        for (int i = lugarDe[jugador]; i < total; i++) {
+            lista[i] = lista[i + 1];
+            lugarDe[lista[i]] = i;
+        }
+        casillaDe[jugador] = SIN_CASILLA;
+    }
+
+    /**
+     * Obtiene el índice de un jugador en la lista de la partida.
+     * @param jugador El jugador.
+     * @return Su índice, o -1 si no es de esta partida.
+     */
+    public int getIndice(Jugador jugador) {
+        Integer indice = indicePorJugador.get(jugador);
+        return indice == null ? -1 : indice;
+    }
+
+    /**
+     * Obtiene cuántos jugadores hay en una casilla.
+     * @param ordinal El ordinal de la casilla.
+     * @return La cantidad de fichas en la casilla.
+     */
+    public int getCantidad(int ordinal) {
+        return cantidad[ordinal];
+    }
+
+    /**
+     * Obtiene el jugador que ocupa un lugar de una casilla.
+     * @param ordinal El ordinal de la casilla.
+     * @param lugar El lugar, de 0 a {@code getCantidad(ordinal) - 1}, en orden de llegada.
+     * @return El índice del jugador.
+     */
+    public int getOcupante(int ordinal, int lugar) {
+        if (lugar < 0 || lugar >= cantidad[ordinal]) throw new IndexOutOfBoundsException("Lugar " + lugar + " en una casilla con " + cantidad[ordinal] + " fichas");
+        return ocupantes[ordinal][lugar];
+    }
+
+    /**
+     * Obtiene la casilla en la que el índice tiene a un jugador.
+     * @param jugador El índice del jugador.
+     * @return El ordinal de la casilla, o {@link #SIN_CASILLA}.
+     */
+    public int getCasilla(int jugador) {
+        return casillaDe[jugador];
+    }
+
+    /**
+     * Obtiene el lugar de un jugador entre los que comparten su casilla.
+     * @param jugador El índice del jugador.
+     * @return 0 para el primero en llegar; sin sentido si el jugador no tiene casilla.
+     */
+    public int getLugarEnCasilla(int jugador) {
+        return lugarDe[jugador];
+    }
+}
@@ -0,0 +1,133 @@
+package com.ucab.trivia.modelo;
+
+/**
+ * Destinos a los que puede llegar un jugador con un resultado del dado, calculados de una sola vez
+ * con {@link Juego#calcularOpciones(Jugador, int, OpcionesMovimiento)}. Por cada destino se guarda la
+ * dirección y la decisión de entrar al rayo que llevan a él, su categoría y si permite volver a lanzar,
+ * de modo que la vista puede resaltar las casillas y los bots pueden elegir sin pasar por diálogos.
+ *
+ * Una instancia se reutiliza entre lanzamientos: los arreglos tienen el tamaño máximo de opciones
+ * (los seis rayos de salida del centro) y calcular no crea objetos. No es segura entre hilos.
+ */
+public final class OpcionesMovimiento {
+
+    /** Cantidad máxima de destinos distintos de un lanzamiento. */
+    public static final int MAXIMO_OPCIONES = TableroGrafico.NUMERO_RAYOS;
+
+    /** Valor de {@link #buscar(int)} cuando la casilla no es un destino posible. */
+    public static final int SIN_OPCION = -1;
+
+    private final int[] destinos = new int[MAXIMO_OPCIONES];
+    private final int[] direcciones = new int[MAXIMO_OPCIONES];
+    private final boolean[] entraRayo = new boolean[MAXIMO_OPCIONES];
+    private final CategoriaTrivia[] categorias = new CategoriaTrivia[MAXIMO_OPCIONES];
+    private final boolean[] reRoll = new boolean[MAXIMO_OPCIONES];
+    private int cantidad;
+    private int pasos;
+
+    /**
+     * Recorre las direcciones posibles desde la casilla de origen y guarda cada destino distinto.
+     * Desde el centro las opciones son los seis rayos; en el círculo, avanzar, retroceder y, en una
+     * entrada, tomar el rayo; en un rayo, ir hacia el centro o hacia el círculo.
+     * Normalmente se usa a través de {@link Juego#calcularOpciones}; los análisis del tablero la llaman
+     * directamente para recorrer todas las casillas sin una partida.
+     *
+     * @param tablero El tablero de la partida.
+     * @param origen La posición del jugador.
+     * @param pasos El resultado del dado.
+     */
+    public void calcular(TableroGrafico tablero, Posicion origen, int pasos) {
+        TablaTransiciones tabla = tablero.getTablaTransiciones();
+        int idOrigen = origen.getOrdinal();
+        this.cantidad = 0;
+        this.pasos = pasos;
+        if (origen.getTipo() == Posicion.TipoLugar.CENTRO) {
+            for (int rayo = 0; rayo < TableroGrafico.NUMERO_RAYOS; rayo++) {
+                agregar(tablero, tabla.moverId(idOrigen, pasos, rayo, false), rayo, false);
+            }
+            return;
+        }
+        agregar(tablero, tabla.moverId(idOrigen, pasos, 1, false), 1, false);
+        agregar(tablero, tabla.moverId(idOrigen, pasos, -1, false), -1, false);
+        if (origen.getTipo() == Posicion.TipoLugar.CIRCULO && tablero.getCasillaEnPosicion(origen).isEsEntradaRayo()) {
+            agregar(tablero, tabla.moverId(idOrigen, pasos, 1, true), 1, true);
+        }
+    }
+
+    private void agregar(TableroGrafico tablero, int destino, int direccion, boolean entrar) {
+        if (destino < 0 || buscar(destino) != SIN_OPCION) return;
+        Casilla casilla = tablero.getCasillaEnPosicion(Posicion.desdeOrdinal(destino));
+        destinos[cantidad] = destino;
+        direcciones[cantidad] = direccion;
+        entraRayo[cantidad] = entrar;
+        categorias[cantidad] = casilla == null ? null : casilla.getCategoria();
+        reRoll[cantidad] = casilla != null && casilla.isEsEspecialReRoll();
+        cantidad++;
+    }
+
+    /**
+     * Busca la opción que lleva a una casilla.
+     * @param ordinalDestino El ordinal de la casilla, por ejemplo la que se pulsó en el tablero.
+     * @return El índice de la opción, o {@link #SIN_OPCION} si no se puede llegar a esa casilla.
+     */
+    public int buscar(int ordinalDestino) {
+        for (int i = 0; i < cantidad; i++) {
+            if (destinos[i] == ordinalDestino) return i;
+        }
+        return SIN_OPCION;
+    }
+
+    /**
+     * Obtiene la cantidad de destinos distintos.
+     * @return La cantidad de opciones calculadas.
+     */
+    public int getCantidad() { return cantidad; }
+
+    /**
+     * Obtiene el resultado del dado con el que se calcularon las opciones.
+     * @return Los pasos del lanzamiento.
+     */
+    public int getPasos() { return pasos; }
+
+    /**
+     * Obtiene el ordinal de la casilla destino de una opción.
+     * @param opcion El índice de la opción.
+     * @return El ordinal de {@link Posicion} del destino.
+     */
+    public int getDestino(int opcion) { return destinos[opcion]; }
+
+    /**
+     * Obtiene la dirección que lleva al destino: +1 o -1, o el índice del rayo de salida desde el centro.
+     * @param opcion El índice de la opción.
+     * @return La dirección a pasar a {@link Juego#moverJugador(Jugador, int, int, boolean)}.
+     */
+    public int getDireccion(int opcion) { return direcciones[opcion]; }
+
+    /**
+     * Indica si la opción consiste en entrar al rayo desde una casilla de entrada.
+     * @param opcion El índice de la opción.
+     * @return {@code true} si hay que entrar al rayo.
+     */
+    public boolean isEntrarRayo(int opcion) { return entraRayo[opcion]; }
+
+    /**
+     * Obtiene la categoría de la casilla destino.
+     * @param opcion El índice de la opción.
+     * @return La categoría, o {@code null} si el destino es el centro.
+     */
+    public CategoriaTrivia getCategoria(int opcion) { return categorias[opcion]; }
+
+    /**
+     * Indica si la casilla destino permite volver a lanzar el dado.
+     * @param opcion El índice de la opción.
+     * @return {@code true} si es una casilla especial.
+     */
+    public boolean isReRoll(int opcion) { return reRoll[opcion]; }
+
+    /**
+     * Indica si el destino de una opción es el centro del tablero.
+     * @param opcion El índice de la opción.
+     * @return {@code true} si la opción llega al centro.
+     */
+    public boolean esCentro(int opcion) { return destinos[opcion] == Posicion.ORDINAL_CENTRO; }
+}
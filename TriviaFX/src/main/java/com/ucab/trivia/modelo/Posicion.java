@@ -1,15 +1,19 @@
 package com.ucab.trivia.modelo;
 
-import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
  * Representa una ubicación específica en el tablero del juego.
  * Una posición puede ser en el centro, en el círculo exterior o en uno de los rayos
- * que conectan el círculo con el centro. Esta clase es inmutable cuando se crea
- * a través de sus métodos de fábrica estáticos, pero también puede ser usada como
- * un bean (POJO) gracias a su constructor por defecto y sus setters.
+ * que conectan el círculo con el centro. Las 73 posiciones legales se crean una sola vez
+ * y los métodos de fábrica estáticos devuelven siempre la misma instancia inmutable,
+ * por lo que pueden compararse por identidad y usarse como claves sin crear objetos.
+ * Cada posición tiene además un ordinal denso (círculo 0-41, rayos 42-71, centro 72)
+ * útil para indexar arreglos.
  */
-public class Posicion {
+public final class Posicion {
 
     /**
      * Enumera los posibles tipos de lugares en el tablero.
@@ -23,58 +27,121 @@ public class Posicion {
         RAYO
     }
 
-    private TipoLugar tipo;
-    private int indiceCirculo;
-    private int indiceRayo;
-    private int indiceEnRayo;
+    private static final int CASILLAS_CIRCULO = TableroGrafico.NUMERO_CASILLAS_CIRCULO;
+    private static final int RAYOS = TableroGrafico.NUMERO_RAYOS;
+    private static final int CASILLAS_POR_RAYO = TableroGrafico.CASILLAS_POR_RAYO_INTERNO;
+
+    /** Cantidad total de posiciones legales del tablero, incluyendo el centro. */
+    public static final int TOTAL_POSICIONES = CASILLAS_CIRCULO + RAYOS * CASILLAS_POR_RAYO + 1;
+
+    /** Ordinal de la primera casilla de los rayos. */
+    public static final int ORDINAL_PRIMER_RAYO = CASILLAS_CIRCULO;
+
+    /** Ordinal de la casilla central. */
+    public static final int ORDINAL_CENTRO = TOTAL_POSICIONES - 1;
+
+    /** Caché con la única instancia de cada posición legal, indexada por ordinal. */
+    private static final Posicion[] POSICIONES = new Posicion[TOTAL_POSICIONES];
+
+    static {
+        for (int i = 0; i < CASILLAS_CIRCULO; i++) {
+            POSICIONES[i] = new Posicion(TipoLugar.CIRCULO, i, 0, 0, i);
+        }
+        for (int r = 0; r < RAYOS; r++) {
+            for (int k = 0; k < CASILLAS_POR_RAYO; k++) {
+                int ordinal = ORDINAL_PRIMER_RAYO + r * CASILLAS_POR_RAYO + k;
+                POSICIONES[ordinal] = new Posicion(TipoLugar.RAYO, 0, r, k, ordinal);
+            }
+        }
+        POSICIONES[ORDINAL_CENTRO] = new Posicion(TipoLugar.CENTRO, 0, 0, 0, ORDINAL_CENTRO);
+    }
+
+    private final TipoLugar tipo;
+    private final int indiceCirculo;
+    private final int indiceRayo;
+    private final int indiceEnRayo;
+    private final int ordinal;
 
     /**
-     * Constructor privado para ser utilizado por los métodos de fábrica estáticos.
+     * Constructor privado; solo se usa para poblar la caché de posiciones.
      * @param tipo El tipo de lugar para esta posición.
-     */
-    private Posicion(TipoLugar tipo) { this.tipo = tipo; }
+     * @param indiceCirculo El índice en el círculo.
+     * @param indiceRayo El índice del rayo.
+     * @param indiceEnRayo El índice dentro del rayo.
+     * @param ordinal El ordinal denso de la posición.
+     */
+    private Posicion(TipoLugar tipo, int indiceCirculo, int indiceRayo, int indiceEnRayo, int ordinal) {
+        this.tipo = tipo;
+        this.indiceCirculo = indiceCirculo;
+        this.indiceRayo = indiceRayo;
+        this.indiceEnRayo = indiceEnRayo;
+        this.ordinal = ordinal;
+    }
 
     /**
-     * Crea un objeto Posicion que representa el centro del tablero.
-     * @return Una nueva instancia de {@code Posicion} en el centro.
+     * Obtiene el objeto Posicion que representa el centro del tablero.
+     * @return La instancia compartida de {@code Posicion} en el centro.
      */
-    public static Posicion enCentro() { return new Posicion(TipoLugar.CENTRO); }
+    public static Posicion enCentro() { return POSICIONES[ORDINAL_CENTRO]; }
 
     /**
-     * Crea un objeto Posicion en una casilla del círculo exterior.
+     * Obtiene el objeto Posicion de una casilla del círculo exterior.
      * @param indice El índice de la casilla en el círculo (0-41).
-     * @return Una nueva instancia de {@code Posicion} en el círculo.
+     * @return La instancia compartida de {@code Posicion} en el círculo.
      * @throws IllegalArgumentException si el índice está fuera del rango válido.
      */
     public static Posicion enCirculo(int indice) {
-        if (indice < 0 || indice >= 42) throw new IllegalArgumentException("Índice de círculo inválido: " + indice);
-        Posicion p = new Posicion(TipoLugar.CIRCULO);
-        p.indiceCirculo = indice;
-        return p;
+        if (indice < 0 || indice >= CASILLAS_CIRCULO) throw new IllegalArgumentException("Índice de círculo inválido: " + indice);
+        return POSICIONES[indice];
     }
 
     /**
-     * Crea un objeto Posicion en una casilla de un rayo.
+     * Obtiene el objeto Posicion de una casilla de un rayo.
      * @param indiceRayo El índice del rayo (0-5).
      * @param indiceEnRayo El índice de la casilla dentro del rayo (0-4).
-     * @return Una nueva instancia de {@code Posicion} en un rayo.
+     * @return La instancia compartida de {@code Posicion} en un rayo.
      * @throws IllegalArgumentException si alguno de los índices está fuera del rango válido.
      */
     public static Posicion enRayo(int indiceRayo, int indiceEnRayo) {
-        if (indiceRayo < 0 || indiceRayo >= 6) throw new IllegalArgumentException("Índice de rayo inválido: " + indiceRayo);
-        if (indiceEnRayo < 0 || indiceEnRayo >= 5) throw new IllegalArgumentException("Índice en rayo inválido: " + indiceEnRayo);
-        Posicion p = new Posicion(TipoLugar.RAYO);
-        p.indiceRayo = indiceRayo;
-        p.indiceEnRayo = indiceEnRayo;
-        return p;
+        if (indiceRayo < 0 || indiceRayo >= RAYOS) throw new IllegalArgumentException("Índice de rayo inválido: " + indiceRayo);
+        if (indiceEnRayo < 0 || indiceEnRayo >= CASILLAS_POR_RAYO) throw new IllegalArgumentException("Índice en rayo inválido: " + indiceEnRayo);
+        return POSICIONES[ORDINAL_PRIMER_RAYO + indiceRayo * CASILLAS_POR_RAYO + indiceEnRayo];
     }
 
     /**
-     * Constructor por defecto. Requerido para frameworks de (de)serialización como Jackson.
+     * Obtiene la posición asociada a un ordinal.
+     * @param ordinal El ordinal de la posición (0-72).
+     * @return La instancia compartida de {@code Posicion}.
+     * @throws IllegalArgumentException si el ordinal está fuera del rango válido.
      */
-    public Posicion() {}
+    public static Posicion desdeOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= TOTAL_POSICIONES) throw new IllegalArgumentException("Ordinal de posición inválido: " + ordinal);
+        return POSICIONES[ordinal];
+    }
+
+    /**
+     * Método de fábrica usado por Jackson al deserializar, para que las partidas cargadas
+     * apunten a las mismas instancias compartidas que el resto del juego.
+     * @param tipo El tipo de lugar.
+     * @param indiceCirculo El índice en el círculo (solo si el tipo es CIRCULO).
+     * @param indiceRayo El índice del rayo (solo si el tipo es RAYO).
+     * @param indiceEnRayo El índice dentro del rayo (solo si el tipo es RAYO).
+     * @return La instancia compartida de {@code Posicion}.
+     */
+    @JsonCreator
+    static Posicion desdeJson(@JsonProperty("tipo") TipoLugar tipo,
+                              @JsonProperty("indiceCirculo") int indiceCirculo,
+                              @JsonProperty("indiceRayo") int indiceRayo,
+                              @JsonProperty("indiceEnRayo") int indiceEnRayo) {
+        if (tipo == null) throw new IllegalArgumentException("Tipo de posición ausente");
+        switch (tipo) {
+            case CIRCULO: return enCirculo(indiceCirculo);
+            case RAYO: return enRayo(indiceRayo, indiceEnRayo);
+            default: return enCentro();
+        }
+    }
 
-    // --- Getters y Setters ---
+    // --- Getters ---
 
     /**
      * Obtiene el tipo de lugar de la posición.
@@ -101,64 +168,34 @@ public class Posicion {
     public int getIndiceEnRayo() { return indiceEnRayo; }
 
     /**
-     * Establece el tipo de lugar.
-     * @param t El nuevo {@link TipoLugar}.
-     */
-    public void setTipo(TipoLugar t) { this.tipo = t; }
-
-    /**
-     * Establece el índice del círculo.
-     * @param i El nuevo índice del círculo.
+     * Obtiene el ordinal denso de la posición, apto para indexar arreglos.
+     * No forma parte del JSON guardado.
+     * @return El ordinal (círculo 0-41, rayos 42-71, centro 72).
      */
-    public void setIndiceCirculo(int i) { this.indiceCirculo = i; }
-
-    /**
-     * Establece el índice del rayo.
-     * @param i El nuevo índice del rayo.
-     */
-    public void setIndiceRayo(int i) { this.indiceRayo = i; }
-
-    /**
-     * Establece el índice de la casilla en el rayo.
-     * @param i El nuevo índice en el rayo.
-     */
-    public void setIndiceEnRayo(int i) { this.indiceEnRayo = i; }
+    @JsonIgnore
+    public int getOrdinal() { return ordinal; }
 
 
     /**
      * Compara esta Posicion con otro objeto para determinar si son iguales.
-     * Dos posiciones son iguales si son del mismo tipo y sus índices correspondientes coinciden.
+     * Como cada posición legal tiene una única instancia, basta con comparar ordinales.
      * @param o El objeto a comparar.
      * @return {@code true} si las posiciones son iguales, {@code false} en caso contrario.
      */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Posicion p = (Posicion) o;
-        if (tipo != p.tipo) return false;
-        switch (tipo) {
-            case CENTRO: return true;
-            case CIRCULO: return indiceCirculo == p.indiceCirculo;
-            case RAYO: return indiceRayo == p.indiceRayo && indiceEnRayo == p.indiceEnRayo;
-            default: return false;
-        }
+        return o instanceof Posicion && ordinal == ((Posicion) o).ordinal;
     }
 
     /**
-     * Genera un código hash para la Posicion.
-     * El hash se calcula en función del tipo y los índices relevantes, manteniendo la consistencia
-     * con el método {@link #equals(Object)}.
+     * Devuelve el código hash de la Posicion, que es su ordinal.
+     * Es consistente con {@link #equals(Object)} y no requiere cálculos ni objetos temporales.
      * @return El código hash de la posición.
      */
     @Override
     public int hashCode() {
-        switch (tipo) {
-            case CENTRO: return Objects.hash(tipo);
-            case CIRCULO: return Objects.hash(tipo, indiceCirculo);
-            case RAYO: return Objects.hash(tipo, indiceRayo, indiceEnRayo);
-            default: return super.hashCode();
-        }
+        return ordinal;
     }
 
     /**
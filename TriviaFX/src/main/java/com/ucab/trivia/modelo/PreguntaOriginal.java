@@ -1,5 +1,7 @@
 package com.ucab.trivia.modelo;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Representa una pregunta básica de trivia con su respuesta correcta.
  * Esta clase sirve como una estructura de datos simple (POJO) para almacenar
@@ -13,6 +15,9 @@ public class PreguntaOriginal {
     /** El texto de la respuesta correcta para la pregunta. */
     private String respuesta;
 
+    /** La forma canónica de la respuesta, calculada al cargar el banco o la primera vez que se pide. */
+    private String respuestaNormalizada;
+
     /**
      * Constructor por defecto.
      * Es necesario para que los frameworks de (de)serialización, como Jackson,
@@ -20,6 +25,27 @@ public class PreguntaOriginal {
      */
     public PreguntaOriginal() {}
 
+    /**
+     * Construye una pregunta con su enunciado y su respuesta.
+     * @param pregunta El enunciado de la pregunta.
+     * @param respuesta La respuesta correcta.
+     */
+    public PreguntaOriginal(String pregunta, String respuesta) {
+        this.pregunta = pregunta;
+        this.respuesta = respuesta;
+    }
+
+    /**
+     * Construye una pregunta cuya respuesta ya viene normalizada, como las que sirve {@link BancoPreguntas}.
+     * @param pregunta El enunciado de la pregunta.
+     * @param respuesta La respuesta correcta.
+     * @param respuestaNormalizada La forma canónica de la respuesta según {@link ComparadorRespuestas#normalizar(String)}.
+     */
+    public PreguntaOriginal(String pregunta, String respuesta, String respuestaNormalizada) {
+        this(pregunta, respuesta);
+        this.respuestaNormalizada = respuestaNormalizada;
+    }
+
     /**
      * Obtiene el texto de la pregunta.
      * @return El enunciado de la pregunta.
@@ -42,5 +68,19 @@ public class PreguntaOriginal {
      * Establece el texto de la respuesta correcta.
      * @param respuesta La nueva respuesta correcta.
      */
-    public void setRespuesta(String respuesta) { this.respuesta = respuesta; }
+    public void setRespuesta(String respuesta) {
+        this.respuesta = respuesta;
+        this.respuestaNormalizada = null;
+    }
+
+    /**
+     * Obtiene la forma canónica de la respuesta, con la que {@link ComparadorRespuestas} compara los intentos.
+     * Si la pregunta no vino de un banco que la precalcula, se calcula aquí una sola vez.
+     * @return La respuesta sin acentos, en minúsculas y con sus alternativas.
+     */
+    @JsonIgnore
+    public String getRespuestaNormalizada() {
+        if (respuestaNormalizada == null) respuestaNormalizada = ComparadorRespuestas.normalizar(respuesta);
+        return respuestaNormalizada;
+    }
 }
\ No newline at end of file
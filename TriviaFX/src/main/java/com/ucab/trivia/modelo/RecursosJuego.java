@@ -0,0 +1,140 @@
+package com.ucab.trivia.modelo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Recursos costosos de crear que comparten todas las partidas de la aplicación: el tablero,
+ * el servicio de datos y la fuente de preguntas. El dado no se comparte: cada partida tiene su
+ * propia {@link FuenteAleatoria}, que se crea sin costo.
+ * Cada recurso se crea la primera vez que se pide, una sola vez aunque lo pidan varios hilos.
+ * {@link #calentar()} los crea en un hilo de fondo mientras se muestra el menú, de modo que
+ * empezar una partida solo cuesta crear a los jugadores.
+ *
+ * Todos los recursos son seguros de compartir: el tablero y las preguntas no cambian después de
+ * construirse, y cada partida tiene su propio {@link ServicioPreguntasJuego} con sus bolsas de no repetición.
+ */
+public final class RecursosJuego {
+
+    /** Propiedad del sistema que activa el reporte del tiempo hasta el primer turno ({@code -Dtrivia.metricas.arranque=true}). */
+    public static final String PROPIEDAD_METRICAS = "trivia.metricas.arranque";
+
+    private static final boolean METRICAS_ACTIVAS = Boolean.getBoolean(PROPIEDAD_METRICAS);
+
+    /** Un valor que se construye al primer pedido, con bloqueo de doble verificación. */
+    private static final class Perezoso<T> {
+        private final Supplier<T> fabrica;
+        private volatile T valor;
+
+        Perezoso(Supplier<T> fabrica) {
+            this.fabrica = fabrica;
+        }
+
+        T obtener() {
+            T actual = valor;
+            if (actual == null) {
+                synchronized (this) {
+                    actual = valor;
+                    if (actual == null) {
+                        actual = fabrica.get();
+                        valor = actual;
+                    }
+                }
+            }
+            return actual;
+        }
+
+        boolean estaCreado() {
+            return valor != null;
+        }
+    }
+
+    private static final Perezoso<ServicioDatos> SERVICIO_DATOS = new Perezoso<>(ServicioDatos::new);
+    private static final Perezoso<TableroGrafico> TABLERO = new Perezoso<>(TableroGrafico::new);
+    private static final Perezoso<FuentePreguntas> PREGUNTAS = new Perezoso<>(() -> getServicioDatos().cargarFuentePreguntas());
+
+    private static CompletableFuture<Void> calentamiento;
+    private static volatile long ultimoTiempoHastaPrimerTurnoNanos = -1;
+
+    private RecursosJuego() {}
+
+    /**
+     * Empieza a crear todos los recursos en un hilo de fondo. Llamarlo más de una vez no repite el trabajo.
+     * @return Un futuro que se completa cuando todos los recursos están listos.
+     */
+    public static synchronized CompletableFuture<Void> calentar() {
+        if (calentamiento == null) {
+            calentamiento = new CompletableFuture<>();
+            Thread hilo = new Thread(() -> {
+                try {
+                    getServicioDatos();
+                    getFuentePreguntas();
+                    getTablero();
+                    FuenteAleatoria.nueva().nextLong(); // En modo seguro fuerza la siembra del SecureRandom.
+                    calentamiento.complete(null);
+                } catch (RuntimeException e) {
+                    System.err.println("Error preparando los recursos del juego.");
+                    e.printStackTrace();
+                    calentamiento.completeExceptionally(e);
+                }
+            }, "calentar-recursos");
+            hilo.setDaemon(true);
+            hilo.start();
+        }
+        return calentamiento;
+    }
+
+    /**
+     * Indica si todos los recursos ya están creados.
+     * @return {@code true} si pedir cualquiera de ellos no tiene que esperar.
+     */
+    public static boolean estanListos() {
+        return SERVICIO_DATOS.estaCreado() && PREGUNTAS.estaCreado() && TABLERO.estaCreado();
+    }
+
+    /**
+     * Obtiene el servicio de datos compartido.
+     * @return El {@link ServicioDatos} del directorio de trabajo.
+     */
+    public static ServicioDatos getServicioDatos() {
+        return SERVICIO_DATOS.obtener();
+    }
+
+    /**
+     * Obtiene el tablero compartido.
+     * @return El {@link TableroGrafico}.
+     */
+    public static TableroGrafico getTablero() {
+        return TABLERO.obtener();
+    }
+
+    /**
+     * Obtiene la fuente de preguntas compartida.
+     * @return El corpus mapeado o el banco en memoria (ver {@link ServicioDatos#cargarFuentePreguntas()}).
+     */
+    public static FuentePreguntas getFuentePreguntas() {
+        return PREGUNTAS.obtener();
+    }
+
+    /**
+     * Registra cuánto tardó en estar lista una partida desde que se pidió. Solo lo informa por consola
+     * si se activa con {@value #PROPIEDAD_METRICAS}.
+     * @param nanos El tiempo transcurrido en nanosegundos.
+     * @param precalentado Si los recursos ya estaban listos cuando se pidió la partida.
+     */
+    public static void registrarTiempoHastaPrimerTurno(long nanos, boolean precalentado) {
+        ultimoTiempoHastaPrimerTurnoNanos = nanos;
+        if (!METRICAS_ACTIVAS) return;
+        System.out.printf("Partida lista para el primer turno en %.1f ms (recursos %s)%n",
+                nanos / 1e6, precalentado ? "precalentados" : "creados al pedir la partida");
+    }
+
+    /**
+     * Obtiene el último tiempo registrado hasta el primer turno.
+     * @return El tiempo en milisegundos, o -1 si todavía no se empezó ninguna partida.
+     */
+    public static double getUltimoTiempoHastaPrimerTurnoMs() {
+        long nanos = ultimoTiempoHastaPrimerTurnoNanos;
+        return nanos < 0 ? -1 : nanos / 1e6;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ucab.trivia.modelo;
+
+import java.util.List;
+
+/**
+ * Anillo con los jugadores que siguen en la partida, en el orden de turnos. Cada jugador activo
+ * apunta al siguiente y al anterior; al rendirse se saca del anillo, así que pasar el turno es
+ * seguir un puntero sin recorrer a los rendidos, y la cantidad de activos se lleva al día sin contar.
+ * Un jugador retirado conserva el puntero que tenía al salir, de modo que el turno puede pasar
+ * también desde él. Los jugadores se identifican por su índice en la lista de la partida.
+ */
+final class RondaTurnos {
+
+    private final int[] siguiente;
+    private final int[] anterior;
+    private final boolean[] activo;
+    private int activos;
+    /** Algún jugador activo, para recorrer el anillo; -1 si no queda ninguno. */
+    private int cualquiera = -1;
+
+    /**
+     * Crea el anillo con los jugadores que no están rendidos.
+     * @param jugadores Los jugadores de la partida, en el orden de turnos.
+     */
+    RondaTurnos(List<Jugador> jugadores) {
+        int n = jugadores.size();
+        siguiente = new int[n];
+        anterior = new int[n];
+        activo = new boolean[n];
+        int primero = -1;
+        int ultimo = -1;
+        for (int i = 0; i < n; i++) {
+            if (jugadores.get(i).isEstaRendido()) continue;
+            activo[i] = true;
+            activos++;
+            if (primero < 0) primero = i;
+            else {
+                siguiente[ultimo] = i;
+                anterior[i] = ultimo;
+            }
+            ultimo = i;
+        }
+        if (primero >= 0) {
+            siguiente[ultimo] = primero;
+            anterior[primero] = ultimo;
+        }
+        // Los rendidos apuntan al primer activo que les sigue, para poder pasar el turno desde ellos.
+        int proximo = primero;
+        for (int i = n - 1; i >= 0; i--) {
+            if (activo[i]) proximo = i;
+            else siguiente[i] = proximo;
+        }
+        cualquiera = primero;
+    }
+
+    /**
+     * Saca a un jugador del anillo. No hace nada si ya estaba fuera.
+     * @param jugador El índice del jugador.
+     */
+    void retirar(int jugador) {
+        if (jugador < 0 || jugador >= activo.length || !activo[jugador]) return;
+        activo[jugador] = false;
+        activos--;
+        if (activos == 0) {
+            cualquiera = -1;
+            siguiente[jugador] = -1;
+            return;
+        }
+        siguiente[anterior[jugador]] = siguiente[jugador];
+        anterior[siguiente[jugador]] = anterior[jugador];
+        if (cualquiera == jugador) cualquiera = siguiente[jugador];
+    }
+
+    /**
+     * Obtiene el próximo jugador activo después de uno dado, que puede estar retirado.
+     * Desde un jugador activo cuesta O(1); desde uno retirado, O(1) más los jugadores que
+     * se retiraron después que él justo detrás suyo.
+     * @param jugador El índice del jugador que termina su turno.
+     * @return El índice del siguiente jugador activo, o -1 si no queda ninguno.
+     */
+    int siguienteActivo(int jugador) {
+        if (activos == 0) return -1;
+        int proximo = siguiente[jugador];
+        while (!activo[proximo]) proximo = siguiente[proximo];
+        return proximo;
+    }
+
+    /**
+     * Indica si un jugador sigue en el anillo.
+     * @param jugador El índice del jugador.
+     * @return {@code true} si no se ha retirado.
+     */
+    boolean estaActivo(int jugador) {
+        return activo[jugador];
+    }
+
+    /** @return La cantidad de jugadores activos. */
+    int getActivos() {
+        return activos;
+    }
+
+    /** @return El índice de algún jugador activo (el único, si queda uno), o -1 si no queda ninguno. */
+    int getCualquiera() {
+        return cualquiera;
+    }
+}
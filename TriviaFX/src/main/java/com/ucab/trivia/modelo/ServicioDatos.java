@@ -1,21 +1,25 @@
 package com.ucab.trivia.modelo;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Gestiona la persistencia de los datos del juego.
  * Esta clase se encarga de leer y escribir la información del juego, como perfiles,
- * estadísticas, preguntas y partidas guardadas, en archivos JSON.
- * Utiliza la librería Jackson para la serialización y deserialización de objetos.
+ * estadísticas, preguntas y partidas guardadas. Los perfiles y las estadísticas se guardan en JSON;
+ * la partida se guarda en JSON o, según la extensión de su archivo, con {@link FormatoPartidaBinaria},
+ * y las preguntas se leen del corpus precompilado ({@link CorpusPreguntas}) si existe o, si no, del banco JSON.
+ * Utiliza la librería Jackson para la serialización y deserialización de objetos, con la
+ * configuración compartida de {@link MapeadorDatos}, así que crear un servicio no cuesta nada.
  */
 public class ServicioDatos {
     /** Nombre del archivo que almacena los perfiles de los jugadores. */
@@ -24,21 +28,91 @@ public class ServicioDatos {
     private static final String ESTADISTICAS_FILE = "estadisticas_globales.json";
     /** Nombre del archivo que almacena el estado de una partida guardada. */
     private static final String PARTIDA_GUARDADA_FILE = "partida_guardada.json";
+    /**
+     * Propiedad del sistema con el nombre del archivo de la partida guardada ({@code -Dtrivia.partida=partida_guardada.bin}).
+     * Los nombres terminados en {@code .json} se guardan en JSON; cualquier otro, con {@link FormatoPartidaBinaria}.
+     */
+    public static final String PROPIEDAD_ARCHIVO_PARTIDA = "trivia.partida";
+    /** Nombre base de los segmentos y del historial del diario de la partida guardada. */
+    private static final String DIARIO_PARTIDA_BASE = "partida_guardada";
+    /** Propiedad del sistema que activa el modo diario ({@code -Dtrivia.diario=true}). */
+    public static final String PROPIEDAD_MODO_DIARIO = "trivia.diario";
     /** Nombre del archivo que contiene el banco inicial de preguntas. */
     private static final String PREGUNTAS_INICIALES_FILE = "preguntasJuegoTrivia.json";
+    /** Nombre del corpus precompilado de preguntas (ver {@link CorpusPreguntas}); si existe, se usa en lugar del JSON. */
+    private static final String PREGUNTAS_CORPUS_FILE = "preguntasJuegoTrivia" + CorpusPreguntas.EXTENSION;
+    /** Tiempo máximo que se espera al guardado en segundo plano de la partida antes de leerla. */
+    private static final long ESPERA_GUARDADO_MS = 5000;
+
+    /** Mapper de Jackson compartido, con lectores y escritores ya construidos para cada tipo persistido. */
+    private final MapeadorDatos mapeador;
+
+    /** Directorio donde se buscan y se escriben los archivos de datos. */
+    private final File directorio;
+
+    /** Si la partida se guarda como diario de eventos más instantáneas periódicas. */
+    private final boolean modoDiario;
+
+    /** Nombre del archivo de la partida guardada; su extensión decide el formato. */
+    private final String archivoPartida;
 
-    /** Objeto de Jackson para mapear entre objetos Java y JSON. */
-    private final ObjectMapper objectMapper;
+    /** Serializador de la partida guardada según el formato de {@link #archivoPartida}. */
+    private final GuardadoAsincrono.Serializador serializadorPartida;
 
     /**
      * Constructor del servicio de datos.
-     * Inicializa y configura el {@link ObjectMapper} para que el JSON de salida
-     * esté formateado con indentación y para que registre módulos automáticamente.
+     * Los archivos se leen y escriben en el directorio de trabajo actual.
      */
     public ServicioDatos() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        this.objectMapper.findAndRegisterModules(); // Para soportar tipos de Java 8 como LocalDate, etc.
+        this(new File("."));
+    }
+
+    /**
+     * Constructor del servicio de datos que trabaja sobre un directorio específico.
+     * Usa el mapper compartido de {@link MapeadorDatos}, que formatea el JSON con indentación.
+     * @param directorio El directorio que contiene los archivos de datos.
+     */
+    public ServicioDatos(File directorio) {
+        this(directorio, Boolean.getBoolean(PROPIEDAD_MODO_DIARIO));
+    }
+
+    /**
+     * Constructor del servicio de datos que indica explícitamente si se usa el modo diario.
+     * @param directorio El directorio que contiene los archivos de datos.
+     * @param modoDiario {@code true} para guardar la partida como diario de eventos (ver {@link DiarioPartida}).
+     */
+    public ServicioDatos(File directorio, boolean modoDiario) {
+        this(directorio, modoDiario, System.getProperty(PROPIEDAD_ARCHIVO_PARTIDA, PARTIDA_GUARDADA_FILE));
+    }
+
+    /**
+     * Constructor del servicio de datos que indica también el archivo de la partida guardada.
+     * @param directorio El directorio que contiene los archivos de datos.
+     * @param modoDiario {@code true} para guardar la partida como diario de eventos (ver {@link DiarioPartida}).
+     * @param archivoPartida El nombre del archivo de la partida; con extensión {@code .json} se guarda en JSON
+     *                       y con cualquier otra en el formato binario de {@link FormatoPartidaBinaria}.
+     */
+    public ServicioDatos(File directorio, boolean modoDiario, String archivoPartida) {
+        this(directorio, modoDiario, archivoPartida, MapeadorDatos.getCompartido());
+    }
+
+    /**
+     * Constructor del servicio de datos con una configuración de Jackson propia, por ejemplo para
+     * comparar la compartida con una que use Blackbird.
+     * @param directorio El directorio que contiene los archivos de datos.
+     * @param modoDiario {@code true} para guardar la partida como diario de eventos.
+     * @param archivoPartida El nombre del archivo de la partida guardada.
+     * @param mapeador La configuración de Jackson a usar.
+     */
+    public ServicioDatos(File directorio, boolean modoDiario, String archivoPartida, MapeadorDatos mapeador) {
+        this.directorio = directorio;
+        this.modoDiario = modoDiario;
+        this.archivoPartida = archivoPartida;
+        this.mapeador = mapeador;
+        ObjectWriter escritorPartida = mapeador.getEscritorPartida();
+        this.serializadorPartida = isPartidaBinaria()
+                ? datos -> FormatoPartidaBinaria.codificar((EstadoJuegoGuardado) datos)
+                : escritorPartida::writeValueAsBytes;
     }
 
     /**
@@ -46,7 +120,7 @@ public class ServicioDatos {
      * @return Una lista de {@link PerfilJugador}. Si el archivo no existe o está vacío, devuelve una lista vacía.
      */
     public List<PerfilJugador> cargarPerfiles() {
-        return leerArchivo(JUGADORES_FILE, new TypeReference<>() {}, new ArrayList<>());
+        return leerArchivo(JUGADORES_FILE, mapeador.getLectorPerfiles(), new ArrayList<>());
     }
 
     /**
@@ -54,15 +128,39 @@ public class ServicioDatos {
      * @return Una lista de {@link EstadisticaGlobal}. Si el archivo no existe o está vacío, devuelve una lista vacía.
      */
     public List<EstadisticaGlobal> cargarEstadisticas() {
-        return leerArchivo(ESTADISTICAS_FILE, new TypeReference<>() {}, new ArrayList<>());
+        return AlmacenEstadisticas.leerDesdeDisco(directorio, mapeador);
     }
 
     /**
      * Guarda la lista de estadísticas globales en su archivo correspondiente.
+     * Es una reescritura completa; para registrar el resultado de una partida conviene
+     * {@link #registrarResultadoPartida(List, Jugador)}, que solo toca a los participantes.
      * @param estadisticas La lista de {@link EstadisticaGlobal} a guardar.
      */
     public void guardarEstadisticas(List<EstadisticaGlobal> estadisticas) {
-        escribirArchivo(ESTADISTICAS_FILE, estadisticas);
+        try {
+            AlmacenEstadisticas.reemplazarTodo(directorio, mapeador, estadisticas);
+        } catch (IOException e) {
+            System.err.println("Error escribiendo en el archivo " + ESTADISTICAS_FILE);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Obtiene el almacén de estadísticas de este directorio, indexado por alias y compartido por la aplicación.
+     * @return El {@link AlmacenEstadisticas}.
+     */
+    public AlmacenEstadisticas getAlmacenEstadisticas() {
+        return AlmacenEstadisticas.abrir(directorio, mapeador);
+    }
+
+    /**
+     * Suma el resultado de una partida terminada a las estadísticas globales de sus participantes.
+     * @param jugadores Los participantes de la partida.
+     * @param ganador El ganador, o {@code null} si la partida terminó sin ganador.
+     */
+    public void registrarResultadoPartida(List<Jugador> jugadores, Jugador ganador) {
+        getAlmacenEstadisticas().registrarPartida(jugadores, ganador);
     }
 
     /**
@@ -70,23 +168,130 @@ public class ServicioDatos {
      * @return Un mapa donde la clave es el nombre de la categoría y el valor es una lista de {@link PreguntaOriginal}.
      */
     public Map<String, List<PreguntaOriginal>> cargarPreguntasOriginales() {
-        return leerArchivo(PREGUNTAS_INICIALES_FILE, new TypeReference<>() {}, new HashMap<>());
+        return leerArchivo(PREGUNTAS_INICIALES_FILE, mapeador.getLectorPreguntas(), new HashMap<>());
+    }
+
+    /**
+     * Carga el banco de preguntas leyendo el archivo JSON en streaming, sin construir el mapa intermedio.
+     * @param oyente Quien recibe los avisos de progreso de la carga; puede ser {@code null}.
+     * @return El {@link BancoPreguntas} ya cargado.
+     */
+    public BancoPreguntas cargarBancoPreguntas(CargadorPreguntasStreaming.OyenteCarga oyente) {
+        return new CargadorPreguntasStreaming(mapeador.getMapper().getFactory())
+                .cargar(new File(directorio, PREGUNTAS_INICIALES_FILE), oyente);
+    }
+
+    /**
+     * Empieza a cargar el banco de preguntas en un hilo de fondo.
+     * El banco devuelto ya puede usarse; las categorías se van haciendo disponibles a medida que se leen.
+     * @param oyente Quien recibe los avisos de progreso de la carga; puede ser {@code null}.
+     * @return El {@link BancoPreguntas} en carga.
+     */
+    public BancoPreguntas cargarBancoPreguntasEnSegundoPlano(CargadorPreguntasStreaming.OyenteCarga oyente) {
+        return new CargadorPreguntasStreaming(mapeador.getMapper().getFactory())
+                .cargarEnSegundoPlano(new File(directorio, PREGUNTAS_INICIALES_FILE), oyente);
+    }
+
+    /**
+     * Obtiene las preguntas del juego. Si existe el corpus precompilado se mapea desde disco,
+     * sin cargar los textos en el heap; si no existe o no se puede abrir, el banco JSON se empieza
+     * a cargar en segundo plano y se devuelve de inmediato, todavía en carga.
+     * @return La {@link FuentePreguntas} que sirve preguntas a medida que están disponibles.
+     */
+    public FuentePreguntas cargarFuentePreguntas() {
+        File corpus = new File(directorio, PREGUNTAS_CORPUS_FILE);
+        if (corpus.exists()) {
+            try {
+                return CorpusPreguntas.abrir(corpus);
+            } catch (IOException e) {
+                System.err.println("Error leyendo el archivo " + PREGUNTAS_CORPUS_FILE);
+                e.printStackTrace();
+            }
+        }
+        return cargarBancoPreguntasEnSegundoPlano(null);
     }
 
     /**
      * Carga el estado de una partida guardada desde el archivo.
+     * El formato se reconoce por el contenido, así que también se leen partidas JSON guardadas con
+     * otro nombre. Si se usa el formato binario y todavía no hay partida binaria, se lee la partida
+     * JSON de versiones anteriores.
      * @return Un objeto {@link EstadoJuegoGuardado} o {@code null} si no hay partida guardada.
      */
     public EstadoJuegoGuardado cargarPartidaGuardada() {
-        return leerArchivo(PARTIDA_GUARDADA_FILE, new TypeReference<>() {}, null);
+        esperarGuardadoPartida();
+        File archivo = archivoPartidaExistente();
+        if (archivo == null) return null;
+        try {
+            byte[] datos = Files.readAllBytes(archivo.toPath());
+            if (FormatoPartidaBinaria.esBinario(datos)) return FormatoPartidaBinaria.decodificar(datos);
+            return mapeador.getLectorPartida().readValue(datos);
+        } catch (IOException e) {
+            System.err.println("Error leyendo el archivo " + archivo.getName());
+            e.printStackTrace();
+            return null;
+        }
     }
 
     /**
      * Guarda el estado actual del juego en un archivo.
+     * La copia del estado se toma en el hilo que llama (normalmente el de JavaFX); la serialización
+     * y la escritura atómica ocurren en segundo plano con {@link GuardadoAsincrono}, y si se piden
+     * varios guardados seguidos solo se escribe el último.
      * @param estado El objeto {@link EstadoJuegoGuardado} que representa la partida actual.
      */
     public void guardarPartida(EstadoJuegoGuardado estado) {
-        escribirArchivo(PARTIDA_GUARDADA_FILE, estado);
+        guardarPartida(estado, null);
+    }
+
+    /**
+     * Guarda una instantánea de la partida y ejecuta una acción cuando quede en disco.
+     * La usa {@link Juego} en modo diario para compactar los segmentos que la instantánea cubre.
+     */
+    void guardarPartida(EstadoJuegoGuardado estado, Runnable despues) {
+        Runnable alEscribir = despues;
+        if (isPartidaBinaria()) {
+            // Con la partida binaria en disco, la JSON anterior ya no representa la partida.
+            File legada = new File(directorio, PARTIDA_GUARDADA_FILE);
+            alEscribir = () -> {
+                legada.delete();
+                if (despues != null) despues.run();
+            };
+        }
+        GuardadoAsincrono.getInstancia().programar(
+                new File(directorio, archivoPartida).toPath(), estado.instantanea(), serializadorPartida, alEscribir);
+    }
+
+    /**
+     * Indica si la partida se guarda en el formato binario.
+     * @return {@code true} si el archivo de la partida no tiene extensión {@code .json}.
+     */
+    public boolean isPartidaBinaria() {
+        return !archivoPartida.toLowerCase(Locale.ROOT).endsWith(".json");
+    }
+
+    /**
+     * Indica si la partida se guarda en modo diario.
+     * @return {@code true} si está activo el modo diario.
+     */
+    public boolean isModoDiario() {
+        return modoDiario;
+    }
+
+    /**
+     * Abre el diario de la partida guardada de este directorio.
+     * @return El {@link DiarioPartida}; no crea archivos hasta que se reinicia o se reproduce.
+     */
+    public DiarioPartida abrirDiario() {
+        return new DiarioPartida(directorio, DIARIO_PARTIDA_BASE);
+    }
+
+    /**
+     * Obtiene las métricas del guardado en segundo plano (latencia y solicitudes coalescidas).
+     * @return Las métricas actuales de {@link GuardadoAsincrono}.
+     */
+    public GuardadoAsincrono.MetricasGuardado getMetricasGuardado() {
+        return GuardadoAsincrono.getInstancia().getMetricas();
     }
 
     /**
@@ -94,24 +299,45 @@ public class ServicioDatos {
      * @return {@code true} si el archivo existe y no está vacío, {@code false} en caso contrario.
      */
     public boolean existePartidaGuardada() {
-        File archivo = new File(PARTIDA_GUARDADA_FILE);
-        return archivo.exists() && archivo.length() > 0;
+        esperarGuardadoPartida();
+        return archivoPartidaExistente() != null;
+    }
+
+    /**
+     * Espera solo a un guardado de la partida que siga pendiente, que también borra la partida JSON
+     * anterior y el diario abandonado; los guardados de otros archivos no demoran al hilo de JavaFX.
+     */
+    private void esperarGuardadoPartida() {
+        GuardadoAsincrono.getInstancia().esperar(new File(directorio, archivoPartida).toPath(), ESPERA_GUARDADO_MS);
+    }
+
+    /**
+     * Busca el archivo de la partida guardada: el configurado o, si no existe y se usa el formato
+     * binario, el JSON de versiones anteriores.
+     * @return El archivo no vacío, o {@code null} si no hay partida guardada.
+     */
+    private File archivoPartidaExistente() {
+        File archivo = new File(directorio, archivoPartida);
+        if (archivo.exists() && archivo.length() > 0) return archivo;
+        File legada = new File(directorio, PARTIDA_GUARDADA_FILE);
+        if (isPartidaBinaria() && legada.exists() && legada.length() > 0) return legada;
+        return null;
     }
 
     /**
      * Método genérico para leer y deserializar un archivo JSON a un objeto Java.
      *
      * @param nombreArchivo El nombre del archivo a leer.
-     * @param typeRef El tipo de referencia del objeto a deserializar, para manejar tipos genéricos.
+     * @param lector El lector ya construido para el tipo del archivo.
      * @param valorPorDefecto El valor a devolver si el archivo no existe o hay un error.
      * @param <T> El tipo genérico del objeto a devolver.
      * @return El objeto deserializado o el valor por defecto.
      */
-    private <T> T leerArchivo(String nombreArchivo, TypeReference<T> typeRef, T valorPorDefecto) {
+    private <T> T leerArchivo(String nombreArchivo, ObjectReader lector, T valorPorDefecto) {
         try {
-            File file = new File(nombreArchivo);
+            File file = new File(directorio, nombreArchivo);
             if (file.exists() && file.length() > 0) {
-                return objectMapper.readValue(file, typeRef);
+                return lector.readValue(file);
             }
         } catch (IOException e) {
             System.err.println("Error leyendo el archivo " + nombreArchivo);
@@ -119,20 +345,4 @@ public class ServicioDatos {
         }
         return valorPorDefecto;
     }
-
-    /**
-     * Método genérico para serializar un objeto Java y escribirlo en un archivo JSON.
-     *
-     * @param nombreArchivo El nombre del archivo donde se guardarán los datos.
-     * @param datos El objeto a serializar y guardar.
-     * @param <T> El tipo genérico del objeto a escribir.
-     */
-    private <T> void escribirArchivo(String nombreArchivo, T datos) {
-        try {
-            objectMapper.writeValue(new File(nombreArchivo), datos);
-        } catch (IOException e) {
-            System.err.println("Error escribiendo en el archivo " + nombreArchivo);
-            e.printStackTrace();
-        }
-    }
-}
\ No newline at end of file
+}
@@ -2,38 +2,128 @@ package com.ucab.trivia.modelo;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Proporciona acceso a las preguntas del juego.
- * Esta clase se encarga de cargar el banco de preguntas desde el {@link ServicioDatos}
- * al momento de su creación y de servir preguntas aleatorias de una categoría específica
- * cuando se le solicitan.
+ * Esta clase toma una {@link FuentePreguntas} (cargada desde el {@link ServicioDatos} o recibida ya construida)
+ * y sirve preguntas aleatorias de una categoría específica cuando se le solicitan.
+ * Dentro de una misma partida no se repite una pregunta de una categoría hasta haber
+ * servido todas las demás de esa categoría.
+ *
+ * Si el generador es una {@link FuenteAleatoria} reproducible, cada categoría usa su propia fuente
+ * derivada, así que el estado de una bolsa solo depende de cuántas preguntas se sacaron de esa categoría.
+ * Esos contadores son lo que se guarda con la partida para volver a dejar las bolsas como estaban.
  */
 public class ServicioPreguntasJuego {
 
     /**
-     * Un mapa que almacena todas las preguntas del juego, organizadas por el nombre de su categoría.
-     * La clave es un {@code String} con el nombre de la categoría y el valor es una lista de {@link PreguntaOriginal}.
+     * Bolsa barajada de índices de una categoría. Cada extracción elige al azar uno de los
+     * índices que quedan y lo mueve al final (Fisher-Yates incremental), por lo que cuesta O(1)
+     * y no repite hasta vaciarse; al vaciarse se vuelve a llenar con todos los índices.
+     * Los índices que quedan ocupan {@code [0, restantes)} y los ya sacados el resto del arreglo.
      */
-    private final Map<String, List<PreguntaOriginal>> preguntasPorCategoria;
+    private static final class BolsaBarajada {
+        private int[] indices;
+        private int restantes;
 
-    /** Instancia de {@link Random} para seleccionar preguntas de forma aleatoria. */
-    private final Random random;
+        BolsaBarajada(int cantidad) {
+            this.indices = new int[cantidad];
+            for (int i = 0; i < cantidad; i++) indices[i] = i;
+            this.restantes = cantidad;
+        }
+
+        int tamano() { return indices.length; }
+
+        /**
+         * Agrega a los índices que quedan los que llegaron al crecer la categoría, sin devolver
+         * a la bolsa los que ya salieron.
+         */
+        void crecer(int cantidad) {
+            int anterior = indices.length;
+            int agregados = cantidad - anterior;
+            int[] nuevos = new int[cantidad];
+            System.arraycopy(indices, 0, nuevos, 0, restantes);
+            for (int i = 0; i < agregados; i++) nuevos[restantes + i] = anterior + i;
+            System.arraycopy(indices, restantes, nuevos, restantes + agregados, anterior - restantes);
+            indices = nuevos;
+            restantes += agregados;
+        }
+
+        int extraer(RandomGenerator random) {
+            if (restantes == 0) restantes = indices.length;
+            int j = random.nextInt(restantes);
+            int elegido = indices[j];
+            indices[j] = indices[restantes - 1];
+            indices[restantes - 1] = elegido;
+            restantes--;
+            return elegido;
+        }
+    }
+
+    /** La fuente de preguntas indexada por categoría; puede compartirse entre partidas. */
+    private final FuentePreguntas banco;
+
+    /** Una bolsa por ordinal de categoría, creada la primera vez que se pide una pregunta de ella. */
+    private final BolsaBarajada[] bolsas = new BolsaBarajada[CategoriaTrivia.values().length];
+
+    /** Generador para seleccionar preguntas de forma aleatoria. */
+    private final RandomGenerator random;
+
+    /** El generador de cada categoría: una fuente derivada si {@link #random} es reproducible, si no el mismo. */
+    private final RandomGenerator[] generadores = new RandomGenerator[CategoriaTrivia.values().length];
+
+    /** Preguntas sacadas de cada categoría en la partida, incluidas las reproducidas al cargarla. */
+    private final int[] extraidas = new int[CategoriaTrivia.values().length];
+
+    /** Extracciones a reproducir cuando se cree la bolsa de cada categoría. */
+    private final int[] pendientes = new int[CategoriaTrivia.values().length];
 
     /**
      * Constructor del servicio de preguntas.
-     * Carga todas las preguntas desde la capa de datos a través de {@link ServicioDatos}
-     * y las almacena en memoria para un acceso rápido durante la partida.
+     * Usa la fuente de preguntas compartida de {@link RecursosJuego}: el corpus mapeado si existe,
+     * o el banco JSON cargado en memoria.
      */
     public ServicioPreguntasJuego() {
-        ServicioDatos servicioDatos = new ServicioDatos();
-        this.preguntasPorCategoria = servicioDatos.cargarPreguntasOriginales();
-        this.random = new Random();
+        this(RecursosJuego.getFuentePreguntas());
+    }
+
+    /**
+     * Constructor que usa un banco de preguntas ya cargado.
+     * @param preguntasPorCategoria Las preguntas organizadas por el nombre de su categoría.
+     */
+    public ServicioPreguntasJuego(Map<String, List<PreguntaOriginal>> preguntasPorCategoria) {
+        this(BancoPreguntas.desdeMapa(preguntasPorCategoria));
+    }
+
+    /**
+     * Constructor que comparte una fuente ya abierta; las bolsas de no repetición son propias de este servicio.
+     * Un {@link BancoPreguntas} puede estar todavía en carga: si se pide una categoría que aún no tiene
+     * preguntas, se espera a que se lea (la interfaz espera antes con {@link FuentePreguntas#getDisponibles},
+     * sin bloquearse), y si la categoría crece entre dos preguntas, sus preguntas nuevas se suman a la bolsa.
+     * @param banco El banco o corpus de preguntas.
+     */
+    public ServicioPreguntasJuego(FuentePreguntas banco) {
+        this(banco, FuenteAleatoria.nueva());
+    }
+
+    /**
+     * Constructor que comparte una fuente ya abierta y usa el generador indicado, normalmente la
+     * {@link FuenteAleatoria} de la partida, para que la elección de preguntas se pueda reproducir.
+     * @param banco El banco o corpus de preguntas.
+     * @param random El generador con el que se eligen las preguntas.
+     */
+    public ServicioPreguntasJuego(FuentePreguntas banco, RandomGenerator random) {
+        this.banco = banco;
+        this.random = random;
+        for (int c = 0; c < generadores.length; c++) {
+            generadores[c] = random instanceof FuenteAleatoria fuente && fuente.isReproducible() ? fuente.derivar(c + 1) : random;
+        }
     }
 
     /**
-     * Selecciona y devuelve una pregunta al azar de la categoría especificada.
+     * Selecciona y devuelve una pregunta al azar de la categoría especificada,
+     * sin repetir preguntas de esa categoría hasta agotarlas.
      *
      * @param categoria La {@link CategoriaTrivia} de la cual se desea una pregunta.
      * @return Una {@link PreguntaOriginal} seleccionada aleatoriamente, o {@code null} si la categoría
@@ -44,15 +134,78 @@ public class ServicioPreguntasJuego {
             return null;
         }
 
-        // Obtiene la lista de preguntas usando el nombre legible de la categoría
-        List<PreguntaOriginal> lista = preguntasPorCategoria.get(categoria.getNombreMostrado());
-
-        if (lista == null || lista.isEmpty()) {
+        int cantidad = banco.esperarCantidad(categoria);
+        if (cantidad == 0) {
             System.err.println("ADVERTENCIA: No hay preguntas para la categoría: " + categoria.getNombreMostrado());
             return null;
         }
 
-        // Devuelve un elemento aleatorio de la lista
-        return lista.get(random.nextInt(lista.size()));
+        int c = categoria.ordinal();
+        BolsaBarajada bolsa = bolsas[c];
+        if (bolsa == null || bolsa.tamano() > cantidad) {
+            bolsa = new BolsaBarajada(cantidad);
+            bolsas[c] = bolsa;
+            for (; pendientes[c] > 0; pendientes[c]--) bolsa.extraer(generadores[c]);
+        } else if (bolsa.tamano() < cantidad) {
+            bolsa.crecer(cantidad);
+        }
+        extraidas[c]++;
+        return banco.getPregunta(categoria, bolsa.extraer(generadores[c]));
+    }
+
+    /**
+     * Saca una pregunta de la categoría sin leerla, como al reproducir una que ya salió en la partida.
+     * Si la bolsa de la categoría todavía no existe, la extracción se hace al crearla.
+     * @param categoria La categoría de la pregunta.
+     */
+    public void omitirPregunta(CategoriaTrivia categoria) {
+        int c = categoria.ordinal();
+        extraidas[c]++;
+        BolsaBarajada bolsa = bolsas[c];
+        if (bolsa == null) {
+            pendientes[c]++;
+        } else {
+            bolsa.extraer(generadores[c]);
+        }
+    }
+
+    /**
+     * Deja las bolsas como las tenía una partida guardada, con los contadores de {@link #getExtraidas()}.
+     * Con el mismo banco de preguntas y la misma semilla, las preguntas siguientes son las mismas que se
+     * habrían servido sin guardar, siempre que cada categoría tenga ya todas sus preguntas cuando se pida
+     * la primera. Las bolsas se ponen al día al pedir la primera pregunta de cada categoría, así que no hace
+     * falta esperar a que el banco termine de cargarse.
+     * @param extraidasPorCategoria Las preguntas sacadas de cada categoría, por ordinal; puede ser {@code null}.
+     */
+    public void restaurarExtraidas(int[] extraidasPorCategoria) {
+        if (extraidasPorCategoria == null) return;
+        CategoriaTrivia[] categorias = CategoriaTrivia.values();
+        for (int c = 0; c < categorias.length && c < extraidasPorCategoria.length; c++) {
+            for (int i = 0; i < extraidasPorCategoria[c]; i++) omitirPregunta(categorias[c]);
+        }
+    }
+
+    /**
+     * Obtiene cuántas preguntas se sacaron de cada categoría en la partida.
+     * @return Una copia de los contadores, indexada por ordinal de categoría.
+     */
+    public int[] getExtraidas() {
+        return extraidas.clone();
+    }
+
+    /**
+     * Obtiene el generador con el que se eligen las preguntas.
+     * @return El generador del servicio.
+     */
+    public RandomGenerator getGenerador() {
+        return random;
+    }
+
+    /**
+     * Obtiene la fuente de preguntas que usa este servicio.
+     * @return El {@link BancoPreguntas} o {@link CorpusPreguntas}.
+     */
+    public FuentePreguntas getBanco() {
+        return banco;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,211 @@
+package com.ucab.trivia.modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla de clasificación sobre las estadísticas de un {@link AlmacenEstadisticas}.
+ * Por cada {@link CriterioClasificacion} mantiene un arreglo con las filas del almacén ordenadas
+ * de mejor a peor. El arreglo de un criterio se construye la primera vez que se consulta y desde
+ * entonces el almacén lo mantiene al día en cada partida registrada: la fila de cada participante
+ * se mueve de su lugar viejo al nuevo desplazando solo las filas intermedias, sin reordenar todo.
+ *
+ * Las páginas se sirven por índice y la posición de un jugador se obtiene con una búsqueda
+ * binaria, así que ambas consultas cuestan O(log n) más el tamaño de la página.
+ * Las estadísticas devueltas son copias.
+ *
+ * Los índices viven solo en memoria, mientras dure el almacén: no se guardan en disco. Al iniciar la
+ * aplicación, la primera consulta de cada criterio los reconstruye en O(n log n). Mover una fila
+ * cuesta una búsqueda binaria más un {@link System#arraycopy} de las filas intermedias, que en el peor
+ * caso (un jugador nuevo o uno que pasa de último a primero) es O(n); con un millón de jugadores son
+ * unos 4 MB contiguos por criterio construido.
+ */
+public class TablaClasificacion {
+
+    private final List<EstadisticaGlobal> registros;
+    private final Map<String, Integer> indicePorAlias;
+    private final Object monitor;
+
+    /** Filas ordenadas por criterio; {@code null} hasta que se consulta el criterio. */
+    private final int[][] ordenes = new int[CriterioClasificacion.values().length][];
+    /** Posición de la fila en modificación en cada orden, anotada antes de modificarla. */
+    private final int[] posicionesPrevias = new int[CriterioClasificacion.values().length];
+
+    TablaClasificacion(List<EstadisticaGlobal> registros, Map<String, Integer> indicePorAlias, Object monitor) {
+        this.registros = registros;
+        this.indicePorAlias = indicePorAlias;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Obtiene la cantidad de jugadores clasificados.
+     * @return La cantidad de filas.
+     */
+    public int getCantidad() {
+        synchronized (monitor) {
+            return registros.size();
+        }
+    }
+
+    /**
+     * Obtiene una página de la clasificación.
+     * @param criterio El criterio de orden.
+     * @param desde La posición (desde 0) de la primera fila.
+     * @param cantidad La cantidad máxima de filas.
+     * @return Copias de las estadísticas de las filas pedidas; vacía si {@code desde} está fuera de rango.
+     */
+    public List<EstadisticaGlobal> getPagina(CriterioClasificacion criterio, int desde, int cantidad) {
+        synchronized (monitor) {
+            int[] orden = orden(criterio);
+            int inicio = Math.max(0, desde);
+            int fin = Math.min(registros.size(), inicio + Math.max(0, cantidad));
+            List<EstadisticaGlobal> pagina = new ArrayList<>(Math.max(0, fin - inicio));
+            for (int i = inicio; i < fin; i++) pagina.add(new EstadisticaGlobal(registros.get(orden[i])));
+            return pagina;
+        }
+    }
+
+    /**
+     * Obtiene los mejores jugadores según un criterio.
+     * @param criterio El criterio de orden.
+     * @param k La cantidad de jugadores.
+     * @return Copias de las estadísticas de los {@code k} primeros.
+     */
+    public List<EstadisticaGlobal> getMejores(CriterioClasificacion criterio, int k) {
+        return getPagina(criterio, 0, k);
+    }
+
+    /**
+     * Obtiene la posición de un jugador en la clasificación.
+     * @param criterio El criterio de orden.
+     * @param alias El alias del jugador.
+     * @return La posición desde 0, o -1 si el jugador no tiene estadísticas.
+     */
+    public int getPosicion(CriterioClasificacion criterio, String alias) {
+        synchronized (monitor) {
+            Integer fila = indicePorAlias.get(alias);
+            return fila == null ? -1 : buscar(criterio, orden(criterio), registros.size(), fila);
+        }
+    }
+
+    /**
+     * Obtiene los jugadores que rodean a uno en la clasificación.
+     * @param criterio El criterio de orden.
+     * @param alias El alias del jugador.
+     * @param radio La cantidad de filas antes y después del jugador.
+     * @return Copias de las estadísticas de la ventana, o una lista vacía si el jugador no tiene estadísticas.
+     */
+    public List<EstadisticaGlobal> getAlrededorDe(CriterioClasificacion criterio, String alias, int radio) {
+        synchronized (monitor) {
+            int posicion = getPosicion(criterio, alias);
+            if (posicion < 0) return new ArrayList<>();
+            int desde = Math.max(0, posicion - radio);
+            return getPagina(criterio, desde, posicion + radio + 1 - desde);
+        }
+    }
+
+    /** Anota dónde está una fila en cada orden construido; se llama antes de modificar sus estadísticas. */
+    void antesDeModificar(int fila) {
+        for (CriterioClasificacion criterio : CriterioClasificacion.values()) {
+            int[] orden = ordenes[criterio.ordinal()];
+            if (orden != null) posicionesPrevias[criterio.ordinal()] = buscar(criterio, orden, registros.size(), fila);
+        }
+    }
+
+    /**
+     * Mueve la fila a su nuevo lugar; se llama después de modificarla. Como el resto del arreglo
+     * sigue ordenado, solo se desplazan las filas entre el lugar viejo y el nuevo.
+     */
+    void despuesDeModificar(int fila) {
+        int n = registros.size();
+        for (CriterioClasificacion criterio : CriterioClasificacion.values()) {
+            int[] orden = ordenes[criterio.ordinal()];
+            if (orden == null) continue;
+            int previa = posicionesPrevias[criterio.ordinal()];
+            if (previa > 0 && comparar(criterio, fila, orden[previa - 1]) < 0) {
+                int nueva = limiteInferior(criterio, orden, 0, previa, fila);
+                System.arraycopy(orden, nueva, orden, nueva + 1, previa - nueva);
+                orden[nueva] = fila;
+            } else if (previa < n - 1 && comparar(criterio, orden[previa + 1], fila) < 0) {
+                int nueva = limiteInferior(criterio, orden, previa + 1, n, fila) - 1;
+                System.arraycopy(orden, previa + 1, orden, previa, nueva - previa);
+                orden[nueva] = fila;
+            }
+        }
+    }
+
+    /** Inserta una fila recién agregada al final de los registros. */
+    void alAgregar(int fila) {
+        for (int c = 0; c < ordenes.length; c++) {
+            if (ordenes[c] != null && ordenes[c].length < registros.size()) {
+                ordenes[c] = Arrays.copyOf(ordenes[c], Math.max(registros.size(), ordenes[c].length * 3 / 2));
+            }
+        }
+        int ocupadas = registros.size() - 1;
+        for (CriterioClasificacion criterio : CriterioClasificacion.values()) {
+            int[] orden = ordenes[criterio.ordinal()];
+            if (orden == null) continue;
+            int posicion = limiteInferior(criterio, orden, 0, ocupadas, fila);
+            System.arraycopy(orden, posicion, orden, posicion + 1, ocupadas - posicion);
+            orden[posicion] = fila;
+        }
+    }
+
+    private int[] orden(CriterioClasificacion criterio) {
+        int[] orden = ordenes[criterio.ordinal()];
+        if (orden == null) {
+            int n = registros.size();
+            orden = new int[n];
+            for (int i = 0; i < n; i++) orden[i] = i;
+            ordenar(criterio, orden, new int[n], 0, n);
+            ordenes[criterio.ordinal()] = orden;
+        }
+        return orden;
+    }
+
+    /** Posición de una fila que está en el orden. */
+    private int buscar(CriterioClasificacion criterio, int[] orden, int n, int fila) {
+        int posicion = limiteInferior(criterio, orden, 0, n, fila);
+        if (posicion >= n || orden[posicion] != fila) {
+            throw new IllegalStateException("La clasificación por " + criterio + " no contiene la fila " + fila);
+        }
+        return posicion;
+    }
+
+    /** Primera posición de {@code [desde, hasta)} cuya fila no va antes que {@code fila}. */
+    private int limiteInferior(CriterioClasificacion criterio, int[] orden, int desde, int hasta, int fila) {
+        int bajo = desde;
+        int alto = hasta;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (comparar(criterio, orden[medio], fila) < 0) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+
+    /** Ordenamiento por mezcla estable sobre índices, para no encajonar un millón de enteros. */
+    private void ordenar(CriterioClasificacion criterio, int[] a, int[] temporal, int desde, int hasta) {
+        if (hasta - desde < 2) return;
+        int medio = (desde + hasta) >>> 1;
+        ordenar(criterio, a, temporal, desde, medio);
+        ordenar(criterio, a, temporal, medio, hasta);
+        if (comparar(criterio, a[medio - 1], a[medio]) <= 0) return;
+        System.arraycopy(a, desde, temporal, desde, hasta - desde);
+        int i = desde, j = medio;
+        for (int k = desde; k < hasta; k++) {
+            if (j >= hasta || (i < medio && comparar(criterio, temporal[i], temporal[j]) <= 0)) a[k] = temporal[i++];
+            else a[k] = temporal[j++];
+        }
+    }
+
+    /** Negativo si la fila {@code a} va antes que {@code b}: mayor clave primero y, a igual clave, alias alfabético. */
+    private int comparar(CriterioClasificacion criterio, int a, int b) {
+        EstadisticaGlobal ea = registros.get(a);
+        EstadisticaGlobal eb = registros.get(b);
+        int porClave = Long.compare(criterio.clave(eb), criterio.clave(ea));
+        return porClave != 0 ? porClave : ea.getAlias().compareTo(eb.getAlias());
+    }
+}
@@ -0,0 +1,109 @@
+package com.ucab.trivia.modelo;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de movimientos precalculada para el tablero.
+ * Cada casilla del tablero (42 del círculo, 30 de los rayos y el centro) recibe un
+ * identificador entero denso, y para cada combinación de casilla, resultado del dado,
+ * dirección y decisión de entrar al rayo se guarda el identificador de la casilla destino.
+ * De esta forma un movimiento se resuelve con una sola lectura de arreglo y sin crear objetos.
+ *
+ * Los identificadores de casilla son los ordinales de {@link Posicion}.
+ */
+public final class TablaTransiciones {
+
+    /** Cantidad total de casillas del tablero, incluyendo el centro. */
+    public static final int TOTAL_CASILLAS = Posicion.TOTAL_POSICIONES;
+
+    /** Identificador de la casilla central. */
+    public static final int ID_CENTRO = Posicion.ORDINAL_CENTRO;
+
+    /** Valor máximo del dado que cubre la tabla. */
+    public static final int MAX_PASOS = 6;
+
+    /**
+     * Cantidad de direcciones por casilla. En el círculo y en los rayos solo se usan las
+     * posiciones 0 (dirección -1) y 1 (dirección +1); desde el centro la dirección es el rayo de salida.
+     */
+    private static final int DIRECCIONES = TableroGrafico.NUMERO_RAYOS;
+
+    /** Marca de una combinación que la tabla no cubre. */
+    private static final int SIN_TRANSICION = -1;
+
+    private final TableroGrafico tablero;
+    private final int[] transiciones;
+
+    /**
+     * Construye la tabla recorriendo todas las combinaciones con la lógica de movimiento del tablero.
+     * @param tablero El tablero cuyas reglas de movimiento se precalculan.
+     */
+    TablaTransiciones(TableroGrafico tablero) {
+        this.tablero = tablero;
+        this.transiciones = new int[TOTAL_CASILLAS * (MAX_PASOS + 1) * DIRECCIONES * 2];
+        Arrays.fill(transiciones, SIN_TRANSICION);
+        for (int id = 0; id < TOTAL_CASILLAS; id++) {
+            Posicion origen = Posicion.desdeOrdinal(id);
+            boolean esCentro = origen.getTipo() == Posicion.TipoLugar.CENTRO;
+            for (int pasos = 1; pasos <= MAX_PASOS; pasos++) {
+                for (int ranura = 0; ranura < DIRECCIONES; ranura++) {
+                    if (!esCentro && ranura > 1) break;
+                    int direccion = esCentro ? ranura : (ranura == 0 ? -1 : 1);
+                    for (int entra = 0; entra < 2; entra++) {
+                        Posicion destino = esCentro
+                                ? tablero.calcularSalidaDelCentro(pasos, direccion)
+                                : tablero.calcularNuevaPosicion(origen, pasos, direccion, entra == 1);
+                        transiciones[indice(id, pasos, ranura, entra == 1)] = destino.getOrdinal();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula la posición destino de un movimiento consultando la tabla.
+     * Las combinaciones fuera de la tabla (pasos fuera de 1-6 o direcciones no estándar)
+     * se resuelven con la lógica original del tablero.
+     *
+     * @param actual La posición de partida.
+     * @param pasos El resultado del dado.
+     * @param direccion +1 o -1 en el círculo y en los rayos; el índice del rayo (0-5) desde el centro.
+     * @param eligeEntrarRayo Si el jugador decide entrar al rayo desde una casilla de entrada.
+     * @return La posición destino.
+     */
+    public Posicion mover(Posicion actual, int pasos, int direccion, boolean eligeEntrarRayo) {
+        int destino = moverId(actual.getOrdinal(), pasos, direccion, eligeEntrarRayo);
+        if (destino != SIN_TRANSICION) return Posicion.desdeOrdinal(destino);
+        if (actual.getTipo() == Posicion.TipoLugar.CENTRO) return tablero.calcularSalidaDelCentro(pasos, direccion);
+        return tablero.calcularNuevaPosicion(actual, pasos, direccion, eligeEntrarRayo);
+    }
+
+    /**
+     * Versión entera de {@link #mover(Posicion, int, int, boolean)} para simulaciones.
+     *
+     * @param idCasilla El identificador de la casilla de partida.
+     * @param pasos El resultado del dado.
+     * @param direccion +1 o -1 en el círculo y en los rayos; el índice del rayo (0-5) desde el centro.
+     * @param eligeEntrarRayo Si el jugador decide entrar al rayo desde una casilla de entrada.
+     * @return El identificador de la casilla destino, o -1 si la combinación no está en la tabla.
+     */
+    public int moverId(int idCasilla, int pasos, int direccion, boolean eligeEntrarRayo) {
+        if (pasos < 1 || pasos > MAX_PASOS) return SIN_TRANSICION;
+        int ranura;
+        if (idCasilla == ID_CENTRO) {
+            if (direccion < 0 || direccion >= DIRECCIONES) return SIN_TRANSICION;
+            ranura = direccion;
+        } else if (direccion == 1) {
+            ranura = 1;
+        } else if (direccion == -1) {
+            ranura = 0;
+        } else {
+            return SIN_TRANSICION;
+        }
+        return transiciones[indice(idCasilla, pasos, ranura, eligeEntrarRayo)];
+    }
+
+    private static int indice(int id, int pasos, int ranura, boolean entra) {
+        return ((id * (MAX_PASOS + 1) + pasos) * DIRECCIONES + ranura) * 2 + (entra ? 1 : 0);
+    }
+}
@@ -13,6 +13,7 @@ public class TableroGrafico {
     private final List<List<Casilla>> casillasRayos;
     private final Map<Integer, Integer> mapaCirculoARayo;
     private final Map<Integer, Integer> mapaRayoACirculo;
+    private final TablaTransiciones tablaTransiciones;
 
     public TableroGrafico() {
         this.casillasCirculo = new ArrayList<>(NUMERO_CASILLAS_CIRCULO);
@@ -21,6 +22,7 @@ public class TableroGrafico {
         this.mapaCirculoARayo = new HashMap<>();
         this.mapaRayoACirculo = new HashMap<>();
         inicializarTablero();
+        this.tablaTransiciones = new TablaTransiciones(this);
     }
 
     private void inicializarTablero() {
@@ -52,6 +54,22 @@ public class TableroGrafico {
         }
     }
 
+    public TablaTransiciones getTablaTransiciones() {
+        return tablaTransiciones;
+    }
+
+    public Posicion calcularSalidaDelCentro(int pasos, int rayoElegido) {
+        // La salida del centro es HACIA AFUERA por un rayo.
+        // Un lanzamiento de 1 te deja en la casilla del rayo más cercana al centro (índice 4).
+        // Un lanzamiento de 5 te deja en la casilla del rayo más lejana al centro (índice 0).
+        if (pasos <= CASILLAS_POR_RAYO_INTERNO) {
+            // Se resta de la última casilla para que el movimiento sea "hacia afuera".
+            return Posicion.enRayo(rayoElegido, CASILLAS_POR_RAYO_INTERNO - pasos);
+        }
+        // Si saca más pasos que el largo del rayo, llega a la casilla del círculo.
+        return Posicion.enCirculo(rayoElegido * (NUMERO_CASILLAS_CIRCULO / NUMERO_RAYOS));
+    }
+
     public Posicion calcularNuevaPosicion(Posicion actual, int pasos, int direccion, boolean eligeEntrarRayo) {
         if (actual.getTipo() == Posicion.TipoLugar.CIRCULO) {
             Casilla casillaActual = getCasillaEnPosicion(actual);
@@ -0,0 +1,43 @@
+package com.ucab.trivia.simulacion;
+
+/**
+ * Totales parciales de un bloque de partidas simuladas, por asiento.
+ * Cada tarea del simulador llena su propio acumulador y luego se combinan,
+ * de modo que no hay estado compartido entre hilos.
+ */
+class AcumuladorResultados {
+
+    final long[] victorias;
+    final long[] turnosEnVictorias;
+    long partidas;
+    long partidasSinGanador;
+    long turnosTotales;
+
+    AcumuladorResultados(int asientos) {
+        this.victorias = new long[asientos];
+        this.turnosEnVictorias = new long[asientos];
+    }
+
+    void registrar(SimuladorPartida simulador) {
+        partidas++;
+        turnosTotales += simulador.getTurnosTotales();
+        int ganador = simulador.getGanador();
+        if (ganador == SimuladorPartida.SIN_GANADOR) {
+            partidasSinGanador++;
+        } else {
+            victorias[ganador]++;
+            turnosEnVictorias[ganador] += simulador.getTurnosDeJugador(ganador);
+        }
+    }
+
+    AcumuladorResultados combinar(AcumuladorResultados otro) {
+        for (int i = 0; i < victorias.length; i++) {
+            victorias[i] += otro.victorias[i];
+            turnosEnVictorias[i] += otro.turnosEnVictorias[i];
+        }
+        partidas += otro.partidas;
+        partidasSinGanador += otro.partidasSinGanador;
+        turnosTotales += otro.turnosTotales;
+        return this;
+    }
+}
@@ -0,0 +1,340 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.Casilla;
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Ficha;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TablaTransiciones;
+import com.ucab.trivia.modelo.TableroGrafico;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Análisis exhaustivo del tablero por programación dinámica. Para una {@link PrecisionRespuestas} dada
+ * calcula, con iteración de valores sobre todos los estados (casilla × máscara de quesitos), cuántos turnos
+ * necesita en promedio un jugador que juega de forma óptima para ganar desde cada estado, y qué destino
+ * conviene elegir con cada resultado del dado. También calcula, por casilla, los turnos esperados hasta
+ * obtener el quesito de cada categoría y hasta llegar al centro.
+ *
+ * El modelo usa las mismas reglas que {@link SimuladorPartida}: un acierto o una casilla especial permiten
+ * volver a lanzar, el centro sin ficha completa obliga a salir con otro lanzamiento, un fallo pasa el turno
+ * y en la pregunta final se elige la categoría con mayor precisión. Los turnos cuentan el turno en curso,
+ * así que valen 1 más la cantidad esperada de fallos.
+ *
+ * Como obtener un quesito nunca lo quita, las máscaras se resuelven de la ficha completa hacia la vacía:
+ * cada máscara solo depende de sí misma y de las que tienen más quesitos, por lo que todas las máscaras con
+ * la misma cantidad de quesitos se resuelven en paralelo. Dentro de una máscara se itera desde una cota
+ * superior (las casillas especiales forman ciclos sin costo, y partir desde cero los tomaría como gratis).
+ */
+public final class AnalisisTablero {
+
+    /** Cantidad de máscaras de quesitos posibles. */
+    public static final int MASCARAS = Ficha.MASCARA_COMPLETA + 1;
+
+    private static final int CASILLAS = Posicion.TOTAL_POSICIONES;
+    private static final int CENTRO = Posicion.ORDINAL_CENTRO;
+    private static final int CARAS = TablaTransiciones.MAX_PASOS;
+    private static final int CATEGORIAS = CategoriaTrivia.values().length;
+    private static final int SIN_CATEGORIA = -1;
+    private static final double COTA_INICIAL = 1e6;
+    private static final double TOLERANCIA = 1e-10;
+
+    private final PrecisionRespuestas precision;
+    private final double[] acierto = new double[CATEGORIAS];
+    private final double aciertoFinal;
+    private final int[] categoriaDe = new int[CASILLAS];
+    private final boolean[] especial = new boolean[CASILLAS];
+    /** Destinos distintos por casilla y resultado del dado, en el orden de {@link OpcionesMovimiento}. */
+    private final int[][] destinos = new int[CASILLAS * CARAS][];
+    /** Fallos esperados hasta ganar desde cada estado, al inicio de un lanzamiento. */
+    private final double[] fallos = new double[CASILLAS * MASCARAS];
+    /** Índice del mejor destino por estado y resultado del dado. */
+    private final byte[] mejorOpcion = new byte[CASILLAS * MASCARAS * CARAS];
+    private final double[][] fallosHastaCategoria = new double[CATEGORIAS][];
+    private double[] fallosHastaCentro;
+    private long duracionNanos;
+
+    private AnalisisTablero(TableroGrafico tablero, PrecisionRespuestas precision) {
+        this.precision = precision;
+        double mejor = 0;
+        for (CategoriaTrivia categoria : CategoriaTrivia.values()) {
+            double p = precision.getPrecision(categoria);
+            if (p <= 0) throw new IllegalArgumentException("Con precisión 0 en " + categoria + " no se puede ganar");
+            acierto[categoria.ordinal()] = p;
+            mejor = Math.max(mejor, p);
+        }
+        this.aciertoFinal = mejor;
+
+        OpcionesMovimiento opciones = new OpcionesMovimiento();
+        for (int casilla = 0; casilla < CASILLAS; casilla++) {
+            Posicion posicion = Posicion.desdeOrdinal(casilla);
+            Casilla datos = tablero.getCasillaEnPosicion(posicion);
+            categoriaDe[casilla] = datos == null || datos.getCategoria() == null ? SIN_CATEGORIA : datos.getCategoria().ordinal();
+            especial[casilla] = datos != null && datos.isEsEspecialReRoll();
+            for (int pasos = 1; pasos <= CARAS; pasos++) {
+                opciones.calcular(tablero, posicion, pasos);
+                int[] lista = new int[opciones.getCantidad()];
+                for (int i = 0; i < lista.length; i++) lista[i] = opciones.getDestino(i);
+                destinos[casilla * CARAS + pasos - 1] = lista;
+            }
+        }
+    }
+
+    /**
+     * Calcula el análisis completo usando todos los núcleos del pool común.
+     * @param tablero El tablero a analizar.
+     * @param precision La probabilidad de acierto por categoría; ninguna puede ser 0.
+     * @return El análisis con la política óptima y los turnos esperados.
+     */
+    public static AnalisisTablero calcular(TableroGrafico tablero, PrecisionRespuestas precision) {
+        long inicio = System.nanoTime();
+        AnalisisTablero analisis = new AnalisisTablero(tablero, precision);
+        Arrays.fill(analisis.fallos, COTA_INICIAL);
+        for (int quesitos = CATEGORIAS; quesitos >= 0; quesitos--) {
+            final int nivel = quesitos;
+            IntStream.range(0, MASCARAS).filter(m -> Integer.bitCount(m) == nivel).parallel().forEach(analisis::resolverMascara);
+        }
+        double[][] objetivos = IntStream.rangeClosed(SIN_CATEGORIA, CATEGORIAS - 1).parallel()
+                .mapToObj(analisis::resolverObjetivo).toArray(double[][]::new);
+        analisis.fallosHastaCentro = objetivos[0];
+        System.arraycopy(objetivos, 1, analisis.fallosHastaCategoria, 0, CATEGORIAS);
+        analisis.duracionNanos = System.nanoTime() - inicio;
+        return analisis;
+    }
+
+    /** Itera los valores de una máscara hasta que dejan de cambiar; las máscaras mayores ya están resueltas. */
+    private void resolverMascara(int mascara) {
+        double cambio;
+        do {
+            cambio = 0;
+            for (int casilla = 0; casilla < CASILLAS; casilla++) {
+                int estado = casilla * MASCARAS + mascara;
+                double suma = 0;
+                for (int pasos = 1; pasos <= CARAS; pasos++) {
+                    int[] lista = destinos[casilla * CARAS + pasos - 1];
+                    int elegido = 0;
+                    double minimo = Double.POSITIVE_INFINITY;
+                    for (int i = 0; i < lista.length; i++) {
+                        double valor = fallosAlLlegar(lista[i], mascara);
+                        if (valor < minimo) { minimo = valor; elegido = i; }
+                    }
+                    mejorOpcion[estado * CARAS + pasos - 1] = (byte) elegido;
+                    suma += minimo;
+                }
+                double nuevo = suma / CARAS;
+                cambio = Math.max(cambio, Math.abs(nuevo - fallos[estado]));
+                fallos[estado] = nuevo;
+            }
+        } while (cambio > TOLERANCIA);
+    }
+
+    /** Fallos esperados hasta ganar al caer en una casilla con una máscara, antes de responder. */
+    private double fallosAlLlegar(int destino, int mascara) {
+        double quedarse = fallos[destino * MASCARAS + mascara];
+        if (destino == CENTRO) return mascara == Ficha.MASCARA_COMPLETA ? (1 - aciertoFinal) * (1 + quedarse) : quedarse;
+        if (especial[destino]) return quedarse;
+        int categoria = categoriaDe[destino];
+        // Una casilla sin pregunta pasa el turno, como en la ventana de juego.
+        if (categoria == SIN_CATEGORIA) return 1 + quedarse;
+        double p = acierto[categoria];
+        return p * fallos[destino * MASCARAS + (mascara | (1 << categoria))] + (1 - p) * (1 + quedarse);
+    }
+
+    /**
+     * Resuelve el problema de un solo objetivo: obtener el quesito de una categoría, o llegar al centro
+     * si {@code objetivo} es {@link #SIN_CATEGORIA}. Los demás quesitos no importan.
+     */
+    private double[] resolverObjetivo(int objetivo) {
+        double[] valores = new double[CASILLAS];
+        Arrays.fill(valores, COTA_INICIAL);
+        double cambio;
+        do {
+            cambio = 0;
+            for (int casilla = 0; casilla < CASILLAS; casilla++) {
+                double suma = 0;
+                for (int pasos = 1; pasos <= CARAS; pasos++) {
+                    double minimo = Double.POSITIVE_INFINITY;
+                    for (int destino : destinos[casilla * CARAS + pasos - 1]) {
+                        minimo = Math.min(minimo, fallosHastaObjetivo(valores, destino, objetivo));
+                    }
+                    suma += minimo;
+                }
+                double nuevo = suma / CARAS;
+                cambio = Math.max(cambio, Math.abs(nuevo - valores[casilla]));
+                valores[casilla] = nuevo;
+            }
+        } while (cambio > TOLERANCIA);
+        return valores;
+    }
+
+    private double fallosHastaObjetivo(double[] valores, int destino, int objetivo) {
+        if (destino == CENTRO) return objetivo == SIN_CATEGORIA ? 0 : valores[CENTRO];
+        if (especial[destino]) return valores[destino];
+        int categoria = categoriaDe[destino];
+        if (categoria == SIN_CATEGORIA) return 1 + valores[destino];
+        double p = acierto[categoria];
+        if (categoria == objetivo) return (1 - p) * (1 + valores[destino]);
+        // Acertar otra categoría solo conserva el turno; fallarla lo pasa.
+        return valores[destino] + (1 - p);
+    }
+
+    /**
+     * Obtiene los turnos esperados para ganar desde un estado, jugando de forma óptima.
+     * @param casilla El ordinal de la casilla al inicio del lanzamiento.
+     * @param mascara La máscara de quesitos de la ficha.
+     * @return Los turnos esperados, contando el turno en curso.
+     */
+    public double getTurnosParaGanar(int casilla, int mascara) {
+        return 1 + fallos[casilla * MASCARAS + mascara];
+    }
+
+    /**
+     * Obtiene los turnos esperados para ganar si el jugador se mueve a un destino, antes de responder su pregunta.
+     * Sirve para comparar las opciones de un lanzamiento.
+     * @param destino El ordinal de la casilla destino.
+     * @param mascara La máscara de quesitos de la ficha.
+     * @return Los turnos esperados, contando el turno en curso.
+     */
+    public double getTurnosSiLlega(int destino, int mascara) {
+        return 1 + fallosAlLlegar(destino, mascara);
+    }
+
+    /**
+     * Obtiene el destino óptimo de un lanzamiento.
+     * @param casilla El ordinal de la casilla de partida.
+     * @param mascara La máscara de quesitos de la ficha.
+     * @param pasos El resultado del dado.
+     * @return El ordinal de la casilla a la que conviene moverse.
+     */
+    public int getMejorDestino(int casilla, int mascara, int pasos) {
+        int opcion = mejorOpcion[(casilla * MASCARAS + mascara) * CARAS + pasos - 1];
+        return destinos[casilla * CARAS + pasos - 1][opcion];
+    }
+
+    /**
+     * Obtiene los turnos esperados para obtener el quesito de una categoría desde una casilla.
+     * @param casilla El ordinal de la casilla.
+     * @param categoria La categoría buscada.
+     * @return Los turnos esperados, contando el turno en curso.
+     */
+    public double getTurnosHastaCategoria(int casilla, CategoriaTrivia categoria) {
+        return 1 + fallosHastaCategoria[categoria.ordinal()][casilla];
+    }
+
+    /**
+     * Obtiene los turnos esperados para llegar al centro desde una casilla, sin importar los quesitos.
+     * @param casilla El ordinal de la casilla.
+     * @return Los turnos esperados, contando el turno en curso.
+     */
+    public double getTurnosHastaCentro(int casilla) {
+        return 1 + fallosHastaCentro[casilla];
+    }
+
+    /**
+     * Obtiene la precisión con la que se calculó el análisis.
+     * @return La {@link PrecisionRespuestas} usada.
+     */
+    public PrecisionRespuestas getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Obtiene cuánto tardó el cálculo.
+     * @return La duración en nanosegundos.
+     */
+    public long getDuracionNanos() {
+        return duracionNanos;
+    }
+
+    /**
+     * Escribe una fila por casilla con los turnos esperados hasta cada categoría, hasta el centro
+     * y hasta ganar con la ficha vacía.
+     * @param salida Donde se escribe el CSV.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void escribirCsvCasillas(Writer salida) throws IOException {
+        StringBuilder linea = new StringBuilder("ordinal,posicion,categoria,especial");
+        for (CategoriaTrivia categoria : CategoriaTrivia.values()) linea.append(",turnos_hasta_").append(categoria.name().toLowerCase(Locale.ROOT));
+        salida.write(linea.append(",turnos_hasta_centro,turnos_para_ganar\n").toString());
+        for (int casilla = 0; casilla < CASILLAS; casilla++) {
+            linea.setLength(0);
+            linea.append(casilla).append(",\"").append(Posicion.desdeOrdinal(casilla)).append("\",")
+                    .append(categoriaDe[casilla] == SIN_CATEGORIA ? "" : CategoriaTrivia.values()[categoriaDe[casilla]].name())
+                    .append(',').append(especial[casilla]);
+            for (CategoriaTrivia categoria : CategoriaTrivia.values()) linea.append(',').append(formato(getTurnosHastaCategoria(casilla, categoria)));
+            linea.append(',').append(formato(getTurnosHastaCentro(casilla)))
+                    .append(',').append(formato(getTurnosParaGanar(casilla, 0))).append('\n');
+            salida.write(linea.toString());
+        }
+    }
+
+    /**
+     * Escribe una fila por estado con los turnos esperados para ganar y el destino óptimo con cada resultado del dado.
+     * @param salida Donde se escribe el CSV.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void escribirCsvEstados(Writer salida) throws IOException {
+        StringBuilder linea = new StringBuilder("ordinal,mascara,turnos_para_ganar");
+        for (int pasos = 1; pasos <= CARAS; pasos++) linea.append(",destino_con_").append(pasos);
+        salida.write(linea.append('\n').toString());
+        for (int casilla = 0; casilla < CASILLAS; casilla++) {
+            for (int mascara = 0; mascara < MASCARAS; mascara++) {
+                linea.setLength(0);
+                linea.append(casilla).append(',').append(mascara).append(',').append(formato(getTurnosParaGanar(casilla, mascara)));
+                for (int pasos = 1; pasos <= CARAS; pasos++) linea.append(',').append(getMejorDestino(casilla, mascara, pasos));
+                salida.write(linea.append('\n').toString());
+            }
+        }
+    }
+
+    /**
+     * Exporta los dos CSV a un directorio: {@code analisis_casillas.csv} y {@code analisis_estados.csv}.
+     * @param directorio El directorio de destino; se crea si no existe.
+     * @throws IOException Si no se pueden escribir los archivos.
+     */
+    public void exportarCsv(File directorio) throws IOException {
+        Files.createDirectories(directorio.toPath());
+        try (BufferedWriter salida = Files.newBufferedWriter(new File(directorio, "analisis_casillas.csv").toPath(), StandardCharsets.UTF_8)) {
+            escribirCsvCasillas(salida);
+        }
+        try (BufferedWriter salida = Files.newBufferedWriter(new File(directorio, "analisis_estados.csv").toPath(), StandardCharsets.UTF_8)) {
+            escribirCsvEstados(salida);
+        }
+    }
+
+    private static String formato(double valor) {
+        return String.format(Locale.ROOT, "%.4f", valor);
+    }
+
+    /**
+     * Calcula el análisis desde la línea de comandos y lo exporta a CSV.
+     * Argumentos opcionales: precisión para todas las categorías (por defecto 0.6) y directorio de destino
+     * (por defecto el directorio actual).
+     * @param args Los argumentos de la línea de comandos.
+     */
+    public static void main(String[] args) {
+        double p = args.length > 0 ? Double.parseDouble(args[0]) : 0.6;
+        File directorio = new File(args.length > 1 ? args[1] : ".");
+        AnalisisTablero analisis = calcular(new TableroGrafico(), new PrecisionRespuestas(p));
+        System.out.printf(Locale.ROOT, "Análisis con precisión %.2f calculado en %.1f ms%n", p, analisis.getDuracionNanos() / 1e6);
+        System.out.printf(Locale.ROOT, "Turnos esperados para ganar desde el centro con la ficha vacía: %.3f%n",
+                analisis.getTurnosParaGanar(CENTRO, 0));
+        try {
+            analisis.exportarCsv(directorio);
+            System.out.println("CSV escritos en " + directorio.getAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Error exportando el análisis del tablero a " + directorio.getAbsolutePath());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
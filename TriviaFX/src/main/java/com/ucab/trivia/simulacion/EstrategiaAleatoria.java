@@ -0,0 +1,26 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Estrategia que toma todas las decisiones de movimiento al azar, como un jugador
+ * que pulsa cualquiera de las casillas resaltadas. Sirve como referencia para comparar otras estrategias.
+ */
+public class EstrategiaAleatoria extends EstrategiaBase {
+
+    /**
+     * @param precision La probabilidad de acierto por categoría.
+     */
+    public EstrategiaAleatoria(PrecisionRespuestas precision) {
+        super("Aleatoria", precision);
+    }
+
+    @Override
+    public int elegirOpcion(Juego juego, Jugador jugador, OpcionesMovimiento opciones, RandomGenerator random) {
+        return random.nextInt(opciones.getCantidad());
+    }
+}
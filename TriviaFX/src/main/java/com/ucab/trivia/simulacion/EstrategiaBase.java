@@ -0,0 +1,53 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Jugador;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Comportamiento común de las estrategias: responde según una {@link PrecisionRespuestas}
+ * y, para la pregunta final, elige la categoría en la que tiene mayor precisión.
+ */
+public abstract class EstrategiaBase implements EstrategiaJugador {
+
+    private final String nombre;
+    private final PrecisionRespuestas precision;
+    private final CategoriaTrivia mejorCategoria;
+
+    /**
+     * @param nombre El nombre de la estrategia para el reporte.
+     * @param precision La probabilidad de acierto por categoría.
+     */
+    protected EstrategiaBase(String nombre, PrecisionRespuestas precision) {
+        this.nombre = nombre;
+        this.precision = precision;
+        CategoriaTrivia mejor = CategoriaTrivia.values()[0];
+        for (CategoriaTrivia cat : CategoriaTrivia.values()) {
+            if (precision.getPrecision(cat) > precision.getPrecision(mejor)) mejor = cat;
+        }
+        this.mejorCategoria = mejor;
+    }
+
+    @Override
+    public String getNombre() { return nombre; }
+
+    /**
+     * Obtiene la precisión configurada para esta estrategia.
+     * @return La {@link PrecisionRespuestas} de la estrategia.
+     */
+    public PrecisionRespuestas getPrecision() { return precision; }
+
+    @Override
+    public CategoriaTrivia elegirCategoriaFinal(Jugador jugador, RandomGenerator random) {
+        return mejorCategoria;
+    }
+
+    @Override
+    public boolean respondeCorrectamente(CategoriaTrivia categoria, RandomGenerator random) {
+        return random.nextDouble() < precision.getPrecision(categoria);
+    }
+
+    @Override
+    public String toString() { return nombre; }
+}
@@ -0,0 +1,57 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Ficha;
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TableroGrafico;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Estrategia codiciosa: evalúa todos los destinos posibles del lanzamiento y elige el mejor
+ * de forma inmediata. Mientras le falten quesitos prefiere las casillas de las categorías que
+ * aún no tiene (y, entre ellas, las que mejor domina); con la ficha completa busca el centro.
+ */
+public class EstrategiaCodiciosa extends EstrategiaBase {
+
+    /**
+     * @param precision La probabilidad de acierto por categoría.
+     */
+    public EstrategiaCodiciosa(PrecisionRespuestas precision) {
+        super("Codiciosa", precision);
+    }
+
+    @Override
+    public int elegirOpcion(Juego juego, Jugador jugador, OpcionesMovimiento opciones, RandomGenerator random) {
+        TableroGrafico tablero = juego.getTablero();
+        Ficha ficha = jugador.getFicha();
+        double mejorPuntaje = Double.NEGATIVE_INFINITY;
+        int mejor = 0;
+        int empates = 0;
+        for (int opcion = 0; opcion < opciones.getCantidad(); opcion++) {
+            double puntaje = puntuar(tablero, opciones, opcion, ficha);
+            if (puntaje > mejorPuntaje) { mejorPuntaje = puntaje; empates = 1; mejor = opcion; }
+            else if (puntaje == mejorPuntaje && random.nextInt(++empates) == 0) mejor = opcion;
+        }
+        return mejor;
+    }
+
+    private double puntuar(TableroGrafico tablero, OpcionesMovimiento opciones, int opcion, Ficha ficha) {
+        boolean completa = ficha.estaCompleta();
+        if (opciones.esCentro(opcion)) return completa ? 100 : -1;
+        if (completa) {
+            // Con la ficha completa solo importa acercarse al centro.
+            Posicion pos = Posicion.desdeOrdinal(opciones.getDestino(opcion));
+            if (pos.getTipo() == Posicion.TipoLugar.RAYO) return 10 + pos.getIndiceEnRayo();
+            return tablero.getCasillaEnPosicion(pos).isEsEntradaRayo() ? 5 : 0;
+        }
+        if (opciones.isReRoll(opcion)) return 0.5;
+        CategoriaTrivia categoria = opciones.getCategoria(opcion);
+        double precision = getPrecision().getPrecision(categoria);
+        // Un acierto en una categoría ya obtenida solo sirve para conservar el turno.
+        return ficha.haObtenidoCategoria(categoria) ? 0.2 * precision : 1 + precision;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Define cómo decide un jugador simulado en cada punto donde la interfaz gráfica
+ * le preguntaría al usuario: a qué casilla moverse, qué categoría elegir para la pregunta
+ * final y si acierta una pregunta.
+ * Las implementaciones deben ser seguras para usarse desde varios hilos a la vez:
+ * todo el estado aleatorio llega a través del {@link RandomGenerator} de la partida.
+ */
+public interface EstrategiaJugador {
+
+    /**
+     * Nombre con el que se agrupan los resultados en el reporte.
+     * @return El nombre de la estrategia.
+     */
+    String getNombre();
+
+    /**
+     * Elige a cuál de los destinos posibles del lanzamiento se mueve el jugador.
+     *
+     * @param juego La partida en curso.
+     * @param jugador El jugador que se mueve.
+     * @param opciones Los destinos calculados con {@link Juego#calcularOpciones}; hay al menos uno.
+     * @param random El generador aleatorio de la partida.
+     * @return El índice de la opción elegida.
+     */
+    int elegirOpcion(Juego juego, Jugador jugador, OpcionesMovimiento opciones, RandomGenerator random);
+
+    /**
+     * Elige la categoría de la pregunta final cuando el jugador llega al centro con la ficha completa.
+     * @param jugador El jugador que intenta ganar.
+     * @param random El generador aleatorio de la partida.
+     * @return La categoría elegida.
+     */
+    CategoriaTrivia elegirCategoriaFinal(Jugador jugador, RandomGenerator random);
+
+    /**
+     * Determina si el jugador responde correctamente una pregunta de la categoría indicada.
+     * @param categoria La categoría de la pregunta.
+     * @param random El generador aleatorio de la partida.
+     * @return {@code true} si la respuesta es correcta.
+     */
+    boolean respondeCorrectamente(CategoriaTrivia categoria, RandomGenerator random);
+}
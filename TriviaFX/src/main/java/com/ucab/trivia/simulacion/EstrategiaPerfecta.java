@@ -0,0 +1,32 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Estrategia óptima: sigue la política calculada por {@link AnalisisTablero}, que minimiza los turnos
+ * esperados para ganar con la precisión de la estrategia. El análisis se calcula una vez y se comparte
+ * entre hilos, ya que después de construido no cambia.
+ */
+public class EstrategiaPerfecta extends EstrategiaBase {
+
+    private final AnalisisTablero analisis;
+
+    /**
+     * @param analisis El análisis del tablero; su precisión es la de la estrategia.
+     */
+    public EstrategiaPerfecta(AnalisisTablero analisis) {
+        super("Perfecta", analisis.getPrecision());
+        this.analisis = analisis;
+    }
+
+    @Override
+    public int elegirOpcion(Juego juego, Jugador jugador, OpcionesMovimiento opciones, RandomGenerator random) {
+        int destino = analisis.getMejorDestino(jugador.getPosicionActual().getOrdinal(), jugador.getFicha().getMascara(), opciones.getPasos());
+        int opcion = opciones.buscar(destino);
+        return opcion == OpcionesMovimiento.SIN_OPCION ? 0 : opcion;
+    }
+}
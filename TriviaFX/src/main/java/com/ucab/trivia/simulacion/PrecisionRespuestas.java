@@ -0,0 +1,53 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.CategoriaTrivia;
+
+import java.util.Arrays;
+
+/**
+ * Probabilidad de que un jugador simulado responda correctamente, por categoría.
+ * Permite modelar jugadores con distinto dominio de cada {@link CategoriaTrivia}
+ * o bancos de preguntas con distinta dificultad por categoría.
+ */
+public class PrecisionRespuestas {
+
+    private final double[] precisiones = new double[CategoriaTrivia.values().length];
+
+    /**
+     * Crea una configuración con la misma precisión para todas las categorías.
+     * @param precisionPorDefecto Probabilidad de acierto entre 0 y 1.
+     */
+    public PrecisionRespuestas(double precisionPorDefecto) {
+        Arrays.fill(precisiones, validar(precisionPorDefecto));
+    }
+
+    /**
+     * Cambia la precisión de una categoría específica.
+     * @param categoria La categoría a configurar.
+     * @param precision Probabilidad de acierto entre 0 y 1.
+     * @return Esta misma instancia, para encadenar llamadas.
+     */
+    public PrecisionRespuestas conPrecision(CategoriaTrivia categoria, double precision) {
+        precisiones[categoria.ordinal()] = validar(precision);
+        return this;
+    }
+
+    /**
+     * Obtiene la precisión configurada para una categoría.
+     * @param categoria La categoría consultada.
+     * @return Probabilidad de acierto entre 0 y 1.
+     */
+    public double getPrecision(CategoriaTrivia categoria) {
+        return precisiones[categoria.ordinal()];
+    }
+
+    private static double validar(double precision) {
+        if (precision < 0 || precision > 1) throw new IllegalArgumentException("Precisión fuera de rango: " + precision);
+        return precision;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(precisiones);
+    }
+}
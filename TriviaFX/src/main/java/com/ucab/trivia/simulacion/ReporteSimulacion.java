@@ -0,0 +1,91 @@
+package com.ucab.trivia.simulacion;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una corrida del {@link SimuladorMasivo}: rendimiento del simulador
+ * y, por cada estrategia, su tasa de victorias y los turnos promedio que necesitó para ganar.
+ * Los asientos que usan estrategias con el mismo nombre se agrupan.
+ */
+public class ReporteSimulacion {
+
+    /**
+     * Totales de una estrategia a lo largo de todas las partidas.
+     */
+    public static class ResumenEstrategia {
+        private final String nombre;
+        private long participaciones;
+        private long victorias;
+        private long turnosEnVictorias;
+
+        ResumenEstrategia(String nombre) { this.nombre = nombre; }
+
+        /** @return El nombre de la estrategia. */
+        public String getNombre() { return nombre; }
+
+        /** @return Cantidad de asientos-partida jugados con esta estrategia. */
+        public long getParticipaciones() { return participaciones; }
+
+        /** @return Cantidad de partidas ganadas. */
+        public long getVictorias() { return victorias; }
+
+        /** @return Fracción de participaciones que terminaron en victoria. */
+        public double getTasaVictoria() { return participaciones == 0 ? 0 : (double) victorias / participaciones; }
+
+        /** @return Turnos promedio del ganador en las partidas que ganó esta estrategia. */
+        public double getPromedioTurnosParaGanar() { return victorias == 0 ? 0 : (double) turnosEnVictorias / victorias; }
+    }
+
+    private final long partidas;
+    private final long partidasSinGanador;
+    private final long turnosTotales;
+    private final long duracionNanos;
+    private final Map<String, ResumenEstrategia> resumenes = new LinkedHashMap<>();
+
+    ReporteSimulacion(List<EstrategiaJugador> estrategias, AcumuladorResultados acumulador, long duracionNanos) {
+        this.partidas = acumulador.partidas;
+        this.partidasSinGanador = acumulador.partidasSinGanador;
+        this.turnosTotales = acumulador.turnosTotales;
+        this.duracionNanos = duracionNanos;
+        for (int i = 0; i < estrategias.size(); i++) {
+            ResumenEstrategia resumen = resumenes.computeIfAbsent(estrategias.get(i).getNombre(), ResumenEstrategia::new);
+            resumen.participaciones += acumulador.partidas;
+            resumen.victorias += acumulador.victorias[i];
+            resumen.turnosEnVictorias += acumulador.turnosEnVictorias[i];
+        }
+    }
+
+    /** @return Cantidad de partidas simuladas. */
+    public long getPartidas() { return partidas; }
+
+    /** @return Partidas que alcanzaron el límite de tiradas sin ganador. */
+    public long getPartidasSinGanador() { return partidasSinGanador; }
+
+    /** @return Duración total de la corrida en segundos. */
+    public double getDuracionSegundos() { return duracionNanos / 1e9; }
+
+    /** @return Partidas simuladas por segundo. */
+    public double getPartidasPorSegundo() { return duracionNanos == 0 ? 0 : partidas / getDuracionSegundos(); }
+
+    /** @return Turnos promedio por partida, sumando los de todos los jugadores. */
+    public double getPromedioTurnosPorPartida() { return partidas == 0 ? 0 : (double) turnosTotales / partidas; }
+
+    /** @return Los resúmenes por nombre de estrategia, en orden de aparición. */
+    public Map<String, ResumenEstrategia> getResumenes() { return resumenes; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Partidas: %d (sin ganador: %d) en %.2f s -> %.0f partidas/s%n",
+                partidas, partidasSinGanador, getDuracionSegundos(), getPartidasPorSegundo()));
+        sb.append(String.format("Turnos promedio por partida: %.2f%n", getPromedioTurnosPorPartida()));
+        sb.append(String.format("%-20s %12s %12s %18s%n", "Estrategia", "Victorias", "Tasa", "Turnos para ganar"));
+        for (ResumenEstrategia r : resumenes.values()) {
+            sb.append(String.format("%-20s %12d %11.2f%% %18.2f%n",
+                    r.getNombre(), r.getVictorias(), r.getTasaVictoria() * 100, r.getPromedioTurnosParaGanar()));
+        }
+        return sb.toString();
+    }
+}
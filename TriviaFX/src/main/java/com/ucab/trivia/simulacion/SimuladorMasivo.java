@@ -0,0 +1,122 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.TableroGrafico;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ejecuta grandes cantidades de partidas simuladas en paralelo usando todos los núcleos.
+ * El rango de partidas se divide con fork-join; cada hoja juega su bloque con un
+ * {@link SimuladorPartida} propio y un generador aleatorio derivado de la semilla y del
+ * número de partida, por lo que el resultado es el mismo sin importar cómo se repartan los hilos.
+ */
+public class SimuladorMasivo {
+
+    /** Límite de tiradas por defecto antes de abandonar una partida sin ganador. */
+    public static final int MAX_TIRADAS_POR_DEFECTO = 10_000;
+
+    /** Partidas por hoja de fork-join; bloques más pequeños no compensan el costo de repartir. */
+    private static final int PARTIDAS_POR_BLOQUE = 2_048;
+
+    private final TableroGrafico tablero = new TableroGrafico();
+    private final List<EstrategiaJugador> estrategias;
+    private final long semilla;
+    private final int maxTiradas;
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un simulador que usa el pool común de fork-join.
+     * @param estrategias Una estrategia por asiento.
+     * @param semilla La semilla base de la corrida.
+     */
+    public SimuladorMasivo(List<EstrategiaJugador> estrategias, long semilla) {
+        this(estrategias, semilla, MAX_TIRADAS_POR_DEFECTO, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param estrategias Una estrategia por asiento.
+     * @param semilla La semilla base de la corrida.
+     * @param maxTiradas Límite de tiradas por partida.
+     * @param pool El pool en el que se ejecutan las partidas.
+     */
+    public SimuladorMasivo(List<EstrategiaJugador> estrategias, long semilla, int maxTiradas, ForkJoinPool pool) {
+        this.estrategias = List.copyOf(estrategias);
+        this.semilla = semilla;
+        this.maxTiradas = maxTiradas;
+        this.pool = pool;
+    }
+
+    /**
+     * Simula la cantidad de partidas indicada y resume los resultados.
+     * @param partidas La cantidad de partidas a jugar.
+     * @return El {@link ReporteSimulacion} de la corrida.
+     */
+    public ReporteSimulacion ejecutar(int partidas) {
+        long inicio = System.nanoTime();
+        AcumuladorResultados total = pool.invoke(new TareaPartidas(this, 0, partidas));
+        return new ReporteSimulacion(estrategias, total, System.nanoTime() - inicio);
+    }
+
+    private static final class TareaPartidas extends RecursiveTask<AcumuladorResultados> {
+        private static final long serialVersionUID = 1L;
+
+        private final SimuladorMasivo masivo;
+        private final int desde;
+        private final int hasta;
+
+        TareaPartidas(SimuladorMasivo masivo, int desde, int hasta) {
+            this.masivo = masivo;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected AcumuladorResultados compute() {
+            if (hasta - desde <= PARTIDAS_POR_BLOQUE) {
+                SimuladorPartida simulador = new SimuladorPartida(masivo.tablero, masivo.estrategias, masivo.maxTiradas);
+                AcumuladorResultados acumulador = new AcumuladorResultados(masivo.estrategias.size());
+                for (int i = desde; i < hasta; i++) {
+                    simulador.jugar(new SplittableRandom(masivo.semillaDePartida(i)));
+                    acumulador.registrar(simulador);
+                }
+                return acumulador;
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaPartidas izquierda = new TareaPartidas(masivo, desde, medio);
+            izquierda.fork();
+            AcumuladorResultados derecha = new TareaPartidas(masivo, medio, hasta).compute();
+            return izquierda.join().combinar(derecha);
+        }
+    }
+
+    /**
+     * Deriva una semilla independiente para cada partida mezclando los bits de la semilla
+     * base con el número de partida (función de mezcla de MurmurHash3).
+     */
+    private long semillaDePartida(int partida) {
+        long z = semilla + (partida + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Punto de entrada para correr una simulación desde la línea de comandos.
+     * Argumentos opcionales: cantidad de partidas (por defecto 100000) y semilla.
+     * @param args Los argumentos de la línea de comandos.
+     */
+    public static void main(String[] args) {
+        int partidas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        PrecisionRespuestas precision = new PrecisionRespuestas(0.6);
+        List<EstrategiaJugador> estrategias = List.of(
+                new EstrategiaAleatoria(precision), new EstrategiaCodiciosa(precision),
+                new EstrategiaPerfecta(AnalisisTablero.calcular(new TableroGrafico(), precision)), new EstrategiaCodiciosa(precision));
+        System.out.println("Simulando " + partidas + " partidas en " + ForkJoinPool.getCommonPoolParallelism()
+                + " hilos (semilla " + semilla + ")...");
+        System.out.print(new SimuladorMasivo(estrategias, semilla).ejecutar(partidas));
+    }
+}
@@ -0,0 +1,143 @@
+package com.ucab.trivia.simulacion;
+
+import com.ucab.trivia.modelo.Casilla;
+import com.ucab.trivia.modelo.CategoriaTrivia;
+import com.ucab.trivia.modelo.Dado;
+import com.ucab.trivia.modelo.Juego;
+import com.ucab.trivia.modelo.Jugador;
+import com.ucab.trivia.modelo.OpcionesMovimiento;
+import com.ucab.trivia.modelo.PerfilJugador;
+import com.ucab.trivia.modelo.Posicion;
+import com.ucab.trivia.modelo.TableroGrafico;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Juega partidas completas de {@link Juego} sin interfaz gráfica.
+ * Aplica las mismas reglas de turno que la ventana de juego: quien saca el número más alto
+ * empieza, las casillas especiales y el centro sin ficha completa permiten volver a lanzar,
+ * un acierto otorga el quesito de la categoría y conserva el turno, y un fallo pasa el turno.
+ * Cada instancia reutiliza sus estructuras entre partidas, por lo que no es segura entre hilos:
+ * se debe usar una por hilo.
+ */
+public class SimuladorPartida {
+
+    /** Valor de {@link #getGanador()} cuando la partida alcanza el límite de tiradas. */
+    public static final int SIN_GANADOR = -1;
+
+    private final TableroGrafico tablero;
+    private final List<EstrategiaJugador> estrategias;
+    private final List<PerfilJugador> perfiles;
+    private final int maxTiradas;
+    private final OpcionesMovimiento opciones = new OpcionesMovimiento();
+    private final int[] turnosPorJugador;
+
+    private int ganador = SIN_GANADOR;
+    private int turnosTotales;
+
+    /**
+     * @param tablero El tablero compartido por todas las partidas.
+     * @param estrategias Una estrategia por jugador, en orden de asiento.
+     * @param maxTiradas Límite de lanzamientos de dado antes de declarar la partida sin ganador.
+     */
+    public SimuladorPartida(TableroGrafico tablero, List<EstrategiaJugador> estrategias, int maxTiradas) {
+        if (estrategias.isEmpty()) throw new IllegalArgumentException("Se necesita al menos una estrategia");
+        this.tablero = tablero;
+        this.estrategias = List.copyOf(estrategias);
+        this.maxTiradas = maxTiradas;
+        this.turnosPorJugador = new int[estrategias.size()];
+        this.perfiles = new ArrayList<>(estrategias.size());
+        for (int i = 0; i < estrategias.size(); i++) {
+            PerfilJugador perfil = new PerfilJugador();
+            perfil.setAlias("Bot " + (i + 1) + " (" + estrategias.get(i).getNombre() + ")");
+            perfil.setEmail("bot" + (i + 1) + "@simulacion");
+            perfiles.add(perfil);
+        }
+    }
+
+    /**
+     * Juega una partida completa.
+     * @param random El generador aleatorio de la partida; lo usan el dado y las estrategias.
+     * @return El asiento del ganador, o {@link #SIN_GANADOR}.
+     */
+    public int jugar(RandomGenerator random) {
+        Juego juego = new Juego(perfiles, tablero, new Dado(random), null, null);
+        List<Jugador> jugadores = juego.getJugadores();
+        Arrays.fill(turnosPorJugador, 0);
+        ganador = SIN_GANADOR;
+
+        int maxLanzamiento = -1;
+        for (int i = 0; i < jugadores.size(); i++) {
+            int lanzamiento = juego.lanzarDado();
+            if (lanzamiento > maxLanzamiento) {
+                maxLanzamiento = lanzamiento;
+                juego.setIndiceJugadorActual(i);
+            }
+        }
+        turnosPorJugador[juego.getIndiceJugadorActual()]++;
+        turnosTotales = 1;
+
+        for (int tirada = 0; tirada < maxTiradas; tirada++) {
+            int asiento = juego.getIndiceJugadorActual();
+            Jugador jugador = juego.getJugadorActual();
+            EstrategiaJugador estrategia = estrategias.get(asiento);
+
+            int pasos = juego.lanzarDado();
+            juego.calcularOpciones(jugador, pasos, opciones);
+            juego.moverJugador(jugador, opciones, estrategia.elegirOpcion(juego, jugador, opciones, random));
+            Posicion llegada = jugador.getPosicionActual();
+
+            if (llegada.getTipo() == Posicion.TipoLugar.CENTRO) {
+                // Sin la ficha completa el jugador debe salir del centro con otro lanzamiento.
+                if (!jugador.getFicha().estaCompleta()) continue;
+                CategoriaTrivia categoria = estrategia.elegirCategoriaFinal(jugador, random);
+                if (estrategia.respondeCorrectamente(categoria, random)) {
+                    jugador.registrarRespuestaCorrecta(categoria, 0);
+                    ganador = asiento;
+                    return ganador;
+                }
+            } else {
+                Casilla casilla = tablero.getCasillaEnPosicion(llegada);
+                if (casilla.isEsEspecialReRoll()) continue;
+                CategoriaTrivia categoria = casilla.getCategoria();
+                if (estrategia.respondeCorrectamente(categoria, random)) {
+                    jugador.registrarRespuestaCorrecta(categoria, 0);
+                    jugador.getFicha().marcarCategoriaObtenida(categoria);
+                    continue;
+                }
+            }
+            juego.pasarTurno();
+            turnosPorJugador[juego.getIndiceJugadorActual()]++;
+            turnosTotales++;
+        }
+        return SIN_GANADOR;
+    }
+
+    /**
+     * Obtiene el asiento del ganador de la última partida jugada.
+     * @return El índice del ganador, o {@link #SIN_GANADOR}.
+     */
+    public int getGanador() { return ganador; }
+
+    /**
+     * Obtiene cuántos turnos tuvo un jugador en la última partida jugada.
+     * @param asiento El índice del jugador.
+     * @return La cantidad de turnos de ese jugador.
+     */
+    public int getTurnosDeJugador(int asiento) { return turnosPorJugador[asiento]; }
+
+    /**
+     * Obtiene la cantidad total de turnos de la última partida jugada.
+     * @return La suma de los turnos de todos los jugadores.
+     */
+    public int getTurnosTotales() { return turnosTotales; }
+
+    /**
+     * Obtiene las estrategias de cada asiento.
+     * @return La lista inmutable de estrategias.
+     */
+    public List<EstrategiaJugador> getEstrategias() { return estrategias; }
+}
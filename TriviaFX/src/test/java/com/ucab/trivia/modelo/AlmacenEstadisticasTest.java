@@ -0,0 +1,138 @@
+package com.ucab.trivia.modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que el base más los diarios de deltas, antes y después de compactar, se vuelvan a leer
+ * con los mismos valores que acumuló el almacén, también si un diario apartado no se llegó a borrar.
+ */
+class AlmacenEstadisticasTest {
+
+    private static final String[] ALIAS = {"ana", "luis", "marta", "pedro", "sofia", "jose", "carla", "diego"};
+    private static final long ESPERA_MS = 5000;
+
+    @TempDir
+    Path directorio;
+
+    private final MapeadorDatos mapeador = MapeadorDatos.getCompartido();
+    private final SplittableRandom random = new SplittableRandom(11);
+    /** Lo que deberían tener las estadísticas, calculado aparte del almacén. */
+    private final Map<String, EstadisticaGlobal> esperadas = new TreeMap<>();
+
+    @Test
+    void recargarDaLoMismoQueElAlmacen() throws IOException {
+        File dir = directorio.toFile();
+        EstadisticaGlobal ana = new EstadisticaGlobal("ana");
+        ana.registrarPartidaJugada(true);
+        ana.agregarEstadisticasDePartida(Map.of(CategoriaTrivia.CIENCIA, 4), 2_000);
+        EstadisticaGlobal luis = new EstadisticaGlobal("luis");
+        luis.registrarPartidaJugada(false);
+        AlmacenEstadisticas.reemplazarTodo(dir, mapeador, List.of(ana, luis));
+        esperadas.put("ana", new EstadisticaGlobal(ana));
+        esperadas.put("luis", new EstadisticaGlobal(luis));
+
+        AlmacenEstadisticas almacen = AlmacenEstadisticas.abrir(dir, mapeador);
+        comprobar(almacen.getEstadisticas());
+
+        // Pasa el umbral de compactación automática y deja partidas en el diario nuevo.
+        jugar(almacen, AlmacenEstadisticas.PARTIDAS_MINIMAS_PARA_COMPACTAR + 44);
+        comprobar(almacen.getEstadisticas());
+        vaciar();
+        comprobar(AlmacenEstadisticas.leerDesdeDisco(dir, mapeador));
+
+        almacen.compactar();
+        vaciar();
+        comprobar(AlmacenEstadisticas.leerDesdeDisco(dir, mapeador));
+        assertTrue(archivosDeltas(dir).isEmpty(), "La compactación debe dejar solo el base");
+
+        jugar(almacen, 40);
+        comprobar(AlmacenEstadisticas.leerDesdeDisco(dir, mapeador));
+
+        // Un corte entre escribir el base y borrar el diario apartado: el diario cubierto no debe contar.
+        almacen.compactar();
+        List<File> apartados = archivosDeltas(dir);
+        assertEquals(1, apartados.size());
+        File apartado = apartados.get(0);
+        byte[] contenido = Files.readAllBytes(apartado.toPath());
+        vaciar();
+        assertFalse(apartado.exists());
+        Files.write(apartado.toPath(), contenido);
+        comprobar(AlmacenEstadisticas.leerDesdeDisco(dir, mapeador));
+        assertFalse(apartado.exists(), "El diario cubierto por el base se borra al cargar");
+
+        jugar(almacen, 25);
+        comprobar(almacen.getEstadisticas());
+        comprobar(AlmacenEstadisticas.leerDesdeDisco(dir, mapeador));
+    }
+
+    private void jugar(AlmacenEstadisticas almacen, int partidas) {
+        for (int p = 0; p < partidas; p++) {
+            int cantidad = 2 + random.nextInt(3);
+            List<Jugador> jugadores = new ArrayList<>(cantidad);
+            int primero = random.nextInt(ALIAS.length);
+            for (int i = 0; i < cantidad; i++) {
+                Jugador jugador = new Jugador();
+                jugador.setAlias(ALIAS[(primero + i) % ALIAS.length]);
+                Map<CategoriaTrivia, Integer> correctas = new EnumMap<>(CategoriaTrivia.class);
+                for (CategoriaTrivia categoria : CategoriaTrivia.values()) {
+                    if (random.nextInt(3) == 0) correctas.put(categoria, 1 + random.nextInt(3));
+                }
+                jugador.setCorrectasEnPartida(correctas);
+                jugador.setTiempoTotalEnPartidaMs(random.nextInt(60_000));
+                jugadores.add(jugador);
+            }
+            Jugador ganador = random.nextInt(4) == 0 ? null : jugadores.get(random.nextInt(cantidad));
+            almacen.registrarPartida(jugadores, ganador);
+            for (Jugador jugador : jugadores) {
+                EstadisticaGlobal est = esperadas.computeIfAbsent(jugador.getAlias(), EstadisticaGlobal::new);
+                est.registrarPartidaJugada(jugador == ganador);
+                est.agregarEstadisticasDePartida(jugador.getCorrectasEnPartida(), jugador.getTiempoTotalEnPartidaMs());
+            }
+        }
+    }
+
+    private void comprobar(List<EstadisticaGlobal> leidas) {
+        assertNotNull(leidas);
+        Map<String, String> obtenidas = new TreeMap<>();
+        for (EstadisticaGlobal est : leidas) obtenidas.put(est.getAlias(), resumen(est));
+        Map<String, String> esperado = new TreeMap<>();
+        for (EstadisticaGlobal est : esperadas.values()) esperado.put(est.getAlias(), resumen(est));
+        assertEquals(esperado, obtenidas);
+    }
+
+    private static String resumen(EstadisticaGlobal est) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(est.getPartidasJugadas()).append('/').append(est.getPartidasGanadas()).append('/').append(est.getPartidasPerdidas());
+        for (CategoriaTrivia categoria : CategoriaTrivia.values()) {
+            Integer correctas = est.getCorrectasPorCategoria() == null ? null : est.getCorrectasPorCategoria().get(categoria);
+            sb.append('/').append(correctas == null ? 0 : correctas);
+        }
+        return sb.append('/').append(est.getTiempoTotalRespuestasCorrectasMs()).toString();
+    }
+
+    private static List<File> archivosDeltas(File dir) {
+        File[] archivos = dir.listFiles((d, nombre) -> nombre.startsWith("estadisticas_globales.deltas"));
+        return archivos == null ? List.of() : List.of(archivos);
+    }
+
+    private static void vaciar() {
+        assertTrue(GuardadoAsincrono.getInstancia().vaciar(ESPERA_MS));
+    }
+}
@@ -0,0 +1,194 @@
+package com.ucab.trivia.modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compila bancos con duplicados y casi duplicados conocidos, y comprueba que una compilación fallida
+ * no toque el corpus que ya existía.
+ */
+class CompiladorBancoPreguntasTest {
+
+    private static final int BASES = 240;
+    private static final int PALABRAS = 14;
+    private static final CategoriaTrivia[] CATEGORIAS = CategoriaTrivia.values();
+
+    @TempDir
+    Path directorio;
+
+    private final SplittableRandom random = new SplittableRandom(31);
+    private final String[] vocabulario = new String[400];
+
+    {
+        for (int i = 0; i < vocabulario.length; i++) vocabulario[i] = palabra();
+    }
+
+    @Test
+    void descartaDuplicadosYCasiDuplicados() throws IOException {
+        List<String[]> bases = new ArrayList<>();
+        for (int i = 0; i < BASES; i++) bases.add(new String[] {oracion(), "respuesta " + i});
+
+        File primero = escribir("primero.json", bases);
+        CompiladorBancoPreguntas.ResumenCompilacion soloBases = compilar(List.of(primero), "bases.tqc");
+        assertEquals(BASES, soloBases.getEscritas(), "Preguntas distintas no deben descartarse");
+
+        List<String[]> segundo = new ArrayList<>();
+        int exactas = 0;
+        int parecidas = 0;
+        int conservadas = 0;
+        for (int i = 0; i < BASES; i++) {
+            String pregunta = bases.get(i)[0];
+            String respuesta = bases.get(i)[1];
+            switch (i % 4) {
+                case 0 -> {
+                    // Solo cambian mayúsculas, acentos y espacios: es la misma pregunta.
+                    segundo.add(new String[] {"  " + pregunta.toUpperCase().replace('A', 'Á') + " ", respuesta.toUpperCase()});
+                    exactas++;
+                }
+                case 1 -> {
+                    String variante = cambiarPalabra(pregunta);
+                    if (jaccard(pregunta, variante) >= 0.8) parecidas++;
+                    segundo.add(new String[] {variante, respuesta});
+                }
+                case 2 -> {
+                    // El mismo enunciado con otra respuesta es otra pregunta.
+                    segundo.add(new String[] {cambiarPalabra(pregunta), "otra " + respuesta});
+                    conservadas++;
+                }
+                default -> {
+                    segundo.add(new String[] {oracion(), respuesta});
+                    conservadas++;
+                }
+            }
+        }
+        assertTrue(parecidas >= BASES / 4 * 9 / 10, "Las variantes de prueba deben parecerse lo suficiente");
+
+        CompiladorBancoPreguntas.ResumenCompilacion resumen = compilar(List.of(primero, escribir("segundo.json", segundo)), "todo.tqc");
+        assertEquals(2L * BASES, resumen.getLeidas());
+        assertEquals(exactas, resumen.getDuplicadas());
+        assertTrue(resumen.getCasiDuplicadas() >= parecidas * 95 / 100,
+                resumen.getCasiDuplicadas() + " de " + parecidas + " casi duplicados detectados");
+        assertTrue(resumen.getCasiDuplicadas() <= BASES / 4);
+        assertEquals(BASES + conservadas + BASES / 4 - resumen.getCasiDuplicadas(), resumen.getEscritas());
+    }
+
+    @Test
+    void conservaLaPrimeraAparicion() throws IOException {
+        File primero = escribir("primero.json", List.<String[]>of(new String[] {"¿Capital de Francia?", "París"}));
+        File segundo = escribir("segundo.json", List.<String[]>of(new String[] {"¿capital de   FRANCIA?", "paris"}));
+        File destino = directorio.resolve("corpus.tqc").toFile();
+        new CompiladorBancoPreguntas().compilar(List.of(primero, segundo), destino);
+
+        CorpusPreguntas corpus = CorpusPreguntas.abrir(destino);
+        assertEquals(1, corpus.getCantidad(CATEGORIAS[0]));
+        assertEquals("¿Capital de Francia?", corpus.getPregunta(CATEGORIAS[0], 0).getPregunta());
+        assertEquals("París", corpus.getPregunta(CATEGORIAS[0], 0).getRespuesta());
+    }
+
+    @Test
+    void unaCompilacionFallidaNoTocaElDestino() throws IOException {
+        File destino = directorio.resolve("corpus.tqc").toFile();
+        byte[] anterior = "corpus anterior".getBytes(StandardCharsets.UTF_8);
+        Files.write(destino.toPath(), anterior);
+        File valido = escribir("valido.json", List.<String[]>of(new String[] {oracion(), "uno"}, new String[] {oracion(), "dos"}));
+        File roto = directorio.resolve("roto.json").toFile();
+        Files.writeString(roto.toPath(), "{\"" + CATEGORIAS[1].name() + "\": [{\"pregunta\": \"sin cerrar\", ", StandardCharsets.UTF_8);
+        Set<String> antes = listar();
+
+        CompiladorBancoPreguntas compilador = new CompiladorBancoPreguntas();
+        assertThrows(IOException.class, () -> compilador.compilar(List.of(valido, roto), destino));
+        assertThrows(IOException.class, () -> compilador.compilar(List.of(valido, directorio.resolve("no-existe.json").toFile()), destino));
+        assertArrayEquals(anterior, Files.readAllBytes(destino.toPath()));
+        assertEquals(antes, listar(), "No deben quedar archivos temporales");
+
+        // Una compilación correcta se verifica y solo entonces reemplaza al destino.
+        CompiladorBancoPreguntas.ResumenCompilacion resumen = compilador.compilar(List.of(valido), destino);
+        CorpusPreguntas corpus = CorpusPreguntas.abrir(destino);
+        assertEquals(2, resumen.getEscritas());
+        for (CategoriaTrivia categoria : CATEGORIAS) assertEquals(resumen.getEscritas(categoria), corpus.getCantidad(categoria));
+        assertEquals(antes, listar());
+    }
+
+    private CompiladorBancoPreguntas.ResumenCompilacion compilar(List<File> origenes, String destino) throws IOException {
+        return new CompiladorBancoPreguntas().compilar(origenes, directorio.resolve(destino).toFile());
+    }
+
+    /** Escribe las preguntas repartidas por categoría, con el formato de {@code preguntasJuegoTrivia.json}. */
+    private File escribir(String nombre, List<String[]> preguntas) throws IOException {
+        Map<String, List<Map<String, String>>> banco = new LinkedHashMap<>();
+        for (int i = 0; i < preguntas.size(); i++) {
+            Map<String, String> pregunta = new LinkedHashMap<>();
+            pregunta.put("pregunta", preguntas.get(i)[0]);
+            pregunta.put("respuesta", preguntas.get(i)[1]);
+            banco.computeIfAbsent(CATEGORIAS[i % CATEGORIAS.length].name(), c -> new ArrayList<>()).add(pregunta);
+        }
+        File archivo = directorio.resolve(nombre).toFile();
+        MapeadorDatos.getCompartido().getMapper().writeValue(archivo, banco);
+        return archivo;
+    }
+
+    private Set<String> listar() {
+        Set<String> nombres = new HashSet<>();
+        String[] lista = directorio.toFile().list();
+        if (lista != null) nombres.addAll(List.of(lista));
+        return nombres;
+    }
+
+    private String oracion() {
+        StringBuilder sb = new StringBuilder("¿");
+        for (int i = 0; i < PALABRAS; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(vocabulario[random.nextInt(vocabulario.length)]);
+        }
+        return sb.append('?').toString();
+    }
+
+    private String cambiarPalabra(String oracion) {
+        String[] palabras = oracion.split(" ");
+        palabras[1 + random.nextInt(palabras.length - 2)] = palabra();
+        return String.join(" ", palabras);
+    }
+
+    private String palabra() {
+        char[] letras = new char[4 + random.nextInt(5)];
+        for (int i = 0; i < letras.length; i++) letras[i] = (char) ('a' + random.nextInt(26));
+        return new String(letras);
+    }
+
+    /** Similitud de Jaccard entre los fragmentos de los enunciados plegados, como los compara el compilador. */
+    private static double jaccard(String a, String b) {
+        Set<String> fragmentosA = fragmentos(a);
+        Set<String> fragmentosB = fragmentos(b);
+        Set<String> union = new HashSet<>(fragmentosA);
+        union.addAll(fragmentosB);
+        fragmentosA.retainAll(fragmentosB);
+        return (double) fragmentosA.size() / union.size();
+    }
+
+    private static Set<String> fragmentos(String texto) {
+        char[] plegado = new char[texto.length()];
+        int longitud = ComparadorRespuestas.plegar(texto, 0, texto.length(), plegado, 0);
+        Set<String> fragmentos = new HashSet<>();
+        int largo = CompiladorBancoPreguntas.LONGITUD_FRAGMENTO;
+        for (int i = 0; i + largo <= longitud; i++) fragmentos.add(new String(plegado, i, largo));
+        return fragmentos;
+    }
+}
@@ -0,0 +1,168 @@
+package com.ucab.trivia.modelo;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Ida y vuelta de {@link FormatoPartidaBinaria} y rechazo de archivos truncados o con cantidades imposibles.
+ */
+class FormatoPartidaBinariaTest {
+
+    @Test
+    void idaYVueltaConservaLaPartida() throws IOException {
+        EstadoJuegoGuardado estado = estadoDePrueba();
+        EstadoJuegoGuardado leido = FormatoPartidaBinaria.decodificar(FormatoPartidaBinaria.codificar(estado));
+
+        assertEquals(estado.getIndiceJugadorActual(), leido.getIndiceJugadorActual());
+        assertEquals(estado.getSecuenciaDiario(), leido.getSecuenciaDiario());
+        assertEquals(estado.getSemilla(), leido.getSemilla());
+        assertEquals(estado.getExtracciones(), leido.getExtracciones());
+        assertArrayEquals(estado.getPreguntasExtraidas(), leido.getPreguntasExtraidas());
+        assertEquals(estado.getJugadores().size(), leido.getJugadores().size());
+        for (int i = 0; i < estado.getJugadores().size(); i++) {
+            Jugador esperado = estado.getJugadores().get(i);
+            Jugador jugador = leido.getJugadores().get(i);
+            assertEquals(esperado.getAlias(), jugador.getAlias());
+            assertEquals(esperado.getEmail(), jugador.getEmail());
+            assertEquals(esperado.isEstaRendido(), jugador.isEstaRendido());
+            assertEquals(esperado.getFicha() == null ? null : esperado.getFicha().getMascara(),
+                    jugador.getFicha() == null ? null : jugador.getFicha().getMascara());
+            assertSame(esperado.getPosicionActual(), jugador.getPosicionActual());
+            assertEquals(esperado.getCorrectasEnPartida(), jugador.getCorrectasEnPartida());
+            assertEquals(esperado.getTiempoTotalEnPartidaMs(), jugador.getTiempoTotalEnPartidaMs());
+        }
+    }
+
+    @Test
+    void idaYVueltaSinSemillaNiJugadores() throws IOException {
+        EstadoJuegoGuardado estado = new EstadoJuegoGuardado(null, 0);
+        EstadoJuegoGuardado leido = FormatoPartidaBinaria.decodificar(FormatoPartidaBinaria.codificar(estado));
+        assertNull(leido.getSemilla());
+        assertNull(leido.getPreguntasExtraidas());
+        assertNull(leido.getJugadores());
+    }
+
+    @Test
+    void rechazaCualquierTruncamiento() {
+        byte[] datos = FormatoPartidaBinaria.codificar(estadoDePrueba());
+        for (int longitud = 0; longitud < datos.length; longitud++) {
+            byte[] truncado = Arrays.copyOf(datos, longitud);
+            assertThrows(IOException.class, () -> FormatoPartidaBinaria.decodificar(truncado), "longitud " + longitud);
+        }
+    }
+
+    @Test
+    void rechazaUnaVersionDesconocida() {
+        byte[] datos = FormatoPartidaBinaria.codificar(estadoDePrueba());
+        datos[4] = (byte) (FormatoPartidaBinaria.VERSION + 1);
+        assertThrows(IOException.class, () -> FormatoPartidaBinaria.decodificar(datos));
+    }
+
+    @Test
+    void rechazaCantidadesDeJugadoresImposibles() {
+        // Más jugadores de los que admite cualquier modo, y luego más de los que caben en lo que queda.
+        assertThrows(IOException.class, () -> FormatoPartidaBinaria.decodificar(cabeceraSinSemilla().varint(Integer.MAX_VALUE + 1L).bytes()));
+        assertThrows(IOException.class, () -> FormatoPartidaBinaria.decodificar(cabeceraSinSemilla().varint(Long.MAX_VALUE).bytes()));
+        assertThrows(IOException.class, () -> FormatoPartidaBinaria.decodificar(cabeceraSinSemilla().varint(4).octeto(0).varint(0).bytes()));
+    }
+
+    @Test
+    void rechazaContadoresDePreguntasImposibles() {
+        Bytes conSemilla = new Bytes().marca().octeto(FormatoPartidaBinaria.VERSION).varint(0).varint(0).varint(1).varint(42).varint(0);
+        assertThrows(IOException.class, () -> FormatoPartidaBinaria.decodificar(conSemilla.varint(1_000_000).bytes()));
+    }
+
+    @Test
+    void rechazaTextosMasLargosQueElArchivo() {
+        byte[] datos = cabeceraSinSemilla().varint(2).octeto(1 << 1).varint(500).raw("ana").varint(0).bytes();
+        assertThrows(IOException.class, () -> FormatoPartidaBinaria.decodificar(datos));
+    }
+
+    @Test
+    void rechazaMascarasDeQuesitosFueraDeRango() throws IOException {
+        byte[] valida = cabeceraSinSemilla().varint(2).octeto(1 << 3).varint(Ficha.MASCARA_COMPLETA).varint(0).bytes();
+        assertEquals(Ficha.MASCARA_COMPLETA, FormatoPartidaBinaria.decodificar(valida).getJugadores().get(0).getFicha().getMascara());
+        byte[] invalida = cabeceraSinSemilla().varint(2).octeto(1 << 3).varint(Ficha.MASCARA_COMPLETA + 1).varint(0).bytes();
+        assertThrows(IOException.class, () -> FormatoPartidaBinaria.decodificar(invalida));
+    }
+
+    private static Bytes cabeceraSinSemilla() {
+        return new Bytes().marca().octeto(FormatoPartidaBinaria.VERSION).varint(0).varint(0).varint(0);
+    }
+
+    private static EstadoJuegoGuardado estadoDePrueba() {
+        Jugador ana = new Jugador();
+        ana.setAlias("Ána");
+        ana.setEmail("ana@ucab.edu.ve");
+        Ficha ficha = new Ficha();
+        ficha.marcarCategoriaObtenida(CategoriaTrivia.CIENCIA);
+        ficha.marcarCategoriaObtenida(CategoriaTrivia.HISTORIA);
+        ana.setFicha(ficha);
+        ana.setPosicionActual(Posicion.desdeOrdinal(Posicion.ORDINAL_PRIMER_RAYO + 3));
+        Map<CategoriaTrivia, Integer> correctas = new EnumMap<>(CategoriaTrivia.class);
+        correctas.put(CategoriaTrivia.CIENCIA, 3);
+        correctas.put(CategoriaTrivia.HISTORIA, 1);
+        ana.setCorrectasEnPartida(correctas);
+        ana.setTiempoTotalEnPartidaMs(123_456_789L);
+
+        Jugador luis = new Jugador();
+        luis.setAlias("luis");
+        luis.setEstaRendido(true);
+
+        List<Jugador> jugadores = new ArrayList<>(List.of(ana, luis));
+        EstadoJuegoGuardado estado = new EstadoJuegoGuardado(jugadores, 1);
+        estado.setSecuenciaDiario(300);
+        estado.setSemilla(-7L);
+        estado.setExtracciones(91);
+        int[] extraidas = new int[CategoriaTrivia.values().length];
+        for (int c = 0; c < extraidas.length; c++) extraidas[c] = c * 130;
+        estado.setPreguntasExtraidas(extraidas);
+        return estado;
+    }
+
+    /** Arma a mano los bytes de una partida binaria. */
+    private static final class Bytes {
+        private final ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        Bytes marca() {
+            return raw("TRVP");
+        }
+
+        Bytes octeto(int valor) {
+            salida.write(valor);
+            return this;
+        }
+
+        Bytes varint(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                salida.write((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            salida.write((int) valor);
+            return this;
+        }
+
+        Bytes raw(String texto) {
+            salida.writeBytes(texto.getBytes(StandardCharsets.UTF_8));
+            return this;
+        }
+
+        byte[] bytes() {
+            return salida.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ucab.trivia.modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que esperar el guardado de un archivo no espere a los de otros archivos,
+ * y que sí cubra las solicitudes coalescidas del mismo archivo.
+ */
+class GuardadoAsincronoTest {
+
+    private static final long ESPERA_MS = 5000;
+
+    @TempDir
+    Path directorio;
+
+    private final GuardadoAsincrono guardado = GuardadoAsincrono.getInstancia();
+
+    @Test
+    void esperaSoloAlArchivoPedido() throws Exception {
+        Path lento = directorio.resolve("lento.json");
+        Path otro = directorio.resolve("otro.json");
+        CountDownLatch empezado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        try {
+            guardado.programar(lento, "uno", datos -> {
+                empezado.countDown();
+                esperarSinInterrupcion(liberar);
+                return texto(datos);
+            }, null);
+            assertTrue(empezado.await(ESPERA_MS, TimeUnit.MILLISECONDS));
+            // Llega mientras se escribe la anterior y se coalesce con la siguiente.
+            guardado.programar(lento, "dos", GuardadoAsincronoTest::texto, null);
+            guardado.programar(lento, "tres", GuardadoAsincronoTest::texto, null);
+
+            assertTrue(guardado.esperar(otro, 0), "Sin guardados pendientes para el archivo no se espera");
+            assertFalse(guardado.esperar(lento, 50));
+        } finally {
+            liberar.countDown();
+        }
+        assertTrue(guardado.esperar(lento, ESPERA_MS));
+        assertEquals("tres", Files.readString(lento, StandardCharsets.UTF_8));
+        assertTrue(guardado.esperar(lento, 0));
+    }
+
+    private static byte[] texto(Object datos) {
+        return ((String) datos).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void esperarSinInterrupcion(CountDownLatch latch) throws IOException {
+        try {
+            if (!latch.await(ESPERA_MS, TimeUnit.MILLISECONDS)) throw new IOException("La prueba no liberó el guardado");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+}
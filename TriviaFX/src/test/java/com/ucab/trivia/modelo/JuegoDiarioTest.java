@@ -0,0 +1,103 @@
+package com.ucab.trivia.modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga una partida jugada en modo diario sin el modo diario, la vuelve a guardar y la recarga:
+ * los eventos del diario se aplican una sola vez aunque sus segmentos no se lleguen a borrar.
+ */
+class JuegoDiarioTest {
+
+    private static final String ARCHIVO_PARTIDA = "partida.json";
+    private static final long ESPERA_MS = 5000;
+
+    @TempDir
+    Path directorio;
+
+    private final TableroGrafico tablero = new TableroGrafico();
+    private final BancoPreguntas banco = BancoPreguntas.desdeMapa(Map.of());
+
+    @Test
+    void recargarNoVuelveAReproducirElDiario() throws IOException {
+        ServicioDatos conDiario = new ServicioDatos(directorio.toFile(), true, ARCHIVO_PARTIDA);
+        FuenteAleatoria fuente = FuenteAleatoria.conSemilla(7);
+        Juego juego = new Juego(List.of(perfil("ana"), perfil("luis")), tablero, new Dado(fuente),
+                new ServicioPreguntasJuego(banco, fuente.derivar()), conDiario);
+        juego.guardarEstadoActualDelJuego();
+        vaciar();
+        // Estos eventos quedan solo en el diario: no llegan a otra instantánea.
+        List<Jugador> jugadores = juego.getJugadores();
+        juego.registrarRespuesta(jugadores.get(0), CategoriaTrivia.GEOGRAFIA, true, 300);
+        juego.registrarRespuesta(jugadores.get(1), CategoriaTrivia.ENTRETENIMIENTO, true, 450);
+        juego.registrarRespuesta(jugadores.get(1), CategoriaTrivia.ENTRETENIMIENTO, false, 90);
+        juego.pasarTurno();
+
+        ServicioDatos sinDiario = new ServicioDatos(directorio.toFile(), false, ARCHIVO_PARTIDA);
+        Map<Path, byte[]> segmentos = leerArchivosDelDiario();
+        assertTrue(segmentos.keySet().stream().anyMatch(p -> p.toString().endsWith(".diario")));
+
+        Juego cargado = new Juego(cargar(sinDiario), tablero, banco, sinDiario);
+        comprobar(cargado);
+        cargado.guardarEstadoActualDelJuego();
+        vaciar();
+        assertTrue(leerArchivosDelDiario().isEmpty(), "El diario debe borrarse al volver al guardado completo");
+
+        // Como si el guardado que borra el diario se hubiera reemplazado por otro o hubiera fallado.
+        for (Map.Entry<Path, byte[]> segmento : segmentos.entrySet()) Files.write(segmento.getKey(), segmento.getValue());
+        Juego recargado = new Juego(cargar(sinDiario), tablero, banco, sinDiario);
+        comprobar(recargado);
+        vaciar();
+        recargado = new Juego(cargar(sinDiario), tablero, banco, sinDiario);
+        comprobar(recargado);
+        vaciar();
+        assertTrue(leerArchivosDelDiario().isEmpty());
+    }
+
+    private static void comprobar(Juego juego) {
+        Jugador ana = juego.getJugadores().get(0);
+        Jugador luis = juego.getJugadores().get(1);
+        assertEquals(1, ana.getCorrectasEnPartida().get(CategoriaTrivia.GEOGRAFIA));
+        assertEquals(300, ana.getTiempoTotalEnPartidaMs());
+        assertEquals(1, luis.getCorrectasEnPartida().get(CategoriaTrivia.ENTRETENIMIENTO));
+        assertEquals(450, luis.getTiempoTotalEnPartidaMs());
+        assertEquals(1, juego.getIndiceJugadorActual());
+    }
+
+    private static EstadoJuegoGuardado cargar(ServicioDatos servicio) {
+        EstadoJuegoGuardado estado = servicio.cargarPartidaGuardada();
+        assertNotNull(estado);
+        return estado;
+    }
+
+    private static void vaciar() {
+        assertTrue(GuardadoAsincrono.getInstancia().vaciar(ESPERA_MS));
+    }
+
+    private Map<Path, byte[]> leerArchivosDelDiario() throws IOException {
+        Map<Path, byte[]> archivos = new HashMap<>();
+        File[] lista = directorio.toFile().listFiles((dir, nombre) -> nombre.endsWith(".diario") || nombre.endsWith(".historial"));
+        if (lista == null) return archivos;
+        for (File archivo : lista) archivos.put(archivo.toPath(), Files.readAllBytes(archivo.toPath()));
+        return archivos;
+    }
+
+    private static PerfilJugador perfil(String alias) {
+        PerfilJugador perfil = new PerfilJugador();
+        perfil.setAlias(alias);
+        perfil.setEmail(alias + "@ucab.edu.ve");
+        return perfil;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ucab.trivia.modelo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Compara el anillo de {@link RondaTurnos} con un recorrido lineal de la lista de jugadores
+ * a lo largo de secuencias aleatorias (con semilla fija) de rendiciones y cambios de turno.
+ */
+class RondaTurnosTest {
+
+    private static final int PASOS = 400_000;
+
+    @Test
+    void coincideConElRecorridoLineal() {
+        SplittableRandom random = new SplittableRandom(2024);
+        int pasos = 0;
+        while (pasos < PASOS) {
+            int n = 1 + random.nextInt(random.nextBoolean() ? Juego.MAXIMO_JUGADORES : 200);
+            List<Jugador> jugadores = new ArrayList<>(n);
+            boolean[] rendido = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                Jugador jugador = new Jugador();
+                // Algunos jugadores ya vienen rendidos, como en una partida cargada.
+                rendido[i] = random.nextInt(8) == 0;
+                jugador.setEstaRendido(rendido[i]);
+                jugadores.add(jugador);
+            }
+            RondaTurnos ronda = new RondaTurnos(jugadores);
+            int actual = random.nextInt(n);
+            while (contarActivos(rendido) > 0 && pasos < PASOS) {
+                String caso = "n=" + n + " paso=" + pasos + " actual=" + actual;
+                if (random.nextInt(4) == 0) {
+                    ronda.retirar(actual);
+                    rendido[actual] = true;
+                } else {
+                    // Retirar a alguien ya retirado o a otro jugador no debe romper el anillo.
+                    int otro = random.nextInt(n);
+                    if (random.nextInt(8) == 0) {
+                        ronda.retirar(otro);
+                        rendido[otro] = true;
+                    }
+                }
+                assertEquals(contarActivos(rendido), ronda.getActivos(), caso);
+                int esperado = siguienteLineal(rendido, actual);
+                assertEquals(esperado, ronda.siguienteActivo(actual), caso);
+                for (int i = 0; i < n; i++) assertEquals(!rendido[i], ronda.estaActivo(i), caso);
+                if (esperado >= 0) {
+                    assertFalse(rendido[ronda.getCualquiera()], caso);
+                    actual = esperado;
+                }
+                pasos++;
+            }
+            if (contarActivos(rendido) == 0) {
+                assertEquals(-1, ronda.getCualquiera());
+                assertEquals(-1, ronda.siguienteActivo(actual));
+            }
+        }
+    }
+
+    private static int siguienteLineal(boolean[] rendido, int desde) {
+        int n = rendido.length;
+        for (int k = 1; k <= n; k++) {
+            int i = (desde + k) % n;
+            if (!rendido[i]) return i;
+        }
+        return -1;
+    }
+
+    private static int contarActivos(boolean[] rendido) {
+        int activos = 0;
+        for (boolean r : rendido) if (!r) activos++;
+        return activos;
+    }
+}
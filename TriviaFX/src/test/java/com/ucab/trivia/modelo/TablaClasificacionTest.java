@@ -0,0 +1,122 @@
+package com.ucab.trivia.modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara, para cada criterio, las páginas y posiciones de {@link TablaClasificacion} con un
+ * ordenamiento completo de las estadísticas mientras se registran partidas y aparecen jugadores nuevos.
+ */
+class TablaClasificacionTest {
+
+    private static final int JUGADORES_INICIALES = 300;
+    private static final int PAGINA = 37;
+
+    @TempDir
+    Path directorio;
+
+    private final SplittableRandom random = new SplittableRandom(5);
+    private int siguienteAlias;
+
+    @Test
+    void coincideConElOrdenamientoCompleto() throws IOException {
+        File dir = directorio.toFile();
+        MapeadorDatos mapeador = MapeadorDatos.getCompartido();
+        List<EstadisticaGlobal> iniciales = new ArrayList<>();
+        for (int i = 0; i < JUGADORES_INICIALES; i++) {
+            EstadisticaGlobal est = new EstadisticaGlobal(nuevoAlias());
+            // Pocas partidas por jugador, para que haya muchos empates en la clave.
+            for (int p = random.nextInt(4); p > 0; p--) {
+                est.registrarPartidaJugada(random.nextBoolean());
+                est.agregarEstadisticasDePartida(correctasAlAzar(), random.nextInt(10_000));
+            }
+            iniciales.add(est);
+        }
+        AlmacenEstadisticas.reemplazarTodo(dir, mapeador, iniciales);
+        AlmacenEstadisticas almacen = AlmacenEstadisticas.abrir(dir, mapeador);
+        TablaClasificacion tabla = almacen.getClasificacion();
+
+        // La mitad de los criterios se construye al principio y la otra mitad ya avanzadas las partidas.
+        CriterioClasificacion[] criterios = CriterioClasificacion.values();
+        for (int c = 0; c < criterios.length; c += 2) comprobar(almacen, tabla, criterios[c]);
+        for (int ronda = 0; ronda < 12; ronda++) {
+            jugar(almacen, 25, ronda % 3 == 0);
+            for (CriterioClasificacion criterio : criterios) comprobar(almacen, tabla, criterio);
+        }
+    }
+
+    private void jugar(AlmacenEstadisticas almacen, int partidas, boolean conNuevos) {
+        List<EstadisticaGlobal> existentes = almacen.getEstadisticas();
+        for (int p = 0; p < partidas; p++) {
+            int cantidad = 2 + random.nextInt(5);
+            List<Jugador> jugadores = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                Jugador jugador = new Jugador();
+                boolean nuevo = conNuevos && random.nextInt(3) == 0;
+                // Un jugador no aparece dos veces en la misma partida.
+                String alias;
+                do {
+                    alias = nuevo ? nuevoAlias() : existentes.get(random.nextInt(existentes.size())).getAlias();
+                } while (contiene(jugadores, alias));
+                jugador.setAlias(alias);
+                jugador.setCorrectasEnPartida(correctasAlAzar());
+                jugador.setTiempoTotalEnPartidaMs(random.nextInt(60_000));
+                jugadores.add(jugador);
+            }
+            almacen.registrarPartida(jugadores, random.nextInt(4) == 0 ? null : jugadores.get(random.nextInt(cantidad)));
+        }
+    }
+
+    private static void comprobar(AlmacenEstadisticas almacen, TablaClasificacion tabla, CriterioClasificacion criterio) {
+        List<EstadisticaGlobal> esperadas = new ArrayList<>(almacen.getEstadisticas());
+        esperadas.sort(Comparator.comparingLong((EstadisticaGlobal est) -> -criterio.clave(est)).thenComparing(EstadisticaGlobal::getAlias));
+        assertEquals(esperadas.size(), tabla.getCantidad());
+
+        List<String> paginado = new ArrayList<>();
+        for (int desde = 0; desde < esperadas.size(); desde += PAGINA) {
+            for (EstadisticaGlobal est : tabla.getPagina(criterio, desde, PAGINA)) paginado.add(est.getAlias());
+        }
+        List<String> ordenado = new ArrayList<>();
+        for (EstadisticaGlobal est : esperadas) ordenado.add(est.getAlias());
+        assertEquals(ordenado, paginado, criterio.toString());
+        assertTrue(tabla.getPagina(criterio, esperadas.size(), PAGINA).isEmpty());
+
+        for (int posicion = 0; posicion < esperadas.size(); posicion++) {
+            assertEquals(posicion, tabla.getPosicion(criterio, ordenado.get(posicion)), criterio + " " + ordenado.get(posicion));
+        }
+        int medio = esperadas.size() / 2;
+        List<EstadisticaGlobal> ventana = tabla.getAlrededorDe(criterio, ordenado.get(medio), 3);
+        assertEquals(ordenado.subList(medio - 3, medio + 4), ventana.stream().map(EstadisticaGlobal::getAlias).toList());
+        assertEquals(-1, tabla.getPosicion(criterio, "nadie"));
+    }
+
+    private Map<CategoriaTrivia, Integer> correctasAlAzar() {
+        Map<CategoriaTrivia, Integer> correctas = new EnumMap<>(CategoriaTrivia.class);
+        for (CategoriaTrivia categoria : CategoriaTrivia.values()) {
+            if (random.nextInt(3) == 0) correctas.put(categoria, 1 + random.nextInt(2));
+        }
+        return correctas;
+    }
+
+    private String nuevoAlias() {
+        return String.format("jugador%05d", siguienteAlias++);
+    }
+
+    private static boolean contiene(List<Jugador> jugadores, String alias) {
+        for (Jugador jugador : jugadores) if (jugador.getAlias().equals(alias)) return true;
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ucab.trivia.modelo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Compara la tabla de movimientos precalculada con la lógica de movimiento del tablero
+ * ({@link TableroGrafico#calcularNuevaPosicion} y {@link TableroGrafico#calcularSalidaDelCentro})
+ * en todas las casillas, resultados del dado, direcciones y decisiones de entrar al rayo.
+ */
+class TablaTransicionesTest {
+
+    private final TableroGrafico tablero = new TableroGrafico();
+    private final TablaTransiciones tabla = tablero.getTablaTransiciones();
+
+    @Test
+    void moverCoincideConLaLogicaDelTablero() {
+        int comparados = 0;
+        for (int ordinal = 0; ordinal < TablaTransiciones.TOTAL_CASILLAS; ordinal++) {
+            Posicion origen = Posicion.desdeOrdinal(ordinal);
+            boolean esCentro = origen.getTipo() == Posicion.TipoLugar.CENTRO;
+            int[] direcciones = esCentro ? new int[]{0, 1, 2, 3, 4, 5} : new int[]{-1, 1};
+            for (int pasos = 1; pasos <= TablaTransiciones.MAX_PASOS; pasos++) {
+                for (int direccion : direcciones) {
+                    for (boolean entra : new boolean[]{false, true}) {
+                        Posicion esperada = esCentro
+                                ? tablero.calcularSalidaDelCentro(pasos, direccion)
+                                : tablero.calcularNuevaPosicion(origen, pasos, direccion, entra);
+                        String caso = origen + " pasos=" + pasos + " dirección=" + direccion + " entra=" + entra;
+                        assertSame(esperada, tabla.mover(origen, pasos, direccion, entra), caso);
+                        assertEquals(esperada.getOrdinal(), tabla.moverId(ordinal, pasos, direccion, entra), caso);
+                        comparados++;
+                    }
+                }
+            }
+        }
+        // 72 casillas con 2 direcciones y el centro con 6 rayos, por 6 resultados y 2 decisiones.
+        assertEquals((72 * 2 + 6) * 6 * 2, comparados);
+    }
+
+    @Test
+    void combinacionesFueraDeLaTablaUsanLaLogicaDelTablero() {
+        Posicion origen = Posicion.enCirculo(3);
+        assertEquals(-1, tabla.moverId(origen.getOrdinal(), 7, 1, false));
+        assertSame(tablero.calcularNuevaPosicion(origen, 7, 1, false), tabla.mover(origen, 7, 1, false));
+        assertEquals(-1, tabla.moverId(origen.getOrdinal(), 2, 2, false));
+        assertSame(tablero.calcularNuevaPosicion(origen, 2, 2, false), tabla.mover(origen, 2, 2, false));
+        assertEquals(-1, tabla.moverId(TablaTransiciones.ID_CENTRO, 3, 6, false));
+    }
+}